@@ -0,0 +1,329 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.stream.Stream;
+import javafx.application.Platform;
+import javafx.embed.swing.JFXPanel;
+
+/**
+ * The documents used by the benchmarks. Three corpora are available:
+ * <ul>
+ * <li>{@link #TEST}: all the svg files under the test directory, or under the directory specified by the
+ * <code>fxsvgimage.corpus</code> system property</li>
+ * <li>{@link #LARGE}: a generated document with {@link #LARGE_SHAPES} shapes, paths, gradients and transforms in a flat hierarchy</li>
+ * <li>{@link #NESTED}: a generated document with {@link #NESTED_DEPTH} levels of nested groups</li>
+ * </ul>
+ * The generated documents use a fixed seed, so that they are the same from one run to the next.
+ *
+ * @since 1.10
+ */
+public class BenchmarkCorpus {
+   /**
+    * The svg files of the test directory.
+    */
+   public static final String TEST = "test";
+   /**
+    * The generated large flat document.
+    */
+   public static final String LARGE = "large";
+   /**
+    * The generated deeply nested document.
+    */
+   public static final String NESTED = "nested";
+   /**
+    * The number of shapes of the large document.
+    */
+   public static final int LARGE_SHAPES = 10000;
+   /**
+    * The depth of the nested document.
+    */
+   public static final int NESTED_DEPTH = 12;
+   private static final int NESTED_BREADTH = 2;
+   private static final long SEED = 42L;
+
+   private BenchmarkCorpus() {
+   }
+
+   /**
+    * Return the documents of a corpus.
+    *
+    * @param corpus the corpus name
+    * @return the documents
+    * @throws IOException if the files of the corpus cannot be read
+    */
+   public static List<Document> getDocuments(String corpus) throws IOException {
+      switch (corpus) {
+         case TEST:
+            return getTestDocuments();
+         case LARGE:
+            return Collections.singletonList(new Document(LARGE, generateLargeDocument(LARGE_SHAPES)));
+         case NESTED:
+            return Collections.singletonList(new Document(NESTED, generateNestedDocument(NESTED_DEPTH)));
+         default:
+            throw new IllegalArgumentException("Unknown corpus " + corpus);
+      }
+   }
+
+   /**
+    * Return the documents of a corpus which can be loaded. Documents which can not be loaded in the current environment
+    * (for example because they are invalid test cases) are not used by the benchmarks.
+    *
+    * @param corpus the corpus name
+    * @return the documents
+    * @throws IOException if the files of the corpus cannot be read
+    */
+   public static List<Document> getLoadableDocuments(String corpus) throws IOException {
+      LoaderParameters params = new LoaderParameters();
+      params.autoStartAnimations = false;
+      List<Document> documents = new ArrayList<>();
+      Iterator<Document> it = getDocuments(corpus).iterator();
+      while (it.hasNext()) {
+         Document document = it.next();
+         try {
+            if (document.load(params) != null) {
+               documents.add(document);
+            }
+         } catch (RuntimeException | LinkageError ex) {
+            // the document is not used
+         }
+      }
+      return documents;
+   }
+
+   private static List<Document> getTestDocuments() throws IOException {
+      File dir = new File(System.getProperty("fxsvgimage.corpus", TEST));
+      if (!dir.isDirectory()) {
+         throw new IOException("Corpus directory " + dir.getAbsolutePath() + " does not exist");
+      }
+      List<Path> paths = new ArrayList<>();
+      try (Stream<Path> stream = Files.walk(dir.toPath())) {
+         Iterator<Path> it = stream.iterator();
+         while (it.hasNext()) {
+            Path path = it.next();
+            if (path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".svg")) {
+               paths.add(path);
+            }
+         }
+      }
+      Collections.sort(paths);
+      List<Document> documents = new ArrayList<>(paths.size());
+      Iterator<Path> it = paths.iterator();
+      while (it.hasNext()) {
+         Path path = it.next();
+         String content = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+         documents.add(new Document(path.toString(), content, path.toUri().toURL()));
+      }
+      return documents;
+   }
+
+   /**
+    * Generate a flat document with many shapes.
+    *
+    * @param shapes the number of shapes
+    * @return the document content
+    */
+   public static String generateLargeDocument(int shapes) {
+      Random random = new Random(SEED);
+      StringBuilder buf = new StringBuilder(shapes * 120);
+      buf.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"1000\" height=\"1000\" viewBox=\"0 0 1000 1000\">\n");
+      buf.append("<defs>\n");
+      buf.append("<linearGradient id=\"grad\" x1=\"0%\" y1=\"0%\" x2=\"100%\" y2=\"0%\">");
+      buf.append("<stop offset=\"0%\" stop-color=\"#ff8800\"/><stop offset=\"100%\" stop-color=\"#0088ff\"/></linearGradient>\n");
+      buf.append("</defs>\n");
+      for (int i = 0; i < shapes; i++) {
+         appendShape(buf, random, i);
+      }
+      buf.append("</svg>\n");
+      return buf.toString();
+   }
+
+   /**
+    * Generate a document with nested groups. Each group has two sub-groups and one shape.
+    *
+    * @param depth the depth of the hierarchy
+    * @return the document content
+    */
+   public static String generateNestedDocument(int depth) {
+      Random random = new Random(SEED);
+      StringBuilder buf = new StringBuilder();
+      buf.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"1000\" height=\"1000\" viewBox=\"0 0 1000 1000\">\n");
+      appendGroup(buf, random, depth);
+      buf.append("</svg>\n");
+      return buf.toString();
+   }
+
+   private static void appendGroup(StringBuilder buf, Random random, int depth) {
+      buf.append("<g transform=\"translate(").append(random.nextInt(20)).append(' ').append(random.nextInt(20));
+      buf.append(") scale(0.95)\" opacity=\"0.98\">\n");
+      appendShape(buf, random, depth);
+      if (depth > 0) {
+         for (int i = 0; i < NESTED_BREADTH; i++) {
+            appendGroup(buf, random, depth - 1);
+         }
+      }
+      buf.append("</g>\n");
+   }
+
+   private static void appendShape(StringBuilder buf, Random random, int index) {
+      int x = random.nextInt(950);
+      int y = random.nextInt(950);
+      String color = String.format(Locale.ROOT, "#%06x", random.nextInt(0x1000000));
+      switch (index % 4) {
+         case 0:
+            buf.append("<rect x=\"").append(x).append("\" y=\"").append(y).append("\" width=\"").append(10 + random.nextInt(40));
+            buf.append("\" height=\"").append(10 + random.nextInt(40)).append("\" rx=\"3\" fill=\"").append(color).append("\"/>\n");
+            break;
+         case 1:
+            buf.append("<circle cx=\"").append(x).append("\" cy=\"").append(y).append("\" r=\"").append(5 + random.nextInt(20));
+            buf.append("\" style=\"fill:url(#grad);stroke:").append(color).append(";stroke-width:2\"/>\n");
+            break;
+         case 2:
+            buf.append("<path d=\"M").append(x).append(',').append(y);
+            buf.append(" c 10,-20 30,-20 40,0 s 30,20 40,0 l 0,30 q -40,20 -80,0 z\" fill=\"none\" stroke=\"").append(color);
+            buf.append("\" stroke-width=\"1.5\" transform=\"rotate(").append(random.nextInt(360)).append(' ').append(x).append(' ').append(y);
+            buf.append(")\"/>\n");
+            break;
+         default:
+            buf.append("<polygon points=\"").append(x).append(',').append(y).append(' ').append(x + 30).append(',').append(y + 10);
+            buf.append(' ').append(x + 10).append(',').append(y + 35).append("\" fill=\"").append(color).append("\" fill-opacity=\"0.7\"/>\n");
+            break;
+      }
+   }
+
+   /**
+    * Initialize the JavaFX platform.
+    */
+   public static void initPlatform() {
+      // the next instruction is only there to initialize the JavaFX platform
+      new JFXPanel();
+   }
+
+   /**
+    * Execute a task in the JavaFX Application Thread and wait for its result.
+    *
+    * @param <V> the type of the result
+    * @param callable the task
+    * @return the result
+    * @throws Exception if the task threw an exception
+    */
+   public static <V> V runInJFX(Callable<V> callable) throws Exception {
+      FutureTask<V> future = new FutureTask<>(callable);
+      Platform.runLater(future);
+      return future.get();
+   }
+
+   /**
+    * A document of a corpus.
+    */
+   public static class Document {
+      private final String name;
+      private final String content;
+      private final URL url;
+
+      private Document(String name, String content) {
+         this(name, content, null);
+      }
+
+      private Document(String name, String content, URL url) {
+         this.name = name;
+         this.content = content;
+         this.url = url;
+      }
+
+      /**
+       * Return the name of the document.
+       *
+       * @return the name
+       */
+      public String getName() {
+         return name;
+      }
+
+      /**
+       * Return the content of the document.
+       *
+       * @return the content
+       */
+      public String getContent() {
+         return content;
+      }
+
+      /**
+       * Create a loader for the document. The URL of the document is used if it exists, so that relative references are resolved.
+       *
+       * @param params the loader parameters
+       * @return the loader
+       */
+      SVGLoader createLoader(LoaderParameters params) {
+         if (url != null) {
+            return SVGLoader.createLoader(url, params);
+         } else {
+            return SVGLoader.createLoader(content, params);
+         }
+      }
+
+      /**
+       * Load the document.
+       *
+       * @param params the loader parameters
+       * @return the image, or null if the document could not be loaded
+       */
+      public SVGImage load(LoaderParameters params) {
+         if (url != null) {
+            return SVGLoader.load(url, params);
+         } else {
+            return SVGLoader.load(content, params);
+         }
+      }
+
+      @Override
+      public String toString() {
+         return name;
+      }
+   }
+}
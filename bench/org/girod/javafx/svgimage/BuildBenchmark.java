@@ -0,0 +1,111 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import org.girod.javafx.svgimage.xml.parsers.xmltree.XMLTreeHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark of the creation of the JavaFX tree from an already parsed {@link org.girod.javafx.svgimage.xml.parsers.xmltree.XMLRoot}.
+ * The documents are parsed before each invocation, and all the documents of the corpus are built in one JavaFX Application Thread task,
+ * so the measure includes one hand-off to the JavaFX Application Thread for the whole corpus. The documents are built sequentially and
+ * with the {@link LoaderParameters#parallelBuild} parameter.
+ *
+ * @since 1.10
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BuildBenchmark {
+   @Param({BenchmarkCorpus.TEST, BenchmarkCorpus.LARGE, BenchmarkCorpus.NESTED})
+   public String corpus;
+   @Param({"false", "true"})
+   public boolean parallel;
+   private List<BenchmarkCorpus.Document> documents;
+   private LoaderParameters params;
+   private final List<SVGLoader> loaders = new ArrayList<>();
+   private final List<XMLTreeHandler> handlers = new ArrayList<>();
+
+   @Setup(Level.Trial)
+   public void setupTrial() throws Exception {
+      BenchmarkCorpus.initPlatform();
+      documents = BenchmarkCorpus.getLoadableDocuments(corpus);
+      params = new LoaderParameters();
+      params.autoStartAnimations = false;
+      params.parallelBuild = parallel;
+   }
+
+   @Setup(Level.Invocation)
+   public void setupInvocation() throws Exception {
+      // a loader can only build its image once
+      loaders.clear();
+      handlers.clear();
+      for (int i = 0; i < documents.size(); i++) {
+         SVGLoader loader = documents.get(i).createLoader(params);
+         loaders.add(loader);
+         handlers.add(loader.parseTree());
+      }
+   }
+
+   @Benchmark
+   public void build(final Blackhole blackhole) throws Exception {
+      BenchmarkCorpus.runInJFX(new Callable<Void>() {
+         @Override
+         public Void call() throws Exception {
+            for (int i = 0; i < loaders.size(); i++) {
+               blackhole.consume(loaders.get(i).buildImage(handlers.get(i)));
+            }
+            return null;
+         }
+      });
+   }
+}
@@ -0,0 +1,120 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.paint.Paint;
+import org.girod.javafx.svgimage.xml.parsers.LengthParser;
+import org.girod.javafx.svgimage.xml.parsers.ParserUtils;
+import org.girod.javafx.svgimage.xml.parsers.SVGPathParser;
+import org.girod.javafx.svgimage.xml.parsers.TransformUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Micro-benchmarks of the parsing of path data, lengths, transforms and colors. Each benchmark parses a small set of
+ * representative values.
+ *
+ * @since 1.10
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParsersBenchmark {
+   private static final String[] PATHS = {
+      "M10,30 A20,20 0,0,1 50,30 A20,20 0,0,1 90,30 Q90,60 50,90 Q10,60 10,30 z",
+      "M 100 100 L 300 100 L 200 300 z",
+      "M12 2C6.48 2 2 6.48 2 12s4.48 10 10 10 10-4.48 10-10S17.52 2 12 2zm-2 15l-5-5 1.41-1.41L10 14.17l7.59-7.59L19 8l-9 9z",
+      "m 5.5,-3.25e1 h10.25 v-20 c 1,2 3,4 5,6 s 7,8 9,10 t 2,2 l .5.5 -1e-1,2E2 z"
+   };
+   private static final String[] LENGTHS = {"10", "10px", "2.5em", "50%", "3mm", "1.5in", "12pt", "1e2", "-0.5cm"};
+   private static final String[] TRANSFORMS = {
+      "translate(10 20)",
+      "rotate(45 50 50)",
+      "matrix(0.866 0.5 -0.5 0.866 10 20)",
+      "translate(10,20) scale(2) rotate(30) skewX(10)"
+   };
+   private static final String[] COLORS = {"#ff0000", "#f00", "red", "rgb(10,20,30)", "rgba(10,20,30,0.5)", "cornflowerblue", "none"};
+   private Viewport viewport;
+   private Map<String, Paint> gradients;
+
+   @Setup
+   public void setup() {
+      viewport = new Viewport(100, 100);
+      gradients = new HashMap<>();
+   }
+
+   @Benchmark
+   public void parsePath(Blackhole blackhole) {
+      for (int i = 0; i < PATHS.length; i++) {
+         SVGPathParser parser = new SVGPathParser();
+         parser.parse(PATHS[i], viewport);
+         blackhole.consume(parser.getContent());
+      }
+   }
+
+   @Benchmark
+   public void parseLength(Blackhole blackhole) {
+      for (int i = 0; i < LENGTHS.length; i++) {
+         blackhole.consume(LengthParser.parseLength(LENGTHS[i], true, viewport));
+      }
+   }
+
+   @Benchmark
+   public void parseTransform(Blackhole blackhole) {
+      for (int i = 0; i < TRANSFORMS.length; i++) {
+         blackhole.consume(TransformUtils.extractTransforms(TRANSFORMS[i], viewport));
+      }
+   }
+
+   @Benchmark
+   public void parseColor(Blackhole blackhole) {
+      for (int i = 0; i < COLORS.length; i++) {
+         blackhole.consume(ParserUtils.expressPaint(gradients, COLORS[i]));
+      }
+   }
+}
@@ -0,0 +1,108 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.girod.javafx.svgimage.fromjfx.awt.SVGRasterizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the {@link SVGRasterizer}, in one thread and in as many threads as available processors. Each thread loads its own
+ * documents, because the same Node hierarchy must not be rasterized by several threads at the same time. The throughput can be compared
+ * with the one of {@link SnapshotBenchmark}.
+ *
+ * @since 1.10
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RasterizerBenchmark {
+   @Param({BenchmarkCorpus.TEST, BenchmarkCorpus.LARGE})
+   public String corpus;
+   @Param({"256"})
+   public double width;
+   private final List<SVGImage> images = new ArrayList<>();
+   private final SVGRasterizer rasterizer = new SVGRasterizer();
+
+   @Setup
+   public void setup() throws Exception {
+      BenchmarkCorpus.initPlatform();
+      LoaderParameters params = new LoaderParameters();
+      params.autoStartAnimations = false;
+      Iterator<BenchmarkCorpus.Document> it = BenchmarkCorpus.getLoadableDocuments(corpus).iterator();
+      while (it.hasNext()) {
+         SVGImage image = it.next().load(params);
+         if (image.getScaledWidth() > 0) {
+            images.add(image);
+         }
+      }
+   }
+
+   @Benchmark
+   @Threads(1)
+   public BufferedImage rasterize() throws Exception {
+      return rasterizeAll();
+   }
+
+   @Benchmark
+   @Threads(Threads.MAX)
+   public BufferedImage rasterizeParallel() throws Exception {
+      return rasterizeAll();
+   }
+
+   private BufferedImage rasterizeAll() throws Exception {
+      BufferedImage image = null;
+      for (int i = 0; i < images.size(); i++) {
+         image = rasterizer.rasterizeToWidth(images.get(i), width);
+      }
+      return image;
+   }
+}
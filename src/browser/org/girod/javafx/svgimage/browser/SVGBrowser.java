@@ -38,6 +38,8 @@ import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
 import javafx.application.Application;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.collections.ObservableList;
@@ -83,13 +85,14 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 import javafx.stage.WindowEvent;
+import org.girod.javafx.svgimage.RasterProxy;
 import org.girod.javafx.svgimage.SVGImage;
 import org.girod.javafx.svgimage.SVGLoader;
 
 /**
  * A sample browser.
  *
- * @version 1.7.1
+ * @version 1.10
  */
 public class SVGBrowser extends Application {
    private Stage stage = null;
@@ -99,7 +102,9 @@ public class SVGBrowser extends Application {
    private double scale = 1d;
    private boolean hasBackground = false;
    private Color background = null;
+   private boolean useRasterProxy = false;
    private final Map<Integer, SVGImage> imagesByIndex = new HashMap<>();
+   private final Map<Integer, RasterProxy> proxiesByIndex = new HashMap<>();
    
    public static void main(String[] args) {
       launch(args);
@@ -342,6 +347,25 @@ public class SVGBrowser extends Application {
       colorChooser.setDisable(true);
       backgroundColorLine.getChildren().add(colorChooser);
       settings.getChildren().add(backgroundColorLine);
+
+      // raster proxy
+      HBox rasterProxyLine = new HBox();
+      rasterProxyLine.setPadding(insets);
+      rasterProxyLine.setAlignment(Pos.CENTER_LEFT);
+      rasterProxyLine.setSpacing(10);
+      label = createLabelBox("Raster Proxy While Navigating");
+      rasterProxyLine.getChildren().add(label);
+      CheckBox rasterProxyCheckBox = new CheckBox("");
+      rasterProxyCheckBox.setSelected(useRasterProxy);
+      rasterProxyLine.getChildren().add(rasterProxyCheckBox);
+      settings.getChildren().add(rasterProxyLine);
+      
+      rasterProxyCheckBox.selectedProperty().addListener(new ChangeListener<Boolean>() {
+         @Override
+         public void changed(ObservableValue<? extends Boolean> observable, Boolean oldValue, Boolean newValue) {
+            useRasterProxy = newValue;
+         }
+      });
       
       colorChooser.valueProperty().addListener(new ChangeListener<Color>() {
          @Override
@@ -393,7 +417,14 @@ public class SVGBrowser extends Application {
          }
          
          Group group = image;
-         MyStackPane content = new MyStackPane(image);
+         // the raster proxy is shown instead of the image while it is zoomed or panned
+         RasterProxy proxy = null;
+         Node root = image;
+         if (useRasterProxy) {
+            proxy = new RasterProxy(image);
+            root = proxy.getNode();
+         }
+         MyStackPane content = new MyStackPane(root);
          if (hasBackground  && background != null) {
             BackgroundFill fill = new BackgroundFill(background, CornerRadii.EMPTY, Insets.EMPTY);
             Background _background = new Background(fill);
@@ -419,6 +450,18 @@ public class SVGBrowser extends Application {
          scrollPane.setFitToHeight(true);
          scrollPane.setFitToWidth(true);
          scrollPane.setPrefSize(500, 500);
+         if (proxy != null) {
+            final RasterProxy theProxy = proxy;
+            InvalidationListener panListener = new InvalidationListener() {
+               @Override
+               public void invalidated(Observable observable) {
+                  theProxy.interact();
+               }
+            };
+            scrollPane.hvalueProperty().addListener(panListener);
+            scrollPane.vvalueProperty().addListener(panListener);
+            proxy.prefetch();
+         }
          Tab tab;
          if (replace) {
             tab = tabPane.getSelectionModel().getSelectedItem();
@@ -462,10 +505,12 @@ public class SVGBrowser extends Application {
             tabPane.getTabs().add(tab);
             int tabIndex = tabPane.getTabs().size() - 1;
             imagesByIndex.put(tabIndex, image);
+            setProxy(tabIndex, proxy);
             tab.setOnClosed(new EventHandler<Event>() {
                @Override
                public void handle(Event event) {
                   imagesByIndex.remove(tabIndex);
+                  setProxy(tabIndex, null);
                }
             });
          } else {
@@ -479,6 +524,7 @@ public class SVGBrowser extends Application {
                }
             }
             imagesByIndex.put(tabIndex, image);
+            setProxy(tabIndex, proxy);
          }
          
       } catch (IOException ex) {
@@ -486,6 +532,18 @@ public class SVGBrowser extends Application {
       }
    }
    
+   private void setProxy(int tabIndex, RasterProxy proxy) {
+      RasterProxy previous;
+      if (proxy == null) {
+         previous = proxiesByIndex.remove(tabIndex);
+      } else {
+         previous = proxiesByIndex.put(tabIndex, proxy);
+      }
+      if (previous != null) {
+         previous.dispose();
+      }
+   }
+   
    private class MyStackPane extends StackPane {
       private boolean allowLayoutChildren = true;
       private Node root;
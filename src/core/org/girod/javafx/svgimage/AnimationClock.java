@@ -0,0 +1,265 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.util.ArrayList;
+import java.util.List;
+import javafx.animation.AnimationTimer;
+import org.girod.javafx.svgimage.xml.specs.AnimationTrack;
+
+/**
+ * The clock which plays the {@link AnimationTrack}s of the images loaded with the {@link LoaderParameters#sharedAnimationClock}
+ * parameter. A single AnimationTimer evaluates the tracks of all the playing images on each pulse, rather than one JavaFX Animation for each
+ * animated element. The timer only runs while at least one image is playing.
+ *
+ * The clock must only be used in the JavaFX Application Thread.
+ *
+ * @since 1.10
+ */
+public final class AnimationClock {
+   private static final AnimationClock INSTANCE = new AnimationClock();
+   private final List<Player> players = new ArrayList<>();
+   private Player[] playersArray = new Player[0];
+   private boolean playersChanged = false;
+   private boolean isRunning = false;
+   private final AnimationTimer timer = new AnimationTimer() {
+      @Override
+      public void handle(long now) {
+         tick(now);
+      }
+   };
+
+   private AnimationClock() {
+   }
+
+   /**
+    * Return the unique instance.
+    *
+    * @return the instance
+    */
+   public static AnimationClock getInstance() {
+      return INSTANCE;
+   }
+
+   /**
+    * Return true if the clock is running, which means that at least one image is playing its tracks.
+    *
+    * @return true if the clock is running
+    */
+   public boolean isRunning() {
+      return isRunning;
+   }
+
+   /**
+    * Return the number of images which are playing their tracks.
+    *
+    * @return the number of images
+    */
+   public int getPlayingImagesCount() {
+      return players.size();
+   }
+
+   /**
+    * Return the number of tracks evaluated on each pulse.
+    *
+    * @return the number of tracks
+    */
+   public int getPlayingTracksCount() {
+      int count = 0;
+      for (int i = 0; i < players.size(); i++) {
+         count += players.get(i).tracks.length;
+      }
+      return count;
+   }
+
+   private void add(Player player) {
+      if (!players.contains(player)) {
+         players.add(player);
+         playersChanged = true;
+         if (!isRunning) {
+            isRunning = true;
+            timer.start();
+         }
+      }
+   }
+
+   private void remove(Player player) {
+      if (players.remove(player)) {
+         playersChanged = true;
+         if (players.isEmpty() && isRunning) {
+            isRunning = false;
+            timer.stop();
+         }
+      }
+   }
+
+   private void tick(long now) {
+      if (playersChanged) {
+         playersArray = players.toArray(new Player[players.size()]);
+         playersChanged = false;
+      }
+      for (int i = 0; i < playersArray.length; i++) {
+         Player player = playersArray[i];
+         if (!player.tick(now)) {
+            remove(player);
+         }
+      }
+   }
+
+   /**
+    * Plays the tracks of one image.
+    */
+   static class Player {
+      private final AnimationTrack[] tracks;
+      // the time of the tracks in nanoseconds when the player is not playing
+      private long elapsed = 0;
+      private long startTime = -1;
+      private boolean isPlaying = false;
+      private boolean isFinished = false;
+
+      Player(List<AnimationTrack> tracks) {
+         this.tracks = tracks.toArray(new AnimationTrack[tracks.size()]);
+      }
+
+      /**
+       * Return the tracks.
+       *
+       * @return the tracks
+       */
+      AnimationTrack[] getTracks() {
+         return tracks;
+      }
+
+      /**
+       * Return the time of the tracks in nanoseconds.
+       *
+       * @return the time
+       */
+      long getElapsedTime() {
+         return elapsed;
+      }
+
+      /**
+       * Set the time of the tracks in nanoseconds, before they are played.
+       *
+       * @param elapsed the time
+       */
+      void setElapsedTime(long elapsed) {
+         this.elapsed = elapsed;
+      }
+
+      /**
+       * Return true if the tracks are playing.
+       *
+       * @return true if the tracks are playing
+       */
+      boolean isPlaying() {
+         return isPlaying;
+      }
+
+      /**
+       * Play the tracks from their current time, or from the start if they are finished.
+       */
+      void play() {
+         if (isPlaying) {
+            return;
+         }
+         if (isFinished) {
+            reset();
+         }
+         isPlaying = true;
+         startTime = -1;
+         INSTANCE.add(this);
+      }
+
+      /**
+       * Pause the tracks at their current time.
+       */
+      void pause() {
+         if (isPlaying) {
+            isPlaying = false;
+            INSTANCE.remove(this);
+         }
+      }
+
+      /**
+       * Stop the tracks. They will be played from the start the next time.
+       */
+      void stop() {
+         pause();
+         reset();
+      }
+
+      private void reset() {
+         elapsed = 0;
+         isFinished = false;
+         for (int i = 0; i < tracks.length; i++) {
+            tracks[i].reset();
+         }
+      }
+
+      /**
+       * Apply the values of the tracks at a time, without playing them.
+       *
+       * @param millis the time in milliseconds
+       */
+      void jumpTo(double millis) {
+         elapsed = (long) (millis * 1000000d);
+         isFinished = !apply(millis);
+         startTime = -1;
+      }
+
+      private boolean apply(double millis) {
+         boolean running = false;
+         for (int i = 0; i < tracks.length; i++) {
+            if (tracks[i].apply(millis)) {
+               running = true;
+            }
+         }
+         return running;
+      }
+
+      private boolean tick(long now) {
+         if (startTime == -1) {
+            startTime = now - elapsed;
+         }
+         elapsed = now - startTime;
+         if (!apply(elapsed / 1000000d)) {
+            isPlaying = false;
+            isFinished = true;
+            return false;
+         }
+         return true;
+      }
+   }
+}
@@ -0,0 +1,325 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.stage.Window;
+
+/**
+ * Decides if the animations of an image are allowed to run. The animations of an image are paused when the image is not showing: when it
+ * has no Scene, when its Window is not showing, when the image or one of its parents is not visible, or when the image is outside the
+ * Scene or the clips of its parents (for example in a ScrollPane). The animations are also paused if more images than the
+ * {@link GlobalConfig#getMaximumAnimatedImages()} limit are playing, and are resumed in the order where they have been paused when
+ * other images stop. With this limit, an image which has been in a Scene releases its place when it is removed from the Scene or when its
+ * Window is not showing anymore, even if its animations are not paused while it is not showing.
+ *
+ * Paused animations are resumed at the time where they have been paused.
+ *
+ * This class must only be used in the JavaFX Application Thread.
+ *
+ * @since 1.10
+ */
+final class AnimationVisibility {
+   private static final List<AnimationVisibility> ACTIVE = new ArrayList<>();
+   private static final List<AnimationVisibility> WAITING = new ArrayList<>();
+   private final SVGImage image;
+   private final boolean observeVisibility;
+   private final List<Observable> observed = new ArrayList<>();
+   private boolean isVisible = true;
+   private boolean hasHadScene = false;
+   private boolean isActive = false;
+   private boolean isCheckPending = false;
+   private final InvalidationListener structureListener = new InvalidationListener() {
+      @Override
+      public void invalidated(Observable observable) {
+         observe();
+         scheduleCheck();
+      }
+   };
+   private final InvalidationListener boundsListener = new InvalidationListener() {
+      @Override
+      public void invalidated(Observable observable) {
+         scheduleCheck();
+      }
+   };
+
+   /**
+    * Constructor.
+    *
+    * @param image the image
+    * @param observeVisibility true if the animations must be paused when the image is not showing
+    */
+   AnimationVisibility(SVGImage image, boolean observeVisibility) {
+      this.image = image;
+      this.observeVisibility = observeVisibility;
+      observe();
+      isVisible = observeVisibility ? computeVisible() : computeShowing();
+   }
+
+   /**
+    * Return true if the animations are paused when the image is not showing.
+    *
+    * @return true if the animations are paused when the image is not showing
+    */
+   boolean isObservingVisibility() {
+      return observeVisibility;
+   }
+
+   /**
+    * Return true if the image is considered as visible.
+    *
+    * @return true if the image is considered as visible
+    */
+   boolean isVisible() {
+      return isVisible;
+   }
+
+   /**
+    * Return true if the animations of the image are allowed to run.
+    *
+    * @return true if the animations are allowed to run
+    */
+   boolean isActive() {
+      return isActive;
+   }
+
+   /**
+    * Return the number of images whose animations are running.
+    *
+    * @return the number of images
+    */
+   static int getActiveCount() {
+      return ACTIVE.size();
+   }
+
+   /**
+    * Return the number of images whose animations wait for other images to stop.
+    *
+    * @return the number of images
+    */
+   static int getWaitingCount() {
+      return WAITING.size();
+   }
+
+   /**
+    * Stop observing the image and release its place in the running images.
+    */
+   void dispose() {
+      unobserve();
+      WAITING.remove(this);
+      if (ACTIVE.remove(this)) {
+         isActive = false;
+         promoteWaiting();
+      }
+   }
+
+   /**
+    * Check if the animations of the image must be resumed or paused, depending on its visibility, its playing state and the number of
+    * images which are already playing.
+    */
+   void update() {
+      isVisible = observeVisibility ? computeVisible() : computeShowing();
+      boolean wanted = isVisible && image.isPlayingAnimations();
+      if (wanted) {
+         if (!isActive && !WAITING.contains(this)) {
+            if (hasRoom()) {
+               activate();
+            } else {
+               WAITING.add(this);
+            }
+         }
+      } else {
+         WAITING.remove(this);
+         if (isActive) {
+            ACTIVE.remove(this);
+            isActive = false;
+            image.pauseAnimationsImpl();
+            promoteWaiting();
+         }
+      }
+   }
+
+   private void activate() {
+      ACTIVE.add(this);
+      isActive = true;
+      image.resumeAnimationsImpl();
+   }
+
+   private static boolean hasRoom() {
+      int max = GlobalConfig.getInstance().getMaximumAnimatedImages();
+      return max <= 0 || ACTIVE.size() < max;
+   }
+
+   private static void promoteWaiting() {
+      while (!WAITING.isEmpty() && hasRoom()) {
+         WAITING.remove(0).activate();
+      }
+   }
+
+   private void scheduleCheck() {
+      if (!isCheckPending) {
+         isCheckPending = true;
+         Platform.runLater(new Runnable() {
+            @Override
+            public void run() {
+               isCheckPending = false;
+               update();
+            }
+         });
+      }
+   }
+
+   private void listen(Observable observable, InvalidationListener listener) {
+      observable.addListener(listener);
+      observed.add(observable);
+   }
+
+   private void unobserve() {
+      Iterator<Observable> it = observed.iterator();
+      while (it.hasNext()) {
+         Observable observable = it.next();
+         observable.removeListener(structureListener);
+         observable.removeListener(boundsListener);
+      }
+      observed.clear();
+   }
+
+   /**
+    * Listen to the properties which can change the visibility of the image. The listeners are set again each time the parents, the
+    * Scene, the Window or the clips of the image change. If the visibility of the image is not observed, only the Scene and the Window
+    * of the image are observed.
+    */
+   private void observe() {
+      unobserve();
+      listen(image.sceneProperty(), structureListener);
+      if (observeVisibility) {
+         listen(image.localToSceneTransformProperty(), boundsListener);
+         listen(image.boundsInLocalProperty(), boundsListener);
+         Node node = image;
+         while (node != null) {
+            listen(node.parentProperty(), structureListener);
+            listen(node.visibleProperty(), boundsListener);
+            listen(node.clipProperty(), structureListener);
+            Node clip = node.getClip();
+            if (clip != null) {
+               listen(clip.boundsInParentProperty(), boundsListener);
+            }
+            node = node.getParent();
+         }
+      }
+      Scene scene = image.getScene();
+      if (scene != null) {
+         listen(scene.windowProperty(), structureListener);
+         if (observeVisibility) {
+            listen(scene.widthProperty(), boundsListener);
+            listen(scene.heightProperty(), boundsListener);
+         }
+         Window window = scene.getWindow();
+         if (window != null) {
+            listen(window.showingProperty(), boundsListener);
+         }
+      }
+   }
+
+   /**
+    * Return false if the image has been removed from its Scene, or if its Window is not showing. An image which has never been in a
+    * Scene is considered as showing.
+    *
+    * @return false if the image has been removed from its Scene, or if its Window is not showing
+    */
+   private boolean computeShowing() {
+      Scene scene = image.getScene();
+      if (scene == null) {
+         return !hasHadScene;
+      }
+      hasHadScene = true;
+      Window window = scene.getWindow();
+      return window != null && window.isShowing();
+   }
+
+   /**
+    * Return true if a part of the image is showing.
+    *
+    * @return true if a part of the image is showing
+    */
+   private boolean computeVisible() {
+      Scene scene = image.getScene();
+      if (scene == null) {
+         return false;
+      }
+      Window window = scene.getWindow();
+      if (window == null || !window.isShowing()) {
+         return false;
+      }
+      // the getter revalidates the property so that the next change will be notified
+      image.getLocalToSceneTransform();
+      Bounds bounds = image.localToScene(image.getBoundsInLocal());
+      bounds = intersect(bounds, new BoundingBox(0, 0, scene.getWidth(), scene.getHeight()));
+      Node node = image;
+      while (node != null && bounds != null) {
+         if (!node.isVisible()) {
+            return false;
+         }
+         Node clip = node.getClip();
+         if (clip != null) {
+            bounds = intersect(bounds, node.localToScene(clip.getBoundsInParent()));
+         }
+         node = node.getParent();
+      }
+      return bounds != null;
+   }
+
+   /**
+    * Return the intersection of two bounds, or null if they do not intersect. Also used by the {@link SubtreeVirtualizer}.
+    */
+   static Bounds intersect(Bounds bounds1, Bounds bounds2) {
+      double minX = Math.max(bounds1.getMinX(), bounds2.getMinX());
+      double minY = Math.max(bounds1.getMinY(), bounds2.getMinY());
+      double maxX = Math.min(bounds1.getMaxX(), bounds2.getMaxX());
+      double maxY = Math.min(bounds1.getMaxY(), bounds2.getMaxY());
+      if (maxX <= minX || maxY <= minY) {
+         return null;
+      } else {
+         return new BoundingBox(minX, minY, maxX - minX, maxY - minY);
+      }
+   }
+}
@@ -32,51 +32,32 @@ the project website at the project page on https://github.com/hervegirod/fxsvgim
  */
 package org.girod.javafx.svgimage;
 
-import java.awt.image.BufferedImage;
-import java.awt.image.ColorModel;
-import java.awt.image.DataBuffer;
-import java.awt.image.DataBufferInt;
-import java.awt.image.DirectColorModel;
-import java.awt.image.PixelGrabber;
-import java.awt.image.Raster;
-import java.awt.image.RenderedImage;
-import java.awt.image.WritableRaster;
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import javafx.embed.swing.SwingFXUtils;
-import javafx.scene.SnapshotParameters;
+import java.io.OutputStream;
 import javafx.scene.image.WritableImage;
-import javax.imageio.ImageIO;
 import org.girod.javafx.svgimage.xml.parsers.SVGLibraryException;
 
 /**
- * Converts a JPG image to handle the transparent background.
+ * Saves the snapshots of images. The pixels are exported by a {@link PixelExporter}, without using the Swing bridge.
  *
- * @version 1.0
+ * @version 1.10
  */
 class AwtImageConverter {
-   private static Object colorModel = null;
-   private static final int[] RGB_MASKS = { 0xFF0000, 0xFF00, 0xFF };
+   static boolean snapshot(WritableImage image, String format, File file) throws SVGLibraryException {
+      try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+         return new PixelExporter().write(image, format, out);
+      } catch (IOException ex) {
+         throw new SVGLibraryException(ex);
+      }
+   }
 
-   static boolean snapshot(WritableImage image, SnapshotParameters params, String format, File file) throws SVGLibraryException {
-      RenderedImage awtImg = SwingFXUtils.fromFXImage(image, null);
+   static boolean snapshot(WritableImage image, String format, OutputStream out) throws SVGLibraryException {
       try {
-         if (format.equals("jpg")) {
-            // see https://stackoverflow.com/questions/4386446/issue-using-imageio-write-jpg-file-pink-background
-            PixelGrabber pg = new PixelGrabber((java.awt.Image) awtImg, 0, 0, -1, -1, true);
-            pg.grabPixels();
-            int width = pg.getWidth(), height = pg.getHeight();
-
-            DataBuffer buffer = new DataBufferInt((int[]) pg.getPixels(), pg.getWidth() * pg.getHeight());
-            WritableRaster raster = Raster.createPackedRaster(buffer, width, height, width, RGB_MASKS, null);
-            if (colorModel == null) {
-               colorModel = new DirectColorModel(32, RGB_MASKS[0], RGB_MASKS[1], RGB_MASKS[2]);
-            }
-            awtImg = new BufferedImage((ColorModel) colorModel, raster, false, null);
-         }
-         ImageIO.write(awtImg, format, file);
-         return true;
-      } catch (IOException | InterruptedException ex) {
+         return new PixelExporter().write(image, format, out);
+      } catch (IOException ex) {
          throw new SVGLibraryException(ex);
       }
    }
@@ -0,0 +1,761 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URL;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import javafx.application.Platform;
+import javafx.embed.swing.JFXPanel;
+import javafx.scene.image.WritableImage;
+import org.girod.javafx.svgimage.xml.parsers.xmltree.XMLTreeHandler;
+
+/**
+ * Renders a batch of svg files to raster images. The work is pipelined between three stages:
+ * <ul>
+ * <li>A pool of parser threads reads and parses the XML content of the files</li>
+ * <li>The JavaFX tree of the images is built and snapshotted in the JavaFX Application Thread, by batches of several files
+ * in one task</li>
+ * <li>A pool of encoder threads encodes and writes the snapshots with a {@link PixelExporter}</li>
+ * </ul>
+ * The parsing and encoding of the files of one batch are performed while the JavaFX Application Thread renders the next one.
+ *
+ * The name of each output file is <code>&lt;name&gt;.&lt;format&gt;</code> if no widths are specified, else
+ * <code>&lt;name&gt;-&lt;width&gt;.&lt;format&gt;</code> for each width, as in {@link SVGImage#snapshots(String, File, String, double...)}.
+ *
+ * @since 1.10
+ */
+public class BatchRenderer {
+   /**
+    * The default number of files rendered in one JavaFX Application Thread task.
+    */
+   public static final int DEFAULT_BATCH_SIZE = 16;
+   private static final String SVG_EXTENSION = ".svg";
+   private static final String GLOB_CHARS = "*?[{";
+   private final List<Input> inputs = new ArrayList<>();
+   private double[] widths = new double[0];
+   private String format = PixelExporter.PNG;
+   private File outputDir = null;
+   private int threads = Runtime.getRuntime().availableProcessors();
+   private int batchSize = DEFAULT_BATCH_SIZE;
+   private boolean resume = false;
+   private boolean verbose = true;
+   private PrintStream log = System.out;
+
+   /**
+    * Constructor.
+    */
+   public BatchRenderer() {
+   }
+
+   /**
+    * Set the widths of the resulting images, preserving the image ratio. If no widths are specified, each file is rendered at
+    * the size of its svg image.
+    *
+    * @param widths the widths
+    */
+   public void setWidths(double... widths) {
+      this.widths = widths == null ? new double[0] : widths.clone();
+   }
+
+   /**
+    * Return the widths of the resulting images.
+    *
+    * @return the widths
+    */
+   public double[] getWidths() {
+      return widths.clone();
+   }
+
+   /**
+    * Set the format of the resulting images. The default is {@link PixelExporter#PNG}.
+    *
+    * @param format the format
+    */
+   public void setFormat(String format) {
+      this.format = format;
+   }
+
+   /**
+    * Return the format of the resulting images.
+    *
+    * @return the format
+    */
+   public String getFormat() {
+      return format;
+   }
+
+   /**
+    * Set the output directory. The directory structure of the inputs below their base directory is reproduced in the output
+    * directory. If the output directory is null, each image is written in the directory of its svg file.
+    *
+    * @param outputDir the output directory
+    */
+   public void setOutputDirectory(File outputDir) {
+      this.outputDir = outputDir;
+   }
+
+   /**
+    * Return the output directory.
+    *
+    * @return the output directory
+    */
+   public File getOutputDirectory() {
+      return outputDir;
+   }
+
+   /**
+    * Set the number of threads used to parse the files, and the number of threads used to encode the images. The default
+    * is the number of available processors.
+    *
+    * @param threads the number of threads
+    */
+   public void setThreads(int threads) {
+      this.threads = Math.max(1, threads);
+   }
+
+   /**
+    * Return the number of threads used to parse the files, and the number of threads used to encode the images.
+    *
+    * @return the number of threads
+    */
+   public int getThreads() {
+      return threads;
+   }
+
+   /**
+    * Set the maximum number of files rendered in one JavaFX Application Thread task. The default is {@link #DEFAULT_BATCH_SIZE}.
+    *
+    * @param batchSize the batch size
+    */
+   public void setBatchSize(int batchSize) {
+      this.batchSize = Math.max(1, batchSize);
+   }
+
+   /**
+    * Return the maximum number of files rendered in one JavaFX Application Thread task.
+    *
+    * @return the batch size
+    */
+   public int getBatchSize() {
+      return batchSize;
+   }
+
+   /**
+    * Set if the files whose outputs all exist and are more recent than the svg file must be skipped.
+    *
+    * @param resume true if the up to date files must be skipped
+    */
+   public void setResume(boolean resume) {
+      this.resume = resume;
+   }
+
+   /**
+    * Return true if the files whose outputs are up to date are skipped.
+    *
+    * @return true if the files whose outputs are up to date are skipped
+    */
+   public boolean isResuming() {
+      return resume;
+   }
+
+   /**
+    * Set if the result of each file must be reported. Failures are always reported.
+    *
+    * @param verbose true if the result of each file must be reported
+    */
+   public void setVerbose(boolean verbose) {
+      this.verbose = verbose;
+   }
+
+   /**
+    * Set the stream where the results are reported. The default is <code>System.out</code>. A null stream disables all the reports.
+    *
+    * @param log the stream
+    */
+   public void setLog(PrintStream log) {
+      this.log = log;
+   }
+
+   /**
+    * Add an input. The input can be:
+    * <ul>
+    * <li>A svg file</li>
+    * <li>A directory, in which case all the svg files of the directory and its sub-directories are added</li>
+    * <li>A glob pattern such as <code>icons/**&#47;*.svg</code>, in which case all the matching files are added. The base directory
+    * of the pattern is the path before its first element containing a glob character</li>
+    * </ul>
+    *
+    * @param input the input
+    * @throws IOException if the input does not exist or the directory cannot be read
+    */
+   public void addInput(String input) throws IOException {
+      if (isGlob(input)) {
+         addGlob(input);
+      } else {
+         addInput(new File(input));
+      }
+   }
+
+   /**
+    * Add a svg file, or all the svg files of a directory and its sub-directories.
+    *
+    * @param input the file or directory
+    * @throws IOException if the input does not exist or the directory cannot be read
+    */
+   public void addInput(File input) throws IOException {
+      if (input.isDirectory()) {
+         final Path base = input.toPath();
+         addFiles(base, new PathMatcher() {
+            @Override
+            public boolean matches(Path path) {
+               return path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(SVG_EXTENSION);
+            }
+         });
+      } else if (input.isFile()) {
+         inputs.add(new Input(input, input.getName()));
+      } else {
+         throw new FileNotFoundException(input.getPath());
+      }
+   }
+
+   /**
+    * Return the number of input files.
+    *
+    * @return the number of input files
+    */
+   public int getInputCount() {
+      return inputs.size();
+   }
+
+   private static boolean isGlob(String input) {
+      for (int i = 0; i < GLOB_CHARS.length(); i++) {
+         if (input.indexOf(GLOB_CHARS.charAt(i)) != -1) {
+            return true;
+         }
+      }
+      return false;
+   }
+
+   private void addGlob(String input) throws IOException {
+      String[] elements = input.replace(File.separatorChar, '/').split("/");
+      StringBuilder baseBuf = new StringBuilder();
+      StringBuilder patternBuf = new StringBuilder();
+      for (int i = 0; i < elements.length; i++) {
+         String element = elements[i];
+         if (patternBuf.length() == 0 && !isGlob(element)) {
+            baseBuf.append(element).append('/');
+         } else {
+            if (patternBuf.length() != 0) {
+               patternBuf.append('/');
+            }
+            patternBuf.append(element);
+         }
+      }
+      String basePath = baseBuf.length() == 0 ? "." : baseBuf.toString();
+      Path base = Paths.get(basePath);
+      if (!Files.isDirectory(base)) {
+         throw new FileNotFoundException(basePath);
+      }
+      final PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + patternBuf.toString());
+      addFiles(base, matcher);
+   }
+
+   /**
+    * Add all the files below a base directory whose path relative to the base directory is accepted by a matcher.
+    */
+   private void addFiles(final Path base, final PathMatcher matcher) throws IOException {
+      List<Path> paths = new ArrayList<>();
+      try (Stream<Path> stream = Files.walk(base)) {
+         Iterator<Path> it = stream.iterator();
+         while (it.hasNext()) {
+            Path path = it.next();
+            if (Files.isRegularFile(path) && matcher.matches(base.relativize(path))) {
+               paths.add(path);
+            }
+         }
+      }
+      Collections.sort(paths);
+      Iterator<Path> it = paths.iterator();
+      while (it.hasNext()) {
+         Path path = it.next();
+         inputs.add(new Input(path.toFile(), base.relativize(path).toString()));
+      }
+   }
+
+   /**
+    * Render all the inputs. This method must not be called in the JavaFX Application Thread.
+    *
+    * @return the report of the rendering
+    * @throws InterruptedException if the current thread was interrupted while waiting for the rendering
+    */
+   public Report render() throws InterruptedException {
+      if (Platform.isFxApplicationThread()) {
+         throw new IllegalStateException("The batch can not be rendered in the JavaFX Application Thread");
+      }
+      Report report = new Report(inputs.size());
+      long start = System.nanoTime();
+      List<Job> jobs = new ArrayList<>(inputs.size());
+      Iterator<Input> it = inputs.iterator();
+      while (it.hasNext()) {
+         Job job = new Job(it.next());
+         if (resume && job.isUpToDate()) {
+            report.skipped.incrementAndGet();
+            if (verbose && log != null) {
+               log.println("[skipped] " + job.input.file.getPath());
+            }
+         } else {
+            jobs.add(job);
+         }
+      }
+      if (!jobs.isEmpty()) {
+         renderJobs(jobs, report);
+      }
+      report.elapsedNanos = System.nanoTime() - start;
+      return report;
+   }
+
+   private void renderJobs(List<Job> jobs, final Report report) throws InterruptedException {
+      // the next instruction is only there to initialize the JavaFX platform
+      new JFXPanel();
+      ExecutorService parsers = Executors.newFixedThreadPool(threads, new WorkerFactory("parser"));
+      ExecutorService encoders = Executors.newFixedThreadPool(threads, new WorkerFactory("encoder"));
+      final BlockingQueue<Job> parsed = new LinkedBlockingQueue<>();
+      // limits the number of parsed trees and snapshots kept in memory
+      final Semaphore inFlight = new Semaphore(batchSize * 4);
+      final ThreadLocal<PixelExporter> exporters = new ThreadLocal<PixelExporter>() {
+         @Override
+         protected PixelExporter initialValue() {
+            return new PixelExporter();
+         }
+      };
+      try {
+         Iterator<Job> it = jobs.iterator();
+         while (it.hasNext()) {
+            final Job job = it.next();
+            parsers.execute(new Runnable() {
+               @Override
+               public void run() {
+                  inFlight.acquireUninterruptibly();
+                  try {
+                     job.parse();
+                  } finally {
+                     parsed.add(job);
+                  }
+               }
+            });
+         }
+         int remaining = jobs.size();
+         while (remaining > 0) {
+            final List<Job> batch = new ArrayList<>(batchSize);
+            batch.add(parsed.take());
+            parsed.drainTo(batch, batchSize - 1);
+            remaining -= batch.size();
+            renderBatch(batch);
+            Iterator<Job> it2 = batch.iterator();
+            while (it2.hasNext()) {
+               final Job job = it2.next();
+               encoders.execute(new Runnable() {
+                  @Override
+                  public void run() {
+                     try {
+                        job.encode(exporters.get());
+                        report(job, report);
+                     } finally {
+                        inFlight.release();
+                     }
+                  }
+               });
+            }
+         }
+         encoders.shutdown();
+         encoders.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+      } finally {
+         parsers.shutdownNow();
+         encoders.shutdownNow();
+      }
+   }
+
+   private void renderBatch(final List<Job> batch) throws InterruptedException {
+      FutureTask<Void> future = new FutureTask<>(new Callable<Void>() {
+         @Override
+         public Void call() throws Exception {
+            Iterator<Job> it = batch.iterator();
+            while (it.hasNext()) {
+               it.next().render();
+            }
+            return null;
+         }
+      });
+      Platform.runLater(future);
+      try {
+         future.get();
+      } catch (ExecutionException ex) {
+         // each job catches its own exceptions
+         GlobalConfig.getInstance().handleLibraryException(ex.getCause());
+      }
+   }
+
+   private void report(Job job, Report report) {
+      report.inputBytes.addAndGet(job.inputBytes);
+      if (job.error == null) {
+         report.rendered.incrementAndGet();
+         report.outputBytes.addAndGet(job.outputBytes);
+         if (verbose && log != null) {
+            log.println(String.format(Locale.ROOT, "[ok] %s (parse %.1f ms, render %.1f ms, encode %.1f ms)",
+               job.input.file.getPath(), job.parseNanos / 1e6, job.renderNanos / 1e6, job.encodeNanos / 1e6));
+         }
+      } else {
+         report.failures.put(job.input.file, job.error);
+         if (log != null) {
+            log.println("[failed] " + job.input.file.getPath() + ": " + job.error);
+         }
+      }
+   }
+
+   private static String getMessage(Throwable th) {
+      String message = th.getMessage();
+      return message == null ? th.getClass().getName() : message;
+   }
+
+   /**
+    * An input file, with its path relative to the base directory of the input.
+    */
+   private static class Input {
+      private final File file;
+      private final String relativePath;
+
+      private Input(File file, String relativePath) {
+         this.file = file;
+         this.relativePath = relativePath;
+      }
+   }
+
+   /**
+    * The rendering of one input file. The fields are only accessed by one stage at a time, the hand-off between stages
+    * is performed through a blocking queue or an executor.
+    */
+   private class Job {
+      private final Input input;
+      private final List<File> outputs;
+      private SVGLoader loader = null;
+      private XMLTreeHandler tree = null;
+      private List<WritableImage> images = null;
+      private String error = null;
+      private long inputBytes = 0;
+      private long outputBytes = 0;
+      private long parseNanos = 0;
+      private long renderNanos = 0;
+      private long encodeNanos = 0;
+
+      private Job(Input input) {
+         this.input = input;
+         this.outputs = getOutputs();
+      }
+
+      private List<File> getOutputs() {
+         String name = input.file.getName();
+         int index = name.lastIndexOf('.');
+         if (index > 0) {
+            name = name.substring(0, index);
+         }
+         File dir;
+         if (outputDir == null) {
+            dir = input.file.getAbsoluteFile().getParentFile();
+         } else {
+            String parent = new File(input.relativePath).getParent();
+            dir = parent == null ? outputDir : new File(outputDir, parent);
+         }
+         List<File> list = new ArrayList<>();
+         if (widths.length == 0) {
+            list.add(new File(dir, name + "." + format));
+         } else {
+            for (int i = 0; i < widths.length; i++) {
+               list.add(new File(dir, name + "-" + Math.round(widths[i]) + "." + format));
+            }
+         }
+         return list;
+      }
+
+      private boolean isUpToDate() {
+         long lastModified = input.file.lastModified();
+         Iterator<File> it = outputs.iterator();
+         while (it.hasNext()) {
+            File output = it.next();
+            if (!output.exists() || output.lastModified() < lastModified) {
+               return false;
+            }
+         }
+         return true;
+      }
+
+      private void parse() {
+         long start = System.nanoTime();
+         try {
+            inputBytes = input.file.length();
+            URL url = input.file.toURI().toURL();
+            LoaderParameters params = new LoaderParameters();
+            params.autoStartAnimations = false;
+            loader = SVGLoader.createLoader(url, params);
+            tree = loader.parseTree();
+         } catch (Exception ex) {
+            error = getMessage(ex);
+         }
+         parseNanos = System.nanoTime() - start;
+      }
+
+      /**
+       * Build and snapshot the image. Must be called in the JavaFX Application Thread.
+       */
+      private void render() {
+         if (error != null) {
+            return;
+         }
+         long start = System.nanoTime();
+         try {
+            SVGImage image = loader.buildImage(tree);
+            if (image == null) {
+               error = "Could not build the image";
+            } else {
+               double width = image.getScaledWidth();
+               if (width <= 0) {
+                  error = "Empty image";
+               } else {
+                  images = image.snapshotsImplInJFX(widths.length == 0 ? new double[]{width} : widths);
+               }
+            }
+         } catch (RuntimeException | LinkageError | StackOverflowError ex) {
+            // an error in one file must not prevent the rendering of the other files of the batch
+            error = getMessage(ex);
+         } finally {
+            loader = null;
+            tree = null;
+         }
+         renderNanos = System.nanoTime() - start;
+      }
+
+      private void encode(PixelExporter exporter) {
+         if (error == null && images == null) {
+            error = "The image was not rendered";
+         }
+         if (error != null) {
+            return;
+         }
+         long start = System.nanoTime();
+         for (int i = 0; i < outputs.size(); i++) {
+            File output = outputs.get(i);
+            File dir = output.getParentFile();
+            if (!dir.exists() && !dir.mkdirs() && !dir.isDirectory()) {
+               error = "Could not create the directory " + dir.getPath();
+               break;
+            }
+            boolean isValid;
+            try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(output))) {
+               isValid = exporter.write(images.get(i), format, stream);
+               if (!isValid) {
+                  error = "No writer for the format " + format;
+               }
+            } catch (IOException | RuntimeException ex) {
+               error = getMessage(ex);
+               isValid = false;
+            }
+            if (!isValid) {
+               // a partial output must not be considered as up to date when resuming
+               output.delete();
+               break;
+            }
+            outputBytes += output.length();
+         }
+         images = null;
+         encodeNanos = System.nanoTime() - start;
+      }
+   }
+
+   /**
+    * Creates the daemon worker threads, also used by the {@link FrameRenderer}.
+    */
+   static class WorkerFactory implements ThreadFactory {
+      private final String name;
+      private final AtomicInteger count = new AtomicInteger();
+
+      WorkerFactory(String name) {
+         this.name = name;
+      }
+
+      @Override
+      public Thread newThread(Runnable runnable) {
+         Thread thread = new Thread(runnable, "fxsvgimage-" + name + "-" + count.incrementAndGet());
+         thread.setDaemon(true);
+         return thread;
+      }
+   }
+
+   /**
+    * The report of a batch rendering.
+    *
+    * @since 1.10
+    */
+   public static class Report {
+      private final int files;
+      private final AtomicInteger rendered = new AtomicInteger();
+      private final AtomicInteger skipped = new AtomicInteger();
+      private final AtomicLong inputBytes = new AtomicLong();
+      private final AtomicLong outputBytes = new AtomicLong();
+      private final Map<File, String> failures = Collections.synchronizedMap(new LinkedHashMap<File, String>());
+      private long elapsedNanos = 0;
+
+      private Report(int files) {
+         this.files = files;
+      }
+
+      /**
+       * Return the number of input files.
+       *
+       * @return the number of input files
+       */
+      public int getFileCount() {
+         return files;
+      }
+
+      /**
+       * Return the number of files which were successfully rendered.
+       *
+       * @return the number of rendered files
+       */
+      public int getRenderedCount() {
+         return rendered.get();
+      }
+
+      /**
+       * Return the number of files which were skipped because their outputs were up to date.
+       *
+       * @return the number of skipped files
+       */
+      public int getSkippedCount() {
+         return skipped.get();
+      }
+
+      /**
+       * Return the files which could not be rendered, with the reason of each failure.
+       *
+       * @return the failures
+       */
+      public Map<File, String> getFailures() {
+         synchronized (failures) {
+            return new LinkedHashMap<>(failures);
+         }
+      }
+
+      /**
+       * Return the number of bytes of the svg files which were not skipped.
+       *
+       * @return the number of input bytes
+       */
+      public long getInputBytes() {
+         return inputBytes.get();
+      }
+
+      /**
+       * Return the number of bytes of the written images.
+       *
+       * @return the number of output bytes
+       */
+      public long getOutputBytes() {
+         return outputBytes.get();
+      }
+
+      /**
+       * Return the total elapsed time of the rendering in nanoseconds.
+       *
+       * @return the elapsed time
+       */
+      public long getElapsedNanos() {
+         return elapsedNanos;
+      }
+
+      /**
+       * Return the number of rendered files per second.
+       *
+       * @return the number of rendered files per second
+       */
+      public double getFilesPerSecond() {
+         return elapsedNanos == 0 ? 0 : rendered.get() / (elapsedNanos / 1e9);
+      }
+
+      /**
+       * Return the number of megabytes of svg content processed per second.
+       *
+       * @return the number of megabytes per second
+       */
+      public double getMegabytesPerSecond() {
+         return elapsedNanos == 0 ? 0 : inputBytes.get() / (1024d * 1024d) / (elapsedNanos / 1e9);
+      }
+
+      @Override
+      public String toString() {
+         return String.format(Locale.ROOT, "%d files: %d rendered, %d skipped, %d failed in %.2f s (%.1f files/s, %.2f MB/s, %.2f MB written)",
+            files, rendered.get(), skipped.get(), failures.size(), elapsedNanos / 1e9, getFilesPerSecond(), getMegabytesPerSecond(),
+            outputBytes.get() / (1024d * 1024d));
+      }
+   }
+}
@@ -0,0 +1,349 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.geometry.Bounds;
+import javafx.scene.CacheHint;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.effect.Bloom;
+import javafx.scene.effect.BoxBlur;
+import javafx.scene.effect.DropShadow;
+import javafx.scene.effect.Effect;
+import javafx.scene.effect.GaussianBlur;
+import javafx.scene.effect.Glow;
+import javafx.scene.effect.InnerShadow;
+import javafx.scene.effect.MotionBlur;
+import javafx.scene.effect.Shadow;
+import javafx.scene.shape.Path;
+import javafx.scene.shape.Polygon;
+import javafx.scene.shape.Polyline;
+import javafx.scene.shape.SVGPath;
+import javafx.scene.text.Text;
+import javafx.scene.transform.Transform;
+import org.girod.javafx.svgimage.xml.parsers.SVGPathParser;
+
+/**
+ * Chooses the "g" subtrees of an image which are cached as bitmaps by JavaFX, so that they are not rendered again at each pulse when
+ * other Nodes of the scene change. The cache hints are set for images loaded with the {@link LoaderParameters#cacheHints} parameter.
+ *
+ * The render cost of a subtree is estimated from its number of Nodes, the number of segments of its paths, and its effects, blurs and
+ * shadows being the most expensive. The topmost subtrees whose cost is at least the {@link LoaderParameters#cacheHintsThreshold}
+ * are cached, except the subtrees which contain animations, and the subtrees whose cached bitmap would be larger than
+ * {@link #MAX_CACHE_SIZE} at the current scale of the image, in which case their children are considered instead. The subtrees with a
+ * blur or a shadow use the {@link CacheHint#SPEED} hint, because their bitmap can be scaled without visible loss, the other ones use the
+ * {@link CacheHint#QUALITY} hint.
+ *
+ * The choices are evaluated again when the scale of the image or of one of its parents changes. This class must only be used in the
+ * JavaFX Application Thread.
+ *
+ * @since 1.10
+ */
+public final class CacheHints {
+   /**
+    * The maximum width or height of the bitmap of a cached subtree, in pixels.
+    */
+   public static final double MAX_CACHE_SIZE = 4096d;
+   // the estimated cost of a blur or a shadow effect, relative to the cost of a shape
+   private static final int BLUR_COST = 500;
+   // the estimated cost of another effect, relative to the cost of a shape
+   private static final int EFFECT_COST = 100;
+   private final SVGImage image;
+   private final Map<Group, Boolean> candidates;
+   private final int threshold;
+   private final List<Choice> choices = new ArrayList<>();
+   private double scale = 1d;
+   private final InvalidationListener scaleListener = new InvalidationListener() {
+      @Override
+      public void invalidated(Observable observable) {
+         // the transform also changes when the image or one of its parents is moved, which does not change the cached bitmaps
+         if (getScale(image) != scale) {
+            evaluate();
+         }
+      }
+   };
+
+   /**
+    * Constructor.
+    *
+    * @param image the image
+    * @param candidates the Groups built for the "g" elements, associated with true if their element contains animations
+    * @param threshold the minimum cost of a cached subtree
+    */
+   CacheHints(SVGImage image, Map<Group, Boolean> candidates, int threshold) {
+      this.image = image;
+      this.candidates = candidates;
+      this.threshold = threshold;
+      image.scaleXProperty().addListener(scaleListener);
+      image.scaleYProperty().addListener(scaleListener);
+      image.localToSceneTransformProperty().addListener(scaleListener);
+      evaluate();
+   }
+
+   /**
+    * Return new cache hints for another image, after the content of this image has been moved to the other image.
+    *
+    * @param other the other image
+    * @return the new cache hints
+    */
+   CacheHints moveTo(SVGImage other) {
+      dispose();
+      return new CacheHints(other, candidates, threshold);
+   }
+
+   /**
+    * Stop observing the scale and the transform of the image.
+    */
+   void dispose() {
+      image.scaleXProperty().removeListener(scaleListener);
+      image.scaleYProperty().removeListener(scaleListener);
+      image.localToSceneTransformProperty().removeListener(scaleListener);
+   }
+
+   /**
+    * Return the minimum cost of a cached subtree.
+    *
+    * @return the minimum cost
+    */
+   public int getThreshold() {
+      return threshold;
+   }
+
+   /**
+    * Return the scale of the image used for the last evaluation.
+    *
+    * @return the scale
+    */
+   public double getScale() {
+      return scale;
+   }
+
+   /**
+    * Return the choices of the last evaluation, for each "g" subtree which has been considered, in the order of the tree.
+    *
+    * @return the choices
+    */
+   public List<Choice> getChoices() {
+      return Collections.unmodifiableList(choices);
+   }
+
+   /**
+    * Return the Nodes which are cached.
+    *
+    * @return the cached Nodes
+    */
+   public List<Node> getCachedNodes() {
+      List<Node> nodes = new ArrayList<>();
+      Iterator<Choice> it = choices.iterator();
+      while (it.hasNext()) {
+         Choice choice = it.next();
+         if (choice.isCached()) {
+            nodes.add(choice.node);
+         }
+      }
+      return nodes;
+   }
+
+   /**
+    * Evaluate again which subtrees are cached, for example after the image has been added to a scene with a scale.
+    */
+   public void evaluate() {
+      Iterator<Choice> it = choices.iterator();
+      while (it.hasNext()) {
+         Choice choice = it.next();
+         if (choice.cacheHint != null) {
+            choice.node.setCache(false);
+            choice.node.setCacheHint(CacheHint.DEFAULT);
+         }
+      }
+      choices.clear();
+      scale = getScale(image);
+      evaluate(image);
+   }
+
+   private void evaluate(Parent parent) {
+      Iterator<Node> it = parent.getChildrenUnmodifiable().iterator();
+      while (it.hasNext()) {
+         Node node = it.next();
+         if (!(node instanceof Parent)) {
+            continue;
+         }
+         Boolean animated = candidates.get(node);
+         if (animated == null) {
+            evaluate((Parent) node);
+            continue;
+         }
+         Cost cost = new Cost();
+         addCost(node, cost);
+         Choice choice = new Choice(node, cost.value);
+         choices.add(choice);
+         if (animated || cost.value < threshold) {
+            if (animated) {
+               evaluate((Parent) node);
+            }
+         } else if (getCachedSize(node) > MAX_CACHE_SIZE) {
+            evaluate((Parent) node);
+         } else {
+            choice.cacheHint = cost.hasBlur ? CacheHint.SPEED : CacheHint.QUALITY;
+            node.setCache(true);
+            node.setCacheHint(choice.cacheHint);
+         }
+      }
+   }
+
+   /**
+    * Return the largest dimension of the bitmap of a Node if it was cached at the current scale of the image.
+    */
+   private double getCachedSize(Node node) {
+      Bounds bounds = node.getBoundsInLocal();
+      Node current = node;
+      while (current != null && current != image) {
+         bounds = current.localToParent(bounds);
+         current = current.getParent();
+      }
+      return Math.max(bounds.getWidth(), bounds.getHeight()) * scale;
+   }
+
+   private static double getScale(SVGImage image) {
+      Transform transform = image.getLocalToSceneTransform();
+      double scaleX = Math.hypot(transform.getMxx(), transform.getMyx());
+      double scaleY = Math.hypot(transform.getMxy(), transform.getMyy());
+      return Math.max(scaleX, scaleY);
+   }
+
+   private static void addCost(Node node, Cost cost) {
+      cost.value++;
+      Effect effect = node.getEffect();
+      if (effect != null) {
+         if (isBlur(effect)) {
+            cost.value += BLUR_COST;
+            cost.hasBlur = true;
+         } else {
+            cost.value += EFFECT_COST;
+         }
+      }
+      if (node.getClip() != null) {
+         addCost(node.getClip(), cost);
+      }
+      if (node instanceof Parent) {
+         Iterator<Node> it = ((Parent) node).getChildrenUnmodifiable().iterator();
+         while (it.hasNext()) {
+            addCost(it.next(), cost);
+         }
+      } else if (node instanceof Path) {
+         cost.value += ((Path) node).getElements().size();
+      } else if (node instanceof SVGPath) {
+         cost.value += SVGPathParser.getCommandCount((SVGPath) node);
+      } else if (node instanceof Polyline) {
+         cost.value += ((Polyline) node).getPoints().size() / 2;
+      } else if (node instanceof Polygon) {
+         cost.value += ((Polygon) node).getPoints().size() / 2;
+      } else if (node instanceof Text) {
+         String text = ((Text) node).getText();
+         if (text != null) {
+            cost.value += text.length();
+         }
+      }
+   }
+
+   private static boolean isBlur(Effect effect) {
+      return effect instanceof GaussianBlur || effect instanceof BoxBlur || effect instanceof MotionBlur || effect instanceof DropShadow
+         || effect instanceof InnerShadow || effect instanceof Shadow || effect instanceof Bloom || effect instanceof Glow;
+   }
+
+   /**
+    * The cost of a subtree during its evaluation.
+    */
+   private static class Cost {
+      private int value = 0;
+      private boolean hasBlur = false;
+   }
+
+   /**
+    * The choice made for a "g" subtree.
+    */
+   public static final class Choice {
+      private final Node node;
+      private final int cost;
+      private CacheHint cacheHint = null;
+
+      private Choice(Node node, int cost) {
+         this.node = node;
+         this.cost = cost;
+      }
+
+      /**
+       * Return the root Node of the subtree.
+       *
+       * @return the Node
+       */
+      public Node getNode() {
+         return node;
+      }
+
+      /**
+       * Return the estimated render cost of the subtree.
+       *
+       * @return the cost
+       */
+      public int getCost() {
+         return cost;
+      }
+
+      /**
+       * Return true if the subtree is cached.
+       *
+       * @return true if the subtree is cached
+       */
+      public boolean isCached() {
+         return cacheHint != null;
+      }
+
+      /**
+       * Return the cache hint of the subtree.
+       *
+       * @return the cache hint, or null if the subtree is not cached
+       */
+      public CacheHint getCacheHint() {
+         return cacheHint;
+      }
+   }
+}
@@ -0,0 +1,109 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import javafx.scene.image.Image;
+import javafx.util.Duration;
+
+/**
+ * A {@link FrameSink} which writes each frame in a file of a directory. The name of each file will be
+ * <code>&lt;name&gt;-&lt;index&gt;.&lt;format&gt;</code>, with the index on five digits, for example <code>anim-00012.png</code>.
+ *
+ * @since 1.10
+ */
+public class FileFrameSink implements FrameSink {
+   private final File dir;
+   private final String name;
+   private final String format;
+   private final ThreadLocal<PixelExporter> exporters = new ThreadLocal<PixelExporter>() {
+      @Override
+      protected PixelExporter initialValue() {
+         return new PixelExporter();
+      }
+   };
+
+   /**
+    * Constructor.
+    *
+    * @param dir the directory
+    * @param name the name of the files, without the index and the extension
+    * @param format the format (for example {@link PixelExporter#PNG})
+    */
+   public FileFrameSink(File dir, String name, String format) {
+      this.dir = dir;
+      this.name = name;
+      this.format = format;
+   }
+
+   /**
+    * Constructor, writing the frames in the png format.
+    *
+    * @param dir the directory
+    * @param name the name of the files, without the index and the extension
+    */
+   public FileFrameSink(File dir, String name) {
+      this(dir, name, PixelExporter.PNG);
+   }
+
+   /**
+    * Return the file of a frame.
+    *
+    * @param index the index of the frame
+    * @return the file
+    */
+   public File getFile(int index) {
+      return new File(dir, String.format(Locale.ROOT, "%s-%05d.%s", name, index, format));
+   }
+
+   @Override
+   public void frame(int index, Duration time, Image image) throws IOException {
+      if (!dir.exists() && !dir.mkdirs() && !dir.isDirectory()) {
+         throw new IOException("Could not create the directory " + dir.getPath());
+      }
+      File file = getFile(index);
+      boolean isValid;
+      try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(file))) {
+         isValid = exporters.get().write(image, format, stream);
+      }
+      if (!isValid) {
+         file.delete();
+         throw new IOException("No writer for the format " + format);
+      }
+   }
+}
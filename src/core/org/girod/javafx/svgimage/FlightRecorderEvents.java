@@ -0,0 +1,299 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+
+/**
+ * The JDK Flight Recorder events of the library. The events are defined at runtime with the <code>jdk.jfr.EventFactory</code> API,
+ * which is only accessed by reflection, so that the library still works on a Java 8 runtime without JFR. The events are:
+ * <ul>
+ * <li>{@link #LOAD}: the loading of a svg content to a JavaFX tree</li>
+ * <li>{@link #SNAPSHOT}: the snapshot of a {@link SVGImage}</li>
+ * <li>{@link #SVG_CONVERSION}: the conversion of a JavaFX tree to a svg file</li>
+ * <li>{@link #GRAPHICS2D_CONVERSION}: the conversion of a JavaFX tree to Graphics2D orders</li>
+ * </ul>
+ * Each event has a source field, which is the URL of the svg content if it is known, and an element count field, which is the number
+ * of XML elements for the loading, and the number of JavaFX Nodes for the other events. The duration and thread of the events are
+ * recorded by JFR.
+ *
+ * When JFR is not available or the event is not enabled in the recording, {@link Kind#begin()} returns null, and the only cost of the
+ * event is the check of its enabled state. Events are used like this:
+ * <pre>
+ * FlightRecorderEvents.Event event = FlightRecorderEvents.LOAD.begin();
+ * ...
+ * if (event != null) {
+ *    event.commit(source, elementCount);
+ * }
+ * </pre>
+ *
+ * @since 1.10
+ */
+public final class FlightRecorderEvents {
+   private static final String[] CATEGORY = {"JavaFX", "SVG"};
+   private static final Reflection JFR = Reflection.create();
+   /**
+    * The loading of a svg content to a JavaFX tree.
+    */
+   public static final Kind LOAD = new Kind("org.girod.javafx.svgimage.Load", "SVG Load", "Loading of a svg content to a JavaFX tree", "Elements");
+   /**
+    * The snapshot of a {@link SVGImage}.
+    */
+   public static final Kind SNAPSHOT = new Kind("org.girod.javafx.svgimage.Snapshot", "SVG Snapshot", "Snapshot of a SVGImage", "Nodes");
+   /**
+    * The conversion of a JavaFX tree to a svg file.
+    */
+   public static final Kind SVG_CONVERSION = new Kind("org.girod.javafx.svgimage.SVGConversion", "SVG Conversion",
+      "Conversion of a JavaFX tree to a svg file", "Nodes");
+   /**
+    * The conversion of a JavaFX tree to Graphics2D orders.
+    */
+   public static final Kind GRAPHICS2D_CONVERSION = new Kind("org.girod.javafx.svgimage.Graphics2DConversion", "Graphics2D Conversion",
+      "Conversion of a JavaFX tree to Graphics2D orders", "Nodes");
+
+   private FlightRecorderEvents() {
+   }
+
+   /**
+    * Return true if the JDK Flight Recorder is available in the runtime.
+    *
+    * @return true if the JDK Flight Recorder is available
+    */
+   public static boolean isAvailable() {
+      return JFR != null;
+   }
+
+   /**
+    * Return the source of a Node, which is the URL of its svg content if the Node is a {@link SVGImage} loaded from an URL.
+    *
+    * @param node the Node
+    * @return the source, or null if it is not known
+    */
+   public static String getSource(Node node) {
+      if (node instanceof SVGImage) {
+         SVGContent content = ((SVGImage) node).getSVGContent();
+         if (content != null && content.url != null) {
+            return content.url.toExternalForm();
+         }
+      }
+      return null;
+   }
+
+   /**
+    * Return the source of an URL.
+    *
+    * @param url the URL
+    * @return the source, or null if the URL is null
+    */
+   public static String getSource(URL url) {
+      return url == null ? null : url.toExternalForm();
+   }
+
+   /**
+    * Return the number of Nodes in a Node tree.
+    *
+    * @param node the root of the tree
+    * @return the number of Nodes
+    */
+   public static int countNodes(Node node) {
+      int count = 1;
+      if (node instanceof Parent) {
+         Iterator<Node> it = ((Parent) node).getChildrenUnmodifiable().iterator();
+         while (it.hasNext()) {
+            count += countNodes(it.next());
+         }
+      }
+      return count;
+   }
+
+   /**
+    * A kind of event.
+    */
+   public static final class Kind {
+      private final Object factory;
+      private final Object eventType;
+
+      private Kind(String name, String label, String description, String countLabel) {
+         Object theFactory = null;
+         Object theEventType = null;
+         if (JFR != null) {
+            try {
+               theFactory = JFR.createFactory(name, label, description, countLabel);
+               theEventType = JFR.getEventType.invoke(theFactory);
+            } catch (ReflectiveOperationException | RuntimeException ex) {
+               theFactory = null;
+               theEventType = null;
+            }
+         }
+         this.factory = theFactory;
+         this.eventType = theEventType;
+      }
+
+      /**
+       * Return true if the event is enabled in a running recording.
+       *
+       * @return true if the event is enabled
+       */
+      public boolean isEnabled() {
+         if (eventType == null) {
+            return false;
+         }
+         try {
+            return (Boolean) JFR.isEnabled.invoke(eventType);
+         } catch (ReflectiveOperationException | RuntimeException ex) {
+            return false;
+         }
+      }
+
+      /**
+       * Begin an event.
+       *
+       * @return the event, or null if the event is not enabled
+       */
+      public Event begin() {
+         if (!isEnabled()) {
+            return null;
+         }
+         try {
+            Object event = JFR.newEvent.invoke(factory);
+            JFR.begin.invoke(event);
+            return new Event(event);
+         } catch (ReflectiveOperationException | RuntimeException ex) {
+            return null;
+         }
+      }
+   }
+
+   /**
+    * An event which has begun.
+    */
+   public static final class Event {
+      private final Object event;
+
+      private Event(Object event) {
+         this.event = event;
+      }
+
+      /**
+       * End and commit the event, if its duration is above the threshold of the recording.
+       *
+       * @param source the source (can be null)
+       * @param elementCount the number of elements or Nodes
+       */
+      public void commit(String source, int elementCount) {
+         try {
+            JFR.end.invoke(event);
+            if ((Boolean) JFR.shouldCommit.invoke(event)) {
+               JFR.set.invoke(event, 0, source);
+               JFR.set.invoke(event, 1, elementCount);
+               JFR.commit.invoke(event);
+            }
+         } catch (ReflectiveOperationException | RuntimeException ex) {
+            // the event is lost
+         }
+      }
+   }
+
+   /**
+    * The reflective access to the <code>jdk.jfr</code> API.
+    */
+   private static final class Reflection {
+      private final Constructor<?> annotationElement;
+      private final Constructor<?> valueDescriptor;
+      private final Class<?> nameClass;
+      private final Class<?> labelClass;
+      private final Class<?> descriptionClass;
+      private final Class<?> categoryClass;
+      private final Method create;
+      private final Method getEventType;
+      private final Method isEnabled;
+      private final Method newEvent;
+      private final Method begin;
+      private final Method end;
+      private final Method shouldCommit;
+      private final Method set;
+      private final Method commit;
+
+      private Reflection() throws ReflectiveOperationException {
+         Class<?> annotationElementClass = Class.forName("jdk.jfr.AnnotationElement");
+         annotationElement = annotationElementClass.getConstructor(Class.class, Object.class);
+         valueDescriptor = Class.forName("jdk.jfr.ValueDescriptor").getConstructor(Class.class, String.class, List.class);
+         nameClass = Class.forName("jdk.jfr.Name");
+         labelClass = Class.forName("jdk.jfr.Label");
+         descriptionClass = Class.forName("jdk.jfr.Description");
+         categoryClass = Class.forName("jdk.jfr.Category");
+         Class<?> factoryClass = Class.forName("jdk.jfr.EventFactory");
+         create = factoryClass.getMethod("create", List.class, List.class);
+         getEventType = factoryClass.getMethod("getEventType");
+         newEvent = factoryClass.getMethod("newEvent");
+         isEnabled = Class.forName("jdk.jfr.EventType").getMethod("isEnabled");
+         Class<?> eventClass = Class.forName("jdk.jfr.Event");
+         begin = eventClass.getMethod("begin");
+         end = eventClass.getMethod("end");
+         shouldCommit = eventClass.getMethod("shouldCommit");
+         set = eventClass.getMethod("set", int.class, Object.class);
+         commit = eventClass.getMethod("commit");
+      }
+
+      private static Reflection create() {
+         try {
+            return new Reflection();
+         } catch (ReflectiveOperationException | RuntimeException | LinkageError ex) {
+            // JFR is not available in this runtime
+            return null;
+         }
+      }
+
+      private Object createFactory(String name, String label, String description, String countLabel) throws ReflectiveOperationException {
+         List<Object> annotations = new ArrayList<>();
+         annotations.add(annotationElement.newInstance(nameClass, name));
+         annotations.add(annotationElement.newInstance(labelClass, label));
+         annotations.add(annotationElement.newInstance(descriptionClass, description));
+         annotations.add(annotationElement.newInstance(categoryClass, CATEGORY));
+         List<Object> fields = new ArrayList<>();
+         fields.add(valueDescriptor.newInstance(String.class, "source",
+            Collections.singletonList(annotationElement.newInstance(labelClass, "Source"))));
+         fields.add(valueDescriptor.newInstance(int.class, "elementCount",
+            Collections.singletonList(annotationElement.newInstance(labelClass, countLabel))));
+         return create.invoke(null, annotations, fields);
+      }
+   }
+}
@@ -0,0 +1,348 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javafx.collections.ObservableMap;
+import javafx.geometry.Bounds;
+import javafx.geometry.Point2D;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.effect.Blend;
+import javafx.scene.effect.Effect;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.paint.ImagePattern;
+import javafx.scene.paint.LinearGradient;
+import javafx.scene.paint.Paint;
+import javafx.scene.paint.RadialGradient;
+import javafx.scene.shape.Path;
+import javafx.scene.shape.Polygon;
+import javafx.scene.shape.Polyline;
+import javafx.scene.shape.SVGPath;
+import javafx.scene.shape.Shape;
+import javafx.scene.text.Text;
+import org.girod.javafx.svgimage.xml.parsers.SVGPathParser;
+
+/**
+ * An estimate of the heap retained by a JavaFX Node tree, by {@link Category}, with the number of Nodes of each type.
+ *
+ * The sizes are estimates for a 64-bit JVM with compressed references. The size of a Node includes its rendering peer, which is
+ * created when the Node is first rendered. Objects shared between several Nodes, such as images, effects or path parsers, are only
+ * counted once.
+ *
+ * The tree should not be modified while the footprint is computed, so it should be computed in the JavaFX Application Thread if the
+ * tree is displayed.
+ *
+ * @since 1.10
+ */
+public class Footprint {
+   // the estimated size of a Node with its peer, measured for the JavaFX shapes
+   private static final int NODE_SIZE = 1500;
+   private static final int REFERENCE_SIZE = 8;
+   private static final int OBJECT_SIZE = 16;
+   private static final int TRANSFORM_SIZE = 120;
+   private static final int TEXT_LAYOUT_SIZE = 600;
+   private static final int GRADIENT_SIZE = 96;
+   private static final int GRADIENT_STOP_SIZE = 48;
+   private static final int PATH_ELEMENT_SIZE = 64;
+   private static final int BOXED_DOUBLE_SIZE = 20;
+   private static final int IMAGE_SIZE = 400;
+   private static final int EFFECT_SIZE = 200;
+   private static final int MAP_SIZE = 160;
+   private static final int MAP_ENTRY_SIZE = 48;
+   private static final int PATH_COMMAND_SIZE = 48;
+   private static final int POINT_SIZE = 32;
+   private static final String PATH_PARSER = "PathParser";
+   // Java 9 and later use one byte per character for latin-1 strings
+   private static final int BYTES_PER_CHAR = System.getProperty("java.specification.version", "").startsWith("1.") ? 2 : 1;
+   private final Map<Category, Long> sizes = new EnumMap<>(Category.class);
+   private final Map<String, Integer> nodeCounts = new TreeMap<>();
+   private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+   private int nodeCount = 0;
+
+   /**
+    * The categories of the retained heap.
+    */
+   public enum Category {
+      /**
+       * The JavaFX Nodes, with their transforms and paints.
+       */
+      NODES,
+      /**
+       * The path data: the content of the paths, their geometry, and the points of polylines and polygons.
+       */
+      PATH_DATA,
+      /**
+       * The pixels of the images, and of the cached Nodes.
+       */
+      IMAGES,
+      /**
+       * The effects.
+       */
+      EFFECTS,
+      /**
+       * The payloads of the properties maps of the Nodes, such as the path parsers kept for the markers.
+       */
+      PROPERTIES
+   }
+
+   /**
+    * Compute the footprint of a Node tree.
+    *
+    * @param root the root of the tree
+    */
+   public Footprint(Node root) {
+      for (Category category : Category.values()) {
+         sizes.put(category, 0L);
+      }
+      addNode(root);
+   }
+
+   /**
+    * Return the estimated retained size of a category in bytes.
+    *
+    * @param category the category
+    * @return the size in bytes
+    */
+   public long getSize(Category category) {
+      return sizes.get(category);
+   }
+
+   /**
+    * Return the estimated total retained size in bytes.
+    *
+    * @return the size in bytes
+    */
+   public long getTotalSize() {
+      long total = 0;
+      Iterator<Long> it = sizes.values().iterator();
+      while (it.hasNext()) {
+         total += it.next();
+      }
+      return total;
+   }
+
+   /**
+    * Return the total number of Nodes, including the clips.
+    *
+    * @return the number of Nodes
+    */
+   public int getNodeCount() {
+      return nodeCount;
+   }
+
+   /**
+    * Return the number of Nodes of a type.
+    *
+    * @param type the simple name of the Node class, for example <code>SVGPath</code>
+    * @return the number of Nodes
+    */
+   public int getNodeCount(String type) {
+      Integer count = nodeCounts.get(type);
+      return count == null ? 0 : count;
+   }
+
+   /**
+    * Return the number of Nodes by type, sorted by type.
+    *
+    * @return the number of Nodes by type
+    */
+   public Map<String, Integer> getNodeCounts() {
+      return Collections.unmodifiableMap(nodeCounts);
+   }
+
+   private void add(Category category, long size) {
+      sizes.put(category, sizes.get(category) + size);
+   }
+
+   private static long getStringSize(String value) {
+      if (value == null) {
+         return 0;
+      }
+      long size = 24 + OBJECT_SIZE + (long) value.length() * BYTES_PER_CHAR;
+      return (size + 7) & ~7L;
+   }
+
+   private void addNode(Node node) {
+      nodeCount++;
+      String type = node.getClass().getSimpleName();
+      if (type.isEmpty()) {
+         type = node.getClass().getName();
+      }
+      Integer count = nodeCounts.get(type);
+      nodeCounts.put(type, count == null ? 1 : count + 1);
+
+      add(Category.NODES, NODE_SIZE + (long) node.getTransforms().size() * TRANSFORM_SIZE);
+      if (node instanceof Shape) {
+         addShape((Shape) node);
+      } else if (node instanceof ImageView) {
+         addImage(((ImageView) node).getImage());
+      }
+      if (node.getEffect() != null) {
+         addEffect(node.getEffect());
+      }
+      if (node.isCache()) {
+         // a cached Node keeps an image of its rendering
+         Bounds bounds = node.getBoundsInLocal();
+         add(Category.IMAGES, (long) Math.ceil(bounds.getWidth()) * (long) Math.ceil(bounds.getHeight()) * 4);
+      }
+      if (node.hasProperties()) {
+         addProperties(node.getProperties());
+      }
+      if (node.getClip() != null) {
+         addNode(node.getClip());
+      }
+      if (node instanceof Parent) {
+         List<Node> children = ((Parent) node).getChildrenUnmodifiable();
+         add(Category.NODES, (long) children.size() * REFERENCE_SIZE);
+         Iterator<Node> it = children.iterator();
+         while (it.hasNext()) {
+            addNode(it.next());
+         }
+      }
+   }
+
+   private void addShape(Shape shape) {
+      addPaint(shape.getFill());
+      addPaint(shape.getStroke());
+      if (shape instanceof SVGPath) {
+         SVGPath path = (SVGPath) shape;
+         String content = path.getContent();
+         if (visited.add(content)) {
+            add(Category.PATH_DATA, getStringSize(content));
+         }
+         // the geometry of the path in the peer, about one float for each number of the content
+         Object parser = path.hasProperties() ? path.getProperties().get(PATH_PARSER) : null;
+         if (parser instanceof SVGPathParser) {
+            SVGPathParser pathParser = (SVGPathParser) parser;
+            add(Category.PATH_DATA, (long) pathParser.getParameterCount() * 4 + pathParser.getCommandCount());
+         } else if (content != null) {
+            add(Category.PATH_DATA, content.length());
+         }
+      } else if (shape instanceof Path) {
+         add(Category.PATH_DATA, (long) ((Path) shape).getElements().size() * PATH_ELEMENT_SIZE);
+      } else if (shape instanceof Polyline) {
+         add(Category.PATH_DATA, (long) ((Polyline) shape).getPoints().size() * BOXED_DOUBLE_SIZE);
+      } else if (shape instanceof Polygon) {
+         add(Category.PATH_DATA, (long) ((Polygon) shape).getPoints().size() * BOXED_DOUBLE_SIZE);
+      } else if (shape instanceof Text) {
+         add(Category.NODES, TEXT_LAYOUT_SIZE + getStringSize(((Text) shape).getText()));
+      }
+   }
+
+   private void addPaint(Paint paint) {
+      if (paint == null || !visited.add(paint)) {
+         return;
+      }
+      if (paint instanceof LinearGradient) {
+         add(Category.NODES, GRADIENT_SIZE + (long) ((LinearGradient) paint).getStops().size() * GRADIENT_STOP_SIZE);
+      } else if (paint instanceof RadialGradient) {
+         add(Category.NODES, GRADIENT_SIZE + (long) ((RadialGradient) paint).getStops().size() * GRADIENT_STOP_SIZE);
+      } else if (paint instanceof ImagePattern) {
+         add(Category.NODES, GRADIENT_SIZE);
+         addImage(((ImagePattern) paint).getImage());
+      }
+   }
+
+   private void addImage(Image image) {
+      if (image != null && visited.add(image)) {
+         add(Category.IMAGES, IMAGE_SIZE + (long) Math.ceil(image.getWidth()) * (long) Math.ceil(image.getHeight()) * 4);
+      }
+   }
+
+   private void addEffect(Effect effect) {
+      if (effect == null || !visited.add(effect)) {
+         return;
+      }
+      add(Category.EFFECTS, EFFECT_SIZE);
+      if (effect instanceof Blend) {
+         Blend blend = (Blend) effect;
+         addEffect(blend.getTopInput());
+         addEffect(blend.getBottomInput());
+      } else {
+         // most effects have an input effect, but there is no common interface for it
+         try {
+            Method method = effect.getClass().getMethod("getInput");
+            Object input = method.invoke(effect);
+            if (input instanceof Effect) {
+               addEffect((Effect) input);
+            }
+         } catch (ReflectiveOperationException | RuntimeException ex) {
+            // the effect has no input
+         }
+      }
+   }
+
+   private void addProperties(ObservableMap<Object, Object> properties) {
+      add(Category.PROPERTIES, MAP_SIZE + (long) properties.size() * MAP_ENTRY_SIZE);
+      Iterator<Object> it = properties.values().iterator();
+      while (it.hasNext()) {
+         Object value = it.next();
+         if (value == null || !visited.add(value)) {
+            continue;
+         }
+         if (value instanceof SVGPathParser) {
+            // the content of the parser is the content of the path, it is counted in the path data
+            SVGPathParser parser = (SVGPathParser) value;
+            List<Point2D> markers = parser.getMarkerList();
+            add(Category.PROPERTIES, OBJECT_SIZE * 4 + (long) parser.getCommandCount() * PATH_COMMAND_SIZE
+               + (long) parser.getParameterCount() * 8 + (long) markers.size() * (POINT_SIZE + REFERENCE_SIZE));
+         } else if (value instanceof String) {
+            add(Category.PROPERTIES, getStringSize((String) value));
+         } else {
+            add(Category.PROPERTIES, OBJECT_SIZE);
+         }
+      }
+   }
+
+   @Override
+   public String toString() {
+      StringBuilder buf = new StringBuilder();
+      buf.append("total: ").append(getTotalSize()).append(" bytes");
+      for (Category category : Category.values()) {
+         buf.append(", ").append(category.name().toLowerCase(Locale.ROOT)).append(": ").append(getSize(category));
+      }
+      buf.append(", nodes: ").append(nodeCount).append(' ').append(nodeCounts);
+      return buf.toString();
+   }
+}
@@ -0,0 +1,148 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import javafx.application.Platform;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.WritableImage;
+import javafx.util.Duration;
+
+/**
+ * Renders the frames of the animations of an image for {@link SVGImage#renderFrames(Duration, Duration, double, FrameSink)}. The
+ * animations are set at the time of each frame rather than played, so the rendering does not depend on the wall clock. The JavaFX
+ * Application Thread renders the frames one after the other, while the previous frames are given to the sink in worker threads.
+ *
+ * @since 1.10
+ */
+class FrameRenderer {
+   private final SVGImage image;
+   private final double start;
+   private final double step;
+   private final int count;
+   private final FrameSink sink;
+   private final int threads = Runtime.getRuntime().availableProcessors();
+   private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+   FrameRenderer(SVGImage image, Duration start, Duration end, double fps, FrameSink sink) {
+      this.image = image;
+      this.start = start.toMillis();
+      this.step = 1000d / fps;
+      this.sink = sink;
+      // the frames are rendered for all the times before the end, and the first frame is always rendered
+      this.count = Math.max(1, (int) Math.ceil((end.toMillis() - this.start) / step - 1E-9));
+   }
+
+   /**
+    * Render the frames. Must not be called in the JavaFX Application Thread.
+    *
+    * @return true if all the frames have been rendered and given to the sink
+    * @throws InterruptedException if the calling thread was interrupted
+    */
+   boolean render() throws InterruptedException {
+      ExecutorService encoders = Executors.newFixedThreadPool(threads, new BatchRenderer.WorkerFactory("frame"));
+      // limits the number of frames kept in memory
+      final Semaphore inFlight = new Semaphore(threads * 2);
+      final SnapshotParameters params = image.getSaveSnapshotParameters();
+      final boolean wasPlaying = image.isPlayingAnimations();
+      try {
+         for (int i = 0; i < count && error.get() == null; i++) {
+            final int index = i;
+            final double time = start + i * step;
+            inFlight.acquire();
+            final WritableImage frame = renderFrame(time, params, i == 0);
+            encoders.execute(new Runnable() {
+               @Override
+               public void run() {
+                  try {
+                     if (error.get() == null) {
+                        sink.frame(index, Duration.millis(time), frame);
+                     }
+                  } catch (Exception ex) {
+                     error.compareAndSet(null, ex);
+                  } finally {
+                     inFlight.release();
+                  }
+               }
+            });
+         }
+         encoders.shutdown();
+         encoders.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+      } finally {
+         encoders.shutdownNow();
+         runInJFX(new Callable<WritableImage>() {
+            @Override
+            public WritableImage call() throws Exception {
+               image.endFramesInJFX(wasPlaying);
+               return null;
+            }
+         });
+      }
+      if (error.get() != null) {
+         GlobalConfig.getInstance().handleLibraryException(error.get());
+         return false;
+      }
+      return true;
+   }
+
+   private WritableImage renderFrame(final double time, final SnapshotParameters params, final boolean first) throws InterruptedException {
+      return runInJFX(new Callable<WritableImage>() {
+         @Override
+         public WritableImage call() throws Exception {
+            if (first) {
+               image.beginFramesInJFX();
+            }
+            image.jumpAnimationsInJFX(time);
+            return image.snapshot(params, null);
+         }
+      });
+   }
+
+   private WritableImage runInJFX(Callable<WritableImage> callable) throws InterruptedException {
+      FutureTask<WritableImage> future = new FutureTask<>(callable);
+      Platform.runLater(future);
+      try {
+         return future.get();
+      } catch (ExecutionException ex) {
+         error.compareAndSet(null, ex.getCause());
+         return null;
+      }
+   }
+}
@@ -38,12 +38,14 @@ import org.girod.javafx.svgimage.xml.parsers.SVGParsingException;
 /**
  * The global configuration.
  *
- * @version 1.0
+ * @version 1.10
  */
 public class GlobalConfig implements ExceptionsHandling {
    private static GlobalConfig config = null;
    private Boolean swingAvailable = null;
    private short exceptionsHandling = ExceptionsHandling.PRINT_EXCEPTION_MESSAGE;
+   private LoadStatisticsListener statisticsListener = null;
+   private int maximumAnimatedImages = 0;
 
    private GlobalConfig() {
    }
@@ -78,6 +80,46 @@ public class GlobalConfig implements ExceptionsHandling {
       return exceptionsHandling;
    }
 
+   /**
+    * Set the listener notified of the statistics of each loading. If a listener is set, statistics are collected for every loading,
+    * even if {@link LoaderParameters#collectStatistics} is false. The listener is called in the JavaFX Application Thread.
+    *
+    * @param listener the listener (null to remove the listener)
+    */
+   public void setLoadStatisticsListener(LoadStatisticsListener listener) {
+      this.statisticsListener = listener;
+   }
+
+   /**
+    * Return the listener notified of the statistics of each loading.
+    *
+    * @return the listener
+    */
+   public LoadStatisticsListener getLoadStatisticsListener() {
+      return statisticsListener;
+   }
+
+   /**
+    * Set the maximum number of images which can play their animations at the same time. The images which start their animations when
+    * the limit is reached wait for other images to stop or to be hidden. The limit is applied to the images which start playing
+    * their animations after it has been set.
+    *
+    * @param maximumAnimatedImages the maximum number of images (0 or less for no limit)
+    */
+   public void setMaximumAnimatedImages(int maximumAnimatedImages) {
+      this.maximumAnimatedImages = maximumAnimatedImages;
+   }
+
+   /**
+    * Return the maximum number of images which can play their animations at the same time. The default is 0, which means that
+    * there is no limit.
+    *
+    * @return the maximum number of images
+    */
+   public int getMaximumAnimatedImages() {
+      return maximumAnimatedImages;
+   }
+
    /**
     * Return true if swing is available.
     *
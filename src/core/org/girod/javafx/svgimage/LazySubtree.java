@@ -0,0 +1,138 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.util.Iterator;
+import java.util.List;
+import javafx.geometry.Bounds;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import org.girod.javafx.svgimage.xml.parsers.xmltree.XMLNode;
+
+/**
+ * The placeholder of a "g" child of the root element of a virtualized image. The placeholder keeps the bounds of the subtree with an
+ * transparent Rectangle, so that the bounds of the image do not depend on the subtrees which are built. The Nodes of the subtree are built
+ * from its element when the placeholder is visible, and can be released again.
+ *
+ * @since 1.10
+ * @see SubtreeVirtualizer
+ */
+final class LazySubtree extends Group {
+   private final XMLNode xmlNode;
+   private final Rectangle placeholder;
+   private int nodesCount = 0;
+   private boolean isBuilt = false;
+
+   /**
+    * Constructor.
+    *
+    * @param xmlNode the element of the subtree
+    * @param bounds the bounds of the Nodes of the subtree
+    */
+   LazySubtree(XMLNode xmlNode, Bounds bounds) {
+      this.xmlNode = xmlNode;
+      this.placeholder = new Rectangle(bounds.getMinX(), bounds.getMinY(), bounds.getWidth(), bounds.getHeight());
+      // an invisible Node or a Shape without fill would not be part of the bounds of the group, but a Node without opacity is not rendered
+      placeholder.setFill(Color.TRANSPARENT);
+      placeholder.setStroke(null);
+      placeholder.setOpacity(0);
+      placeholder.setMouseTransparent(true);
+      this.getChildren().add(placeholder);
+   }
+
+   /**
+    * Return the element of the subtree.
+    *
+    * @return the element
+    */
+   XMLNode getXMLNode() {
+      return xmlNode;
+   }
+
+   /**
+    * Return true if the Nodes of the subtree are built.
+    *
+    * @return true if the Nodes of the subtree are built
+    */
+   boolean isBuilt() {
+      return isBuilt;
+   }
+
+   /**
+    * Return the number of Nodes of the subtree, or 0 if they are not built.
+    *
+    * @return the number of Nodes
+    */
+   int getNodesCount() {
+      return nodesCount;
+   }
+
+   /**
+    * Set the Nodes of the subtree.
+    *
+    * @param nodes the Nodes
+    */
+   void setNodes(List<Node> nodes) {
+      this.getChildren().setAll(placeholder);
+      this.getChildren().addAll(nodes);
+      nodesCount = 0;
+      Iterator<Node> it = nodes.iterator();
+      while (it.hasNext()) {
+         nodesCount += countNodes(it.next());
+      }
+      isBuilt = true;
+   }
+
+   /**
+    * Release the Nodes of the subtree.
+    */
+   void release() {
+      this.getChildren().setAll(placeholder);
+      nodesCount = 0;
+      isBuilt = false;
+   }
+
+   private static int countNodes(Node node) {
+      int count = 1;
+      if (node instanceof Parent) {
+         Iterator<Node> it = ((Parent) node).getChildrenUnmodifiable().iterator();
+         while (it.hasNext()) {
+            count += countNodes(it.next());
+         }
+      }
+      return count;
+   }
+}
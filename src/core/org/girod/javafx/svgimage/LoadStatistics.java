@@ -0,0 +1,324 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.net.URL;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import org.girod.javafx.svgimage.xml.parsers.SVGPathParser;
+import org.girod.javafx.svgimage.xml.parsers.xmltree.XMLNode;
+
+/**
+ * The statistics of the loading of one svg content. The statistics are only collected if {@link LoaderParameters#collectStatistics}
+ * is true or if a {@link LoadStatisticsListener} is registered in the {@link GlobalConfig}. They contain:
+ * <ul>
+ * <li>The time spent in each {@link Phase} of the loading, in nanoseconds</li>
+ * <li>The value of each {@link Counter}</li>
+ * <li>The number of elements for each tag of the XML tree</li>
+ * </ul>
+ *
+ * @since 1.10
+ */
+public class LoadStatistics {
+   private final URL url;
+   private final Map<Phase, Long> nanos = new EnumMap<>(Phase.class);
+   private final Map<Counter, Long> counters = new EnumMap<>(Counter.class);
+   private final Map<String, Integer> elements = new TreeMap<>();
+
+   /**
+    * The phases of the loading.
+    */
+   public enum Phase {
+      /**
+       * The SAX parsing of the content to the XML tree.
+       */
+      PARSE(true),
+      /**
+       * The parsing of the styles and stylesheets.
+       */
+      STYLES(true),
+      /**
+       * The creation of the clip paths and masks.
+       */
+      CLIPPING(true),
+      /**
+       * The creation of the JavaFX tree. This includes the {@link #GRADIENTS}, {@link #MARKERS}, {@link #TEXT} and {@link #IMAGES} phases.
+       */
+      BUILD(true),
+      /**
+       * The creation and resolution of the gradients.
+       */
+      GRADIENTS(false),
+      /**
+       * The creation of the markers.
+       */
+      MARKERS(false),
+      /**
+       * The creation of the texts, including their measurement.
+       */
+      TEXT(false),
+      /**
+       * The creation of the images, including their decoding.
+       */
+      IMAGES(false);
+      private final boolean isTopLevel;
+
+      private Phase(boolean isTopLevel) {
+         this.isTopLevel = isTopLevel;
+      }
+
+      /**
+       * Return true if the phase is not included in another phase.
+       *
+       * @return true if the phase is not included in another phase
+       */
+      public boolean isTopLevel() {
+         return isTopLevel;
+      }
+   }
+
+   /**
+    * The counters of the loading.
+    */
+   public enum Counter {
+      /**
+       * The number of paths.
+       */
+      PATHS,
+      /**
+       * The number of path segments, which is the number of commands in the paths.
+       */
+      PATH_SEGMENTS,
+      /**
+       * The number of expanded <code>use</code> elements.
+       */
+      USE_EXPANSIONS,
+      /**
+       * The number of shape unions performed to create clip paths.
+       */
+      CLIP_UNIONS,
+      /**
+       * The number of text measurements.
+       */
+      TEXT_MEASUREMENTS,
+      /**
+       * The number of images.
+       */
+      IMAGES,
+      /**
+       * The number of subtrees built in parallel (see {@link LoaderParameters#parallelBuild}).
+       */
+      PARALLEL_SUBTREES
+   }
+
+   /**
+    * Constructor.
+    *
+    * @param url the URL of the svg content (can be null)
+    */
+   public LoadStatistics(URL url) {
+      this.url = url;
+   }
+
+   /**
+    * Return the URL of the svg content. It will be null if the content was not loaded from an URL.
+    *
+    * @return the URL
+    */
+   public URL getURL() {
+      return url;
+   }
+
+   /**
+    * Add a time to a phase.
+    *
+    * @param phase the phase
+    * @param nanoTime the time in nanoseconds
+    */
+   public synchronized void addNanos(Phase phase, long nanoTime) {
+      Long value = nanos.get(phase);
+      nanos.put(phase, value == null ? nanoTime : value + nanoTime);
+   }
+
+   /**
+    * Add the time elapsed since a start time to a phase.
+    *
+    * @param phase the phase
+    * @param startNanoTime the start time, as returned by {@link System#nanoTime()}
+    */
+   public void endPhase(Phase phase, long startNanoTime) {
+      addNanos(phase, System.nanoTime() - startNanoTime);
+   }
+
+   /**
+    * Return the time spent in a phase in nanoseconds.
+    *
+    * @param phase the phase
+    * @return the time in nanoseconds
+    */
+   public synchronized long getNanos(Phase phase) {
+      Long value = nanos.get(phase);
+      return value == null ? 0 : value;
+   }
+
+   /**
+    * Return the total time of the loading in nanoseconds. This is the sum of the time of the top level phases.
+    *
+    * @return the total time in nanoseconds
+    */
+   public synchronized long getTotalNanos() {
+      long total = 0;
+      Iterator<Map.Entry<Phase, Long>> it = nanos.entrySet().iterator();
+      while (it.hasNext()) {
+         Map.Entry<Phase, Long> entry = it.next();
+         if (entry.getKey().isTopLevel()) {
+            total += entry.getValue();
+         }
+      }
+      return total;
+   }
+
+   /**
+    * Increment a counter.
+    *
+    * @param counter the counter
+    */
+   public void increment(Counter counter) {
+      add(counter, 1);
+   }
+
+   /**
+    * Add a value to a counter.
+    *
+    * @param counter the counter
+    * @param value the value
+    */
+   public synchronized void add(Counter counter, long value) {
+      Long previous = counters.get(counter);
+      counters.put(counter, previous == null ? value : previous + value);
+   }
+
+   /**
+    * Return the value of a counter.
+    *
+    * @param counter the counter
+    * @return the value
+    */
+   public synchronized long getCount(Counter counter) {
+      Long value = counters.get(counter);
+      return value == null ? 0 : value;
+   }
+
+   /**
+    * Count the elements of a XML tree by tag.
+    *
+    * @param node the root of the XML tree
+    */
+   public void countElements(XMLNode node) {
+      String name = node.getName();
+      Integer count = elements.get(name);
+      elements.put(name, count == null ? 1 : count + 1);
+      Iterator<XMLNode> it = node.getChildren().iterator();
+      while (it.hasNext()) {
+         countElements(it.next());
+      }
+   }
+
+   /**
+    * Return the number of elements for a tag.
+    *
+    * @param tag the tag
+    * @return the number of elements
+    */
+   public int getElementCount(String tag) {
+      Integer count = elements.get(tag);
+      return count == null ? 0 : count;
+   }
+
+   /**
+    * Return the total number of elements.
+    *
+    * @return the number of elements
+    */
+   public int getElementCount() {
+      int total = 0;
+      Iterator<Integer> it = elements.values().iterator();
+      while (it.hasNext()) {
+         total += it.next();
+      }
+      return total;
+   }
+
+   /**
+    * Return the number of elements by tag, sorted by tag.
+    *
+    * @return the number of elements by tag
+    */
+   public Map<String, Integer> getElementCounts() {
+      return Collections.unmodifiableMap(elements);
+   }
+
+   /**
+    * Count the number of segments in the content of a path. Implicit repeats of a command are counted as separate segments.
+    *
+    * @param content the path content
+    * @return the number of segments
+    */
+   public static int countPathSegments(String content) {
+      return SVGPathParser.countCommands(content);
+   }
+
+   @Override
+   public synchronized String toString() {
+      StringBuilder buf = new StringBuilder();
+      buf.append("total: ").append(formatMillis(getTotalNanos())).append(" ms");
+      for (Phase phase : Phase.values()) {
+         if (nanos.containsKey(phase)) {
+            buf.append(", ").append(phase.name().toLowerCase(Locale.ROOT)).append(": ").append(formatMillis(getNanos(phase))).append(" ms");
+         }
+      }
+      buf.append(", elements: ").append(getElementCount());
+      for (Counter counter : Counter.values()) {
+         buf.append(", ").append(counter.name().toLowerCase(Locale.ROOT)).append(": ").append(getCount(counter));
+      }
+      return buf.toString();
+   }
+
+   private static String formatMillis(long nanoTime) {
+      return String.format(Locale.ROOT, "%.3f", nanoTime / 1e6);
+   }
+}
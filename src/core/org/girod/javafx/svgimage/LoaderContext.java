@@ -39,11 +39,14 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import javafx.animation.Animation;
 import javafx.scene.paint.Paint;
 import javafx.stage.Screen;
 import org.girod.javafx.svgimage.xml.parsers.ClippingFactory;
 import org.girod.javafx.svgimage.xml.parsers.xmltree.FileUtils;
+import org.girod.javafx.svgimage.xml.specs.AnimationTrack;
 import org.girod.javafx.svgimage.xml.specs.FilterSpec;
 import org.girod.javafx.svgimage.xml.specs.GradientSpec;
 import org.girod.javafx.svgimage.xml.specs.MarkerSpec;
@@ -54,7 +57,7 @@ import org.girod.javafx.svgimage.xml.parsers.xmltree.XMLNode;
 /**
  * The context of a {@link SVGLoader}.
  *
- * @version 1.9
+ * @version 1.10
  */
 public class LoaderContext {
    /**
@@ -97,7 +100,8 @@ public class LoaderContext {
     * The markers specifications.
     */
    public final Map<String, MarkerSpec> markers = new HashMap<>();
-   private final Map<String, XMLNode> namedNodes = new HashMap<>();
+   // the named nodes can be added concurrently when the subtrees are built in parallel
+   private final Map<String, XMLNode> namedNodes = new ConcurrentHashMap<>();
    private final Map<String, SymbolSpec> symbols = new HashMap<>();
    private double dpi = 96;
    private static double SCREEN_DPI = -1;
@@ -105,11 +109,21 @@ public class LoaderContext {
     * The animations.
     */
    private final List<Animation> animations = new ArrayList<>();
+   /**
+    * The animation tracks played by the shared animation clock.
+    */
+   private final List<AnimationTrack> animationTracks = new ArrayList<>();
+   // the subtrees of the image can be built in parallel
+   private final AtomicLong textMeasurements = new AtomicLong();
 
    /**
     * True if the effects are supported.
     */
    public boolean effectsSupported = false;
+   /**
+    * The statistics of the loading, or null if they are not collected.
+    */
+   public final LoadStatistics statistics;
 
    /**
     * Create a loader context.
@@ -122,9 +136,33 @@ public class LoaderContext {
       this.root = root;
       this.params = params;
       this.url = url;
+      if (params.collectStatistics || GlobalConfig.getInstance().getLoadStatisticsListener() != null) {
+         this.statistics = new LoadStatistics(url);
+      } else {
+         this.statistics = null;
+      }
       applySizeType();
    }
 
+   /**
+    * Count a text measurement performed while building the image.
+    *
+    * @since 1.10
+    */
+   public void countTextMeasurement() {
+      textMeasurements.incrementAndGet();
+   }
+
+   /**
+    * Return the number of text measurements performed while building the image.
+    *
+    * @return the number of text measurements
+    * @since 1.10
+    */
+   public long getTextMeasurementsCount() {
+      return textMeasurements.get();
+   }
+
    /**
     * Return the SVG file URL.
     *
@@ -390,6 +428,24 @@ public class LoaderContext {
       animations.addAll(theAnimations);
    }
 
+   /**
+    * Return the animation tracks played by the shared animation clock, or null if the animations are played by JavaFX animations.
+    *
+    * @return the animation tracks
+    */
+   public List<AnimationTrack> getAnimationTracks() {
+      return params.sharedAnimationClock ? animationTracks : null;
+   }
+
+   /**
+    * Return true if there are animation tracks.
+    *
+    * @return true if there are animation tracks
+    */
+   public boolean hasAnimationTracks() {
+      return !animationTracks.isEmpty();
+   }
+
    /**
     * Play the transitions.
     */
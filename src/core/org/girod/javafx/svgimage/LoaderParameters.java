@@ -42,6 +42,15 @@ package org.girod.javafx.svgimage;
  * <li>The resulting image is not centered</li>
  * <li>The viewPort position is taken into account</li>
  * <li>The dimension units consider the screen DPI as 96 DPI, as per the CSS standard</li>
+ * <li>No load statistics are collected</li>
+ * <li>The image can not be updated</li>
+ * <li>Each animation is played by a JavaFX Animation</li>
+ * <li>The animations are played even when the image is not showing</li>
+ * <li>The image is built in the JavaFX Application Thread only</li>
+ * <li>All the elements are built during the loading</li>
+ * <li>No spatial index of the Nodes is created</li>
+ * <li>The style classes and the external style sheets are handled by the JavaFX CSS engine</li>
+ * <li>No Node is cached as a bitmap</li>
  * </ul>
  *
  * @version 1.6
@@ -89,6 +98,72 @@ public class LoaderParameters implements Cloneable {
     * The forced DPI. The default is 96 DPI.
     */
    public double dpi = 96;      
+   /**
+    * True if the {@link LoadStatistics} of the loading must be collected. The default is false. The statistics are
+    * available through {@link SVGImage#getLoadStatistics()}.
+    */
+   public boolean collectStatistics = false;
+   /**
+    * True if the image can be updated after its loading with {@link SVGImage#update(String, String, String)}. The default is false.
+    * If true, the XML tree and the Nodes built for each element are kept with the image.
+    */
+   public boolean updatable = false;
+   /**
+    * True if the "animate" and "animateTransform" animations are played by the shared {@link AnimationClock} rather than by one JavaFX
+    * Animation for each animated element. The default is false.
+    */
+   public boolean sharedAnimationClock = false;
+   /**
+    * True if the animations of the image are paused while the image is not showing, and resumed when it is showing again. The
+    * default is false. See {@link SVGImage#setPauseHiddenAnimations(boolean)}.
+    */
+   public boolean pauseHiddenAnimations = false;
+   /**
+    * True if the large "g" subtrees are built concurrently in a ForkJoinPool. The default is false. Only the subtrees which contain
+    * shapes, groups and "use" elements referring to elements already built are built in parallel. The parameter is ignored if
+    * {@link #updatable} is true.
+    */
+   public boolean parallelBuild = false;
+   /**
+    * The minimum number of elements of a "g" subtree for it to be built in parallel. The default is 200.
+    */
+   public int parallelBuildThreshold = 200;
+   /**
+    * True if the "g" children of the root element are only built when they are visible, for example when the image is shown zoomed in a
+    * ScrollPane. The default is false. Each subtree is built once during the loading to compute its bounds, then replaced by a placeholder
+    * with these bounds, and built again when the placeholder intersects the visible part of the image (see
+    * {@link SVGImage#buildSubtrees()}). The subtrees which contain animations are always built. The parameter is ignored if
+    * {@link #updatable} is true, or if the image is loaded progressively.
+    */
+   public boolean virtualized = false;
+   /**
+    * The maximum number of Nodes in the subtrees of a {@link #virtualized} image which are kept when they are not visible anymore. The
+    * default is 0, which means that the subtrees are never released after they have been built.
+    */
+   public int virtualizedNodesBudget = 0;
+   /**
+    * True if a {@link SpatialIndex} of the bounds of the Nodes is created with the image, for {@link SVGImage#queryRegion(javafx.geometry.Bounds)}
+    * and {@link SVGImage#pickTopmost(double, double)}. The default is false.
+    */
+   public boolean spatialIndex = false;
+   /**
+    * True if the rules of the style sheets of the document are resolved during the loading and set as property values of the Nodes. The
+    * default is false. The style classes are then not added to the Nodes, and the external style sheets are not added to the image
+    * stylesheets, so that the JavaFX CSS engine has nothing to match on the Nodes when the CSS of the scene is invalidated. The
+    * JavaFX CSS properties of the external style sheets, such as "-fx-fill", are converted to their SVG equivalent. An external style
+    * sheet is still added to the image stylesheets if the CSS parser library is not available.
+    */
+   public boolean bakeStyles = false;
+   /**
+    * True if the "g" subtrees whose render cost is estimated to be high and which have no animations are cached as bitmaps by JavaFX
+    * (see {@link CacheHints}). The default is false. The subtrees of a {@link #virtualized} image are not cached.
+    */
+   public boolean cacheHints = false;
+   /**
+    * The minimum estimated render cost of a subtree cached with the {@link #cacheHints} parameter. The cost of a subtree is roughly its
+    * number of Nodes and path segments, a blur or a shadow counting for 500. The default is 1000.
+    */
+   public int cacheHintsThreshold = 1000;
 
    /**
     * Create loader parameters with default values.
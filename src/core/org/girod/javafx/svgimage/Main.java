@@ -32,12 +32,20 @@ the project website at the project page on https://github.com/hervegirod/fxsvgim
  */
 package org.girod.javafx.svgimage;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.PrintStream;
 import java.net.URL;
+import java.util.Map;
 import java.util.PropertyResourceBundle;
 
 /**
- * Main class, only used to show the version of the library on the command-line.
+ * Main class. Without arguments, show the version of the library on the command-line. With arguments, render a batch of svg files
+ * to raster images with a {@link BatchRenderer}:
+ * <pre>
+ * java -jar fxsvgimage.jar [options] &lt;input&gt;...
+ * </pre>
+ * Use the <code>--help</code> option for the list of options.
  *
  * @since 0.3
  */
@@ -49,11 +57,19 @@ public class Main {
    }
 
    /**
-    * Print the library version and build date.
+    * Print the library version and build date, or render a batch of svg files if arguments are specified.
     *
     * @param args command-line arguments
     */
    public static void main(String[] args) {
+      if (args.length == 0) {
+         printVersion();
+      } else {
+         System.exit(runBatch(args, System.out));
+      }
+   }
+
+   private static void printVersion() {
       URL url = Thread.currentThread().getContextClassLoader().getResource("org/girod/javafx/svgimage/fxsvgimage.properties");
       try {
          PropertyResourceBundle prb = new PropertyResourceBundle(url.openStream());
@@ -65,4 +81,120 @@ public class Main {
          ex.printStackTrace();
       }
    }
+
+   private static void printUsage(PrintStream out) {
+      out.println("usage: fxsvgimage [options] <input>...");
+      out.println("  <input>              a svg file, a directory, or a glob pattern such as icons/**/*.svg");
+      out.println("  -o, --output <dir>   the output directory (default: the directory of each svg file)");
+      out.println("  -s, --sizes <w,...>  the comma separated widths of the images (default: the size of the svg image)");
+      out.println("  -f, --format <fmt>   the format of the images: png, jpg, bmp, gif (default: png)");
+      out.println("  -t, --threads <n>    the number of parser threads and of encoder threads (default: number of processors)");
+      out.println("  -b, --batch <n>      the number of files rendered in each JavaFX task (default: " + BatchRenderer.DEFAULT_BATCH_SIZE + ")");
+      out.println("  --resume             skip the files whose images are more recent than the svg file");
+      out.println("  -q, --quiet          only report the failures and the total");
+      out.println("  -v, --version        print the version");
+      out.println("  -h, --help           print this help");
+   }
+
+   /**
+    * Run a batch rendering from command-line arguments.
+    *
+    * @param args the command-line arguments
+    * @param out the stream where the results are reported
+    * @return the exit code: 0 if all the files were rendered, 1 if some files could not be rendered, 2 if the arguments are invalid
+    */
+   static int runBatch(String[] args, PrintStream out) {
+      BatchRenderer renderer = new BatchRenderer();
+      renderer.setLog(out);
+      try {
+         int i = 0;
+         while (i < args.length) {
+            String arg = args[i];
+            switch (arg) {
+               case "-h":
+               case "--help":
+                  printUsage(out);
+                  return 0;
+               case "-v":
+               case "--version":
+                  printVersion();
+                  return 0;
+               case "-o":
+               case "--output":
+                  renderer.setOutputDirectory(new File(getValue(args, i)));
+                  i++;
+                  break;
+               case "-s":
+               case "--sizes":
+                  renderer.setWidths(parseWidths(getValue(args, i)));
+                  i++;
+                  break;
+               case "-f":
+               case "--format":
+                  renderer.setFormat(getValue(args, i).toLowerCase());
+                  i++;
+                  break;
+               case "-t":
+               case "--threads":
+                  renderer.setThreads(Integer.parseInt(getValue(args, i)));
+                  i++;
+                  break;
+               case "-b":
+               case "--batch":
+                  renderer.setBatchSize(Integer.parseInt(getValue(args, i)));
+                  i++;
+                  break;
+               case "--resume":
+                  renderer.setResume(true);
+                  break;
+               case "-q":
+               case "--quiet":
+                  renderer.setVerbose(false);
+                  break;
+               default:
+                  if (arg.startsWith("-")) {
+                     throw new IllegalArgumentException("Unknown option " + arg);
+                  }
+                  renderer.addInput(arg);
+                  break;
+            }
+            i++;
+         }
+      } catch (IllegalArgumentException | IOException ex) {
+         out.println("Invalid arguments: " + ex.getMessage());
+         printUsage(out);
+         return 2;
+      }
+      if (renderer.getInputCount() == 0) {
+         out.println("No svg file to render");
+         return 2;
+      }
+      try {
+         BatchRenderer.Report report = renderer.render();
+         Map<File, String> failures = report.getFailures();
+         out.println(report);
+         return failures.isEmpty() ? 0 : 1;
+      } catch (InterruptedException ex) {
+         return 1;
+      }
+   }
+
+   private static String getValue(String[] args, int index) {
+      if (index + 1 >= args.length) {
+         throw new IllegalArgumentException("Missing value for " + args[index]);
+      }
+      return args[index + 1];
+   }
+
+   private static double[] parseWidths(String value) {
+      String[] tokens = value.split(",");
+      double[] widths = new double[tokens.length];
+      for (int i = 0; i < tokens.length; i++) {
+         widths[i] = Double.parseDouble(tokens[i].trim());
+         if (widths[i] <= 0) {
+            throw new IllegalArgumentException("Invalid width " + tokens[i]);
+         }
+      }
+      return widths;
+   }
 }
@@ -0,0 +1,212 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * A minimal PNG encoder which allows to write an image row by row, without having to hold the whole image in memory.
+ *
+ * The encoder writes 8-bit RGBA images. The pixels are passed as non premultiplied ARGB int values, which is the format returned by
+ * {@link javafx.scene.image.PixelFormat#getIntArgbInstance()}.
+ *
+ * @since 1.10
+ */
+class PNGEncoder {
+   private static final byte[] SIGNATURE = { (byte) 137, 80, 78, 71, 13, 10, 26, 10 };
+   private static final int CHUNK_SIZE = 65536;
+   private final OutputStream out;
+   private final int width;
+   private final int height;
+   private final Deflater deflater;
+   private DeflaterOutputStream idat = null;
+   private byte[] rowBuffer = null;
+   private int rowsWritten = 0;
+
+   /**
+    * Constructor.
+    *
+    * @param out the output stream
+    * @param width the image width
+    * @param height the image height
+    */
+   PNGEncoder(OutputStream out, int width, int height) {
+      this(out, width, height, Deflater.DEFAULT_COMPRESSION);
+   }
+
+   /**
+    * Constructor.
+    *
+    * @param out the output stream
+    * @param width the image width
+    * @param height the image height
+    * @param compressionLevel the compression level (see {@link Deflater})
+    */
+   PNGEncoder(OutputStream out, int width, int height, int compressionLevel) {
+      this.out = out;
+      this.width = width;
+      this.height = height;
+      this.deflater = new Deflater(compressionLevel);
+   }
+
+   /**
+    * Write the PNG header. Must be called before any row is written.
+    *
+    * @throws IOException if the header could not be written
+    */
+   void writeHeader() throws IOException {
+      out.write(SIGNATURE);
+      byte[] ihdr = new byte[13];
+      writeInt(ihdr, 0, width);
+      writeInt(ihdr, 4, height);
+      ihdr[8] = 8; // bit depth
+      ihdr[9] = 6; // color type: RGBA
+      ihdr[10] = 0; // compression
+      ihdr[11] = 0; // filter
+      ihdr[12] = 0; // interlace
+      writeChunk("IHDR", ihdr, 0, ihdr.length);
+      idat = new DeflaterOutputStream(new IDATOutputStream(), deflater, CHUNK_SIZE);
+      rowBuffer = new byte[1 + width * 4];
+   }
+
+   /**
+    * Write a series of rows.
+    *
+    * @param pixels the pixels, as non premultiplied ARGB values
+    * @param offset the offset of the first pixel in the array
+    * @param scanlineStride the distance between two rows in the array
+    * @param rows the number of rows to write
+    * @throws IOException if the rows could not be written
+    */
+   void writeRows(int[] pixels, int offset, int scanlineStride, int rows) throws IOException {
+      for (int y = 0; y < rows; y++) {
+         int index = offset + y * scanlineStride;
+         // filter type None
+         rowBuffer[0] = 0;
+         int pos = 1;
+         for (int x = 0; x < width; x++) {
+            int argb = pixels[index + x];
+            rowBuffer[pos++] = (byte) (argb >> 16);
+            rowBuffer[pos++] = (byte) (argb >> 8);
+            rowBuffer[pos++] = (byte) argb;
+            rowBuffer[pos++] = (byte) (argb >>> 24);
+         }
+         idat.write(rowBuffer, 0, rowBuffer.length);
+      }
+      rowsWritten += rows;
+   }
+
+   /**
+    * Finish the image. All the rows must have been written before calling this method.
+    *
+    * @throws IOException if the image could not be finished
+    */
+   void finish() throws IOException {
+      if (rowsWritten != height) {
+         throw new IOException("Expected " + height + " rows, but " + rowsWritten + " were written");
+      }
+      idat.finish();
+      idat.flush();
+      deflater.end();
+      writeChunk("IEND", new byte[0], 0, 0);
+      out.flush();
+   }
+
+   private void writeChunk(String type, byte[] data, int offset, int length) throws IOException {
+      byte[] typeBytes = type.getBytes("US-ASCII");
+      byte[] lengthBytes = new byte[4];
+      writeInt(lengthBytes, 0, length);
+      out.write(lengthBytes);
+      out.write(typeBytes);
+      out.write(data, offset, length);
+      CRC32 crc = new CRC32();
+      crc.update(typeBytes);
+      crc.update(data, offset, length);
+      byte[] crcBytes = new byte[4];
+      writeInt(crcBytes, 0, (int) crc.getValue());
+      out.write(crcBytes);
+   }
+
+   private static void writeInt(byte[] array, int offset, int value) {
+      array[offset] = (byte) (value >>> 24);
+      array[offset + 1] = (byte) (value >>> 16);
+      array[offset + 2] = (byte) (value >>> 8);
+      array[offset + 3] = (byte) value;
+   }
+
+   /**
+    * Buffers the compressed data and write it as a series of IDAT chunks.
+    */
+   private class IDATOutputStream extends OutputStream {
+      private final byte[] buffer = new byte[CHUNK_SIZE];
+      private int count = 0;
+
+      @Override
+      public void write(int b) throws IOException {
+         if (count == buffer.length) {
+            flushChunk();
+         }
+         buffer[count++] = (byte) b;
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+         while (len > 0) {
+            if (count == buffer.length) {
+               flushChunk();
+            }
+            int toCopy = Math.min(len, buffer.length - count);
+            System.arraycopy(b, off, buffer, count, toCopy);
+            count += toCopy;
+            off += toCopy;
+            len -= toCopy;
+         }
+      }
+
+      @Override
+      public void flush() throws IOException {
+         flushChunk();
+      }
+
+      private void flushChunk() throws IOException {
+         if (count > 0) {
+            writeChunk("IDAT", buffer, 0, count);
+            count = 0;
+         }
+      }
+   }
+}
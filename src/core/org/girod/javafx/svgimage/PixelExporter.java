@@ -0,0 +1,314 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Locale;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritablePixelFormat;
+import javax.imageio.ImageIO;
+import org.girod.javafx.svgimage.xml.parsers.SVGLibraryException;
+
+/**
+ * Exports the pixels of a JavaFX {@link Image} to buffers, streams, or image encoders without using the Swing bridge. The pixels
+ * of the image are read only once, directly in the buffer used by the encoder:
+ * <ul>
+ * <li>PNG images are encoded by strips of rows, so the whole image never needs to be copied</li>
+ * <li>JPEG images are read directly in the raster of the image passed to the JPEG writer</li>
+ * <li>The raw pixels can be read in a direct buffer which is reused from one export to the next, or in a caller supplied buffer</li>
+ * </ul>
+ *
+ * An exporter keeps the buffers it uses between two exports, so it must not be used by several threads at the same time.
+ *
+ * @since 1.10
+ */
+public class PixelExporter {
+   /**
+    * The PNG format.
+    */
+   public static final String PNG = "png";
+   /**
+    * The JPEG format.
+    */
+   public static final String JPG = "jpg";
+   private static final String JPEG = "jpeg";
+   private static final String BMP = "bmp";
+   private static final int STRIP_HEIGHT = 64;
+   private ByteBuffer directBytes = null;
+   private IntBuffer directPixels = null;
+   private int[] strip = null;
+
+   /**
+    * Constructor.
+    */
+   public PixelExporter() {
+   }
+
+   private static PixelReader getPixelReader(Image image) throws IOException {
+      PixelReader reader = image.getPixelReader();
+      if (reader == null) {
+         throw new IOException("The pixels of the image can not be read");
+      }
+      return reader;
+   }
+
+   /**
+    * Return the number of bytes necessary to store the pixels of an image, 4 bytes by pixel. This method will throw a
+    * {@link SVGLibraryException} if the number of bytes is greater than Integer.MAX_VALUE <b>and</b>
+    * {@link GlobalConfig#getExceptionsHandling()} is set to {@link ExceptionsHandling#RETROW_EXCEPTION}.
+    *
+    * @param width the width of the image
+    * @param height the height of the image
+    * @return the number of bytes, or -1 if the pixels of the image can not be stored in one buffer
+    */
+   static int getByteSize(int width, int height) {
+      long size = (long) width * (long) height * 4L;
+      if (size > Integer.MAX_VALUE) {
+         GlobalConfig.getInstance().handleLibraryException(new SVGLibraryException("The image of size " + width + "x" + height
+            + " is too large to be stored in one buffer"));
+         return -1;
+      }
+      return (int) size;
+   }
+
+   /**
+    * Read the pixels of an image in the direct buffer of this exporter. The pixels are stored as premultiplied ARGB values,
+    * which is the native format of JavaFX images, row after row. The buffer is reused by the next call to this method, so
+    * its content is only valid until then.
+    *
+    * @param image the image
+    * @return the buffer, with a position of 0 and a limit of width * height, or null if the image is too large to be stored
+    * in one buffer
+    * @throws IOException if the pixels of the image can not be read
+    */
+   public IntBuffer readPixels(Image image) throws IOException {
+      PixelReader reader = getPixelReader(image);
+      int width = (int) image.getWidth();
+      int height = (int) image.getHeight();
+      int byteSize = getByteSize(width, height);
+      if (byteSize == -1) {
+         return null;
+      }
+      int size = byteSize / 4;
+      if (directPixels == null || directPixels.capacity() < size) {
+         // big endian, so that the bytes of each pixel are always in the A, R, G, B order
+         directBytes = ByteBuffer.allocateDirect(byteSize).order(ByteOrder.BIG_ENDIAN);
+         directPixels = directBytes.asIntBuffer();
+      }
+      // the Buffer casts avoid to depend on the covariant return types of the JDK 9 buffers
+      ((Buffer) directPixels).clear();
+      reader.getPixels(0, 0, width, height, WritablePixelFormat.getIntArgbPreInstance(), directPixels, width);
+      ((Buffer) directPixels).position(0);
+      ((Buffer) directPixels).limit(size);
+      return directPixels;
+   }
+
+   /**
+    * Read the pixels of an image in a buffer supplied by the caller. The pixels are stored as premultiplied BGRA bytes, row after row,
+    * starting at the current position of the buffer. The position of the buffer is not modified. Nothing is read if the image is
+    * too large to be stored in one buffer.
+    *
+    * @param image the image
+    * @param buffer the buffer
+    * @throws IOException if the pixels of the image can not be read
+    * @throws IllegalArgumentException if the buffer is too small for the image
+    * @see #getByteSize(javafx.scene.image.Image)
+    */
+   public void readPixels(Image image, ByteBuffer buffer) throws IOException {
+      PixelReader reader = getPixelReader(image);
+      int width = (int) image.getWidth();
+      int height = (int) image.getHeight();
+      int byteSize = getByteSize(width, height);
+      if (byteSize == -1) {
+         return;
+      }
+      if (buffer.remaining() < byteSize) {
+         throw new IllegalArgumentException("The buffer must have at least " + byteSize + " remaining bytes");
+      }
+      reader.getPixels(0, 0, width, height, WritablePixelFormat.getByteBgraPreInstance(), buffer, width * 4);
+   }
+
+   /**
+    * Return the number of bytes necessary to store the pixels of an image in a buffer.
+    *
+    * @param image the image
+    * @return the number of bytes, or -1 if the image is too large to be stored in one buffer
+    */
+   public static int getByteSize(Image image) {
+      return getByteSize((int) image.getWidth(), (int) image.getHeight());
+   }
+
+   /**
+    * Write the raw pixels of an image in a stream. The pixels are written row after row, as premultiplied ARGB values, 4 bytes by pixel
+    * in the A, R, G, B order. The stream is not closed. Nothing is written if the image is too large to be stored in one buffer.
+    *
+    * @param image the image
+    * @param out the stream
+    * @throws IOException if the pixels could not be written
+    */
+   public void writePixels(Image image, OutputStream out) throws IOException {
+      IntBuffer pixels = readPixels(image);
+      if (pixels == null) {
+         return;
+      }
+      ByteBuffer bytes = directBytes.duplicate();
+      ((Buffer) bytes).position(0);
+      ((Buffer) bytes).limit(pixels.limit() * 4);
+      WritableByteChannel channel = Channels.newChannel(out);
+      while (bytes.hasRemaining()) {
+         channel.write(bytes);
+      }
+      out.flush();
+   }
+
+   /**
+    * Write an image in a stream in the PNG format. The image is encoded by strips of rows, so the pixels of the whole image
+    * are never copied. The stream is not closed.
+    *
+    * @param image the image
+    * @param out the stream
+    * @throws IOException if the image could not be written
+    */
+   public void writePNG(Image image, OutputStream out) throws IOException {
+      PixelReader reader = getPixelReader(image);
+      int width = (int) image.getWidth();
+      int height = (int) image.getHeight();
+      int stripSize = width * Math.min(STRIP_HEIGHT, height);
+      if (strip == null || strip.length < stripSize) {
+         strip = new int[stripSize];
+      }
+      PNGEncoder encoder = new PNGEncoder(out, width, height);
+      encoder.writeHeader();
+      int y = 0;
+      while (y < height) {
+         int rows = Math.min(STRIP_HEIGHT, height - y);
+         reader.getPixels(0, y, width, rows, WritablePixelFormat.getIntArgbInstance(), strip, 0, width);
+         encoder.writeRows(strip, 0, width, rows);
+         y += rows;
+      }
+      encoder.finish();
+      out.flush();
+   }
+
+   /**
+    * Write an image in a stream in the JPEG format. The pixels are read directly in the raster of the image passed to the JPEG
+    * writer. The transparent parts of the image will be black. The stream is not closed.
+    *
+    * @param image the image
+    * @param out the stream
+    * @throws IOException if the image could not be written
+    */
+   public void writeJPEG(Image image, OutputStream out) throws IOException {
+      // the JPEG writer must not receive an image with an alpha channel
+      // see https://stackoverflow.com/questions/4386446/issue-using-imageio-write-jpg-file-pink-background
+      BufferedImage awtImage = toBufferedImage(image, BufferedImage.TYPE_INT_RGB);
+      if (!ImageIO.write(awtImage, JPG, out)) {
+         throw new IOException("No writer for the " + JPG + " format");
+      }
+      out.flush();
+   }
+
+   /**
+    * Write an image in a stream. The PNG and JPEG formats use {@link #writePNG(javafx.scene.image.Image, java.io.OutputStream)}
+    * and {@link #writeJPEG(javafx.scene.image.Image, java.io.OutputStream)}, the other formats use the ImageIO writers.
+    * The stream is not closed.
+    *
+    * @param image the image
+    * @param format the format
+    * @param out the stream
+    * @return true if the image could be written, false if there is no writer for the format
+    * @throws IOException if the image could not be written
+    */
+   public boolean write(Image image, String format, OutputStream out) throws IOException {
+      switch (format.toLowerCase(Locale.ROOT)) {
+         case PNG:
+            writePNG(image, out);
+            return true;
+         case JPG:
+         case JPEG:
+            writeJPEG(image, out);
+            return true;
+         case BMP: {
+            // BMP does not support transparency
+            BufferedImage awtImage = toBufferedImage(image, BufferedImage.TYPE_INT_RGB);
+            return ImageIO.write(awtImage, format, out);
+         }
+         default: {
+            BufferedImage awtImage = toBufferedImage(image, BufferedImage.TYPE_INT_ARGB);
+            return ImageIO.write(awtImage, format, out);
+         }
+      }
+   }
+
+   /**
+    * Convert an image to a BufferedImage. The pixels are read directly in the raster of the BufferedImage.
+    *
+    * @param image the image
+    * @param type the BufferedImage type, which must be one of BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_INT_ARGB_PRE,
+    * or BufferedImage.TYPE_INT_RGB
+    * @return the BufferedImage
+    * @throws IOException if the pixels of the image can not be read
+    */
+   public static BufferedImage toBufferedImage(Image image, int type) throws IOException {
+      WritablePixelFormat<IntBuffer> pixelFormat;
+      switch (type) {
+         case BufferedImage.TYPE_INT_ARGB:
+            pixelFormat = WritablePixelFormat.getIntArgbInstance();
+            break;
+         case BufferedImage.TYPE_INT_ARGB_PRE:
+         case BufferedImage.TYPE_INT_RGB:
+            // for TYPE_INT_RGB, the alpha byte is ignored, so the premultiplied colors are the colors composited on black
+            pixelFormat = WritablePixelFormat.getIntArgbPreInstance();
+            break;
+         default:
+            throw new IllegalArgumentException("Unsupported image type " + type);
+      }
+      PixelReader reader = getPixelReader(image);
+      int width = (int) image.getWidth();
+      int height = (int) image.getHeight();
+      BufferedImage awtImage = new BufferedImage(width, height, type);
+      int[] data = ((DataBufferInt) awtImage.getRaster().getDataBuffer()).getData();
+      reader.getPixels(0, 0, width, height, pixelFormat, data, 0, width);
+      return awtImage;
+   }
+}
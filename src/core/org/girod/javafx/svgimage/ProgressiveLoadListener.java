@@ -0,0 +1,66 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+/**
+ * A listener notified of the progress of an image loaded by {@link SVGLoader#loadProgressively(java.net.URL, LoaderParameters, ProgressiveLoadListener)}.
+ * All the methods are called in the JavaFX Application Thread. The Nodes of the top-level elements are added to the image while the
+ * document is parsed, so the children of the image can also be observed.
+ *
+ * @since 1.10
+ */
+public interface ProgressiveLoadListener {
+   /**
+    * Called each time new elements have been added to the image.
+    *
+    * @param image the image
+    * @param bytesRead the number of bytes of the document read so far
+    * @param totalBytes the total number of bytes of the document, or -1 if it is not known
+    */
+   public void progress(SVGImage image, long bytesRead, long totalBytes);
+
+   /**
+    * Called when the whole document has been parsed and built.
+    *
+    * @param image the image
+    */
+   public void loaded(SVGImage image);
+
+   /**
+    * Called if the document could not be read or parsed. The elements built before the error are kept in the image.
+    *
+    * @param image the image
+    * @param error the error
+    */
+   public void failed(SVGImage image, Throwable error);
+}
@@ -0,0 +1,265 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javafx.application.Platform;
+import org.girod.javafx.svgimage.xml.parsers.xmltree.XMLNode;
+import org.girod.javafx.svgimage.xml.parsers.xmltree.XMLRoot;
+import org.girod.javafx.svgimage.xml.parsers.xmltree.XMLTreeHandler;
+
+/**
+ * Loads an image progressively for {@link SVGLoader#loadProgressively(URL, LoaderParameters, ProgressiveLoadListener)}. The document
+ * is parsed in a worker thread, and each child element of the root element is built in the JavaFX Application Thread as soon as it has
+ * been parsed, while the parsing continues. The elements are built in batches which do not keep the JavaFX Application Thread busy for
+ * more than a frame.
+ *
+ * @since 1.10
+ */
+class ProgressiveLoader {
+   // the maximum time spent to build elements in one pulse of the JavaFX Application Thread
+   private static final long BUILD_BUDGET_NANOS = 16_000_000L;
+   // the number of bytes read after which the progress is notified even if no element has been parsed
+   private static final long PROGRESS_STEP = 256 * 1024;
+   private final SVGLoader loader;
+   private final SVGImage image;
+   private final URL url;
+   private final LoaderParameters params;
+   private final ProgressiveLoadListener listener;
+   private final Queue<XMLNode> parsedElements = new ConcurrentLinkedQueue<>();
+   private final AtomicBoolean scheduled = new AtomicBoolean(false);
+   private final AtomicLong bytesRead = new AtomicLong();
+   private volatile long totalBytes = -1;
+   private volatile XMLRoot xmlRoot = null;
+   private volatile List<URL> styleSheets = null;
+   private volatile boolean parsed = false;
+   private volatile Throwable error = null;
+   // only used in the JavaFX Application Thread
+   private boolean started = false;
+   private boolean finished = false;
+   private long notifiedBytes = 0;
+
+   ProgressiveLoader(SVGLoader loader, SVGImage image, URL url, LoaderParameters params, ProgressiveLoadListener listener) {
+      this.loader = loader;
+      this.image = image;
+      this.url = url;
+      this.params = params;
+      this.listener = listener;
+   }
+
+   /**
+    * Start the parsing of the document in a worker thread.
+    */
+   void start() {
+      Thread thread = new BatchRenderer.WorkerFactory("progressive").newThread(new Runnable() {
+         @Override
+         public void run() {
+            parse();
+         }
+      });
+      thread.start();
+   }
+
+   private void parse() {
+      try {
+         URLConnection connection = url.openConnection();
+         totalBytes = connection.getContentLengthLong();
+         try (InputStream stream = new CountingInputStream(connection.getInputStream())) {
+            loader.parseTree(new Handler(url), stream);
+         }
+      } catch (Exception ex) {
+         error = ex;
+      }
+      parsed = true;
+      schedule();
+   }
+
+   private void schedule() {
+      if (scheduled.compareAndSet(false, true)) {
+         Platform.runLater(new Runnable() {
+            @Override
+            public void run() {
+               buildParsedElements();
+            }
+         });
+      }
+   }
+
+   /**
+    * Build the elements parsed since the last call. Called in the JavaFX Application Thread.
+    */
+   private void buildParsedElements() {
+      scheduled.set(false);
+      if (finished) {
+         return;
+      }
+      // read before the queue, so that no element can be added after the queue has been found empty if the document has been parsed
+      boolean isParsed = parsed;
+      XMLRoot theRoot = xmlRoot;
+      int count = 0;
+      try {
+         if (!started && theRoot != null) {
+            started = true;
+            loader.beginProgressiveBuild(theRoot, styleSheets);
+         }
+         long deadline = System.nanoTime() + BUILD_BUDGET_NANOS;
+         while (started && System.nanoTime() < deadline) {
+            XMLNode xmlNode = parsedElements.poll();
+            if (xmlNode == null) {
+               break;
+            }
+            loader.buildProgressiveElement(theRoot, xmlNode);
+            count++;
+         }
+      } catch (RuntimeException ex) {
+         finish(ex);
+         return;
+      }
+      long bytes = bytesRead.get();
+      if ((count > 0 || bytes != notifiedBytes) && listener != null) {
+         notifiedBytes = bytes;
+         listener.progress(image, bytes, totalBytes);
+      }
+      if (!parsedElements.isEmpty()) {
+         schedule();
+      } else if (isParsed) {
+         if (error != null) {
+            finish(error);
+         } else if (theRoot == null) {
+            finish(new IOException("No root element in " + url));
+         } else {
+            try {
+               loader.endProgressiveBuild(theRoot);
+            } catch (RuntimeException ex) {
+               finish(ex);
+               return;
+            }
+            if (params.centerImage) {
+               image.setTranslateX(-image.getLayoutBounds().getWidth() / 2);
+               image.setTranslateY(-image.getLayoutBounds().getHeight() / 2);
+            }
+            finish(null);
+         }
+      }
+   }
+
+   private void finish(Throwable th) {
+      finished = true;
+      parsedElements.clear();
+      if (th == null) {
+         if (listener != null) {
+            listener.loaded(image);
+         }
+      } else if (listener != null) {
+         listener.failed(image, th);
+      } else {
+         GlobalConfig.getInstance().handleParsingException(th);
+      }
+   }
+
+   /**
+    * The handler which gives each child element of the root element to the JavaFX Application Thread as soon as it has been parsed.
+    */
+   private class Handler extends XMLTreeHandler {
+      private Handler(URL url) {
+         super(url);
+      }
+
+      @Override
+      protected void rootStarted(XMLRoot root) {
+         styleSheets = new ArrayList<>(getStylesheets());
+         xmlRoot = root;
+         schedule();
+      }
+
+      @Override
+      protected void topLevelElementEnded(XMLNode node) {
+         parsedElements.add(node);
+         schedule();
+      }
+   }
+
+   /**
+    * Counts the bytes read from the document.
+    */
+   private class CountingInputStream extends FilterInputStream {
+      private long scheduledBytes = 0;
+
+      private CountingInputStream(InputStream in) {
+         super(in);
+      }
+
+      @Override
+      public int read() throws IOException {
+         int b = super.read();
+         if (b != -1) {
+            count(1);
+         }
+         return b;
+      }
+
+      @Override
+      public int read(byte[] b, int off, int len) throws IOException {
+         int n = super.read(b, off, len);
+         if (n > 0) {
+            count(n);
+         }
+         return n;
+      }
+
+      @Override
+      public long skip(long n) throws IOException {
+         long skipped = super.skip(n);
+         count(skipped);
+         return skipped;
+      }
+
+      private void count(long n) {
+         long bytes = bytesRead.addAndGet(n);
+         if (bytes - scheduledBytes >= PROGRESS_STEP) {
+            scheduledBytes = bytes;
+            schedule();
+         }
+      }
+   }
+}
@@ -0,0 +1,266 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Paint;
+
+/**
+ * A cache of the images rasterized from {@link SVGImage}s. The cache uses a LRU eviction policy bounded by a memory budget expressed in bytes.
+ * The size of each image is estimated as 4 bytes per pixel.
+ *
+ * The cache is opt-in, it is used by an image only if it has been set by {@link SVGImage#setRasterCache(RasterCache)}. The same cache can be
+ * shared by several images. The cached images of an {@link SVGImage} are invalidated when its children or its stylesheets change, or
+ * explicitly by {@link SVGImage#invalidateRasterCache()}.
+ *
+ * @since 1.10
+ */
+public class RasterCache {
+   /**
+    * The default memory budget, in bytes.
+    */
+   public static final long DEFAULT_BUDGET = 64L * 1024L * 1024L;
+   private final long budget;
+   private long usedBytes = 0;
+   private long hits = 0;
+   private long misses = 0;
+   private long evictions = 0;
+   private final LinkedHashMap<Key, Image> images = new LinkedHashMap<>(16, 0.75f, true);
+
+   /**
+    * Create a cache with the default memory budget.
+    */
+   public RasterCache() {
+      this(DEFAULT_BUDGET);
+   }
+
+   /**
+    * Create a cache.
+    *
+    * @param budget the memory budget, in bytes
+    */
+   public RasterCache(long budget) {
+      this.budget = budget;
+   }
+
+   /**
+    * Return the memory budget, in bytes.
+    *
+    * @return the memory budget
+    */
+   public long getBudget() {
+      return budget;
+   }
+
+   /**
+    * Return the estimated memory used by the cached images, in bytes.
+    *
+    * @return the estimated memory used by the cached images
+    */
+   public synchronized long getUsedBytes() {
+      return usedBytes;
+   }
+
+   /**
+    * Return the number of cached images.
+    *
+    * @return the number of cached images
+    */
+   public synchronized int size() {
+      return images.size();
+   }
+
+   /**
+    * Return the number of cache hits.
+    *
+    * @return the number of cache hits
+    */
+   public synchronized long getHits() {
+      return hits;
+   }
+
+   /**
+    * Return the number of cache misses.
+    *
+    * @return the number of cache misses
+    */
+   public synchronized long getMisses() {
+      return misses;
+   }
+
+   /**
+    * Return the number of images evicted from the cache because of the memory budget.
+    *
+    * @return the number of evicted images
+    */
+   public synchronized long getEvictions() {
+      return evictions;
+   }
+
+   /**
+    * Reset the hits, misses, and evictions statistics.
+    */
+   public synchronized void resetStatistics() {
+      hits = 0;
+      misses = 0;
+      evictions = 0;
+   }
+
+   /**
+    * Remove all the images from the cache.
+    */
+   public synchronized void clear() {
+      images.clear();
+      usedBytes = 0;
+   }
+
+   /**
+    * Remove all the images of an SVGImage from the cache.
+    *
+    * @param image the SVGImage
+    */
+   public synchronized void invalidate(SVGImage image) {
+      long imageID = image.getCacheID();
+      Iterator<Map.Entry<Key, Image>> it = images.entrySet().iterator();
+      while (it.hasNext()) {
+         Map.Entry<Key, Image> entry = it.next();
+         Key key = entry.getKey();
+         if (key.imageID == imageID) {
+            usedBytes -= key.getSize();
+            it.remove();
+         }
+      }
+   }
+
+   /**
+    * Return the cached image for a key, or null if there is no image for this key.
+    *
+    * @param key the key
+    * @return the cached image
+    */
+   synchronized Image get(Key key) {
+      Image image = images.get(key);
+      if (image != null) {
+         hits++;
+      } else {
+         misses++;
+      }
+      return image;
+   }
+
+   /**
+    * Put an image in the cache. Images larger than the budget are not cached.
+    *
+    * @param key the key
+    * @param image the image
+    */
+   synchronized void put(Key key, Image image) {
+      long size = key.getSize();
+      if (size > budget) {
+         return;
+      }
+      Image previous = images.put(key, image);
+      if (previous == null) {
+         usedBytes += size;
+      }
+      Iterator<Key> it = images.keySet().iterator();
+      while (usedBytes > budget && it.hasNext()) {
+         Key eldest = it.next();
+         if (eldest != key) {
+            usedBytes -= eldest.getSize();
+            it.remove();
+            evictions++;
+         }
+      }
+   }
+
+   /**
+    * The key of a cached image.
+    */
+   static final class Key {
+      private final long imageID;
+      private final int width;
+      private final int height;
+      private final Paint fill;
+      private final short quality;
+
+      /**
+       * Constructor.
+       *
+       * @param image the SVGImage
+       * @param width the width of the rasterized image
+       * @param height the height of the rasterized image
+       * @param fill the fill of the rasterized image
+       * @param quality the scale quality
+       */
+      Key(SVGImage image, int width, int height, Paint fill, short quality) {
+         this.imageID = image.getCacheID();
+         this.width = width;
+         this.height = height;
+         this.fill = fill;
+         this.quality = quality;
+      }
+
+      private long getSize() {
+         return 4L * width * height;
+      }
+
+      @Override
+      public int hashCode() {
+         int hash = 7;
+         hash = 41 * hash + Long.hashCode(imageID);
+         hash = 41 * hash + width;
+         hash = 41 * hash + height;
+         hash = 41 * hash + Objects.hashCode(fill);
+         hash = 41 * hash + quality;
+         return hash;
+      }
+
+      @Override
+      public boolean equals(Object obj) {
+         if (this == obj) {
+            return true;
+         }
+         if (!(obj instanceof Key)) {
+            return false;
+         }
+         Key other = (Key) obj;
+         return imageID == other.imageID && width == other.width && height == other.height && quality == other.quality
+            && Objects.equals(fill, other.fill);
+      }
+   }
+}
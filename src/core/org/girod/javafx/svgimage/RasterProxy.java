@@ -0,0 +1,510 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.util.TreeMap;
+import java.util.TreeSet;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.geometry.Bounds;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Group;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.transform.NonInvertibleTransformException;
+import javafx.scene.transform.Transform;
+import javafx.util.Duration;
+
+/**
+ * Displays a raster proxy of an {@link SVGImage} while the image is zoomed or panned, so that its Nodes are not rendered again at each
+ * frame of the interaction.
+ *
+ * The proxy keeps a pyramid of snapshots of the image at power-of-two scales: the level <code>n</code> is rendered with a scale of
+ * <code>2<sup>n</sup></code>. When an interaction begins, the image is hidden and the level nearest to the current scale of the image is
+ * shown in an {@link ImageView} with the same transform as the image. When there has been no interaction during the settle delay, the
+ * image is shown again, and the missing levels around the new scale are rendered, one level per <code>Platform.runLater</code> call, so
+ * that the JavaFX Application Thread can handle other events between two levels.
+ *
+ * The changes of the scale of the image are interactions. Other interactions, such as the panning of a ScrollPane containing the image,
+ * must be notified with {@link #interact()}. The image and the proxy are both in the Group returned by {@link #getNode()}, which must be
+ * added to the scene instead of the image.
+ *
+ * This class must only be used in the JavaFX Application Thread.
+ *
+ * @since 1.10
+ */
+public final class RasterProxy {
+   /**
+    * The default settle delay, in milliseconds.
+    */
+   public static final double DEFAULT_SETTLE_DELAY = 250d;
+   /**
+    * The default maximum width or height of a level, in pixels.
+    */
+   public static final int DEFAULT_MAX_LEVEL_SIZE = 4096;
+   /**
+    * The default maximum number of levels kept in the pyramid.
+    */
+   public static final int DEFAULT_MAX_LEVELS = 4;
+   // the minimum width or height of a level, in pixels
+   private static final int MIN_LEVEL_SIZE = 16;
+   private final SVGImage image;
+   private final Group node = new Group();
+   private final ImageView proxyView = new ImageView();
+   private final TreeMap<Integer, Image> levels = new TreeMap<>();
+   private final TreeSet<Integer> pendingLevels = new TreeSet<>();
+   private final PauseTransition settleTransition;
+   private int maxLevelSize = DEFAULT_MAX_LEVEL_SIZE;
+   private int maxLevels = DEFAULT_MAX_LEVELS;
+   private boolean isProxyShown = false;
+   private boolean isRenderScheduled = false;
+   private boolean isDisposed = false;
+   private int renderCount = 0;
+   private final InvalidationListener scaleListener = new InvalidationListener() {
+      @Override
+      public void invalidated(Observable observable) {
+         interact();
+      }
+   };
+   private final InvalidationListener transformListener = new InvalidationListener() {
+      @Override
+      public void invalidated(Observable observable) {
+         if (isProxyShown) {
+            updateProxyView();
+         }
+      }
+   };
+   private final InvalidationListener contentListener = new InvalidationListener() {
+      @Override
+      public void invalidated(Observable observable) {
+         invalidate();
+      }
+   };
+   private final Runnable renderTask = new Runnable() {
+      @Override
+      public void run() {
+         isRenderScheduled = false;
+         renderNextLevel();
+      }
+   };
+
+   /**
+    * Constructor. The image must not already be in a scene graph.
+    *
+    * @param image the image
+    */
+   public RasterProxy(SVGImage image) {
+      this.image = image;
+      proxyView.setSmooth(true);
+      proxyView.setVisible(false);
+      proxyView.setManaged(false);
+      node.getChildren().addAll(image, proxyView);
+      settleTransition = new PauseTransition(Duration.millis(DEFAULT_SETTLE_DELAY));
+      settleTransition.setOnFinished(new EventHandler<ActionEvent>() {
+         @Override
+         public void handle(ActionEvent event) {
+            settle();
+         }
+      });
+      image.scaleXProperty().addListener(scaleListener);
+      image.scaleYProperty().addListener(scaleListener);
+      image.localToParentTransformProperty().addListener(transformListener);
+      image.getChildren().addListener(contentListener);
+   }
+
+   /**
+    * Return the image.
+    *
+    * @return the image
+    */
+   public SVGImage getImage() {
+      return image;
+   }
+
+   /**
+    * Return the Group containing the image and its proxy. This Group must be added to the scene instead of the image.
+    *
+    * @return the Group
+    */
+   public Group getNode() {
+      return node;
+   }
+
+   /**
+    * Set the delay without interaction after which the image is shown again. The default is {@link #DEFAULT_SETTLE_DELAY} milliseconds.
+    *
+    * @param delay the settle delay
+    */
+   public void setSettleDelay(Duration delay) {
+      settleTransition.setDuration(delay);
+   }
+
+   /**
+    * Return the delay without interaction after which the image is shown again.
+    *
+    * @return the settle delay
+    */
+   public Duration getSettleDelay() {
+      return settleTransition.getDuration();
+   }
+
+   /**
+    * Set the maximum width or height of a level, in pixels. The default is {@link #DEFAULT_MAX_LEVEL_SIZE}. The size must be smaller than
+    * the maximum texture size.
+    *
+    * @param maxLevelSize the maximum width or height of a level
+    */
+   public void setMaxLevelSize(int maxLevelSize) {
+      if (maxLevelSize > 0) {
+         this.maxLevelSize = maxLevelSize;
+      }
+   }
+
+   /**
+    * Return the maximum width or height of a level, in pixels.
+    *
+    * @return the maximum width or height of a level
+    */
+   public int getMaxLevelSize() {
+      return maxLevelSize;
+   }
+
+   /**
+    * Set the maximum number of levels kept in the pyramid. The default is {@link #DEFAULT_MAX_LEVELS}. The levels which are the farthest
+    * from the current scale of the image are removed first.
+    *
+    * @param maxLevels the maximum number of levels
+    */
+   public void setMaxLevels(int maxLevels) {
+      if (maxLevels > 0) {
+         this.maxLevels = maxLevels;
+      }
+   }
+
+   /**
+    * Return the maximum number of levels kept in the pyramid.
+    *
+    * @return the maximum number of levels
+    */
+   public int getMaxLevels() {
+      return maxLevels;
+   }
+
+   /**
+    * Return true if the proxy is currently shown instead of the image.
+    *
+    * @return true if the proxy is currently shown
+    */
+   public boolean isProxyShown() {
+      return isProxyShown;
+   }
+
+   /**
+    * Return the current scale of the image, relative to its parent.
+    *
+    * @return the current scale
+    */
+   public double getScale() {
+      Transform transform = image.getLocalToParentTransform();
+      return Math.max(Math.abs(transform.getMxx()), Math.abs(transform.getMyy()));
+   }
+
+   /**
+    * Return the scale of a level.
+    *
+    * @param level the level
+    * @return the scale of the level
+    */
+   public static double getLevelScale(int level) {
+      return Math.pow(2, level);
+   }
+
+   /**
+    * Return the level to use for a scale. It is the smallest level whose scale is at least the specified scale, constrained by the
+    * maximum size of the levels.
+    *
+    * @param scale the scale
+    * @return the level
+    */
+   public int getLevel(double scale) {
+      Bounds bounds = image.getLayoutBounds();
+      double size = Math.max(bounds.getWidth(), bounds.getHeight());
+      if (size <= 0 || scale <= 0) {
+         return 0;
+      }
+      int level = (int) Math.ceil(Math.log(scale) / Math.log(2) - 1e-9);
+      int maxLevel = (int) Math.floor(Math.log(maxLevelSize / size) / Math.log(2));
+      int minLevel = (int) Math.ceil(Math.log(MIN_LEVEL_SIZE / size) / Math.log(2));
+      if (level > maxLevel) {
+         level = maxLevel;
+      }
+      if (level < minLevel) {
+         level = Math.min(minLevel, maxLevel);
+      }
+      return level;
+   }
+
+   /**
+    * Return true if a level has been rendered.
+    *
+    * @param level the level
+    * @return true if the level has been rendered
+    */
+   public boolean hasLevel(int level) {
+      return levels.containsKey(level);
+   }
+
+   /**
+    * Return the image of a level, or null if the level has not been rendered.
+    *
+    * @param level the level
+    * @return the image of the level
+    */
+   public Image getLevelImage(int level) {
+      return levels.get(level);
+   }
+
+   /**
+    * Return the number of levels in the pyramid.
+    *
+    * @return the number of levels
+    */
+   public int getLevelsCount() {
+      return levels.size();
+   }
+
+   /**
+    * Return the number of levels rendered since the creation of the proxy.
+    *
+    * @return the number of rendered levels
+    */
+   public int getRenderCount() {
+      return renderCount;
+   }
+
+   /**
+    * Notify an interaction. The proxy is shown instead of the image if it was not already shown, and the settle delay is restarted. If
+    * no level has been rendered yet, the level for the current scale is rendered before hiding the image.
+    */
+   public void interact() {
+      if (isDisposed) {
+         return;
+      }
+      if (!isProxyShown) {
+         if (levels.isEmpty()) {
+            renderLevel(getLevel(getScale()));
+         }
+         if (levels.isEmpty()) {
+            return;
+         }
+         isProxyShown = true;
+         updateProxyView();
+         proxyView.setVisible(true);
+         image.setVisible(false);
+      } else {
+         updateProxyView();
+      }
+      settleTransition.playFromStart();
+   }
+
+   /**
+    * Schedule the rendering of the missing levels around the current scale of the image. It is not necessary to call this method, but it
+    * allows to have a sharp proxy for the first interaction.
+    */
+   public void prefetch() {
+      if (isDisposed) {
+         return;
+      }
+      int level = getLevel(getScale());
+      for (int i = level - 1; i <= level + 1; i++) {
+         if (!levels.containsKey(i) && getLevel(getLevelScale(i)) == i) {
+            pendingLevels.add(i);
+         }
+      }
+      scheduleRender();
+   }
+
+   /**
+    * Remove all the levels of the pyramid. This method is called automatically when the children of the image change, but it must be
+    * called explicitly if the Nodes of the image have been modified.
+    */
+   public void invalidate() {
+      levels.clear();
+      pendingLevels.clear();
+      if (isProxyShown) {
+         settleTransition.stop();
+         settle();
+      }
+   }
+
+   /**
+    * Dispose of the proxy. The image is shown again, but it stays in the Group of the proxy.
+    */
+   public void dispose() {
+      settleTransition.stop();
+      image.scaleXProperty().removeListener(scaleListener);
+      image.scaleYProperty().removeListener(scaleListener);
+      image.localToParentTransformProperty().removeListener(transformListener);
+      image.getChildren().removeListener(contentListener);
+      showImage();
+      levels.clear();
+      pendingLevels.clear();
+      isDisposed = true;
+   }
+
+   private void settle() {
+      showImage();
+      prefetch();
+   }
+
+   private void showImage() {
+      isProxyShown = false;
+      image.setVisible(true);
+      proxyView.setVisible(false);
+      proxyView.setImage(null);
+   }
+
+   private void updateProxyView() {
+      int level = getNearestLevel(getLevel(getScale()));
+      if (level == Integer.MIN_VALUE) {
+         return;
+      }
+      Bounds bounds = image.getLayoutBounds();
+      Image levelImage = levels.get(level);
+      if (proxyView.getImage() != levelImage) {
+         proxyView.setImage(levelImage);
+      }
+      proxyView.setX(bounds.getMinX());
+      proxyView.setY(bounds.getMinY());
+      proxyView.setFitWidth(levelImage.getWidth() / getLevelScale(level));
+      proxyView.setFitHeight(levelImage.getHeight() / getLevelScale(level));
+      proxyView.getTransforms().setAll(image.getLocalToParentTransform());
+   }
+
+   private int getNearestLevel(int level) {
+      if (levels.containsKey(level)) {
+         return level;
+      }
+      Integer above = levels.higherKey(level);
+      Integer below = levels.lowerKey(level);
+      if (above == null && below == null) {
+         return Integer.MIN_VALUE;
+      } else if (above == null) {
+         return below;
+      } else if (below == null) {
+         return above;
+      } else if (above - level <= level - below) {
+         return above;
+      } else {
+         return below;
+      }
+   }
+
+   private void scheduleRender() {
+      if (!isRenderScheduled && !pendingLevels.isEmpty()) {
+         isRenderScheduled = true;
+         Platform.runLater(renderTask);
+      }
+   }
+
+   private void renderNextLevel() {
+      // the levels are only rendered when the image is shown, they are rendered again after the next interaction
+      if (isDisposed || isProxyShown || pendingLevels.isEmpty()) {
+         return;
+      }
+      int target = getLevel(getScale());
+      int level = pendingLevels.first();
+      for (int pending : pendingLevels) {
+         if (Math.abs(pending - target) < Math.abs(level - target)) {
+            level = pending;
+         }
+      }
+      pendingLevels.remove(level);
+      if (!levels.containsKey(level)) {
+         renderLevel(level);
+      }
+      scheduleRender();
+   }
+
+   private void renderLevel(int level) {
+      double levelScale = getLevelScale(level);
+      Bounds bounds = image.getLayoutBounds();
+      int width = (int) Math.ceil(bounds.getWidth() * levelScale);
+      int height = (int) Math.ceil(bounds.getHeight() * levelScale);
+      if (width <= 0 || height <= 0) {
+         return;
+      }
+      // the snapshot applies the transform of the image, which must be reverted to render the level in the image coordinates
+      Transform transform;
+      try {
+         transform = Transform.scale(levelScale, levelScale).createConcatenation(image.getLocalToParentTransform().createInverse());
+      } catch (NonInvertibleTransformException ex) {
+         return;
+      }
+      SnapshotParameters params = new SnapshotParameters();
+      // the proxy is shown in place of the image, so the background behind the image must stay visible
+      params.setFill(Color.TRANSPARENT);
+      params.setTransform(transform);
+      params.setViewport(new Rectangle2D(bounds.getMinX() * levelScale, bounds.getMinY() * levelScale, width, height));
+      WritableImage levelImage = image.snapshotImpl(params);
+      if (levelImage == null) {
+         return;
+      }
+      renderCount++;
+      levels.put(level, levelImage);
+      evictLevels(level);
+   }
+
+   private void evictLevels(int level) {
+      int target = getLevel(getScale());
+      while (levels.size() > maxLevels) {
+         int farthest = target;
+         for (int key : levels.keySet()) {
+            if (key != level && Math.abs(key - target) >= Math.abs(farthest - target)) {
+               farthest = key;
+            }
+         }
+         if (farthest == target || farthest == level) {
+            break;
+         }
+         levels.remove(farthest);
+      }
+   }
+}
@@ -33,6 +33,9 @@ the project website at the project page on https://github.com/hervegirod/fxsvgim
 package org.girod.javafx.svgimage;
 
 import java.io.File;
+import java.io.OutputStream;
+import java.io.IOException;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -40,10 +43,15 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
 import javafx.animation.Animation;
 import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
 import javafx.embed.swing.JFXPanel;
+import javafx.geometry.Bounds;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.Group;
 import javafx.scene.Node;
@@ -51,15 +59,21 @@ import javafx.scene.SnapshotParameters;
 import javafx.scene.image.Image;
 import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.transform.Transform;
+import javafx.util.Duration;
 import org.girod.javafx.svgimage.xml.parsers.SVGLibraryException;
+import org.girod.javafx.svgimage.xml.parsers.xmltree.XMLTreeHandler;
+import org.girod.javafx.svgimage.xml.specs.AnimationTrack;
 
 /**
  * The resulting SVG image. It is a JavaFX Nodes tree.
  *
- * @version 1.7
+ * @version 1.10
  */
 public class SVGImage extends Group implements Cloneable {
    private static SVGSnapshotParameters SNAPSHOT_PARAMS = null;
+   private static final AtomicLong CACHE_IDS = new AtomicLong();
    private final Map<String, Node> nodes = new HashMap<>();
    private List<Animation> animations = new ArrayList<>();
    private boolean isPlayingAnimations = false;
@@ -69,6 +83,16 @@ public class SVGImage extends Group implements Cloneable {
    private Viewport viewport = null;
    private File file;
    private SVGImageRegion region = null;
+   private final long cacheID = CACHE_IDS.incrementAndGet();
+   private RasterCache rasterCache = null;
+   private InvalidationListener rasterCacheListener = null;
+   private LoadStatistics loadStatistics = null;
+   private SVGLoader loader = null;
+   private AnimationClock.Player animationPlayer = null;
+   private AnimationVisibility animationVisibility = null;
+   private SubtreeVirtualizer virtualizer = null;
+   private SpatialIndex spatialIndex = null;
+   private CacheHints cacheHints = null;
 
    /**
     * Constructor.
@@ -104,6 +128,35 @@ public class SVGImage extends Group implements Cloneable {
       return file;
    }
 
+   /**
+    * Set the statistics of the loading of the image.
+    *
+    * @param statistics the statistics
+    */
+   void setLoadStatistics(LoadStatistics statistics) {
+      this.loadStatistics = statistics;
+   }
+
+   /**
+    * Return the statistics of the loading of the image. The statistics are only collected if {@link LoaderParameters#collectStatistics}
+    * is true or if a {@link LoadStatisticsListener} is registered in the {@link GlobalConfig}.
+    *
+    * @return the statistics, or null if they were not collected
+    */
+   public LoadStatistics getLoadStatistics() {
+      return loadStatistics;
+   }
+
+   /**
+    * Return an estimate of the heap retained by the image, by category, with the number of Nodes of each type. It should be
+    * called in the JavaFX Application Thread if the image is displayed.
+    *
+    * @return the footprint
+    */
+   public Footprint getFootprint() {
+      return new Footprint(this);
+   }
+
    /**
     * Set the stylesheets of the SVG content.
     *
@@ -192,6 +245,346 @@ public class SVGImage extends Group implements Cloneable {
       return SNAPSHOT_PARAMS;
    }
 
+   /**
+    * Set the cache used to store the rasterized images created by {@link #toImage(double)} and {@link #toImage(short, double)}. The default is
+    * null, which means that the images are not cached. The same cache can be shared by several images.
+    *
+    * @param cache the cache (can be null)
+    */
+   public void setRasterCache(RasterCache cache) {
+      if (rasterCache != null) {
+         rasterCache.invalidate(this);
+      }
+      this.rasterCache = cache;
+      if (cache != null && rasterCacheListener == null) {
+         rasterCacheListener = new InvalidationListener() {
+            @Override
+            public void invalidated(Observable observable) {
+               invalidateRasterCache();
+            }
+         };
+         this.getChildren().addListener(rasterCacheListener);
+         this.getStylesheets().addListener(rasterCacheListener);
+      }
+   }
+
+   /**
+    * Return the cache used to store the rasterized images (can be null).
+    *
+    * @return the cache
+    */
+   public RasterCache getRasterCache() {
+      return rasterCache;
+   }
+
+   /**
+    * Remove the rasterized images of this image from the cache. The images are automatically invalidated if the children or the stylesheets of
+    * the image change, but this method must be called if Nodes deeper in the tree are modified.
+    */
+   public void invalidateRasterCache() {
+      if (rasterCache != null) {
+         rasterCache.invalidate(this);
+      }
+   }
+
+   /**
+    * Return the unique identifier of this image in the rasterized images cache.
+    *
+    * @return the identifier
+    */
+   long getCacheID() {
+      return cacheID;
+   }
+
+   /**
+    * Set the loader which keeps the XML tree and the Nodes built for each element, if the image can be updated.
+    *
+    * @param loader the loader
+    */
+   void setLoader(SVGLoader loader) {
+      this.loader = loader;
+   }
+
+   /**
+    * Set the virtualizer which builds the subtrees of the image when they are visible.
+    *
+    * @param virtualizer the virtualizer
+    */
+   void setVirtualizer(SubtreeVirtualizer virtualizer) {
+      this.virtualizer = virtualizer;
+   }
+
+   /**
+    * Return the virtualizer which builds the subtrees of the image when they are visible, or null if the image is not virtualized.
+    *
+    * @return the virtualizer
+    */
+   SubtreeVirtualizer getVirtualizer() {
+      return virtualizer;
+   }
+
+   /**
+    * Return true if the "g" children of the root element of the image are only built when they are visible. It is only possible if
+    * the image has been loaded with the {@link LoaderParameters#virtualized} parameter.
+    *
+    * @return true if the image is virtualized
+    * @since 1.10
+    */
+   public boolean isVirtualized() {
+      return virtualizer != null;
+   }
+
+   /**
+    * Build all the subtrees of a virtualized image, for example before taking a snapshot of the whole image. The subtrees can be
+    * released again after they have been outside the visible part of the image. Does nothing if the image is not virtualized. This
+    * method must be called in the JavaFX Application Thread.
+    *
+    * The snapshots of a virtualized image only contain the subtrees which are currently built, the other subtrees are empty placeholders.
+    * The rasterized images of the {@link RasterCache} are invalidated each time a subtree is built or released.
+    *
+    * @since 1.10
+    */
+   public void buildSubtrees() {
+      if (virtualizer != null) {
+         virtualizer.buildAll();
+      }
+   }
+
+   /**
+    * Set the spatial index of the Nodes of the image.
+    *
+    * @param spatialIndex the spatial index
+    */
+   void setSpatialIndex(SpatialIndex spatialIndex) {
+      this.spatialIndex = spatialIndex;
+   }
+
+   /**
+    * Return the spatial index of the Nodes of the image. It is only created if the image has been loaded with the
+    * {@link LoaderParameters#spatialIndex} parameter.
+    *
+    * @return the spatial index, or null if there is no index
+    * @since 1.10
+    */
+   public SpatialIndex getSpatialIndex() {
+      return spatialIndex;
+   }
+
+   /**
+    * Set the cache hints of the subtrees of the image.
+    *
+    * @param cacheHints the cache hints
+    */
+   void setCacheHints(CacheHints cacheHints) {
+      this.cacheHints = cacheHints;
+   }
+
+   /**
+    * Return the cache hints of the subtrees of the image. They are only set if the image has been loaded with the
+    * {@link LoaderParameters#cacheHints} parameter.
+    *
+    * @return the cache hints, or null if the subtrees are not cached
+    * @since 1.10
+    */
+   public CacheHints getCacheHints() {
+      return cacheHints;
+   }
+
+   /**
+    * Return the Nodes whose bounds intersect a region, with the id of the element which created them, in the order where they are
+    * painted. The image must have been loaded with the {@link LoaderParameters#spatialIndex} parameter. This method must be called in
+    * the JavaFX Application Thread.
+    *
+    * @param region the region, in the coordinates of the image
+    * @return the entries of the Nodes, or an empty list if there is no spatial index
+    * @since 1.10
+    */
+   public List<SpatialIndex.Entry> queryRegion(Bounds region) {
+      if (spatialIndex == null) {
+         return new ArrayList<>();
+      }
+      return spatialIndex.queryRegion(region);
+   }
+
+   /**
+    * Return the topmost visible Node which contains a point, with the id of the element which created it. The image must have been
+    * loaded with the {@link LoaderParameters#spatialIndex} parameter. This method must be called in the JavaFX Application Thread.
+    *
+    * @param x the x coordinate of the point, in the coordinates of the image
+    * @param y the y coordinate of the point, in the coordinates of the image
+    * @return the entry of the Node, or null if there is no Node at this point or no spatial index
+    * @since 1.10
+    */
+   public SpatialIndex.Entry pickTopmost(double x, double y) {
+      if (spatialIndex == null) {
+         return null;
+      }
+      return spatialIndex.pickTopmost(x, y);
+   }
+
+   /**
+    * Return true if the image can be updated with {@link #update(String, String, String)} and {@link #updateText(String, String)}. It is
+    * only possible if the image has been loaded with the {@link LoaderParameters#updatable} parameter.
+    *
+    * @return true if the image can be updated
+    */
+   public boolean isUpdatable() {
+      return loader != null;
+   }
+
+   /**
+    * Update an attribute of an element of the image. Only the Nodes of the element are rebuilt, with the Nodes of its descendants
+    * if the attribute is inherited, and the Nodes of the use elements which refer to the element. The transform of a group or a basic
+    * shape is applied without rebuilding the element.
+    *
+    * <p>The image must have been loaded with the {@link LoaderParameters#updatable} parameter.</p>
+    *
+    * <p>This method will throw a {@link SVGLibraryException} if the update failed <b>and</b> {@link GlobalConfig#getExceptionsHandling()}
+    * is set to {@link ExceptionsHandling#RETROW_EXCEPTION}. It means that by default the method will simply return false.</p>
+    *
+    * @param id the element id
+    * @param attrName the attribute name
+    * @param value the attribute value, or null to remove the attribute
+    * @return true if the element was found and updated
+    * @since 1.10
+    */
+   public boolean update(final String id, final String attrName, final String value) throws SVGLibraryException {
+      if (loader == null) {
+         return false;
+      }
+      return updateImpl(new Callable<Boolean>() {
+         @Override
+         public Boolean call() throws Exception {
+            return loader.update(SVGImage.this, id, attrName, value);
+         }
+      });
+   }
+
+   /**
+    * Update the text of a text element of the image. Only the Nodes of the element are rebuilt, with the Nodes of the use elements
+    * which refer to the element.
+    *
+    * <p>The image must have been loaded with the {@link LoaderParameters#updatable} parameter.</p>
+    *
+    * <p>This method will throw a {@link SVGLibraryException} if the update failed <b>and</b> {@link GlobalConfig#getExceptionsHandling()}
+    * is set to {@link ExceptionsHandling#RETROW_EXCEPTION}. It means that by default the method will simply return false.</p>
+    *
+    * @param id the element id
+    * @param text the text
+    * @return true if the element was found and updated
+    * @since 1.10
+    */
+   public boolean updateText(final String id, final String text) throws SVGLibraryException {
+      if (loader == null) {
+         return false;
+      }
+      return updateImpl(new Callable<Boolean>() {
+         @Override
+         public Boolean call() throws Exception {
+            return loader.updateText(SVGImage.this, id, text);
+         }
+      });
+   }
+
+   private boolean updateImpl(Callable<Boolean> update) throws SVGLibraryException {
+      boolean updated = false;
+      Throwable error = null;
+      if (Platform.isFxApplicationThread()) {
+         try {
+            updated = update.call();
+         } catch (Exception ex) {
+            error = ex;
+         }
+      } else {
+         FutureTask<Boolean> future = new FutureTask<>(update);
+         Platform.runLater(future);
+         try {
+            updated = future.get();
+         } catch (InterruptedException ex) {
+            error = ex;
+         } catch (ExecutionException ex) {
+            error = ex.getCause();
+         }
+      }
+      // the Nodes may have been partially rebuilt if the update failed
+      if (updated || error != null) {
+         invalidateRasterCache();
+         if (spatialIndex != null) {
+            spatialIndex.invalidate();
+         }
+         if (cacheHints != null) {
+            cacheHints.evaluate();
+         }
+      }
+      if (error != null) {
+         GlobalConfig.getInstance().handleLibraryException(error);
+      }
+      return updated;
+   }
+
+   /**
+    * Watch the file of the image, and reload the image when the file changes. The Nodes of the image are patched with the differences
+    * between the previous and the new content, so the image is not replaced. The image must have been loaded from a file.
+    *
+    * <p>This method will throw a {@link SVGLibraryException} if the image has not been loaded from a file <b>and</b>
+    * {@link GlobalConfig#getExceptionsHandling()} is set to {@link ExceptionsHandling#RETROW_EXCEPTION}. It means that by default the
+    * method will simply return null.</p>
+    *
+    * @return the watcher, which must be closed to stop watching the file, or null if the image has not been loaded from a file
+    * @throws IOException if the file can not be watched
+    * @throws SVGLibraryException if the image has not been loaded from a file
+    * @since 1.10
+    */
+   public SVGWatcher watch() throws IOException {
+      File watchedFile = file;
+      if (watchedFile == null && content != null && content.isFromURL() && content.url.getProtocol().equals("file")) {
+         try {
+            watchedFile = new File(content.url.toURI());
+         } catch (URISyntaxException | IllegalArgumentException ex) {
+            watchedFile = null;
+         }
+      }
+      if (watchedFile == null) {
+         GlobalConfig.getInstance().handleLibraryException(new SVGLibraryException("The image has not been loaded from a file"));
+         return null;
+      }
+      return new SVGWatcher(this, watchedFile);
+   }
+
+   /**
+    * Reload the image from a new XML tree of its content. The Nodes of the image are patched if possible, else the image is built
+    * again and its Nodes are replaced. This method must be called in the JavaFX Application Thread.
+    *
+    * @param nextLoader the loader which parsed the new XML tree
+    * @param handler the new XML tree handler
+    * @return true if the Nodes of the image have been patched
+    */
+   boolean reload(SVGLoader nextLoader, XMLTreeHandler handler) {
+      boolean patched = loader != null && loader.patch(this, handler);
+      if (!patched) {
+         boolean _isPlayingAnimations = isPlayingAnimations;
+         stopAnimationsImpl();
+         SVGImage image = nextLoader.buildImage(handler);
+         if (image != null) {
+            replaceContent(image);
+            this.setScaleX(image.getScaleX());
+            this.setScaleY(image.getScaleY());
+            this.viewport = image.viewport;
+         }
+         if (_isPlayingAnimations) {
+            playAnimations();
+         }
+      }
+      invalidateRasterCache();
+      if (spatialIndex != null) {
+         spatialIndex.invalidate();
+      }
+      if (cacheHints != null) {
+         cacheHints.evaluate();
+      }
+      return patched;
+   }
+
    void putNode(String id, Node node) {
       nodes.put(id, node);
    }
@@ -225,6 +618,108 @@ public class SVGImage extends Group implements Cloneable {
       this.animations = animations;
    }
 
+   /**
+    * Add animations created when the image is updated.
+    *
+    * @param addedAnimations the animations
+    * @param play true if the animations must be played
+    */
+   void addAnimations(List<Animation> addedAnimations, boolean play) {
+      animations.addAll(addedAnimations);
+      if ((play || isPlayingAnimations) && canRunAnimations()) {
+         Iterator<Animation> it = addedAnimations.iterator();
+         while (it.hasNext()) {
+            it.next().play();
+         }
+      }
+   }
+
+   /**
+    * Stop and remove the animations of Nodes removed when the image is updated.
+    *
+    * @param removedAnimations the animations
+    */
+   void removeAnimations(List<Animation> removedAnimations) {
+      Iterator<Animation> it = removedAnimations.iterator();
+      while (it.hasNext()) {
+         Animation animation = it.next();
+         animation.stop();
+         animations.remove(animation);
+      }
+   }
+
+   /**
+    * Set the tracks played by the shared {@link AnimationClock}.
+    *
+    * @param tracks the tracks
+    */
+   void setAnimationTracks(List<AnimationTrack> tracks) {
+      this.animationPlayer = new AnimationClock.Player(tracks);
+   }
+
+   /**
+    * Return the player of the tracks played by the shared {@link AnimationClock}.
+    *
+    * @return the player, or null if the animations are not played by the shared clock
+    */
+   AnimationClock.Player getAnimationPlayer() {
+      return animationPlayer;
+   }
+
+   /**
+    * Play the tracks played by the shared {@link AnimationClock}.
+    */
+   void playAnimationTracks() {
+      if (animationPlayer != null) {
+         animationPlayer.play();
+      }
+   }
+
+   /**
+    * Add the tracks created when the image is updated, and drop the tracks of the Nodes which are not in the image anymore. The tracks
+    * keep their current time.
+    *
+    * @param addedTracks the added tracks
+    * @param play true if the tracks must be played
+    */
+   void updateAnimationTracks(List<AnimationTrack> addedTracks, boolean play) {
+      List<AnimationTrack> tracks = new ArrayList<>();
+      boolean playing = false;
+      long elapsed = 0;
+      if (animationPlayer != null) {
+         AnimationTrack[] previousTracks = animationPlayer.getTracks();
+         for (int i = 0; i < previousTracks.length; i++) {
+            if (isInImage(previousTracks[i].getNode())) {
+               tracks.add(previousTracks[i]);
+            }
+         }
+         playing = animationPlayer.isPlaying();
+         elapsed = animationPlayer.getElapsedTime();
+         animationPlayer.pause();
+      }
+      tracks.addAll(addedTracks);
+      if (tracks.isEmpty()) {
+         animationPlayer = null;
+      } else {
+         animationPlayer = new AnimationClock.Player(tracks);
+         animationPlayer.setElapsedTime(elapsed);
+         if ((playing || play || isPlayingAnimations) && canRunAnimations()) {
+            animationPlayer.play();
+         }
+      }
+   }
+
+   private boolean isInImage(Node node) {
+      Node parent = node;
+      while (parent != null) {
+         if (parent == this) {
+            return true;
+         }
+         parent = parent.getParent();
+      }
+      return false;
+   }
+
    /**
     * Play the animations.
     */
@@ -245,6 +740,23 @@ public class SVGImage extends Group implements Cloneable {
 
    private void playAnimationsImpl() {
       this.isPlayingAnimations = true;
+      if (animationVisibility == null && GlobalConfig.getInstance().getMaximumAnimatedImages() > 0) {
+         animationVisibility = new AnimationVisibility(this, false);
+      }
+      if (animationVisibility != null) {
+         animationVisibility.update();
+      } else {
+         resumeAnimationsImpl();
+      }
+   }
+
+   /**
+    * Play the animations from their current time.
+    */
+   void resumeAnimationsImpl() {
+      if (animationPlayer != null) {
+         animationPlayer.play();
+      }
       if (!animations.isEmpty()) {
          Iterator<Animation> it = animations.iterator();
          while (it.hasNext()) {
@@ -254,6 +766,71 @@ public class SVGImage extends Group implements Cloneable {
       }
    }
 
+   /**
+    * Pause the animations at their current time.
+    */
+   void pauseAnimationsImpl() {
+      if (animationPlayer != null) {
+         animationPlayer.pause();
+      }
+      if (!animations.isEmpty()) {
+         Iterator<Animation> it = animations.iterator();
+         while (it.hasNext()) {
+            Animation tr = it.next();
+            tr.pause();
+         }
+      }
+   }
+
+   private boolean canRunAnimations() {
+      return animationVisibility == null || animationVisibility.isActive();
+   }
+
+   /**
+    * Return true if the animations are playing and are not paused because the image is not showing, or because too many images are
+    * playing their animations.
+    *
+    * @return true if the animations are running
+    */
+   public boolean isRunningAnimations() {
+      return isPlayingAnimations && (animationVisibility == null || animationVisibility.isActive());
+   }
+
+   /**
+    * Set if the animations of the image are paused while the image is not showing. The image is not showing if it has no Scene, if its
+    * Window is not showing, if the image or one of its parents is not visible, or if the image is outside the Scene or the clips of its
+    * parents. The animations are resumed at the time where they have been paused when the image is showing again.
+    *
+    * This method must be called in the JavaFX Application Thread.
+    *
+    * @param pause true if the animations are paused while the image is not showing
+    */
+   public void setPauseHiddenAnimations(boolean pause) {
+      if (pause == isPauseHiddenAnimations()) {
+         return;
+      }
+      boolean wasRunning = isRunningAnimations();
+      if (animationVisibility != null) {
+         animationVisibility.dispose();
+         animationVisibility = null;
+      }
+      if (pause) {
+         animationVisibility = new AnimationVisibility(this, true);
+         animationVisibility.update();
+      } else if (isPlayingAnimations && !wasRunning) {
+         playAnimationsImpl();
+      }
+   }
+
+   /**
+    * Return true if the animations of the image are paused while the image is not showing.
+    *
+    * @return true if the animations are paused while the image is not showing
+    */
+   public boolean isPauseHiddenAnimations() {
+      return animationVisibility != null && animationVisibility.isObservingVisibility();
+   }
+
    /**
     * Return true if the animations are playing.
     *
@@ -283,6 +860,12 @@ public class SVGImage extends Group implements Cloneable {
 
    private void stopAnimationsImpl() {
       this.isPlayingAnimations = false;
+      if (animationVisibility != null) {
+         animationVisibility.update();
+      }
+      if (animationPlayer != null) {
+         animationPlayer.stop();
+      }
       if (!animations.isEmpty()) {
          Iterator<Animation> it = animations.iterator();
          while (it.hasNext()) {
@@ -446,6 +1029,25 @@ public class SVGImage extends Group implements Cloneable {
     * @see ScaleQuality
     */
    public Image toImage(short quality, double width) {
+      if (rasterCache == null) {
+         return toImageImpl(quality, width);
+      }
+      double initialWidth = this.getLayoutBounds().getWidth();
+      double initialHeight = this.getLayoutBounds().getHeight();
+      int height = (int) Math.round(initialHeight * width / initialWidth);
+      Paint fill = SNAPSHOT_PARAMS == null ? Color.WHITE : SNAPSHOT_PARAMS.getSnapshotParameters().getFill();
+      RasterCache.Key key = new RasterCache.Key(this, (int) Math.round(width), height, fill, quality);
+      Image image = rasterCache.get(key);
+      if (image == null) {
+         image = toImageImpl(quality, width);
+         if (image != null) {
+            rasterCache.put(key, image);
+         }
+      }
+      return image;
+   }
+
+   private Image toImageImpl(short quality, double width) {
       if (quality == ScaleQuality.RENDER_QUALITY) {
          SVGImage image = this.scaleTo(width);
          return image.toImage();
@@ -529,8 +1131,112 @@ public class SVGImage extends Group implements Cloneable {
       return image;
    }
 
+   /**
+    * Convert the Node tree to a series of images, specifying the resulting widths and preserving the image ratio. All the images are rendered in a
+    * single JavaFX Application Thread task, and the scale of the image is not modified.
+    *
+    * @param widths the resulting widths
+    * @return the images, in the order of the widths
+    */
+   public List<Image> toImages(double... widths) {
+      List<WritableImage> images = snapshotsImpl(widths);
+      List<Image> list = new ArrayList<>();
+      if (images != null) {
+         list.addAll(images);
+      }
+      return list;
+   }
+
+   /**
+    * Saves a series of snapshots of the image, specifying the resulting widths and preserving the image ratio. All the images are rendered in a
+    * single JavaFX Application Thread task, and the scale of the image is not modified. The name of each file will be
+    * <code>&lt;name&gt;-&lt;width&gt;.&lt;format&gt;</code>, for example <code>icon-32.png</code>.
+    *
+    * This method will throw a {@link org.girod.javafx.svgimage.xml.parsers.SVGLibraryException} if the snapshot generation generated an exception
+    * <b>and</b> {@link GlobalConfig#getExceptionsHandling()} is set to {@link ExceptionsHandling#RETROW_EXCEPTION}. It means that by default the
+    * method will simply return false if it could not save the snapshots.
+    *
+    * @param format the format
+    * @param dir the directory
+    * @param name the name of the files, without the extension
+    * @param widths the resulting widths
+    * @return true if all the saves were successful
+    */
+   public boolean snapshots(String format, File dir, String name, double... widths) throws SVGLibraryException {
+      GlobalConfig config = GlobalConfig.getInstance();
+      List<WritableImage> images = snapshotsImpl(widths);
+      if (images == null) {
+         config.handleLibraryError("Could not create the snapshots");
+         return false;
+      }
+      boolean isValid = true;
+      for (int i = 0; i < widths.length; i++) {
+         File file = new File(dir, name + "-" + Math.round(widths[i]) + "." + format);
+         try {
+            isValid = AwtImageConverter.snapshot(images.get(i), format, file) && isValid;
+         } catch (SVGLibraryException ex) {
+            config.handleLibraryException(ex);
+            isValid = false;
+         }
+      }
+      return isValid;
+   }
+
+   private SnapshotParameters createBatchSnapshotParameters() {
+      SnapshotParameters jfxParams = new SnapshotParameters();
+      if (SNAPSHOT_PARAMS != null) {
+         SnapshotParameters refParams = SNAPSHOT_PARAMS.getSnapshotParameters();
+         jfxParams.setCamera(refParams.getCamera());
+         jfxParams.setDepthBuffer(refParams.isDepthBuffer());
+         jfxParams.setFill(refParams.getFill());
+      }
+      return jfxParams;
+   }
+
+   List<WritableImage> snapshotsImplInJFX(double[] widths) {
+      // the same parameters are reused for all the widths, only the scale transform is changed
+      SnapshotParameters jfxParams = createBatchSnapshotParameters();
+      double initialWidth = this.getBoundsInParent().getWidth();
+      List<WritableImage> images = new ArrayList<>(widths.length);
+      for (int i = 0; i < widths.length; i++) {
+         FlightRecorderEvents.Event event = FlightRecorderEvents.SNAPSHOT.begin();
+         double scale = widths[i] / initialWidth;
+         jfxParams.setTransform(Transform.scale(scale, scale));
+         images.add(this.snapshot(jfxParams, null));
+         if (event != null) {
+            event.commit(FlightRecorderEvents.getSource(this), FlightRecorderEvents.countNodes(this));
+         }
+      }
+      return images;
+   }
+
+   private List<WritableImage> snapshotsImpl(final double[] widths) {
+      if (Platform.isFxApplicationThread()) {
+         return snapshotsImplInJFX(widths);
+      } else {
+         // the next instruction is only there to initialize the JavaFX platform
+         new JFXPanel();
+         FutureTask<List<WritableImage>> future = new FutureTask<>(new Callable<List<WritableImage>>() {
+            @Override
+            public List<WritableImage> call() throws Exception {
+               return snapshotsImplInJFX(widths);
+            }
+         });
+         Platform.runLater(future);
+         try {
+            return future.get();
+         } catch (Exception ex) {
+            return null;
+         }
+      }
+   }
+
    private WritableImage snapshotImplInJFX(SnapshotParameters params) {
+      FlightRecorderEvents.Event event = FlightRecorderEvents.SNAPSHOT.begin();
       WritableImage image = this.snapshot(params, null);
+      if (event != null) {
+         event.commit(FlightRecorderEvents.getSource(this), FlightRecorderEvents.countNodes(this));
+      }
       return image;
    }
 
@@ -594,16 +1300,7 @@ public class SVGImage extends Group implements Cloneable {
             if (isPlayingAnimations) {
                this.stopAnimations();
             }
-            this.nodes.clear();
-            this.nodes.putAll(image.nodes);
-            this.animations.clear();
-            this.animations.addAll(image.animations);
-            this.getChildren().clear();
-            this.getChildren().addAll(image.getChildren());
-            this.setTranslateX(image.getTranslateX());
-            this.setTranslateY(image.getTranslateY());
-            this.getTransforms().clear();
-            this.getTransforms().addAll(image.getTransforms());
+            replaceContent(image);
             if (_isPlayingAnimations) {
                this.playAnimations();
             }
@@ -613,6 +1310,40 @@ public class SVGImage extends Group implements Cloneable {
       }
    }
 
+   private void replaceContent(SVGImage image) {
+      this.nodes.clear();
+      this.nodes.putAll(image.nodes);
+      if (image.loader != null) {
+         image.loader.replaceGroup(image, this);
+      }
+      this.loader = image.loader;
+      if (animationPlayer != null) {
+         animationPlayer.stop();
+      }
+      this.animationPlayer = image.animationPlayer;
+      this.animations.clear();
+      this.animations.addAll(image.animations);
+      if (virtualizer != null) {
+         virtualizer.dispose();
+      }
+      this.virtualizer = image.virtualizer == null ? null : image.virtualizer.moveTo(this);
+      if (spatialIndex != null) {
+         spatialIndex.dispose();
+      }
+      this.spatialIndex = image.spatialIndex == null ? null : image.spatialIndex.moveTo(this);
+      if (cacheHints != null) {
+         cacheHints.dispose();
+      }
+      this.getChildren().clear();
+      this.getChildren().addAll(image.getChildren());
+      this.setTranslateX(image.getTranslateX());
+      this.setTranslateY(image.getTranslateY());
+      this.getTransforms().clear();
+      this.getTransforms().addAll(image.getTransforms());
+      // the choices depend on the bounds of the subtrees in this image, so they are made after the Nodes have been moved
+      this.cacheHints = image.cacheHints == null ? null : image.cacheHints.moveTo(this);
+   }
+
    /**
     * Scale the image to a specified width. Return the initial SVGImage.
     *
@@ -645,7 +1376,8 @@ public class SVGImage extends Group implements Cloneable {
     * <b>and</b> {@link GlobalConfig#getExceptionsHandling()} is set to {@link ExceptionsHandling#RETROW_EXCEPTION}. It means that by default the
     * method will simply return false if it could not save the snapshot.
     *
-    * Reasons for the save to not being able to generate the snapshot are the directory being read-only, or swing not available.
+    * Reasons for the save to not being able to generate the snapshot are the directory being read-only, or a format which is not
+    * supported by the {@link PixelExporter}.
     *
     * @param params the parameters
     * @param format the format
@@ -654,16 +1386,15 @@ public class SVGImage extends Group implements Cloneable {
     */
    public boolean snapshot(SnapshotParameters params, String format, File file) throws SVGLibraryException {
       GlobalConfig config = GlobalConfig.getInstance();
-      if (config.isSwingAvailable()) {
-         try {
-            WritableImage image = snapshotImpl(params);
-            return AwtImageConverter.snapshot(image, params, format, file);
-         } catch (SVGLibraryException ex) {
-            config.handleLibraryException(ex);
+      try {
+         WritableImage image = snapshotImpl(params);
+         if (image == null) {
+            config.handleLibraryError("Could not create the snapshot");
             return false;
          }
-      } else {
-         config.handleLibraryError("Swing not available");
+         return AwtImageConverter.snapshot(image, format, file);
+      } catch (SVGLibraryException ex) {
+         config.handleLibraryException(ex);
          return false;
       }
    }
@@ -675,23 +1406,180 @@ public class SVGImage extends Group implements Cloneable {
     * <b>and</b> {@link GlobalConfig#getExceptionsHandling()} is set to {@link ExceptionsHandling#RETROW_EXCEPTION}. It means that by default the
     * method will simply return false if it could not save the snapshot.
     *
-    * Reasons for the save to not being able to generate the snapshot are the directory being read-only, or swing not available.
+    * Reasons for the save to not being able to generate the snapshot are the directory being read-only, or a format which is not
+    * supported by the {@link PixelExporter}.
     *
     * @param format the format
     * @param file the file
     * @return true if the save was successful
     */
    public boolean snapshot(String format, File file) throws SVGLibraryException {
+      return snapshot(getSaveSnapshotParameters(), format, file);
+   }
+
+   /**
+    * Writes a snapshot of the image in a stream. The stream is not closed. The pixels of the snapshot are exported by a
+    * {@link PixelExporter}.
+    *
+    * This method will throw a {@link org.girod.javafx.svgimage.xml.parsers.SVGLibraryException} if the snapshot generation generated an exception
+    * <b>and</b> {@link GlobalConfig#getExceptionsHandling()} is set to {@link ExceptionsHandling#RETROW_EXCEPTION}. It means that by default the
+    * method will simply return false if it could not write the snapshot.
+    *
+    * @param params the parameters
+    * @param format the format
+    * @param out the stream
+    * @return true if the write was successful
+    */
+   public boolean snapshot(SnapshotParameters params, String format, OutputStream out) throws SVGLibraryException {
+      GlobalConfig config = GlobalConfig.getInstance();
+      try {
+         WritableImage image = snapshotImpl(params);
+         if (image == null) {
+            config.handleLibraryError("Could not create the snapshot");
+            return false;
+         }
+         return AwtImageConverter.snapshot(image, format, out);
+      } catch (SVGLibraryException ex) {
+         config.handleLibraryException(ex);
+         return false;
+      }
+   }
+
+   /**
+    * Writes a snapshot of the image in a stream. The stream is not closed. The pixels of the snapshot are exported by a
+    * {@link PixelExporter}.
+    *
+    * This method will throw a {@link org.girod.javafx.svgimage.xml.parsers.SVGLibraryException} if the snapshot generation generated an exception
+    * <b>and</b> {@link GlobalConfig#getExceptionsHandling()} is set to {@link ExceptionsHandling#RETROW_EXCEPTION}. It means that by default the
+    * method will simply return false if it could not write the snapshot.
+    *
+    * @param format the format
+    * @param out the stream
+    * @return true if the write was successful
+    */
+   public boolean snapshot(String format, OutputStream out) throws SVGLibraryException {
+      return snapshot(getSaveSnapshotParameters(), format, out);
+   }
+
+   SnapshotParameters getSaveSnapshotParameters() {
       SVGSnapshotParameters params = SNAPSHOT_PARAMS;
       if (params == null) {
          params = new SVGSnapshotParameters();
          params.getSnapshotParameters().setFill(Color.WHITE);
       }
       params.applyViewportType(this);
-      return snapshot(params.getSnapshotParameters(), format, file);
+      return params.getSnapshotParameters();
+   }
+
+   /**
+    * Render the frames of the animations of the image between two times, and give them to a sink. The animations are not played but
+    * set at the time of each frame, so the rendering does not depend on the wall clock and can be faster than real time. The frames are
+    * rendered at the times <code>start + i / fps</code> before the end, and the first frame is always rendered. The frames are given to
+    * the sink in worker threads, while the JavaFX Application Thread renders the next frames.
+    *
+    * The animations are stopped at the end of the rendering, and are played again from the start if they were playing. This method
+    * must not be called in the JavaFX Application Thread.
+    *
+    * This method will throw a {@link org.girod.javafx.svgimage.xml.parsers.SVGLibraryException} if the sink threw an exception
+    * <b>and</b> {@link GlobalConfig#getExceptionsHandling()} is set to {@link ExceptionsHandling#RETROW_EXCEPTION}. It means that by default the
+    * method will simply return false if a frame could not be written.
+    *
+    * @param start the time of the first frame
+    * @param end the end time
+    * @param fps the number of frames per second
+    * @param sink the sink
+    * @return true if all the frames have been rendered and given to the sink
+    * @throws SVGLibraryException the exception thrown by the sink
+    * @see FileFrameSink
+    */
+   public boolean renderFrames(Duration start, Duration end, double fps, FrameSink sink) throws SVGLibraryException {
+      if (Platform.isFxApplicationThread()) {
+         throw new IllegalStateException("The frames can not be rendered in the JavaFX Application Thread");
+      }
+      if (fps <= 0) {
+         throw new IllegalArgumentException("The number of frames per second must be positive");
+      }
+      // the next instruction is only there to initialize the JavaFX platform
+      new JFXPanel();
+      FrameRenderer renderer = new FrameRenderer(this, start, end, fps, sink);
+      try {
+         return renderer.render();
+      } catch (InterruptedException ex) {
+         Thread.currentThread().interrupt();
+         return false;
+      }
+   }
+
+   /**
+    * Prepare the animations for the rendering of frames. Must be called in the JavaFX Application Thread.
+    */
+   void beginFramesInJFX() {
+      if (animationVisibility != null) {
+         animationVisibility.dispose();
+      }
+      pauseAnimationsImpl();
+      Iterator<Animation> it = animations.iterator();
+      while (it.hasNext()) {
+         Animation animation = it.next();
+         if (animation.getStatus() != Animation.Status.PAUSED) {
+            // the values of a stopped animation are not updated when jumping to a time
+            animation.play();
+            animation.pause();
+         }
+      }
+   }
+
+   /**
+    * Set all the animations at a time. Must be called in the JavaFX Application Thread.
+    *
+    * @param millis the time in milliseconds
+    */
+   void jumpAnimationsInJFX(double millis) {
+      Iterator<Animation> it = animations.iterator();
+      while (it.hasNext()) {
+         Animation animation = it.next();
+         // the delay of an animation is only applied when it is played
+         double time = millis - animation.getDelay().toMillis();
+         if (time >= 0) {
+            animation.jumpTo(Duration.millis(time));
+         }
+      }
+      if (animationPlayer != null) {
+         animationPlayer.jumpTo(millis);
+      }
+   }
+
+   /**
+    * Restore the animations after the rendering of frames. Must be called in the JavaFX Application Thread.
+    *
+    * @param play true if the animations must be played again
+    */
+   void endFramesInJFX(boolean play) {
+      boolean pauseHidden = isPauseHiddenAnimations();
+      stopAnimationsImpl();
+      if (animationVisibility != null) {
+         animationVisibility.dispose();
+         animationVisibility = null;
+      }
+      if (pauseHidden) {
+         setPauseHiddenAnimations(true);
+      }
+      if (play) {
+         playAnimationsImpl();
+      }
+   }
+
+   /**
+    * Create a {@link TiledSnapshot} for this image. It allows to rasterize the image in tiles, which is necessary for images larger than the
+    * maximum texture size.
+    *
+    * @return the TiledSnapshot
+    */
+   public TiledSnapshot createTiledSnapshot() {
+      return new TiledSnapshot(this);
    }
 
-   private WritableImage snapshotImpl(final SnapshotParameters params) {
+   WritableImage snapshotImpl(final SnapshotParameters params) {
       if (Platform.isFxApplicationThread()) {
          return snapshotImplInJFX(params);
       } else {
@@ -40,21 +40,31 @@ import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.FutureTask;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import javafx.animation.Animation;
 import javafx.application.ConditionalFeature;
 import javafx.application.Platform;
 import javafx.collections.ObservableList;
 import javafx.embed.swing.JFXPanel;
+import javafx.geometry.Bounds;
 import javafx.scene.Group;
 import javafx.scene.Node;
 import javafx.scene.effect.Effect;
+import javafx.scene.shape.SVGPath;
 import javafx.scene.text.Text;
 import javafx.scene.transform.Transform;
 import javax.xml.parsers.ParserConfigurationException;
@@ -69,15 +79,19 @@ import org.girod.javafx.svgimage.xml.specs.MarkerContext;
 import org.girod.javafx.svgimage.xml.specs.MarkerSpec;
 import org.girod.javafx.svgimage.xml.parsers.ParserUtils;
 import org.girod.javafx.svgimage.xml.parsers.SVGParsingException;
+import org.girod.javafx.svgimage.xml.parsers.SVGPathParser;
 import org.girod.javafx.svgimage.xml.builders.SVGShapeBuilder;
 import org.girod.javafx.svgimage.xml.builders.SVGStyleBuilder;
 import org.girod.javafx.svgimage.xml.builders.SVGTextBuilder;
 import org.girod.javafx.svgimage.xml.parsers.SVGTags;
+import org.girod.javafx.svgimage.xml.specs.AnimationTrack;
 import org.girod.javafx.svgimage.xml.specs.SpanGroup;
 import org.girod.javafx.svgimage.xml.specs.SymbolSpec;
 import org.girod.javafx.svgimage.xml.parsers.TransformUtils;
 import org.girod.javafx.svgimage.xml.parsers.xmltree.ElementNode;
 import org.girod.javafx.svgimage.xml.parsers.xmltree.FileUtils;
+import org.girod.javafx.svgimage.css.StyleSheet;
+import org.girod.javafx.svgimage.css.StyleSheetCache;
 import org.girod.javafx.svgimage.xml.parsers.xmltree.XMLNode;
 import org.girod.javafx.svgimage.xml.parsers.xmltree.XMLRoot;
 import org.girod.javafx.svgimage.xml.parsers.xmltree.XMLTreeHandler;
@@ -90,10 +104,29 @@ import org.xml.sax.SAXException;
  * @version 1.7.1
  */
 public class SVGLoader implements SVGTags {
+   private static final Pattern URL_REFERENCE = Pattern.compile("url\\(\\s*['\"]?#([^)'\"\\s]+)");
    private final SVGContent content;
    private final SVGImage root;
    private Viewport viewport = null;
    private final LoaderContext context;
+   // the Nodes built for each element and the use elements for each id, only kept if the image can be updated
+   private Map<XMLNode, BuiltNodes> builtNodes = null;
+   private Map<String, List<XMLNode>> uses = null;
+   private List<AnimationTrack> addedTracks = null;
+   private boolean parallelBuild = false;
+   private XMLRoot xmlRoot = null;
+   private List<URL> styleSheetURLs = null;
+   // the child elements of the root element built so far, only used during a progressive loading
+   private List<ProgressiveElement> progressiveElements = null;
+   // the placeholders of the "g" children of the root element, only used if the image is virtualized
+   private List<LazySubtree> virtualizedSubtrees = null;
+   // true while a subtree of a virtualized image is built, its Nodes are not kept for the spatial index and the cache hints because
+   // the subtree can be released
+   private boolean isBuildingLazySubtree = false;
+   // the ids of the elements which created each Node, only kept if a spatial index is created
+   private Map<Node, String> nodeIds = null;
+   // the Groups of the "g" elements, with true if they contain animations, used to choose the cache hints
+   private Map<Group, Boolean> cacheCandidates = null;
 
    private SVGLoader(URL url, LoaderParameters params) {
       this.content = new SVGContent(url, params);
@@ -429,6 +462,54 @@ public class SVGLoader implements SVGTags {
       return img;
    }
 
+   /**
+    * Load a svg File progressively. See {@link #loadProgressively(URL, LoaderParameters, ProgressiveLoadListener)}.
+    *
+    * @param file the file
+    * @param params the parameters
+    * @param listener the listener notified of the progress of the loading (can be null)
+    * @return the SVGImage, which is initially empty
+    * @throws SVGParsingException if the file cannot be converted to a URL
+    * @since 1.10
+    */
+   public static SVGImage loadProgressively(File file, LoaderParameters params, ProgressiveLoadListener listener) throws SVGParsingException {
+      try {
+         URL url = file.toURI().toURL();
+         return loadProgressively(url, params, listener);
+      } catch (MalformedURLException ex) {
+         throw new SVGParsingException(ex);
+      }
+   }
+
+   /**
+    * Load a svg URL progressively. The image is returned immediately and is initially empty. The document is parsed in a worker thread,
+    * and the Nodes of each child element of the root element are added to the image in the JavaFX Application Thread as soon as the
+    * element has been parsed, while the parsing continues. The elements which reference definitions declared later in the document, or
+    * which are declared before some styles of the document, are built again at the end of the loading.
+    *
+    * <p>The animations are started and the {@link LoadStatistics} are set only at the end of the loading.</p>
+    *
+    * @param url the URL
+    * @param params the parameters
+    * @param listener the listener notified of the progress of the loading (can be null)
+    * @return the SVGImage, which is initially empty
+    * @since 1.10
+    */
+   public static SVGImage loadProgressively(URL url, LoaderParameters params, ProgressiveLoadListener listener) {
+      if (!Platform.isFxApplicationThread()) {
+         // the next instruction is only there to initialize the JavaFX platform
+         new JFXPanel();
+      }
+      SVGLoader loader = new SVGLoader(url, params);
+      SVGImage img = loader.root;
+      img.setFile(new File(url.getFile()));
+      if (params.styleSheets != null) {
+         img.getStylesheets().add(params.styleSheets);
+      }
+      new ProgressiveLoader(loader, img, url, params, listener).start();
+      return img;
+   }
+
    private void setViewportScaleImpl(Viewport viewport, LoaderParameters params) {
       if (params.scale > 0) {
          viewport.setScale(params.scale, params.scaleLineWidth);
@@ -494,39 +575,356 @@ public class SVGLoader implements SVGTags {
    }
 
    private SVGImage loadImplInJFX() throws IOException {
-      context.effectsSupported = Platform.isSupported(ConditionalFeature.EFFECT);
-      SAXParserFactory saxfactory = SAXParserFactory.newInstance();
+      FlightRecorderEvents.Event event = FlightRecorderEvents.LOAD.begin();
       try {
-         // see https://stackoverflow.com/questions/10257576/how-to-ignore-inline-dtd-when-parsing-xml-file-in-java
-         saxfactory.setFeature("http://xml.org/sax/features/resolve-dtd-uris", false);
-         saxfactory.setFeature("http://apache.org/xml/features/nonvalidating/load-dtd-grammar", false);
-         saxfactory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
-         SAXParser parser = saxfactory.newSAXParser();
-         XMLTreeHandler handler = new XMLTreeHandler(content.url);
-         if (content.url != null) {
-            parser.parse(content.url.openStream(), handler);
-         } else {
-            InputStream stream = new ByteArrayInputStream(content.content.getBytes());
-            parser.parse(stream, handler);
+         XMLTreeHandler handler = parseTree();
+         SVGImage img = buildImage(handler);
+         if (event != null) {
+            event.commit(FlightRecorderEvents.getSource(content.url), countElements(handler.getRoot()));
          }
-         SVGImage img = walk(handler.getRoot(), handler.getStylesheets());
+         return img;
+      } catch (ParserConfigurationException | SAXException ex) {
+         GlobalConfig.getInstance().handleParsingException(ex);
+         return null;
+      }
+   }
+
+   /**
+    * Create a loader for a svg URL. The XML tree can be parsed from any thread by {@link #parseTree()}, and the image must then
+    * be built in the JavaFX Application Thread by {@link #buildImage(XMLTreeHandler)}.
+    *
+    * @param url the URL
+    * @param params the parameters
+    * @return the loader
+    */
+   static SVGLoader createLoader(URL url, LoaderParameters params) {
+      return new SVGLoader(url, params);
+   }
+
+   /**
+    * Create a loader for a svg content. The XML tree can be parsed from any thread by {@link #parseTree()}, and the image must then
+    * be built in the JavaFX Application Thread by {@link #buildImage(XMLTreeHandler)}.
+    *
+    * @param content the content
+    * @param params the parameters
+    * @return the loader
+    */
+   static SVGLoader createLoader(String content, LoaderParameters params) {
+      return new SVGLoader(content, params);
+   }
+
+   /**
+    * Parse the XML tree of the content. This method can be called from any thread.
+    *
+    * @return the XML tree handler
+    * @throws IOException if the content cannot be read
+    * @throws ParserConfigurationException if the parser cannot be created
+    * @throws SAXException if the content cannot be parsed
+    */
+   XMLTreeHandler parseTree() throws IOException, ParserConfigurationException, SAXException {
+      XMLTreeHandler handler = new XMLTreeHandler(content.url);
+      if (content.url != null) {
+         try (InputStream stream = content.url.openStream()) {
+            parseTree(handler, stream);
+         }
+      } else {
+         InputStream stream = new ByteArrayInputStream(content.content.getBytes());
+         parseTree(handler, stream);
+      }
+      return handler;
+   }
+
+   /**
+    * Parse the XML tree of a stream with a handler. This method can be called from any thread.
+    *
+    * @param handler the XML tree handler
+    * @param stream the stream
+    * @throws IOException if the content cannot be read
+    * @throws ParserConfigurationException if the parser cannot be created
+    * @throws SAXException if the content cannot be parsed
+    */
+   void parseTree(XMLTreeHandler handler, InputStream stream) throws IOException, ParserConfigurationException, SAXException {
+      long start = startPhase();
+      SAXParserFactory saxfactory = SAXParserFactory.newInstance();
+      // see https://stackoverflow.com/questions/10257576/how-to-ignore-inline-dtd-when-parsing-xml-file-in-java
+      saxfactory.setFeature("http://xml.org/sax/features/resolve-dtd-uris", false);
+      saxfactory.setFeature("http://apache.org/xml/features/nonvalidating/load-dtd-grammar", false);
+      saxfactory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+      SAXParser parser = saxfactory.newSAXParser();
+      parser.parse(stream, handler);
+      endPhase(LoadStatistics.Phase.PARSE, start);
+   }
+
+   /**
+    * Build the image from a parsed XML tree. This method must be called in the JavaFX Application Thread.
+    *
+    * @param handler the XML tree handler
+    * @return the image
+    */
+   SVGImage buildImage(XMLTreeHandler handler) {
+      context.effectsSupported = Platform.isSupported(ConditionalFeature.EFFECT);
+      if (context.params.updatable) {
+         builtNodes = new IdentityHashMap<>();
+         uses = new HashMap<>();
+         xmlRoot = handler.getRoot();
+         styleSheetURLs = handler.getStylesheets();
+      }
+      if (context.params.spatialIndex) {
+         nodeIds = Collections.synchronizedMap(new IdentityHashMap<Node, String>());
+      }
+      if (context.params.cacheHints) {
+         cacheCandidates = Collections.synchronizedMap(new IdentityHashMap<Group, Boolean>());
+      }
+      parallelBuild = context.params.parallelBuild && !context.params.updatable;
+      SVGImage img = walk(handler.getRoot(), handler.getStylesheets());
+      parallelBuild = false;
+      return completeImage(img, handler.getRoot());
+   }
+
+   /**
+    * Complete an image after all its elements have been built: set the statistics, the animations and the viewport position.
+    */
+   private SVGImage completeImage(SVGImage img, XMLRoot theRoot) {
+      if (context.statistics != null) {
+         LoadStatistics statistics = context.statistics;
+         statistics.countElements(theRoot);
+         statistics.add(LoadStatistics.Counter.TEXT_MEASUREMENTS, context.getTextMeasurementsCount());
+         statistics.add(LoadStatistics.Counter.CLIP_UNIONS, context.clippingFactory.getUnionsCount());
          if (img != null) {
-            if (context.hasAnimations()) {
-               img.setAnimations(context.getAnimations());
-               if (context.params.autoStartAnimations) {
-                  context.playAnimations();
+            img.setLoadStatistics(statistics);
+         }
+         LoadStatisticsListener listener = GlobalConfig.getInstance().getLoadStatisticsListener();
+         if (listener != null) {
+            listener.loaded(img, statistics);
+         }
+      }
+      if (img != null) {
+         if (builtNodes != null) {
+            img.setLoader(this);
+         }
+         if (nodeIds != null) {
+            img.setSpatialIndex(new SpatialIndex(img, nodeIds));
+         }
+         if (cacheCandidates != null) {
+            img.setCacheHints(new CacheHints(img, cacheCandidates, context.params.cacheHintsThreshold));
+         }
+         if (virtualizedSubtrees != null && !virtualizedSubtrees.isEmpty()) {
+            img.setVirtualizer(new SubtreeVirtualizer(img, this, virtualizedSubtrees, context.params.virtualizedNodesBudget));
+         }
+         // the image decides when its animations run if they are paused while it is hidden or if the number of animated images is limited
+         boolean managedAnimations = context.params.pauseHiddenAnimations || GlobalConfig.getInstance().getMaximumAnimatedImages() > 0;
+         if (context.hasAnimations()) {
+            img.setAnimations(context.getAnimations());
+            if (context.params.autoStartAnimations && !managedAnimations) {
+               context.playAnimations();
+            }
+         }
+         if (context.hasAnimationTracks()) {
+            img.setAnimationTracks(context.getAnimationTracks());
+            if (context.params.autoStartAnimations && !managedAnimations) {
+               img.playAnimationTracks();
+            }
+         }
+         if (context.params.pauseHiddenAnimations) {
+            img.setPauseHiddenAnimations(true);
+         }
+         if (context.params.autoStartAnimations && managedAnimations && (context.hasAnimations() || context.hasAnimationTracks())) {
+            img.playAnimations();
+         }
+         if (context.params.applyViewportPosition) {
+            Transform transform = Transform.translate(-viewport.getViewboxX(), -viewport.getViewboxY());
+            img.getTransforms().add(transform);
+         }
+      }
+      return img;
+   }
+
+   /**
+    * Prepare the progressive build of the image after its root element has been parsed. This method must be called in the JavaFX
+    * Application Thread.
+    *
+    * @param theRoot the root element
+    * @param styleSheets the stylesheets declared before the root element
+    */
+   void beginProgressiveBuild(XMLRoot theRoot, List<URL> styleSheets) {
+      context.effectsSupported = Platform.isSupported(ConditionalFeature.EFFECT);
+      progressiveElements = new ArrayList<>();
+      if (context.params.updatable) {
+         builtNodes = new IdentityHashMap<>();
+         uses = new HashMap<>();
+         xmlRoot = theRoot;
+         styleSheetURLs = styleSheets;
+      }
+      if (context.params.spatialIndex) {
+         nodeIds = Collections.synchronizedMap(new IdentityHashMap<Node, String>());
+      }
+      if (context.params.cacheHints) {
+         cacheCandidates = Collections.synchronizedMap(new IdentityHashMap<Group, Boolean>());
+      }
+      parallelBuild = context.params.parallelBuild && !context.params.updatable;
+      setRootViewport(theRoot);
+      setStyleSheets(styleSheets);
+   }
+
+   /**
+    * Build a child element of the root element, and add its Nodes at the end of the image. The element is built again at the end of
+    * the loading if it references a definition which has not been parsed yet, or if styles are declared after it. This method must be
+    * called in the JavaFX Application Thread.
+    *
+    * @param theRoot the root element
+    * @param childNode the child element
+    */
+   void buildProgressiveElement(XMLRoot theRoot, XMLNode childNode) {
+      long start = startPhase();
+      boolean hasStyles = hasStyles(childNode);
+      if (hasStyles) {
+         if (childNode.getName().equals(STYLE)) {
+            manageSVGStyle(childNode);
+         } else {
+            preparseStyles(childNode);
+         }
+         // the elements already built did not use these styles
+         Iterator<ProgressiveElement> it = progressiveElements.iterator();
+         while (it.hasNext()) {
+            it.next().deferred = true;
+         }
+      }
+      start = endPhase(LoadStatistics.Phase.STYLES, start);
+      String name = childNode.getName();
+      if (name.equals(CLIP_PATH_SPEC) || name.equals(MASK)) {
+         buildClipPath(childNode);
+      }
+      preparseClipping(childNode);
+      start = endPhase(LoadStatistics.Phase.CLIPPING, start);
+
+      ProgressiveElement element = new ProgressiveElement(childNode);
+      List<Node> children = root.getChildren();
+      int firstIndex = children.size();
+      List<Animation> allAnimations = context.getAnimations();
+      int animationsCount = allAnimations.size();
+      List<AnimationTrack> allTracks = context.getAnimationTracks();
+      int tracksCount = allTracks == null ? 0 : allTracks.size();
+      buildChildNode(theRoot, childNode, root, false);
+      element.nodes = new ArrayList<>(children.subList(firstIndex, children.size()));
+      element.animations = new ArrayList<>(allAnimations.subList(animationsCount, allAnimations.size()));
+      if (allTracks != null) {
+         element.tracks = new ArrayList<>(allTracks.subList(tracksCount, allTracks.size()));
+      }
+      element.deferred = hasUnresolvedReferences(childNode);
+      progressiveElements.add(element);
+      endPhase(LoadStatistics.Phase.BUILD, start);
+   }
+
+   /**
+    * Complete the progressive build of the image after the whole document has been parsed. The elements which have been built before
+    * the definitions they reference or before the styles of the document are built again at the same position. This method must be
+    * called in the JavaFX Application Thread.
+    *
+    * @param theRoot the root element
+    * @return the image
+    */
+   SVGImage endProgressiveBuild(XMLRoot theRoot) {
+      long start = startPhase();
+      List<Node> children = root.getChildren();
+      // the Nodes of the elements are in the order of the elements
+      int index = 0;
+      Iterator<ProgressiveElement> it = progressiveElements.iterator();
+      while (it.hasNext()) {
+         ProgressiveElement element = it.next();
+         if (element.deferred) {
+            rebuildProgressiveElement(theRoot, element, children, index);
+         }
+         index += element.nodes.size();
+      }
+      progressiveElements = null;
+      parallelBuild = false;
+      endPhase(LoadStatistics.Phase.BUILD, start);
+      return completeImage(root, theRoot);
+   }
+
+   private void rebuildProgressiveElement(XMLRoot theRoot, ProgressiveElement element, List<Node> children, int index) {
+      children.removeAll(element.nodes);
+      context.getAnimations().removeAll(element.animations);
+      List<AnimationTrack> allTracks = context.getAnimationTracks();
+      if (allTracks != null && element.tracks != null) {
+         allTracks.removeAll(element.tracks);
+      }
+      Group group = new Group();
+      buildChildNode(theRoot, element.xmlNode, group, false);
+      element.nodes = new ArrayList<>(group.getChildren());
+      group.getChildren().clear();
+      children.addAll(Math.min(index, children.size()), element.nodes);
+      if (builtNodes != null) {
+         BuiltNodes rebuilt = builtNodes.get(element.xmlNode);
+         if (rebuilt != null) {
+            builtNodes.put(element.xmlNode, new BuiltNodes(root, element.nodes, viewport, rebuilt.animations));
+         }
+      }
+   }
+
+   private static boolean hasStyles(XMLNode xmlNode) {
+      String name = xmlNode.getName();
+      switch (name) {
+         case STYLE:
+            return true;
+         case DEFS:
+         case SVG:
+         case G:
+            Iterator<XMLNode> it = xmlNode.getChildren().iterator();
+            while (it.hasNext()) {
+               if (hasStyles(it.next())) {
+                  return true;
                }
             }
-            if (context.params.applyViewportPosition) {
-               Transform transform = Transform.translate(-viewport.getViewboxX(), -viewport.getViewboxY());
-               img.getTransforms().add(transform);
+            return false;
+         default:
+            return false;
+      }
+   }
+
+   /**
+    * Return true if an element or one of its children references a definition or an element which is not known yet.
+    */
+   private boolean hasUnresolvedReferences(XMLNode xmlNode) {
+      if (xmlNode.getName().equals(USE)) {
+         String id = getUseReference(xmlNode);
+         if (id != null && !context.hasNamedNode(id)) {
+            return true;
+         }
+      }
+      Iterator<String> it = xmlNode.getAttributes().values().iterator();
+      while (it.hasNext()) {
+         String value = it.next();
+         if (value.contains("url(")) {
+            Matcher m = URL_REFERENCE.matcher(value);
+            while (m.find()) {
+               if (!isDefined(m.group(1))) {
+                  return true;
+               }
             }
          }
-         return img;
-      } catch (ParserConfigurationException | SAXException ex) {
-         GlobalConfig.getInstance().handleParsingException(ex);
-         return null;
       }
+      Iterator<XMLNode> it2 = xmlNode.getChildren().iterator();
+      while (it2.hasNext()) {
+         if (hasUnresolvedReferences(it2.next())) {
+            return true;
+         }
+      }
+      return false;
+   }
+
+   private boolean isDefined(String id) {
+      return context.gradients.containsKey(id) || context.filterSpecs.containsKey(id) || context.clippingFactory.hasClip(id)
+         || context.hasMarker(id) || context.hasNamedNode(id);
+   }
+
+   private static int countElements(XMLNode xmlNode) {
+      int count = 1;
+      Iterator<XMLNode> it = xmlNode.getChildren().iterator();
+      while (it.hasNext()) {
+         count += countElements(it.next());
+      }
+      return count;
    }
 
    private void preparseStyles(XMLNode xmlNode) {
@@ -562,7 +960,7 @@ public class SVGLoader implements SVGTags {
       }
    }
 
-   private SVGImage walk(XMLRoot xmlRoot, List<URL> styleSheets) {
+   private void setRootViewport(XMLRoot xmlRoot) {
       String name = xmlRoot.getName();
       if (name.equals(SVG)) {
          if (viewport == null) {
@@ -575,15 +973,117 @@ public class SVGLoader implements SVGTags {
             root.setViewport(viewport);
          }
       }
+   }
+
+   private SVGImage walk(XMLRoot xmlRoot, List<URL> styleSheets) {
+      setRootViewport(xmlRoot);
+      long start = startPhase();
       setStyleSheets(styleSheets);
       preparseStyles(xmlRoot);
+      start = endPhase(LoadStatistics.Phase.STYLES, start);
       preparseClipping(xmlRoot);
-      buildNode(xmlRoot, root);
+      start = endPhase(LoadStatistics.Phase.CLIPPING, start);
+      if (context.params.virtualized && !context.params.updatable && !xmlRoot.hasAttribute(MASK)) {
+         buildVirtualizedNode(xmlRoot);
+      } else {
+         buildNode(xmlRoot, root);
+      }
+      endPhase(LoadStatistics.Phase.BUILD, start);
       return root;
    }
 
+   /**
+    * Build the children of the root element, and replace the "g" children by {@link LazySubtree} placeholders. Each subtree is built to
+    * compute its bounds, and then released.
+    */
+   private void buildVirtualizedNode(XMLRoot theRoot) {
+      virtualizedSubtrees = new ArrayList<>();
+      Iterator<XMLNode> it = theRoot.getChildren().iterator();
+      while (it.hasNext()) {
+         XMLNode childNode = it.next();
+         if (childNode.getName().equals(G) && !hasAnimations(childNode)) {
+            Group group = new Group();
+            isBuildingLazySubtree = true;
+            try {
+               buildChildNode(theRoot, childNode, group, false);
+            } finally {
+               isBuildingLazySubtree = false;
+            }
+            Bounds bounds = group.getBoundsInLocal();
+            if (bounds.isEmpty()) {
+               root.getChildren().addAll(new ArrayList<>(group.getChildren()));
+            } else {
+               LazySubtree subtree = new LazySubtree(childNode, bounds);
+               root.getChildren().add(subtree);
+               virtualizedSubtrees.add(subtree);
+            }
+         } else {
+            buildChildNode(theRoot, childNode, root, false);
+         }
+      }
+   }
+
+   private static boolean hasAnimations(XMLNode xmlNode) {
+      Iterator<XMLNode> it = xmlNode.getChildren().iterator();
+      while (it.hasNext()) {
+         XMLNode childNode = it.next();
+         switch (childNode.getName()) {
+            case ANIMATE:
+            case ANIMATE_MOTION:
+            case ANIMATE_TRANSFORM:
+            case SET:
+               return true;
+            default:
+               if (hasAnimations(childNode)) {
+                  return true;
+               }
+         }
+      }
+      return false;
+   }
+
+   /**
+    * Build the Nodes of a "g" child of the root element of a virtualized image. This method must be called in the JavaFX Application
+    * Thread.
+    *
+    * @param xmlNode the element
+    * @return the Nodes
+    */
+   List<Node> buildSubtree(XMLNode xmlNode) {
+      Group group = new Group();
+      isBuildingLazySubtree = true;
+      try {
+         buildChildNode(xmlNode.getParent(), xmlNode, group, false);
+      } finally {
+         isBuildingLazySubtree = false;
+      }
+      List<Node> nodes = new ArrayList<>(group.getChildren());
+      group.getChildren().clear();
+      return nodes;
+   }
+
+   /**
+    * Return the number of Nodes kept for the spatial index and the cache hints.
+    *
+    * @return the number of Nodes
+    */
+   int getRecordedNodesCount() {
+      int count = 0;
+      if (nodeIds != null) {
+         count += nodeIds.size();
+      }
+      if (cacheCandidates != null) {
+         count += cacheCandidates.size();
+      }
+      return count;
+   }
+
    private void addStyleSheet(URL url) {
-      if (FileUtils.exists(url)) {
+      if (StyleSheetCache.getInstance().exists(url)) {
+         if (context.params.bakeStyles && bakeStyleSheet(url)) {
+            root.getSVGStylesheets().add(url);
+            return;
+         }
          try {
             ObservableList<String> list = root.getStylesheets();
             String extForm = url.toURI().toURL().toExternalForm();
@@ -594,6 +1094,25 @@ public class SVGLoader implements SVGTags {
       }
    }
 
+   /**
+    * Add the rules of an external style sheet to the styles of the document, so that they are applied on the Nodes during the
+    * loading rather than by the JavaFX CSS engine.
+    *
+    * @param url the style sheet URL
+    * @return false if the style sheet could not be parsed
+    */
+   private boolean bakeStyleSheet(URL url) {
+      StyleSheet styleSheet = StyleSheetCache.getInstance().getStyleSheet(url);
+      if (styleSheet == null) {
+         return false;
+      }
+      if (context.svgStyle == null) {
+         context.svgStyle = new Styles();
+      }
+      styleSheet.addRules(context.svgStyle, viewport);
+      return true;
+   }
+
    private void setStyleSheets(List<URL> styleSheets) {
       List<URL> effectiveCSS = new ArrayList<>();
       if (!styleSheets.isEmpty()) {
@@ -601,7 +1120,12 @@ public class SVGLoader implements SVGTags {
          Iterator<URL> it = styleSheets.iterator();
          while (it.hasNext()) {
             URL url = it.next();
-            if (FileUtils.exists(url)) {
+            if (!StyleSheetCache.getInstance().exists(url)) {
+               continue;
+            }
+            if (context.params.bakeStyles && bakeStyleSheet(url)) {
+               effectiveCSS.add(url);
+            } else {
                try {
                   String extForm = url.toURI().toURL().toExternalForm();
                   list.add(extForm);
@@ -618,7 +1142,33 @@ public class SVGLoader implements SVGTags {
       buildNode(xmlNode, group, false);
    }
 
+   /**
+    * Return the start time of a phase, or 0 if the statistics are not collected.
+    */
+   private long startPhase() {
+      return context.statistics == null ? 0 : System.nanoTime();
+   }
+
+   /**
+    * Add the time of a phase to the statistics, and return the end time of the phase.
+    */
+   private long endPhase(LoadStatistics.Phase phase, long start) {
+      if (context.statistics == null) {
+         return 0;
+      }
+      long end = System.nanoTime();
+      context.statistics.addNanos(phase, end - start);
+      return end;
+   }
+
+   private void count(LoadStatistics.Counter counter) {
+      if (context.statistics != null) {
+         context.statistics.increment(counter);
+      }
+   }
+
    private void addMarker(XMLNode xmlNode) {
+      long start = startPhase();
       if (xmlNode.hasAttribute(ID)) {
          String id = xmlNode.getAttributeValue(ID);
          MarkerSpec marker = new MarkerSpec(xmlNode);
@@ -627,6 +1177,7 @@ public class SVGLoader implements SVGTags {
          marker.setViewbox(viewbox);
          context.addMarker(id, marker);
       }
+      endPhase(LoadStatistics.Phase.MARKERS, start);
    }
 
    private void addSymbol(XMLNode xmlNode) {
@@ -678,7 +1229,7 @@ public class SVGLoader implements SVGTags {
          if (type.equals("text/css") || rel.equals("stylesheet")) {
             String relPath = node.getAttributeValue(HREF);
             URL cssURL = FileUtils.getChildURL(context.getParentURL(), relPath);
-            if (cssURL != null && FileUtils.exists(cssURL)) {
+            if (cssURL != null) {
                addStyleSheet(cssURL);
             }
          }
@@ -686,203 +1237,984 @@ public class SVGLoader implements SVGTags {
    }
 
    private void buildNode(XMLNode xmlNode, Group group, boolean acceptDefs) {
-      double minTextSize = this.content.params.minTextSize;
       if (group == null) {
          group = new Group();
       }
-      List<XMLNode> animations = new ArrayList<>();
+      if (parallelBuild && !acceptDefs) {
+         buildNodeInParallel(xmlNode, group);
+         return;
+      }
       Iterator<XMLNode> it = xmlNode.getChildren().iterator();
       while (it.hasNext()) {
          XMLNode childNode = it.next();
-         List<? extends Node> nodes = null;
-         SpanGroup spanGroup = null;
-         String name = childNode.getName();
-         switch (name) {
-            case LINK:
-               handlePossibleCSSDeclaration(childNode);
-               break;
-            case RECT:
-               Node node = SVGShapeBuilder.buildRect(childNode, null, null, viewport);
-               addNamedNode(childNode, node);
-               animations = lookForAnimations(childNode, node, viewport);
-               nodes = ParserUtils.createNodeList(node);
-               break;
-            case CIRCLE:
-               node = SVGShapeBuilder.buildCircle(childNode, null, null, viewport);
-               addNamedNode(childNode, node);
-               animations = lookForAnimations(childNode, node, viewport);
-               nodes = ParserUtils.createNodeList(node);
-               break;
-            case ELLIPSE:
-               node = SVGShapeBuilder.buildEllipse(childNode, null, null, viewport);
-               addNamedNode(childNode, node);
-               animations = lookForAnimations(childNode, node, viewport);
-               nodes = ParserUtils.createNodeList(node);
-               break;
-            case PATH:
-               boolean hasFill = SVGStyleBuilder.hasFill(childNode);
-               nodes = SVGShapeBuilder.buildPath(childNode, null, null, viewport, hasFill);
-               if (nodes != null) {
-                  Iterator<? extends Node> it2 = nodes.iterator();
-                  while (it2.hasNext()) {
-                     node = it2.next();
-                     addNamedNode(childNode, node);
-                     animations = lookForAnimations(childNode, node, viewport);
-                  }
-               }
-               break;
-            case POLYGON:
-               node = SVGShapeBuilder.buildPolygon(childNode, null, null, viewport);
-               addNamedNode(childNode, node);
-               animations = lookForAnimations(childNode, node, viewport);
-               nodes = ParserUtils.createNodeList(node);
-               break;
-            case LINE:
-               node = SVGShapeBuilder.buildLine(childNode, null, null, viewport);
-               addNamedNode(childNode, node);
-               animations = lookForAnimations(childNode, node, viewport);
-               nodes = ParserUtils.createNodeList(node);
-               break;
-            case POLYLINE:
-               node = SVGShapeBuilder.buildPolyline(childNode, null, null, viewport);
-               addNamedNode(childNode, node);
-               animations = lookForAnimations(childNode, node, viewport);
-               nodes = ParserUtils.createNodeList(node);
-               break;
-            case USE:
-               nodes = SVGShapeBuilder.buildUse(childNode, context, null, viewport, minTextSize);
-               break;
-            case TEXT:
-               node = SVGTextBuilder.buildTextAsNode(childNode, null, null, viewport, minTextSize);
-               if (node == null) {
-                  spanGroup = SVGTextBuilder.buildTSpanGroup(childNode, null, null, viewport, minTextSize);
-                  addNamedNode(childNode, spanGroup.getTextGroup());
-                  animations = lookForAnimations(childNode, spanGroup.getTextGroup(), viewport);
-               } else {
-                  if (childNode.hasChildren()) {
-                     XMLNode childNode1 = childNode.getFirstChild();
-                     if (childNode1.getName().equals(TSPAN)) {
-                        spanGroup = SVGTextBuilder.buildTSpanGroup((Text) node, childNode, null, null, viewport, minTextSize);
-                        addNamedNode(childNode, spanGroup.getTextGroup());
-                        animations = lookForAnimations(childNode, spanGroup.getTextGroup(), viewport);
-                     } else {
-                        addNamedNode(childNode, node);
-                        animations = lookForAnimations(childNode, node, viewport);
-                        nodes = ParserUtils.createNodeList(node);
-                     }
-                  } else {
-                     addNamedNode(childNode, node);
-                     animations = lookForAnimations(childNode, node, viewport);
-                     nodes = ParserUtils.createNodeList(node);
-                  }
+         buildChildNode(xmlNode, childNode, group, acceptDefs);
+      }
+   }
+
+   /**
+    * Build the children of an element, building the large "g" subtrees in parallel. The children are split in segments at each element
+    * which adds definitions to the context or changes the viewport, so that the subtrees built in parallel only read the context. The
+    * subtrees are attached in the order of the document.
+    */
+   private void buildNodeInParallel(XMLNode xmlNode, Group group) {
+      List<XMLNode> children = xmlNode.getChildren();
+      int index = 0;
+      while (index < children.size()) {
+         int end = index;
+         while (end < children.size() && !isBuildBarrier(children.get(end))) {
+            end++;
+         }
+         // the subtrees are chosen before forking any of them, because the forked subtrees add named nodes to the context
+         List<XMLNode> forked = new ArrayList<>();
+         for (int i = index; i < end; i++) {
+            XMLNode childNode = children.get(i);
+            if (childNode.getName().equals(G) && countParallelElements(childNode, 0) >= context.params.parallelBuildThreshold) {
+               forked.add(childNode);
+            }
+         }
+         Map<XMLNode, ForkJoinTask<Group>> tasks = new IdentityHashMap<>();
+         for (final XMLNode childNode : forked) {
+            ForkJoinTask<Group> task = ForkJoinTask.adapt(new Callable<Group>() {
+               @Override
+               public Group call() throws Exception {
+                  return buildGroup(childNode);
                }
-               break;
-            case IMAGE:
-               node = SVGShapeBuilder.buildImage(childNode, content.url, null, null, viewport);
-               addNamedNode(childNode, node);
-               animations = lookForAnimations(childNode, node, viewport);
-               nodes = ParserUtils.createNodeList(node);
-               break;
-            case SVG:
-               viewport = ParserUtils.parseViewport(context.getDPI(), childNode, true);
-               context.pushViewport(viewport);
-               node = buildGroup(childNode);
-               if (viewport != null) {
-                  viewport.scaleNode(node);
+            });
+            if (ForkJoinTask.inForkJoinPool()) {
+               task.fork();
+            } else {
+               ForkJoinPool.commonPool().execute(task);
+            }
+            tasks.put(childNode, task);
+            count(LoadStatistics.Counter.PARALLEL_SUBTREES);
+         }
+         for (int i = index; i < end; i++) {
+            XMLNode childNode = children.get(i);
+            ForkJoinTask<Group> task = tasks.get(childNode);
+            if (task == null) {
+               buildChildNode(xmlNode, childNode, group, false);
+            } else {
+               // same as the "g" case of buildChildNode, the group has no animations
+               Group node = task.join();
+               int firstIndex = group.getChildren().size();
+               group.getChildren().add(node);
+               addStyles(group, node, childNode, false);
+               if (xmlNode.hasAttribute(MASK)) {
+                  String clipSpec = xmlNode.getAttributeValue(MASK);
+                  SVGStyleBuilder.setClipPath(group, clipSpec, context.clippingFactory, viewport);
                }
-               node.setLayoutX(viewport.getX());
-               node.setLayoutY(viewport.getY());
-               nodes = ParserUtils.createNodeList(node);
-               viewport = context.popViewport();
-               break;
-            case G:
-               node = buildGroup(childNode);
-               addNamedNode(childNode, node);
-               animations = lookForAnimations(childNode, node, viewport);
-               nodes = ParserUtils.createNodeList(node);
-               break;
-            case SYMBOL:
-               addSymbol(childNode);
-               break;
-            case MARKER:
-               addMarker(childNode);
-               break;
-            case DEFS:
-               if (!acceptDefs) {
-                  buildDefs(childNode);
-                  break;
+               recordChildNodes(childNode, group, node, firstIndex, viewport, null);
+            }
+         }
+         if (end < children.size()) {
+            buildChildNode(xmlNode, children.get(end), group, false);
+         }
+         index = end + 1;
+      }
+   }
+
+   /**
+    * Return true if an element adds definitions to the context or changes the viewport when it is built.
+    */
+   private static boolean isBuildBarrier(XMLNode xmlNode) {
+      switch (xmlNode.getName()) {
+         case SVG:
+         case DEFS:
+         case SYMBOL:
+         case MARKER:
+         case CLIP_PATH_SPEC:
+         case MASK:
+         case LINEAR_GRADIENT:
+         case RADIAL_GRADIENT:
+         case FILTER:
+         case LINK:
+            return true;
+         default:
+            return false;
+      }
+   }
+
+   /**
+    * Return the number of elements of a subtree, or -1 if the subtree can not be built outside of the JavaFX Application Thread or
+    * concurrently with the other subtrees. Texts need the CSS of a Scene to be measured, images can load svg content in the JavaFX
+    * Application Thread, and animations are added to the context.
+    */
+   private int countParallelElements(XMLNode xmlNode, int useDepth) {
+      switch (xmlNode.getName()) {
+         case TEXT:
+         case IMAGE:
+         case ANIMATE:
+         case ANIMATE_MOTION:
+         case ANIMATE_TRANSFORM:
+         case SET:
+            return -1;
+         case USE:
+            // the referred element must already be known, as it would be if the document was built sequentially
+            String id = getUseReference(xmlNode);
+            if (id == null || !context.hasNamedNode(id) || useDepth > 8) {
+               return -1;
+            }
+            XMLNode namedNode = context.getNamedNode(id);
+            if (namedNode.getName().equals(SYMBOL)) {
+               if (countParallelChildren(namedNode, useDepth + 1) == -1) {
+                  return -1;
                }
-            case CLIP_PATH_SPEC:
-            case MASK:
-               buildClipPath(childNode);
-               break;
-            case LINEAR_GRADIENT: {
-               GradientSpec spec = SVGShapeBuilder.buildLinearGradient(context.gradientSpecs, context.gradients, childNode, viewport);
-               if (spec != null) {
-                  if (!acceptDefs) {
-                     spec.resolve(context.gradientSpecs, viewport);
-                  }
-                  context.gradients.put(spec.getID(), spec.getPaint());
+            } else if (countParallelElements(namedNode, useDepth + 1) == -1) {
+               return -1;
+            }
+            break;
+         default:
+            if (isBuildBarrier(xmlNode)) {
+               return -1;
+            }
+            break;
+      }
+      int count = countParallelChildren(xmlNode, useDepth);
+      return count == -1 ? -1 : count + 1;
+   }
+
+   private int countParallelChildren(XMLNode xmlNode, int useDepth) {
+      int count = 0;
+      Iterator<XMLNode> it = xmlNode.getChildren().iterator();
+      while (it.hasNext()) {
+         int childCount = countParallelElements(it.next(), useDepth);
+         if (childCount == -1) {
+            return -1;
+         }
+         count += childCount;
+      }
+      return count;
+   }
+
+   private static String getUseReference(XMLNode xmlNode) {
+      String id = xmlNode.hasAttribute(HREF) ? xmlNode.getAttributeValue(HREF) : xmlNode.getAttributeValue(XLINK_HREF);
+      if (id != null && id.startsWith("#")) {
+         id = id.substring(1);
+      }
+      return id;
+   }
+
+   private void buildChildNode(XMLNode xmlNode, XMLNode childNode, Group group, boolean acceptDefs) {
+      double minTextSize = this.content.params.minTextSize;
+      Viewport childViewport = viewport;
+      int firstIndex = group.getChildren().size();
+      List<Animation> builtAnimations = null;
+      List<XMLNode> animations = new ArrayList<>();
+      List<? extends Node> nodes = null;
+      Node builtGroup = null;
+      SpanGroup spanGroup = null;
+      String name = childNode.getName();
+      switch (name) {
+         case LINK:
+            handlePossibleCSSDeclaration(childNode);
+            break;
+         case RECT:
+            Node node = SVGShapeBuilder.buildRect(childNode, null, null, viewport);
+            addNamedNode(childNode, node);
+            animations = lookForAnimations(childNode, node, viewport);
+            nodes = ParserUtils.createNodeList(node);
+            break;
+         case CIRCLE:
+            node = SVGShapeBuilder.buildCircle(childNode, null, null, viewport);
+            addNamedNode(childNode, node);
+            animations = lookForAnimations(childNode, node, viewport);
+            nodes = ParserUtils.createNodeList(node);
+            break;
+         case ELLIPSE:
+            node = SVGShapeBuilder.buildEllipse(childNode, null, null, viewport);
+            addNamedNode(childNode, node);
+            animations = lookForAnimations(childNode, node, viewport);
+            nodes = ParserUtils.createNodeList(node);
+            break;
+         case PATH:
+            boolean hasFill = SVGStyleBuilder.hasFill(childNode);
+            List<SVGPath> paths = SVGShapeBuilder.buildPath(childNode, null, null, viewport, hasFill);
+            if (context.statistics != null && paths != null) {
+               context.statistics.increment(LoadStatistics.Counter.PATHS);
+               Iterator<SVGPath> it2 = paths.iterator();
+               while (it2.hasNext()) {
+                  context.statistics.add(LoadStatistics.Counter.PATH_SEGMENTS, SVGPathParser.getCommandCount(it2.next()));
+               }
+            }
+            nodes = paths;
+            if (nodes != null) {
+               Iterator<? extends Node> it2 = nodes.iterator();
+               while (it2.hasNext()) {
+                  node = it2.next();
+                  addNamedNode(childNode, node);
+                  animations = lookForAnimations(childNode, node, viewport);
                }
-               break;
             }
-            case RADIAL_GRADIENT: {
-               GradientSpec spec = SVGShapeBuilder.buildRadialGradient(context.gradientSpecs, context.gradients, childNode, viewport);
-               if (spec != null) {
-                  if (!acceptDefs) {
-                     spec.resolve(context.gradientSpecs, viewport);
+            break;
+         case POLYGON:
+            node = SVGShapeBuilder.buildPolygon(childNode, null, null, viewport);
+            addNamedNode(childNode, node);
+            animations = lookForAnimations(childNode, node, viewport);
+            nodes = ParserUtils.createNodeList(node);
+            break;
+         case LINE:
+            node = SVGShapeBuilder.buildLine(childNode, null, null, viewport);
+            addNamedNode(childNode, node);
+            animations = lookForAnimations(childNode, node, viewport);
+            nodes = ParserUtils.createNodeList(node);
+            break;
+         case POLYLINE:
+            node = SVGShapeBuilder.buildPolyline(childNode, null, null, viewport);
+            addNamedNode(childNode, node);
+            animations = lookForAnimations(childNode, node, viewport);
+            nodes = ParserUtils.createNodeList(node);
+            break;
+         case USE:
+            nodes = SVGShapeBuilder.buildUse(childNode, context, null, viewport, minTextSize);
+            count(LoadStatistics.Counter.USE_EXPANSIONS);
+            addUse(childNode);
+            break;
+         case TEXT:
+            long start = startPhase();
+            node = SVGTextBuilder.buildTextAsNode(childNode, null, null, viewport, minTextSize);
+            if (node == null) {
+               spanGroup = SVGTextBuilder.buildTSpanGroup(context, null, childNode, null, null, viewport, minTextSize);
+               addNamedNode(childNode, spanGroup.getTextGroup());
+               animations = lookForAnimations(childNode, spanGroup.getTextGroup(), viewport);
+            } else {
+               if (childNode.hasChildren()) {
+                  XMLNode childNode1 = childNode.getFirstChild();
+                  if (childNode1.getName().equals(TSPAN)) {
+                     spanGroup = SVGTextBuilder.buildTSpanGroup(context, (Text) node, childNode, null, null, viewport, minTextSize);
+                     addNamedNode(childNode, spanGroup.getTextGroup());
+                     animations = lookForAnimations(childNode, spanGroup.getTextGroup(), viewport);
+                  } else {
+                     addNamedNode(childNode, node);
+                     animations = lookForAnimations(childNode, node, viewport);
+                     nodes = ParserUtils.createNodeList(node);
                   }
-                  context.gradients.put(spec.getID(), spec.getPaint());
+               } else {
+                  addNamedNode(childNode, node);
+                  animations = lookForAnimations(childNode, node, viewport);
+                  nodes = ParserUtils.createNodeList(node);
                }
-               break;
             }
-            case FILTER:
-               buildFilter(childNode);
+            endPhase(LoadStatistics.Phase.TEXT, start);
+            break;
+         case IMAGE:
+            start = startPhase();
+            node = SVGShapeBuilder.buildImage(childNode, content.url, null, null, viewport);
+            endPhase(LoadStatistics.Phase.IMAGES, start);
+            count(LoadStatistics.Counter.IMAGES);
+            addNamedNode(childNode, node);
+            animations = lookForAnimations(childNode, node, viewport);
+            nodes = ParserUtils.createNodeList(node);
+            break;
+         case SVG:
+            viewport = ParserUtils.parseViewport(context.getDPI(), childNode, true);
+            context.pushViewport(viewport);
+            node = buildGroup(childNode);
+            if (viewport != null) {
+               viewport.scaleNode(node);
+            }
+            node.setLayoutX(viewport.getX());
+            node.setLayoutY(viewport.getY());
+            nodes = ParserUtils.createNodeList(node);
+            viewport = context.popViewport();
+            break;
+         case G:
+            node = buildGroup(childNode);
+            builtGroup = node;
+            animations = lookForAnimations(childNode, node, viewport);
+            nodes = ParserUtils.createNodeList(node);
+            break;
+         case SYMBOL:
+            addSymbol(childNode);
+            break;
+         case MARKER:
+            addMarker(childNode);
+            break;
+         case DEFS:
+            if (!acceptDefs) {
+               buildDefs(childNode);
                break;
+            }
+         case CLIP_PATH_SPEC:
+         case MASK:
+            buildClipPath(childNode);
+            break;
+         case LINEAR_GRADIENT: {
+            start = startPhase();
+            GradientSpec spec = SVGShapeBuilder.buildLinearGradient(context.gradientSpecs, context.gradients, childNode, viewport);
+            if (spec != null) {
+               if (!acceptDefs) {
+                  spec.resolve(context.gradientSpecs, viewport);
+               }
+               context.gradients.put(spec.getID(), spec.getPaint());
+            }
+            endPhase(LoadStatistics.Phase.GRADIENTS, start);
+            break;
          }
-         if (nodes != null) {
-            Iterator<? extends Node> it2 = nodes.iterator();
-            while (it2.hasNext()) {
-               Node node = it2.next();
-               group.getChildren().add(node);
-               addStyles(group, node, childNode, false);
-               if (!animations.isEmpty()) {
-                  List<Animation> animationsList = AnimationBuilder.buildAnimations(childNode, node, animations, viewport);
-                  if (animationsList != null) {
-                     context.addAnimations(animationsList);
-                  }
+         case RADIAL_GRADIENT: {
+            start = startPhase();
+            GradientSpec spec = SVGShapeBuilder.buildRadialGradient(context.gradientSpecs, context.gradients, childNode, viewport);
+            if (spec != null) {
+               if (!acceptDefs) {
+                  spec.resolve(context.gradientSpecs, viewport);
                }
+               context.gradients.put(spec.getID(), spec.getPaint());
             }
-            if (xmlNode.hasAttribute(MASK)) {
-               String clipSpec = xmlNode.getAttributeValue(MASK);
-               SVGStyleBuilder.setClipPath(group, clipSpec, context.clippingFactory, viewport);
-            }
-         } else if (spanGroup != null) {
-            TransformUtils.setTransforms(spanGroup.getTextGroup(), childNode, viewport);
-            Map<String, String> theStylesMap = ParserUtils.getStyles(childNode);
-            Iterator<SpanGroup.TSpan> it2 = spanGroup.getSpans().iterator();
-            SpanGroup.TSpan previous = null;
-            while (it2.hasNext()) {
-               SpanGroup.TSpan tspan = it2.next();
-               Node tspanText = tspan.node;
-               String theStyles = ParserUtils.mergeStyles(theStylesMap, tspan.elementNode);
-               tspan.addAttribute(STYLE, theStyles);
-               addStyles(group, tspanText, tspan.elementNode, true);
-               if (tspan.hasAttribute(BASELINE_SHIFT)) {
-                  // http://www.svgbasics.com/font_effects_italic.html
-                  // https://stackoverflow.com/questions/50295199/javafx-subscript-and-superscript-text-in-textflow
-                  String shiftValue = tspan.getAttributeValue(BASELINE_SHIFT);
-                  ParserUtils.setBaselineShift(tspanText, shiftValue);
+            endPhase(LoadStatistics.Phase.GRADIENTS, start);
+            break;
+         }
+         case FILTER:
+            buildFilter(childNode);
+            break;
+      }
+      if (nodes != null) {
+         Iterator<? extends Node> it2 = nodes.iterator();
+         while (it2.hasNext()) {
+            Node node = it2.next();
+            group.getChildren().add(node);
+            addStyles(group, node, childNode, false);
+            if (!animations.isEmpty()) {
+               List<Animation> animationsList = AnimationBuilder.buildAnimations(childNode, node, animations, viewport, context.getAnimationTracks());
+               if (animationsList != null) {
+                  context.addAnimations(animationsList);
+                  if (builtAnimations == null) {
+                     builtAnimations = new ArrayList<>();
+                  }
+                  builtAnimations.addAll(animationsList);
                }
-               // https://vanseodesign.com/web-design/svg-text-tspan-element/
-               if (!ParserUtils.hasXPosition(tspan.elementNode) && previous != null) {
-                  double width = BuilderUtils.getTextWidth(previous.node);
-                  tspanText.setLayoutX(width + BuilderUtils.getTextX(previous.node));
+            }
+         }
+         if (xmlNode.hasAttribute(MASK)) {
+            String clipSpec = xmlNode.getAttributeValue(MASK);
+            SVGStyleBuilder.setClipPath(group, clipSpec, context.clippingFactory, viewport);
+         }
+      } else if (spanGroup != null) {
+         TransformUtils.setTransforms(spanGroup.getTextGroup(), childNode, viewport);
+         Map<String, String> theStylesMap = ParserUtils.getStyles(childNode);
+         Iterator<SpanGroup.TSpan> it2 = spanGroup.getSpans().iterator();
+         SpanGroup.TSpan previous = null;
+         while (it2.hasNext()) {
+            SpanGroup.TSpan tspan = it2.next();
+            Node tspanText = tspan.node;
+            String theStyles = ParserUtils.mergeStyles(theStylesMap, tspan.elementNode);
+            tspan.addAttribute(STYLE, theStyles);
+            addStyles(group, tspanText, tspan.elementNode, true);
+            if (tspan.hasAttribute(BASELINE_SHIFT)) {
+               // http://www.svgbasics.com/font_effects_italic.html
+               // https://stackoverflow.com/questions/50295199/javafx-subscript-and-superscript-text-in-textflow
+               String shiftValue = tspan.getAttributeValue(BASELINE_SHIFT);
+               ParserUtils.setBaselineShift(tspanText, shiftValue);
+            }
+            // https://vanseodesign.com/web-design/svg-text-tspan-element/
+            if (!ParserUtils.hasXPosition(tspan.elementNode) && previous != null) {
+               double width = BuilderUtils.getTextWidth(context, previous.node);
+               tspanText.setLayoutX(width + BuilderUtils.getTextX(previous.node));
+            }
+            previous = tspan;
+         }
+         group.getChildren().add(spanGroup.getTextGroup());
+      }
+      recordChildNodes(childNode, group, builtGroup, firstIndex, childViewport, builtAnimations);
+   }
+
+   /**
+    * Record the Nodes added to a group for a child element: the Group built for a "g" element (which is null for the other elements) is
+    * registered as a named node and as a cache candidate, the ids of the Nodes are kept for the spatial index, and the Nodes are kept for
+    * the updates. The Nodes of the subtrees of a virtualized image are not kept, because they can be released.
+    */
+   private void recordChildNodes(XMLNode childNode, Group group, Node builtGroup, int firstIndex, Viewport childViewport,
+      List<Animation> builtAnimations) {
+      if (builtGroup != null) {
+         addNamedNode(childNode, builtGroup);
+         if (cacheCandidates != null && !isBuildingLazySubtree && builtGroup instanceof Group) {
+            cacheCandidates.put((Group) builtGroup, hasAnimations(childNode));
+         }
+      }
+      if (nodeIds != null && !isBuildingLazySubtree && childNode.hasAttribute(ID)) {
+         String id = childNode.getAttributeValue(ID);
+         List<Node> children = group.getChildren();
+         for (int i = firstIndex; i < children.size(); i++) {
+            nodeIds.put(children.get(i), id);
+         }
+      }
+      if (builtNodes != null) {
+         List<Node> children = group.getChildren();
+         builtNodes.put(childNode, new BuiltNodes(group, new ArrayList<>(children.subList(firstIndex, children.size())), childViewport, builtAnimations));
+      }
+   }
+
+   private void addUse(XMLNode xmlNode) {
+      if (uses == null) {
+         return;
+      }
+      String id = getUseReference(xmlNode);
+      if (id != null) {
+         List<XMLNode> list = uses.get(id);
+         if (list == null) {
+            list = new ArrayList<>();
+            uses.put(id, list);
+         }
+         // the use element is added again when it is rebuilt
+         if (!list.contains(xmlNode)) {
+            list.add(xmlNode);
+         }
+      }
+   }
+
+   /**
+    * Update an attribute of an element of the image, and rebuild only the Nodes affected by the change. This method must be called in
+    * the JavaFX Application Thread.
+    *
+    * @param image the image
+    * @param id the element id
+    * @param attrName the attribute name
+    * @param value the attribute value, or null to remove the attribute
+    * @return true if the element was found
+    */
+   boolean update(SVGImage image, String id, String attrName, String value) {
+      XMLNode xmlNode = context.getReifiedNamedNode(id);
+      if (xmlNode == null || !builtNodes.containsKey(xmlNode)) {
+         return false;
+      }
+      String oldValue = xmlNode.getAttributeValue(attrName);
+      if (Objects.equals(oldValue, value)) {
+         return true;
+      }
+      setAttribute(xmlNode, attrName, value);
+      if (isInheritedAttribute(attrName)) {
+         propagateAttribute(xmlNode, attrName, oldValue, value);
+      }
+      BuiltNodes built = builtNodes.get(xmlNode);
+      if (attrName.equals(TRANSFORM) && canUpdateTransform(xmlNode, built)) {
+         Node node = built.nodes.get(0);
+         node.getTransforms().clear();
+         TransformUtils.setTransforms(node, xmlNode, built.viewport);
+      } else {
+         rebuild(image, xmlNode);
+      }
+      rebuildUses(image, xmlNode);
+      updateAnimationTracks(image);
+      return true;
+   }
+
+   /**
+    * Update the text of an element of the image, and rebuild only the Nodes affected by the change. This method must be called in
+    * the JavaFX Application Thread.
+    *
+    * @param image the image
+    * @param id the element id
+    * @param text the text
+    * @return true if the element was found
+    */
+   boolean updateText(SVGImage image, String id, String text) {
+      XMLNode xmlNode = context.getReifiedNamedNode(id);
+      if (xmlNode == null || !builtNodes.containsKey(xmlNode)) {
+         return false;
+      }
+      xmlNode.setCDATA(text);
+      rebuild(image, xmlNode);
+      rebuildUses(image, xmlNode);
+      updateAnimationTracks(image);
+      return true;
+   }
+
+   /**
+    * Give the tracks of the rebuilt elements to the image, which also drops the tracks of the removed Nodes.
+    */
+   private void updateAnimationTracks(SVGImage image) {
+      if (context.getAnimationTracks() != null) {
+         List<AnimationTrack> tracks = addedTracks == null ? new ArrayList<AnimationTrack>() : addedTracks;
+         addedTracks = null;
+         image.updateAnimationTracks(tracks, context.params.autoStartAnimations);
+      }
+   }
+
+   /**
+    * Replace the group in which the top-level Nodes have been built.
+    *
+    * @param previous the previous group
+    * @param group the new group
+    */
+   void replaceGroup(Group previous, Group group) {
+      Iterator<Entry<XMLNode, BuiltNodes>> it = builtNodes.entrySet().iterator();
+      while (it.hasNext()) {
+         Entry<XMLNode, BuiltNodes> entry = it.next();
+         BuiltNodes built = entry.getValue();
+         if (built.group == previous) {
+            entry.setValue(new BuiltNodes(group, built.nodes, built.viewport, built.animations));
+         }
+      }
+   }
+
+   private static void setAttribute(XMLNode xmlNode, String attrName, String value) {
+      if (value == null) {
+         xmlNode.getAttributes().remove(attrName);
+      } else {
+         xmlNode.addAttribute(attrName, value);
+      }
+   }
+
+   /**
+    * Return true for the attributes which are copied from the parent element when the tree is parsed.
+    */
+   private static boolean isInheritedAttribute(String attrName) {
+      switch (attrName) {
+         case FILL:
+         case STROKE:
+         case FONT_SIZE:
+         case FONT_FAMILY:
+         case FONT_WEIGHT:
+         case FONT_STYLE:
+         case STROKE_WIDTH:
+         case STYLE:
+            return true;
+         default:
+            return false;
+      }
+   }
+
+   /**
+    * Update the descendants which have inherited the previous value of an attribute. A descendant which has a different value has
+    * overridden the attribute and is not updated, nor are its own descendants.
+    */
+   private void propagateAttribute(XMLNode xmlNode, String attrName, String oldValue, String value) {
+      Iterator<XMLNode> it = xmlNode.getChildren().iterator();
+      while (it.hasNext()) {
+         XMLNode childNode = it.next();
+         if (Objects.equals(childNode.getAttributeValue(attrName), oldValue)) {
+            setAttribute(childNode, attrName, value);
+            propagateAttribute(childNode, attrName, oldValue, value);
+         }
+      }
+   }
+
+   /**
+    * Return true if the transform of an element can be updated without rebuilding it. The transforms of styles, markers or
+    * animations are only computed when the element is built.
+    */
+   private boolean canUpdateTransform(XMLNode xmlNode, BuiltNodes built) {
+      if (built.nodes.size() != 1 || built.animations != null || xmlNode.hasAttribute(STYLE) || xmlNode.hasAttribute(CLASS)) {
+         return false;
+      }
+      String name = xmlNode.getName();
+      return name.equals(G) || name.equals(RECT) || name.equals(CIRCLE) || name.equals(ELLIPSE) || name.equals(LINE)
+         || name.equals(POLYGON) || name.equals(POLYLINE);
+   }
+
+   /**
+    * Rebuild the Nodes of an element, at the same position in their parent.
+    */
+   private void rebuild(SVGImage image, XMLNode xmlNode) {
+      BuiltNodes built = builtNodes.get(xmlNode);
+      List<Node> children = built.group.getChildren();
+      int index = getInsertionIndex(xmlNode, built);
+      children.removeAll(built.nodes);
+      List<Animation> removedAnimations = new ArrayList<>();
+      collectAnimations(xmlNode, removedAnimations);
+      image.removeAnimations(removedAnimations);
+
+      Viewport previousViewport = viewport;
+      viewport = built.viewport;
+      List<Animation> allAnimations = context.getAnimations();
+      int animationsCount = allAnimations.size();
+      List<AnimationTrack> allTracks = context.getAnimationTracks();
+      int tracksCount = allTracks == null ? 0 : allTracks.size();
+      Group group = new Group();
+      XMLNode parent = xmlNode.getParent();
+      buildChildNode(parent, xmlNode, group, parent.getName().equals(DEFS));
+      viewport = previousViewport;
+
+      List<Node> nodes = new ArrayList<>(group.getChildren());
+      group.getChildren().clear();
+      children.addAll(Math.min(index, children.size()), nodes);
+      BuiltNodes rebuilt = builtNodes.get(xmlNode);
+      builtNodes.put(xmlNode, new BuiltNodes(built.group, nodes, built.viewport, rebuilt.animations));
+
+      // the new animations are managed by the image, as the animations of the initial load
+      List<Animation> addedAnimations = new ArrayList<>(allAnimations.subList(animationsCount, allAnimations.size()));
+      allAnimations.subList(animationsCount, allAnimations.size()).clear();
+      if (!addedAnimations.isEmpty()) {
+         image.addAnimations(addedAnimations, context.params.autoStartAnimations);
+      }
+      if (allTracks != null) {
+         // the tracks are given to the image when all the elements have been rebuilt
+         if (addedTracks == null) {
+            addedTracks = new ArrayList<>();
+         }
+         addedTracks.addAll(allTracks.subList(tracksCount, allTracks.size()));
+         allTracks.subList(tracksCount, allTracks.size()).clear();
+      }
+   }
+
+   private void collectAnimations(XMLNode xmlNode, List<Animation> animations) {
+      BuiltNodes built = builtNodes.get(xmlNode);
+      if (built != null && built.animations != null) {
+         animations.addAll(built.animations);
+      }
+      Iterator<XMLNode> it = xmlNode.getChildren().iterator();
+      while (it.hasNext()) {
+         collectAnimations(it.next(), animations);
+      }
+   }
+
+   /**
+    * Return the index in the parent group of the first Node of an element, or the index after the Nodes of the previous sibling if the
+    * element has no Node.
+    */
+   private int getInsertionIndex(XMLNode xmlNode, BuiltNodes built) {
+      List<Node> children = built.group.getChildren();
+      if (!built.nodes.isEmpty()) {
+         int index = children.indexOf(built.nodes.get(0));
+         return index == -1 ? children.size() : index;
+      }
+      XMLNode sibling = xmlNode.getPreviousSibling();
+      while (sibling != null) {
+         BuiltNodes siblingBuilt = builtNodes.get(sibling);
+         if (siblingBuilt != null && !siblingBuilt.nodes.isEmpty()) {
+            int index = children.indexOf(siblingBuilt.nodes.get(siblingBuilt.nodes.size() - 1));
+            if (index != -1) {
+               return index + 1;
+            }
+         }
+         sibling = sibling.getPreviousSibling();
+      }
+      return 0;
+   }
+
+   /**
+    * Rebuild the use elements which refer to an element or to one of its ancestors.
+    */
+   private void rebuildUses(SVGImage image, XMLNode xmlNode) {
+      XMLNode node = xmlNode;
+      while (node != null) {
+         if (node.hasAttribute(ID)) {
+            List<XMLNode> list = uses.get(node.getAttributeValue(ID));
+            if (list != null) {
+               Iterator<XMLNode> it = list.iterator();
+               while (it.hasNext()) {
+                  XMLNode useNode = it.next();
+                  if (builtNodes.containsKey(useNode)) {
+                     rebuild(image, useNode);
+                  }
                }
-               previous = tspan;
             }
-            group.getChildren().add(spanGroup.getTextGroup());
          }
+         node = node.getParent();
+      }
+   }
+
+   /**
+    * Patch the Nodes of the image with the differences between the current XML tree and a new XML tree of the same content. The
+    * elements are matched by id, or by name and position for the elements without id. Only the added, removed or modified elements
+    * are built again. This method must be called in the JavaFX Application Thread.
+    *
+    * @param image the image
+    * @param handler the new XML tree handler
+    * @return false if the differences can not be patched, for example if the definitions have changed, in which case the image
+    * must be built again
+    */
+   boolean patch(SVGImage image, XMLTreeHandler handler) {
+      XMLRoot newRoot = handler.getRoot();
+      if (!handler.getStylesheets().equals(styleSheetURLs) || !newRoot.getName().equals(xmlRoot.getName())
+         || !newRoot.getAttributes().equals(xmlRoot.getAttributes())) {
+         return false;
+      }
+      List<XMLNode> oldDefinitions = new ArrayList<>();
+      List<XMLNode> newDefinitions = new ArrayList<>();
+      collectDefinitions(xmlRoot, oldDefinitions);
+      collectDefinitions(newRoot, newDefinitions);
+      if (oldDefinitions.size() != newDefinitions.size()) {
+         return false;
+      }
+      for (int i = 0; i < oldDefinitions.size(); i++) {
+         if (!isSameTree(oldDefinitions.get(i), newDefinitions.get(i))) {
+            return false;
+         }
+      }
+      for (int i = 0; i < oldDefinitions.size(); i++) {
+         moveTree(oldDefinitions.get(i), newDefinitions.get(i));
+      }
+      uses.clear();
+      List<XMLNode> changed = new ArrayList<>();
+      patchChildren(image, xmlRoot, newRoot, image, viewport, changed);
+      xmlRoot = newRoot;
+      Iterator<XMLNode> it = changed.iterator();
+      while (it.hasNext()) {
+         rebuildUses(image, it.next());
+      }
+      updateAnimationTracks(image);
+      return true;
+   }
+
+   private static boolean isDefinition(String name) {
+      switch (name) {
+         case DEFS:
+         case STYLE:
+         case LINK:
+         case SYMBOL:
+         case MARKER:
+         case CLIP_PATH_SPEC:
+         case MASK:
+         case LINEAR_GRADIENT:
+         case RADIAL_GRADIENT:
+         case FILTER:
+            return true;
+         default:
+            return false;
+      }
+   }
+
+   private static boolean isAnimation(String name) {
+      switch (name) {
+         case ANIMATE:
+         case ANIMATE_MOTION:
+         case ANIMATE_TRANSFORM:
+         case SET:
+            return true;
+         default:
+            return false;
+      }
+   }
+
+   /**
+    * Collect the elements which are only used by reference, or which are used by all the other elements.
+    */
+   private static void collectDefinitions(XMLNode xmlNode, List<XMLNode> definitions) {
+      Iterator<XMLNode> it = xmlNode.getChildren().iterator();
+      while (it.hasNext()) {
+         XMLNode childNode = it.next();
+         if (isDefinition(childNode.getName())) {
+            definitions.add(childNode);
+         } else {
+            collectDefinitions(childNode, definitions);
+         }
+      }
+   }
+
+   /**
+    * Return true if two elements have the same name, attributes and content, including their children.
+    */
+   private static boolean isSameTree(XMLNode xmlNode, XMLNode newNode) {
+      if (!isSameElement(xmlNode, newNode)) {
+         return false;
+      }
+      List<ElementNode> children = xmlNode.getAllChildren();
+      List<ElementNode> newChildren = newNode.getAllChildren();
+      if (children.size() != newChildren.size()) {
+         return false;
+      }
+      for (int i = 0; i < children.size(); i++) {
+         ElementNode child = children.get(i);
+         ElementNode newChild = newChildren.get(i);
+         if (child instanceof XMLNode && newChild instanceof XMLNode) {
+            if (!isSameTree((XMLNode) child, (XMLNode) newChild)) {
+               return false;
+            }
+         } else if (child instanceof XMLNode || newChild instanceof XMLNode || !Objects.equals(child.getText(), newChild.getText())) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   private static boolean isSameElement(XMLNode xmlNode, XMLNode newNode) {
+      return xmlNode.getName().equals(newNode.getName()) && xmlNode.getAttributes().equals(newNode.getAttributes())
+         && Objects.equals(xmlNode.getCDATA(), newNode.getCDATA());
+   }
+
+   /**
+    * Return true if the animations of two elements are the same.
+    */
+   private static boolean isSameAnimations(XMLNode xmlNode, XMLNode newNode) {
+      List<XMLNode> animations = new ArrayList<>();
+      List<XMLNode> newAnimations = new ArrayList<>();
+      Iterator<XMLNode> it = xmlNode.getChildren().iterator();
+      while (it.hasNext()) {
+         XMLNode childNode = it.next();
+         if (isAnimation(childNode.getName())) {
+            animations.add(childNode);
+         }
+      }
+      it = newNode.getChildren().iterator();
+      while (it.hasNext()) {
+         XMLNode childNode = it.next();
+         if (isAnimation(childNode.getName())) {
+            newAnimations.add(childNode);
+         }
+      }
+      if (animations.size() != newAnimations.size()) {
+         return false;
+      }
+      for (int i = 0; i < animations.size(); i++) {
+         if (!isSameTree(animations.get(i), newAnimations.get(i))) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+    * Move the Nodes built for an unchanged tree to the elements of the new tree.
+    */
+   private void moveTree(XMLNode xmlNode, XMLNode newNode) {
+      moveElement(xmlNode, newNode);
+      List<XMLNode> children = xmlNode.getChildren();
+      List<XMLNode> newChildren = newNode.getChildren();
+      for (int i = 0; i < children.size(); i++) {
+         moveTree(children.get(i), newChildren.get(i));
+      }
+   }
+
+   private void moveElement(XMLNode xmlNode, XMLNode newNode) {
+      BuiltNodes built = builtNodes.remove(xmlNode);
+      if (built != null) {
+         builtNodes.put(newNode, built);
+      }
+      if (newNode.hasAttribute(ID)) {
+         context.addNamedNode(newNode.getAttributeValue(ID), newNode);
+      }
+      if (newNode.getName().equals(USE)) {
+         addUse(newNode);
+      }
+   }
+
+   private static String getMatchingKey(XMLNode xmlNode, Map<String, Integer> positions) {
+      if (xmlNode.hasAttribute(ID)) {
+         return "#" + xmlNode.getAttributeValue(ID);
+      }
+      String name = xmlNode.getName();
+      Integer position = positions.get(name);
+      position = position == null ? 0 : position + 1;
+      positions.put(name, position);
+      return name + position;
+   }
+
+   private void patchChildren(SVGImage image, XMLNode xmlNode, XMLNode newNode, Group group, Viewport groupViewport, List<XMLNode> changed) {
+      Map<String, XMLNode> children = new HashMap<>();
+      Map<String, Integer> positions = new HashMap<>();
+      Iterator<XMLNode> it = xmlNode.getChildren().iterator();
+      while (it.hasNext()) {
+         XMLNode childNode = it.next();
+         if (!isDefinition(childNode.getName()) && !isAnimation(childNode.getName())) {
+            children.put(getMatchingKey(childNode, positions), childNode);
+         }
+      }
+      Map<XMLNode, XMLNode> matches = new IdentityHashMap<>();
+      List<XMLNode> newChildren = new ArrayList<>();
+      positions.clear();
+      it = newNode.getChildren().iterator();
+      while (it.hasNext()) {
+         XMLNode newChild = it.next();
+         if (!isDefinition(newChild.getName()) && !isAnimation(newChild.getName())) {
+            newChildren.add(newChild);
+            XMLNode childNode = children.remove(getMatchingKey(newChild, positions));
+            if (childNode != null) {
+               matches.put(newChild, childNode);
+            }
+         }
+      }
+      // the elements which are not in the new tree are removed before the others are patched
+      it = children.values().iterator();
+      while (it.hasNext()) {
+         removeTree(image, it.next());
+      }
+      it = newChildren.iterator();
+      while (it.hasNext()) {
+         XMLNode newChild = it.next();
+         XMLNode childNode = matches.get(newChild);
+         if (childNode == null || !builtNodes.containsKey(childNode)) {
+            builtNodes.put(newChild, new BuiltNodes(group, new ArrayList<Node>(), groupViewport, null));
+            rebuild(image, newChild);
+            changed.add(newChild);
+         } else {
+            patchElement(image, childNode, newChild, changed);
+         }
+      }
+      // restore the order of the children if elements have been moved
+      List<Node> ordered = new ArrayList<>();
+      it = newChildren.iterator();
+      while (it.hasNext()) {
+         ordered.addAll(builtNodes.get(it.next()).nodes);
+      }
+      if (ordered.size() == group.getChildren().size() && !ordered.equals(group.getChildren())) {
+         group.getChildren().setAll(ordered);
+      }
+   }
+
+   private void patchElement(SVGImage image, XMLNode xmlNode, XMLNode newNode, List<XMLNode> changed) {
+      BuiltNodes built = builtNodes.get(xmlNode);
+      String name = newNode.getName();
+      boolean isGroup = name.equals(G) && built.nodes.size() == 1 && built.nodes.get(0) instanceof Group;
+      if (!isGroup) {
+         if (isSameTree(xmlNode, newNode)) {
+            moveTree(xmlNode, newNode);
+         } else {
+            replaceElement(image, xmlNode, newNode, built, changed);
+         }
+         return;
+      }
+      if (!isSameAnimations(xmlNode, newNode)) {
+         replaceElement(image, xmlNode, newNode, built, changed);
+         return;
+      }
+      Map<String, String> attributes = new HashMap<>(xmlNode.getAttributes());
+      attributes.remove(TRANSFORM);
+      Map<String, String> newAttributes = new HashMap<>(newNode.getAttributes());
+      newAttributes.remove(TRANSFORM);
+      if (!attributes.equals(newAttributes) || !Objects.equals(xmlNode.getCDATA(), newNode.getCDATA())) {
+         // the attributes of the group are inherited by its children
+         replaceElement(image, xmlNode, newNode, built, changed);
+         return;
+      }
+      boolean transformChanged = !Objects.equals(xmlNode.getAttributeValue(TRANSFORM), newNode.getAttributeValue(TRANSFORM));
+      if (transformChanged && !canUpdateTransform(newNode, built)) {
+         replaceElement(image, xmlNode, newNode, built, changed);
+         return;
+      }
+      moveElement(xmlNode, newNode);
+      Group group = (Group) built.nodes.get(0);
+      if (transformChanged) {
+         group.getTransforms().clear();
+         TransformUtils.setTransforms(group, newNode, built.viewport);
+         changed.add(newNode);
+      }
+      patchChildren(image, xmlNode, newNode, group, built.viewport, changed);
+   }
+
+   /**
+    * Build the Nodes of a modified element in place of the Nodes of the previous element.
+    */
+   private void replaceElement(SVGImage image, XMLNode xmlNode, XMLNode newNode, BuiltNodes built, List<XMLNode> changed) {
+      List<Animation> removedAnimations = new ArrayList<>();
+      collectAnimations(xmlNode, removedAnimations);
+      image.removeAnimations(removedAnimations);
+      removeEntries(xmlNode);
+      builtNodes.put(newNode, new BuiltNodes(built.group, built.nodes, built.viewport, null));
+      rebuild(image, newNode);
+      changed.add(newNode);
+   }
+
+   /**
+    * Remove the Nodes of an element which is not in the new tree.
+    */
+   private void removeTree(SVGImage image, XMLNode xmlNode) {
+      BuiltNodes built = builtNodes.get(xmlNode);
+      if (built != null) {
+         built.group.getChildren().removeAll(built.nodes);
+      }
+      List<Animation> removedAnimations = new ArrayList<>();
+      collectAnimations(xmlNode, removedAnimations);
+      image.removeAnimations(removedAnimations);
+      removeEntries(xmlNode);
+   }
+
+   /**
+    * Remove the entries of an element and its descendants.
+    */
+   private void removeEntries(XMLNode xmlNode) {
+      builtNodes.remove(xmlNode);
+      Iterator<XMLNode> it = xmlNode.getChildren().iterator();
+      while (it.hasNext()) {
+         removeEntries(it.next());
       }
    }
 
@@ -896,7 +2228,9 @@ public class SVGLoader implements SVGTags {
          transforms = TransformUtils.setTransforms(node, elementNode, viewport);
       }
       if (markerContext != null) {
+         long start = startPhase();
          MarkerBuilder.buildMarkers(parent, node, transforms, elementNode, markerContext, context, viewport, visible);
+         endPhase(LoadStatistics.Phase.MARKERS, start);
       }
    }
 
@@ -913,6 +2247,7 @@ public class SVGLoader implements SVGTags {
    private void buildDefs(XMLNode xmlNode) {
       buildNode(xmlNode, null, true);
       if (!context.gradientSpecs.isEmpty()) {
+         long start = startPhase();
          Map<String, GradientSpec> specs = context.gradientSpecs;
          Iterator<GradientSpec> it = specs.values().iterator();
          while (it.hasNext()) {
@@ -925,6 +2260,7 @@ public class SVGLoader implements SVGTags {
             GradientSpec spec = entry.getValue();
             context.gradients.put(entry.getKey(), spec.getPaint());
          }
+         endPhase(LoadStatistics.Phase.GRADIENTS, start);
       }
    }
 
@@ -1012,4 +2348,38 @@ public class SVGLoader implements SVGTags {
          return null;
       }
    }
+
+   /**
+    * The Nodes built for an element, with the group in which they have been added, the viewport of the element, and the animations
+    * built for the element.
+    */
+   private static class BuiltNodes {
+      private final Group group;
+      private final List<Node> nodes;
+      private final Viewport viewport;
+      private final List<Animation> animations;
+
+      private BuiltNodes(Group group, List<Node> nodes, Viewport viewport, List<Animation> animations) {
+         this.group = group;
+         this.nodes = nodes;
+         this.viewport = viewport;
+         this.animations = animations;
+      }
+   }
+
+   /**
+    * A child element of the root element built by a progressive loading, with the Nodes and animations built for it.
+    */
+   private static class ProgressiveElement {
+      private final XMLNode xmlNode;
+      private List<Node> nodes;
+      private List<Animation> animations;
+      private List<AnimationTrack> tracks = null;
+      // true if the element must be built again at the end of the loading
+      private boolean deferred = false;
+
+      private ProgressiveElement(XMLNode xmlNode) {
+         this.xmlNode = xmlNode;
+      }
+   }
 }
@@ -0,0 +1,294 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javafx.application.Platform;
+import javax.xml.parsers.ParserConfigurationException;
+import org.girod.javafx.svgimage.xml.parsers.SVGLibraryException;
+import org.girod.javafx.svgimage.xml.parsers.xmltree.XMLTreeHandler;
+import org.xml.sax.SAXException;
+
+/**
+ * Watch the file of a {@link SVGImage} and reload the image when the file changes. The changes are debounced: the image is only
+ * reloaded when the file has not changed for the {@link #getDelay() delay}, so that a burst of saves causes only one reload.
+ *
+ * The new content is parsed in a background thread, then the Nodes of the image are patched in the JavaFX Application Thread with
+ * the differences between the previous and the new XML trees. The elements are matched by id, or by name and position for the
+ * elements without id, and only the added, removed or modified elements are built again. The image is completely built again
+ * if the definitions (styles, gradients, filters, clips, markers or symbols) or the root element have changed.
+ *
+ * If the new content can not be parsed, for example because the file is still being written, it is skipped and the image is
+ * reloaded on the next change.
+ *
+ * @since 1.10
+ * @see SVGImage#watch()
+ */
+public class SVGWatcher implements Closeable {
+   /**
+    * The default delay in milliseconds.
+    */
+   public static final long DEFAULT_DELAY = 100;
+   private final SVGImage image;
+   private final File file;
+   private final LoaderParameters params;
+   private final WatchService watchService;
+   private final ScheduledExecutorService executor;
+   private final AtomicInteger reloadsCount = new AtomicInteger();
+   private ScheduledFuture<?> pendingReload = null;
+   private volatile long delay = DEFAULT_DELAY;
+   private volatile SVGWatchListener listener = null;
+   private volatile boolean closed = false;
+
+   /**
+    * Create a watcher for an image.
+    *
+    * @param image the image
+    * @param file the image file
+    * @throws IOException if the directory of the file can not be watched
+    */
+   SVGWatcher(SVGImage image, File file) throws IOException {
+      this.image = image;
+      this.file = file.getAbsoluteFile();
+      SVGContent content = image.getSVGContent();
+      LoaderParameters theParams = content != null && content.params != null ? content.params.clone() : new LoaderParameters();
+      // the reloaded image keeps its Nodes for each element so that the next changes can be patched
+      theParams.updatable = true;
+      this.params = theParams;
+      Path dir = this.file.getParentFile().toPath();
+      this.watchService = dir.getFileSystem().newWatchService();
+      dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+      ThreadFactory factory = new ThreadFactory() {
+         @Override
+         public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "SVGWatcher " + SVGWatcher.this.file.getName());
+            thread.setDaemon(true);
+            return thread;
+         }
+      };
+      this.executor = Executors.newSingleThreadScheduledExecutor(factory);
+      Thread thread = factory.newThread(new Runnable() {
+         @Override
+         public void run() {
+            watch();
+         }
+      });
+      thread.start();
+   }
+
+   /**
+    * Return the watched image.
+    *
+    * @return the image
+    */
+   public SVGImage getImage() {
+      return image;
+   }
+
+   /**
+    * Return the watched file.
+    *
+    * @return the file
+    */
+   public File getFile() {
+      return file;
+   }
+
+   /**
+    * Set the delay in milliseconds during which the file must not change before the image is reloaded. The default is
+    * {@link #DEFAULT_DELAY}.
+    *
+    * @param delay the delay
+    */
+   public void setDelay(long delay) {
+      this.delay = delay;
+   }
+
+   /**
+    * Return the delay in milliseconds during which the file must not change before the image is reloaded.
+    *
+    * @return the delay
+    */
+   public long getDelay() {
+      return delay;
+   }
+
+   /**
+    * Set the listener notified each time the image has been reloaded.
+    *
+    * @param listener the listener (can be null)
+    */
+   public void setListener(SVGWatchListener listener) {
+      this.listener = listener;
+   }
+
+   /**
+    * Return the listener notified each time the image has been reloaded.
+    *
+    * @return the listener
+    */
+   public SVGWatchListener getListener() {
+      return listener;
+   }
+
+   /**
+    * Return the number of times the image has been reloaded.
+    *
+    * @return the number of reloads
+    */
+   public int getReloadsCount() {
+      return reloadsCount.get();
+   }
+
+   /**
+    * Return true if the watcher has been closed.
+    *
+    * @return true if the watcher has been closed
+    */
+   public boolean isClosed() {
+      return closed;
+   }
+
+   /**
+    * Stop watching the file.
+    *
+    * <p>This method will throw a {@link SVGLibraryException} if the watch service could not be closed <b>and</b>
+    * {@link GlobalConfig#getExceptionsHandling()} is set to {@link ExceptionsHandling#RETROW_EXCEPTION}.</p>
+    */
+   @Override
+   public void close() {
+      closed = true;
+      executor.shutdownNow();
+      try {
+         watchService.close();
+      } catch (IOException ex) {
+         GlobalConfig.getInstance().handleLibraryException(ex);
+      }
+   }
+
+   private void watch() {
+      Path fileName = file.toPath().getFileName();
+      while (!closed) {
+         WatchKey key;
+         try {
+            key = watchService.take();
+         } catch (InterruptedException | ClosedWatchServiceException ex) {
+            break;
+         }
+         boolean changed = false;
+         Iterator<WatchEvent<?>> it = key.pollEvents().iterator();
+         while (it.hasNext()) {
+            WatchEvent<?> event = it.next();
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context())) {
+               changed = true;
+            }
+         }
+         if (changed) {
+            scheduleReload();
+         }
+         if (!key.reset()) {
+            break;
+         }
+      }
+   }
+
+   /**
+    * Schedule a reload after the delay, replacing the reload which is already scheduled.
+    */
+   private synchronized void scheduleReload() {
+      if (closed) {
+         return;
+      }
+      if (pendingReload != null) {
+         pendingReload.cancel(false);
+      }
+      pendingReload = executor.schedule(new Runnable() {
+         @Override
+         public void run() {
+            reload();
+         }
+      }, delay, TimeUnit.MILLISECONDS);
+   }
+
+   private void reload() {
+      final SVGLoader loader;
+      final XMLTreeHandler handler;
+      try {
+         loader = SVGLoader.createLoader(file.toURI().toURL(), params);
+         handler = loader.parseTree();
+      } catch (IOException | ParserConfigurationException | SAXException ex) {
+         // the file may be incomplete, it will be reloaded on the next change
+         return;
+      }
+      FutureTask<Boolean> future = new FutureTask<>(new Callable<Boolean>() {
+         @Override
+         public Boolean call() throws Exception {
+            boolean patched = image.reload(loader, handler);
+            reloadsCount.incrementAndGet();
+            SVGWatchListener theListener = listener;
+            if (theListener != null) {
+               theListener.reloaded(image, patched);
+            }
+            return patched;
+         }
+      });
+      Platform.runLater(future);
+      try {
+         // wait for the image to be reloaded, so that the reloads are never concurrent
+         future.get();
+      } catch (InterruptedException ex) {
+         // the watcher has been closed, the executor thread must know that it has been interrupted
+         Thread.currentThread().interrupt();
+      } catch (ExecutionException ex) {
+         GlobalConfig.getInstance().handleLibraryException(ex.getCause());
+      }
+   }
+}
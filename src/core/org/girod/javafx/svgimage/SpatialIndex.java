@@ -0,0 +1,533 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.property.ReadOnlyProperty;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.geometry.Point2D;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+
+/**
+ * A spatial index of the Nodes of an image, which allows to find the Nodes in a region or under a point without iterating on all the
+ * Nodes of the image. The index is created for images loaded with the {@link LoaderParameters#spatialIndex} parameter, and is used by
+ * {@link SVGImage#queryRegion(Bounds)} and {@link SVGImage#pickTopmost(double, double)}.
+ *
+ * The index is a R-tree of the bounds of the leaf Nodes of the image in the coordinates of the image, bulk-loaded with the
+ * Sort-Tile-Recursive algorithm. Each leaf Node is associated with the id of the element which created it, or of the nearest parent
+ * element which has an id. The index listens to the transforms of the groups and to the bounds of the leaf Nodes: the entries of the
+ * Nodes which have moved are removed from the tree and searched linearly until there are enough of them to load the tree again.
+ *
+ * The subtrees of a {@link LoaderParameters#virtualized} image are not in the index. Only the Nodes which are in the image when the index
+ * is created are associated with an id, the Nodes which have been removed by an update of the image being forgotten. This class must
+ * only be used in the JavaFX Application Thread.
+ *
+ * @since 1.10
+ */
+public final class SpatialIndex {
+   // the maximum number of children of a node of the tree
+   private static final int CAPACITY = 16;
+   // the minimum number of moved entries which causes the tree to be loaded again
+   private static final int MIN_MOVED = 64;
+   private static final Comparator<Entry> BY_ORDER = new Comparator<Entry>() {
+      @Override
+      public int compare(Entry entry1, Entry entry2) {
+         return Integer.compare(entry1.order, entry2.order);
+      }
+   };
+   private final SVGImage image;
+   // the ids of the Nodes built by the loader, including the Nodes built by the updates of the image
+   private final Map<Node, String> builtIds;
+   // the ids of the Nodes which are in the image
+   private final Map<Node, String> nodeIds = new IdentityHashMap<>();
+   private final List<Entry> entries = new ArrayList<>();
+   private final Map<Node, Entry> entriesByNode = new IdentityHashMap<>();
+   private final List<Observable> observed = new ArrayList<>();
+   // the roots of the subtrees which have moved since the last query
+   private final Set<Node> movedRoots = Collections.newSetFromMap(new IdentityHashMap<Node, Boolean>());
+   // the entries which have moved since the tree has been loaded
+   private final List<Entry> movedEntries = new ArrayList<>();
+   private TreeNode tree = null;
+   private volatile boolean isValid = false;
+   private final InvalidationListener moveListener = new InvalidationListener() {
+      @Override
+      public void invalidated(Observable observable) {
+         movedRoots.add((Node) ((ReadOnlyProperty<?>) observable).getBean());
+      }
+   };
+
+   /**
+    * Constructor.
+    *
+    * @param image the image
+    * @param builtIds the ids of the elements which created the Nodes, shared with the loader which adds the Nodes built by the updates
+    */
+   SpatialIndex(SVGImage image, Map<Node, String> builtIds) {
+      this.image = image;
+      this.builtIds = builtIds;
+   }
+
+   /**
+    * Return an index of the same Nodes for another image, and stop observing the Nodes of this index.
+    *
+    * @param other the other image
+    * @return the index
+    */
+   SpatialIndex moveTo(SVGImage other) {
+      dispose();
+      return new SpatialIndex(other, builtIds);
+   }
+
+   /**
+    * Invalidate the index after Nodes have been added or removed in the image. The index is created again at the next query.
+    */
+   void invalidate() {
+      isValid = false;
+   }
+
+   /**
+    * Stop observing the Nodes of the image.
+    */
+   void dispose() {
+      Iterator<Observable> it = observed.iterator();
+      while (it.hasNext()) {
+         it.next().removeListener(moveListener);
+      }
+      observed.clear();
+      isValid = false;
+   }
+
+   /**
+    * Return the number of Nodes associated with the id of an element.
+    *
+    * @return the number of Nodes
+    */
+   int getIdsCount() {
+      return builtIds.size();
+   }
+
+   /**
+    * Return the number of entries of the index.
+    *
+    * @return the number of entries
+    */
+   public int size() {
+      validate();
+      return entries.size();
+   }
+
+   /**
+    * Return the entries whose bounds intersect a region, in the order where their Nodes are painted.
+    *
+    * @param region the region, in the coordinates of the image
+    * @return the entries
+    */
+   public List<Entry> queryRegion(Bounds region) {
+      validate();
+      List<Entry> result = new ArrayList<>();
+      double minX = region.getMinX();
+      double minY = region.getMinY();
+      double maxX = region.getMaxX();
+      double maxY = region.getMaxY();
+      if (tree != null) {
+         tree.search(minX, minY, maxX, maxY, result);
+      }
+      Iterator<Entry> it = movedEntries.iterator();
+      while (it.hasNext()) {
+         Entry entry = it.next();
+         if (entry.intersects(minX, minY, maxX, maxY)) {
+            result.add(entry);
+         }
+      }
+      Collections.sort(result, BY_ORDER);
+      return result;
+   }
+
+   /**
+    * Return the entry of the topmost visible Node which contains a point, or null if there is no such Node.
+    *
+    * @param x the x coordinate of the point, in the coordinates of the image
+    * @param y the y coordinate of the point, in the coordinates of the image
+    * @return the entry
+    */
+   public Entry pickTopmost(double x, double y) {
+      List<Entry> candidates = queryRegion(new BoundingBox(x, y, 0, 0));
+      if (candidates.isEmpty()) {
+         return null;
+      }
+      Point2D point = image.localToScene(x, y);
+      for (int i = candidates.size() - 1; i >= 0; i--) {
+         Entry entry = candidates.get(i);
+         if (isVisible(entry.node) && entry.node.contains(entry.node.sceneToLocal(point))) {
+            return entry;
+         }
+      }
+      return null;
+   }
+
+   private boolean isVisible(Node node) {
+      while (node != null && node != image) {
+         if (!node.isVisible()) {
+            return false;
+         }
+         node = node.getParent();
+      }
+      return true;
+   }
+
+   /**
+    * Create the index if the Nodes of the image have changed, and update the entries of the Nodes which have moved.
+    */
+   private void validate() {
+      if (!isValid) {
+         create();
+      } else if (!movedRoots.isEmpty()) {
+         List<Node> roots = new ArrayList<>(movedRoots);
+         movedRoots.clear();
+         Iterator<Node> it = roots.iterator();
+         while (it.hasNext()) {
+            updateMoved(it.next());
+         }
+         if (movedEntries.size() > Math.max(MIN_MOVED, entries.size() / 8)) {
+            load();
+         }
+      }
+   }
+
+   private void updateMoved(Node node) {
+      Entry entry = entriesByNode.get(node);
+      if (entry != null) {
+         entry.setBounds(getBoundsInImage(node));
+         if (entry.inTree) {
+            entry.inTree = false;
+            movedEntries.add(entry);
+         }
+      } else if (node instanceof Parent) {
+         node.getLocalToParentTransform();
+         Iterator<Node> it = ((Parent) node).getChildrenUnmodifiable().iterator();
+         while (it.hasNext()) {
+            updateMoved(it.next());
+         }
+      }
+   }
+
+   private void create() {
+      dispose();
+      entries.clear();
+      entriesByNode.clear();
+      movedRoots.clear();
+      copyNodeIds();
+      Iterator<Node> it = image.getChildrenUnmodifiable().iterator();
+      while (it.hasNext()) {
+         addEntries(it.next(), null);
+      }
+      load();
+      isValid = true;
+   }
+
+   /**
+    * Copy the ids of the Nodes which are in the image, and forget the Nodes which have been removed from the image.
+    */
+   private void copyNodeIds() {
+      nodeIds.clear();
+      synchronized (builtIds) {
+         Iterator<Map.Entry<Node, String>> it = builtIds.entrySet().iterator();
+         while (it.hasNext()) {
+            Map.Entry<Node, String> entry = it.next();
+            if (isInImage(entry.getKey())) {
+               nodeIds.put(entry.getKey(), entry.getValue());
+            } else {
+               it.remove();
+            }
+         }
+      }
+   }
+
+   private boolean isInImage(Node node) {
+      Node parent = node.getParent();
+      while (parent != null && parent != image) {
+         parent = parent.getParent();
+      }
+      return parent == image;
+   }
+
+   private void addEntries(Node node, String parentId) {
+      if (node instanceof LazySubtree) {
+         return;
+      }
+      String id = nodeIds.get(node);
+      if (id == null) {
+         id = parentId;
+      }
+      if (node instanceof Parent) {
+         listen(node.localToParentTransformProperty());
+         // the getter validates the property so that its next change will be notified
+         node.getLocalToParentTransform();
+         Iterator<Node> it = ((Parent) node).getChildrenUnmodifiable().iterator();
+         while (it.hasNext()) {
+            addEntries(it.next(), id);
+         }
+      } else {
+         listen(node.boundsInParentProperty());
+         Entry entry = new Entry(id, node, entries.size());
+         entry.setBounds(getBoundsInImage(node));
+         entries.add(entry);
+         entriesByNode.put(node, entry);
+      }
+   }
+
+   private void listen(Observable observable) {
+      observable.addListener(moveListener);
+      observed.add(observable);
+   }
+
+   /**
+    * Return the bounds of a Node in the coordinates of the image. Reading the bounds and the transforms also allows the listeners to
+    * be notified of their next change.
+    */
+   private Bounds getBoundsInImage(Node node) {
+      Bounds bounds = node.getBoundsInParent();
+      Node parent = node.getParent();
+      while (parent != null && parent != image) {
+         bounds = parent.localToParent(bounds);
+         parent = parent.getParent();
+      }
+      return bounds;
+   }
+
+   /**
+    * Load the tree from all the entries.
+    */
+   private void load() {
+      movedEntries.clear();
+      Iterator<Entry> it = entries.iterator();
+      while (it.hasNext()) {
+         it.next().inTree = true;
+      }
+      if (entries.isEmpty()) {
+         tree = null;
+         return;
+      }
+      List<TreeNode> level = new ArrayList<>();
+      List<Entry> sorted = new ArrayList<>(entries);
+      List<List<Entry>> leaves = pack(sorted);
+      Iterator<List<Entry>> it2 = leaves.iterator();
+      while (it2.hasNext()) {
+         level.add(new TreeNode(it2.next().toArray(new Entry[0])));
+      }
+      while (level.size() > 1) {
+         List<List<TreeNode>> groups = pack(level);
+         List<TreeNode> nextLevel = new ArrayList<>(groups.size());
+         Iterator<List<TreeNode>> it3 = groups.iterator();
+         while (it3.hasNext()) {
+            nextLevel.add(new TreeNode(it3.next().toArray(new TreeNode[0])));
+         }
+         level = nextLevel;
+      }
+      tree = level.get(0);
+   }
+
+   /**
+    * Pack boxes in groups of at most {@link #CAPACITY} boxes with the Sort-Tile-Recursive algorithm: the boxes are sorted by the x
+    * coordinate of their center and cut in vertical slices, and the boxes of each slice are sorted by the y coordinate of their center.
+    */
+   private static <T extends Box> List<List<T>> pack(List<T> boxes) {
+      int count = boxes.size();
+      int groupsCount = (count + CAPACITY - 1) / CAPACITY;
+      int slicesCount = (int) Math.ceil(Math.sqrt(groupsCount));
+      int sliceSize = slicesCount * CAPACITY;
+      Collections.sort(boxes, new Comparator<Box>() {
+         @Override
+         public int compare(Box box1, Box box2) {
+            return Double.compare(box1.getCenterX(), box2.getCenterX());
+         }
+      });
+      List<List<T>> groups = new ArrayList<>(groupsCount);
+      for (int start = 0; start < count; start += sliceSize) {
+         List<T> slice = new ArrayList<>(boxes.subList(start, Math.min(count, start + sliceSize)));
+         Collections.sort(slice, new Comparator<Box>() {
+            @Override
+            public int compare(Box box1, Box box2) {
+               return Double.compare(box1.getCenterY(), box2.getCenterY());
+            }
+         });
+         for (int i = 0; i < slice.size(); i += CAPACITY) {
+            groups.add(slice.subList(i, Math.min(slice.size(), i + CAPACITY)));
+         }
+      }
+      return groups;
+   }
+
+   /**
+    * An axis-aligned box.
+    */
+   private static class Box {
+      double minX;
+      double minY;
+      double maxX;
+      double maxY;
+
+      void set(double minX, double minY, double maxX, double maxY) {
+         this.minX = minX;
+         this.minY = minY;
+         this.maxX = maxX;
+         this.maxY = maxY;
+      }
+
+      double getCenterX() {
+         return (minX + maxX) / 2;
+      }
+
+      double getCenterY() {
+         return (minY + maxY) / 2;
+      }
+
+      boolean intersects(double minX, double minY, double maxX, double maxY) {
+         return this.minX <= maxX && this.maxX >= minX && this.minY <= maxY && this.maxY >= minY;
+      }
+   }
+
+   /**
+    * A node of the tree, which contains either other nodes or entries.
+    */
+   private static final class TreeNode extends Box {
+      private final TreeNode[] children;
+      private final Entry[] leafEntries;
+
+      private TreeNode(TreeNode[] children) {
+         this.children = children;
+         this.leafEntries = null;
+         setBounds(children);
+      }
+
+      private TreeNode(Entry[] leafEntries) {
+         this.children = null;
+         this.leafEntries = leafEntries;
+         setBounds(leafEntries);
+      }
+
+      private void setBounds(Box[] boxes) {
+         double minX = Double.POSITIVE_INFINITY;
+         double minY = Double.POSITIVE_INFINITY;
+         double maxX = Double.NEGATIVE_INFINITY;
+         double maxY = Double.NEGATIVE_INFINITY;
+         for (int i = 0; i < boxes.length; i++) {
+            Box other = boxes[i];
+            minX = Math.min(minX, other.minX);
+            minY = Math.min(minY, other.minY);
+            maxX = Math.max(maxX, other.maxX);
+            maxY = Math.max(maxY, other.maxY);
+         }
+         set(minX, minY, maxX, maxY);
+      }
+
+      private void search(double minX, double minY, double maxX, double maxY, List<Entry> result) {
+         if (!intersects(minX, minY, maxX, maxY)) {
+            return;
+         }
+         if (children != null) {
+            for (int i = 0; i < children.length; i++) {
+               children[i].search(minX, minY, maxX, maxY, result);
+            }
+         } else {
+            for (int i = 0; i < leafEntries.length; i++) {
+               Entry entry = leafEntries[i];
+               // the entries which have moved are searched separately
+               if (entry.inTree && entry.intersects(minX, minY, maxX, maxY)) {
+                  result.add(entry);
+               }
+            }
+         }
+      }
+   }
+
+   /**
+    * An entry of the index.
+    *
+    * @since 1.10
+    */
+   public static final class Entry extends Box {
+      private final String id;
+      private final Node node;
+      private final int order;
+      private boolean inTree = false;
+
+      private Entry(String id, Node node, int order) {
+         this.id = id;
+         this.node = node;
+         this.order = order;
+      }
+
+      private void setBounds(Bounds bounds) {
+         set(bounds.getMinX(), bounds.getMinY(), bounds.getMaxX(), bounds.getMaxY());
+      }
+
+      /**
+       * Return the id of the element which created the Node, or of the nearest parent element which has an id.
+       *
+       * @return the id, or null if neither the element nor its parents have an id
+       */
+      public String getId() {
+         return id;
+      }
+
+      /**
+       * Return the Node.
+       *
+       * @return the Node
+       */
+      public Node getNode() {
+         return node;
+      }
+
+      /**
+       * Return the bounds of the Node in the coordinates of the image.
+       *
+       * @return the bounds
+       */
+      public Bounds getBounds() {
+         return new BoundingBox(minX, minY, maxX - minX, maxY - minY);
+      }
+   }
+}
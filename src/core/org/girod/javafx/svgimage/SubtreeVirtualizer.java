@@ -0,0 +1,312 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.stage.Window;
+
+/**
+ * Builds the subtrees of a virtualized image only when they are visible. Each "g" child of the root element of the image is represented
+ * by a {@link LazySubtree} placeholder, and its Nodes are built when the placeholder intersects the visible part of the image: the part
+ * which is inside the Scene and inside the clips of the parents of the image (for example the viewport of a ScrollPane). The region is
+ * enlarged by half its size in each direction, so that the subtrees are built before they are scrolled into view.
+ *
+ * If a budget of Nodes is set, the subtrees which are not visible anymore are released, the least recently visible first, while the
+ * number of Nodes of the built subtrees is above the budget.
+ *
+ * This class must only be used in the JavaFX Application Thread.
+ *
+ * @since 1.10
+ */
+final class SubtreeVirtualizer {
+   private static final double MARGIN = 0.5;
+   private final SVGImage image;
+   private final SVGLoader loader;
+   private final List<LazySubtree> subtrees;
+   private final int nodesBudget;
+   // the built subtrees, the least recently visible first
+   private final Map<LazySubtree, Boolean> builtSubtrees = new LinkedHashMap<>(16, 0.75f, true);
+   private int builtNodesCount = 0;
+   private final List<Observable> observed = new ArrayList<>();
+   private boolean isCheckPending = false;
+   private final InvalidationListener structureListener = new InvalidationListener() {
+      @Override
+      public void invalidated(Observable observable) {
+         observe();
+         scheduleCheck();
+      }
+   };
+   private final InvalidationListener boundsListener = new InvalidationListener() {
+      @Override
+      public void invalidated(Observable observable) {
+         scheduleCheck();
+      }
+   };
+
+   /**
+    * Constructor.
+    *
+    * @param image the image
+    * @param loader the loader which builds the subtrees
+    * @param subtrees the placeholders of the subtrees
+    * @param nodesBudget the maximum number of Nodes of the built subtrees, or 0 if the subtrees are never released
+    */
+   SubtreeVirtualizer(SVGImage image, SVGLoader loader, List<LazySubtree> subtrees, int nodesBudget) {
+      this.image = image;
+      this.loader = loader;
+      this.subtrees = subtrees;
+      this.nodesBudget = nodesBudget;
+      Iterator<LazySubtree> it = subtrees.iterator();
+      while (it.hasNext()) {
+         LazySubtree subtree = it.next();
+         if (subtree.isBuilt()) {
+            builtSubtrees.put(subtree, Boolean.TRUE);
+            builtNodesCount += subtree.getNodesCount();
+         }
+      }
+      observe();
+      scheduleCheck();
+   }
+
+   /**
+    * Return a virtualizer for the same subtrees in another image, and stop observing this image.
+    *
+    * @param other the other image
+    * @return the virtualizer
+    */
+   SubtreeVirtualizer moveTo(SVGImage other) {
+      dispose();
+      return new SubtreeVirtualizer(other, loader, subtrees, nodesBudget);
+   }
+
+   /**
+    * Return the loader which builds the subtrees.
+    *
+    * @return the loader
+    */
+   SVGLoader getLoader() {
+      return loader;
+   }
+
+   /**
+    * Return the number of subtrees.
+    *
+    * @return the number of subtrees
+    */
+   int getSubtreesCount() {
+      return subtrees.size();
+   }
+
+   /**
+    * Return the number of built subtrees.
+    *
+    * @return the number of built subtrees
+    */
+   int getBuiltSubtreesCount() {
+      return builtSubtrees.size();
+   }
+
+   /**
+    * Return the number of Nodes of the built subtrees.
+    *
+    * @return the number of Nodes
+    */
+   int getBuiltNodesCount() {
+      return builtNodesCount;
+   }
+
+   /**
+    * Stop observing the image.
+    */
+   void dispose() {
+      unobserve();
+   }
+
+   /**
+    * Build all the subtrees. They are not released until they have been outside the visible region.
+    */
+   void buildAll() {
+      Iterator<LazySubtree> it = subtrees.iterator();
+      while (it.hasNext()) {
+         build(it.next());
+      }
+   }
+
+   /**
+    * Build the subtrees which are in the visible region, and release the subtrees outside this region if the budget of Nodes is
+    * exceeded.
+    */
+   void update() {
+      Bounds region = computeVisibleRegion();
+      if (region == null) {
+         return;
+      }
+      double marginX = region.getWidth() * MARGIN;
+      double marginY = region.getHeight() * MARGIN;
+      region = new BoundingBox(region.getMinX() - marginX, region.getMinY() - marginY, region.getWidth() + 2 * marginX,
+         region.getHeight() + 2 * marginY);
+      Iterator<LazySubtree> it = subtrees.iterator();
+      while (it.hasNext()) {
+         LazySubtree subtree = it.next();
+         if (subtree.getBoundsInParent().intersects(region)) {
+            build(subtree);
+         }
+      }
+      if (nodesBudget > 0 && builtNodesCount > nodesBudget) {
+         Iterator<LazySubtree> it2 = builtSubtrees.keySet().iterator();
+         while (it2.hasNext() && builtNodesCount > nodesBudget) {
+            LazySubtree subtree = it2.next();
+            if (!subtree.getBoundsInParent().intersects(region)) {
+               builtNodesCount -= subtree.getNodesCount();
+               subtree.release();
+               it2.remove();
+               // the children of the subtree have changed, not the children of the image
+               image.invalidateRasterCache();
+            }
+         }
+      }
+   }
+
+   private void build(LazySubtree subtree) {
+      if (subtree.isBuilt()) {
+         // marks the subtree as the most recently visible
+         builtSubtrees.get(subtree);
+      } else {
+         subtree.setNodes(loader.buildSubtree(subtree.getXMLNode()));
+         builtSubtrees.put(subtree, Boolean.TRUE);
+         builtNodesCount += subtree.getNodesCount();
+         image.invalidateRasterCache();
+      }
+   }
+
+   private void scheduleCheck() {
+      if (!isCheckPending) {
+         isCheckPending = true;
+         Platform.runLater(new Runnable() {
+            @Override
+            public void run() {
+               isCheckPending = false;
+               update();
+            }
+         });
+      }
+   }
+
+   private void listen(Observable observable, InvalidationListener listener) {
+      observable.addListener(listener);
+      observed.add(observable);
+   }
+
+   private void unobserve() {
+      Iterator<Observable> it = observed.iterator();
+      while (it.hasNext()) {
+         Observable observable = it.next();
+         observable.removeListener(structureListener);
+         observable.removeListener(boundsListener);
+      }
+      observed.clear();
+   }
+
+   /**
+    * Listen to the properties which can change the visible region of the image. The listeners are set again each time the parents, the
+    * Scene, the Window or the clips of the image change.
+    */
+   private void observe() {
+      unobserve();
+      listen(image.sceneProperty(), structureListener);
+      listen(image.localToSceneTransformProperty(), boundsListener);
+      Node node = image;
+      while (node != null) {
+         listen(node.parentProperty(), structureListener);
+         listen(node.visibleProperty(), boundsListener);
+         listen(node.clipProperty(), structureListener);
+         Node clip = node.getClip();
+         if (clip != null) {
+            listen(clip.boundsInParentProperty(), boundsListener);
+         }
+         node = node.getParent();
+      }
+      Scene scene = image.getScene();
+      if (scene != null) {
+         listen(scene.windowProperty(), structureListener);
+         listen(scene.widthProperty(), boundsListener);
+         listen(scene.heightProperty(), boundsListener);
+         Window window = scene.getWindow();
+         if (window != null) {
+            listen(window.showingProperty(), boundsListener);
+         }
+      }
+   }
+
+   /**
+    * Return the visible region of the image in the coordinates of the image, or null if no part of the image is showing.
+    *
+    * @return the visible region
+    */
+   private Bounds computeVisibleRegion() {
+      Scene scene = image.getScene();
+      if (scene == null) {
+         return null;
+      }
+      Window window = scene.getWindow();
+      if (window == null || !window.isShowing()) {
+         return null;
+      }
+      // the getter revalidates the property so that the next change will be notified
+      image.getLocalToSceneTransform();
+      Bounds bounds = new BoundingBox(0, 0, scene.getWidth(), scene.getHeight());
+      Node node = image;
+      while (node != null && bounds != null) {
+         if (!node.isVisible()) {
+            return null;
+         }
+         Node clip = node.getClip();
+         if (clip != null) {
+            bounds = AnimationVisibility.intersect(bounds, node.localToScene(clip.getBoundsInParent()));
+         }
+         node = node.getParent();
+      }
+      return bounds == null ? null : image.sceneToLocal(bounds);
+   }
+}
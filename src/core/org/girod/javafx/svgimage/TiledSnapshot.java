@@ -0,0 +1,259 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import javafx.geometry.Bounds;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Paint;
+import javafx.scene.transform.Transform;
+import org.girod.javafx.svgimage.xml.parsers.SVGLibraryException;
+
+/**
+ * Allows to rasterize a {@link SVGImage} in tiles. This allows to create images which are larger than the maximum texture size supported by the
+ * graphic card, which would fail with {@link SVGImage#toImage()}.
+ *
+ * Each tile is rendered by a separate JavaFX snapshot. If the snapshot is not requested from the JavaFX Application Thread, each tile will be
+ * rendered in a separate <code>Platform.runLater</code> call, so that the JavaFX Application Thread can handle other events between two tiles.
+ *
+ * The tiles can either be stitched in a {@link BufferedImage}, or streamed row by row in a PNG file, in which case only one row of tiles is kept
+ * in memory at any time.
+ *
+ * @since 1.10
+ */
+public class TiledSnapshot {
+   /**
+    * The default tile size.
+    */
+   public static final int DEFAULT_TILE_SIZE = 2048;
+   private final SVGImage image;
+   private int tileSize = DEFAULT_TILE_SIZE;
+   private Paint fill = null;
+
+   /**
+    * Constructor.
+    *
+    * @param image the image
+    */
+   public TiledSnapshot(SVGImage image) {
+      this.image = image;
+   }
+
+   /**
+    * Set the size of the tiles. The default is {@link #DEFAULT_TILE_SIZE}. The size must be smaller than the maximum texture size.
+    *
+    * @param tileSize the size of the tiles
+    */
+   public void setTileSize(int tileSize) {
+      if (tileSize > 0) {
+         this.tileSize = tileSize;
+      }
+   }
+
+   /**
+    * Return the size of the tiles.
+    *
+    * @return the size of the tiles
+    */
+   public int getTileSize() {
+      return tileSize;
+   }
+
+   /**
+    * Set the fill used for the background of the image. The default is null, which means that the fill of the default SnapshotParameters will
+    * be used.
+    *
+    * @param fill the fill
+    */
+   public void setFill(Paint fill) {
+      this.fill = fill;
+   }
+
+   /**
+    * Return the fill used for the background of the image.
+    *
+    * @return the fill
+    */
+   public Paint getFill() {
+      return fill;
+   }
+
+   /**
+    * Return the width of the resulting image for a specified scale.
+    *
+    * @param scale the scale
+    * @return the width
+    */
+   public int getWidth(double scale) {
+      return (int) Math.ceil(image.getBoundsInParent().getWidth() * scale);
+   }
+
+   /**
+    * Return the height of the resulting image for a specified scale.
+    *
+    * @param scale the scale
+    * @return the height
+    */
+   public int getHeight(double scale) {
+      return (int) Math.ceil(image.getBoundsInParent().getHeight() * scale);
+   }
+
+   /**
+    * Return the scale to apply to obtain an image of the specified width, preserving the image ratio.
+    *
+    * @param width the resulting width
+    * @return the scale
+    */
+   public double getScaleForWidth(double width) {
+      return width / image.getBoundsInParent().getWidth();
+   }
+
+   /**
+    * Render the image in a BufferedImage.
+    *
+    * @param scale the scale
+    * @return the BufferedImage
+    * @throws SVGLibraryException if a tile could not be rendered
+    */
+   public BufferedImage toBufferedImage(double scale) throws SVGLibraryException {
+      Bounds bounds = image.getBoundsInParent();
+      int width = getWidth(scale);
+      int height = getHeight(scale);
+      BufferedImage bufImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+      int[] data = ((DataBufferInt) bufImage.getRaster().getDataBuffer()).getData();
+      SnapshotParameters params = createParameters(scale);
+      for (int y = 0; y < height; y += tileSize) {
+         int tileHeight = Math.min(tileSize, height - y);
+         for (int x = 0; x < width; x += tileSize) {
+            int tileWidth = Math.min(tileSize, width - x);
+            renderTile(params, bounds, scale, x, y, tileWidth, tileHeight, data, y * width + x, width);
+         }
+      }
+      return bufImage;
+   }
+
+   /**
+    * Stream the image in the PNG format. Only one row of tiles is kept in memory at the same time.
+    *
+    * @param scale the scale
+    * @param out the output stream. The stream is not closed by this method
+    * @throws SVGLibraryException if a tile could not be rendered or the PNG could not be written
+    */
+   public void writePNG(double scale, OutputStream out) throws SVGLibraryException {
+      Bounds bounds = image.getBoundsInParent();
+      int width = getWidth(scale);
+      int height = getHeight(scale);
+      SnapshotParameters params = createParameters(scale);
+      int[] strip = new int[width * Math.min(tileSize, height)];
+      try {
+         PNGEncoder encoder = new PNGEncoder(out, width, height);
+         encoder.writeHeader();
+         for (int y = 0; y < height; y += tileSize) {
+            int tileHeight = Math.min(tileSize, height - y);
+            for (int x = 0; x < width; x += tileSize) {
+               int tileWidth = Math.min(tileSize, width - x);
+               renderTile(params, bounds, scale, x, y, tileWidth, tileHeight, strip, x, width);
+            }
+            encoder.writeRows(strip, 0, width, tileHeight);
+         }
+         encoder.finish();
+      } catch (IOException ex) {
+         throw new SVGLibraryException(ex);
+      }
+   }
+
+   /**
+    * Saves the image in a PNG file.
+    *
+    * This method will throw a {@link SVGLibraryException} if the snapshot generation generated an exception <b>and</b>
+    * {@link GlobalConfig#getExceptionsHandling()} is set to {@link ExceptionsHandling#RETROW_EXCEPTION}. It means that by default the method will
+    * simply return false if it could not save the snapshot.
+    *
+    * @param scale the scale
+    * @param file the file
+    * @return true if the save was successful
+    * @throws SVGLibraryException if the snapshot could not be saved and {@link GlobalConfig#getExceptionsHandling()} is set to
+    * {@link ExceptionsHandling#RETROW_EXCEPTION}
+    */
+   public boolean snapshot(double scale, File file) throws SVGLibraryException {
+      try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+         writePNG(scale, out);
+         return true;
+      } catch (IOException | SVGLibraryException ex) {
+         GlobalConfig.getInstance().handleLibraryException(ex);
+         return false;
+      }
+   }
+
+   private SnapshotParameters createParameters(double scale) {
+      SnapshotParameters params = new SnapshotParameters();
+      SVGSnapshotParameters defaultParams = SVGImage.getDefaultSnapshotParameters();
+      if (defaultParams != null) {
+         SnapshotParameters refParams = defaultParams.getSnapshotParameters();
+         params.setCamera(refParams.getCamera());
+         params.setDepthBuffer(refParams.isDepthBuffer());
+         params.setFill(refParams.getFill());
+      }
+      if (fill != null) {
+         params.setFill(fill);
+      }
+      params.setTransform(Transform.scale(scale, scale));
+      return params;
+   }
+
+   private void renderTile(SnapshotParameters params, Bounds bounds, double scale, int x, int y, int tileWidth, int tileHeight,
+      int[] dest, int offset, int scanlineStride) throws SVGLibraryException {
+      // the viewport is expressed in the coordinates of the node parent, after the snapshot transform has been applied
+      double minX = bounds.getMinX() * scale + x;
+      double minY = bounds.getMinY() * scale + y;
+      params.setViewport(new Rectangle2D(minX, minY, tileWidth, tileHeight));
+      WritableImage tile = image.snapshotImpl(params);
+      if (tile == null) {
+         throw new SVGLibraryException("Could not render the tile at " + x + ", " + y);
+      }
+      int width = Math.min(tileWidth, (int) tile.getWidth());
+      int height = Math.min(tileHeight, (int) tile.getHeight());
+      PixelReader reader = tile.getPixelReader();
+      reader.getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), dest, offset, scanlineStride);
+   }
+}
@@ -32,11 +32,263 @@ the project website at the project page on https://github.com/hervegirod/fxsvgim
  */
 package org.girod.javafx.svgimage.css;
 
+import com.steadystate.css.dom.CSSStyleRuleImpl;
+import com.steadystate.css.parser.CSSOMParser;
+import com.steadystate.css.parser.SACParserCSS3;
+import com.steadystate.css.parser.selectors.GeneralAdjacentSelectorImpl;
+import com.steadystate.css.parser.selectors.PrefixAttributeConditionImpl;
+import com.steadystate.css.parser.selectors.SubstringAttributeConditionImpl;
+import com.steadystate.css.parser.selectors.SuffixAttributeConditionImpl;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import org.girod.javafx.svgimage.Viewport;
+import org.girod.javafx.svgimage.xml.builders.SVGStyleBuilder;
+import org.girod.javafx.svgimage.xml.specs.Styles;
+import org.w3c.css.sac.AttributeCondition;
+import org.w3c.css.sac.CSSException;
+import org.w3c.css.sac.CSSParseException;
+import org.w3c.css.sac.CombinatorCondition;
+import org.w3c.css.sac.Condition;
+import org.w3c.css.sac.ConditionalSelector;
+import org.w3c.css.sac.DescendantSelector;
+import org.w3c.css.sac.ElementSelector;
+import org.w3c.css.sac.ErrorHandler;
+import org.w3c.css.sac.InputSource;
+import org.w3c.css.sac.Selector;
+import org.w3c.css.sac.SelectorList;
+import org.w3c.css.sac.SiblingSelector;
+import org.w3c.dom.css.CSSMediaRule;
+import org.w3c.dom.css.CSSRule;
+import org.w3c.dom.css.CSSRuleList;
+import org.w3c.dom.css.CSSStyleDeclaration;
+import org.w3c.dom.css.CSSStyleSheet;
+
 /**
+ * Converts the content of a "style" element to style rules, using the CSS parser.
+ *
+ * The selectors of the rules are compiled in {@link SelectorMatcher} instances. The element names, ids, classes,
+ * attribute conditions, the <code>first-child</code>, <code>last-child</code> and <code>only-child</code>
+ * pseudo-classes, and the descendant, child and sibling combinators are supported. The rules with other selectors
+ * are ignored.
+ *
+ * This class depends on the CSS parser library, which is an optional dependency of the library. The
+ * {@link SVGStyleBuilder} only uses it if this library is available.
  *
+ * @version 1.10
  * @since 1.6
  */
 public class CSSConverter {
-   public CSSConverter() {      
+   private static final ErrorHandler IGNORE_ERRORS = new ErrorHandler() {
+      @Override
+      public void warning(CSSParseException exception) throws CSSException {
+      }
+
+      @Override
+      public void error(CSSParseException exception) throws CSSException {
+      }
+
+      @Override
+      public void fatalError(CSSParseException exception) throws CSSException {
+      }
+   };
+
+   public CSSConverter() {
+   }
+
+   /**
+    * Parse the content of a "style" element and add its rules to a styles collection. The syntax errors in the
+    * content are skipped as specified by CSS.
+    *
+    * @param styles the styles collection
+    * @param content the style content
+    * @param viewport the viewport
+    * @return true if the content could be parsed
+    * @since 1.10
+    */
+   public static boolean parseStyle(Styles styles, String content, Viewport viewport) {
+      StyleSheet styleSheet = parseStyleSheet(new StringReader(content));
+      if (styleSheet == null) {
+         return false;
+      }
+      styleSheet.addRules(styles, viewport);
+      return true;
+   }
+
+   /**
+    * Parse a style sheet. The syntax errors in the content are skipped as specified by CSS.
+    *
+    * @param reader the reader of the style sheet content
+    * @return the style sheet, or null if the content could not be parsed
+    * @since 1.10
+    */
+   public static StyleSheet parseStyleSheet(Reader reader) {
+      CSSStyleSheet cssStyleSheet;
+      try {
+         CSSOMParser parser = new CSSOMParser(new SACParserCSS3());
+         parser.setErrorHandler(IGNORE_ERRORS);
+         cssStyleSheet = parser.parseStyleSheet(new InputSource(reader), null, null);
+      } catch (IOException | CSSException e) {
+         return null;
+      }
+      if (cssStyleSheet == null) {
+         return null;
+      }
+      List<StyleSheet.Rule> rules = new ArrayList<>();
+      addRules(rules, cssStyleSheet.getCssRules());
+      return new StyleSheet(rules);
+   }
+
+   private static void addRules(List<StyleSheet.Rule> rules, CSSRuleList cssRules) {
+      for (int i = 0; i < cssRules.getLength(); i++) {
+         CSSRule cssRule = cssRules.item(i);
+         if (cssRule instanceof CSSStyleRuleImpl) {
+            addRule(rules, (CSSStyleRuleImpl) cssRule);
+         } else if (cssRule instanceof CSSMediaRule) {
+            addRules(rules, ((CSSMediaRule) cssRule).getCssRules());
+         }
+      }
+   }
+
+   private static void addRule(List<StyleSheet.Rule> rules, CSSStyleRuleImpl cssRule) {
+      SelectorList selectorList = cssRule.getSelectors();
+      List<SelectorMatcher> selectors = new ArrayList<>(selectorList.getLength());
+      for (int i = 0; i < selectorList.getLength(); i++) {
+         SelectorMatcher selector = compileSelector(selectorList.item(i));
+         if (selector != null) {
+            selectors.add(selector);
+         }
+      }
+      if (selectors.isEmpty()) {
+         return;
+      }
+      LinkedHashMap<String, String> declarations = new LinkedHashMap<>();
+      CSSStyleDeclaration declaration = cssRule.getStyle();
+      for (int i = 0; i < declaration.getLength(); i++) {
+         String key = declaration.item(i);
+         String value = declaration.getPropertyValue(key);
+         if (value != null && !value.isEmpty()) {
+            declarations.put(key, value);
+         }
+      }
+      if (!declarations.isEmpty()) {
+         rules.add(new StyleSheet.Rule(cssRule.getSelectorText(), selectors, declarations));
+      }
+   }
+
+   /**
+    * Compile a selector.
+    *
+    * @param selector the selector
+    * @return the compiled selector, or null if the selector is not supported
+    */
+   static SelectorMatcher compileSelector(Selector selector) {
+      switch (selector.getSelectorType()) {
+         case Selector.SAC_ELEMENT_NODE_SELECTOR:
+         case Selector.SAC_CONDITIONAL_SELECTOR:
+            return compileCompoundSelector(selector);
+         case Selector.SAC_DESCENDANT_SELECTOR:
+         case Selector.SAC_CHILD_SELECTOR: {
+            DescendantSelector descendantSelector = (DescendantSelector) selector;
+            char combinator = selector.getSelectorType() == Selector.SAC_CHILD_SELECTOR
+               ? CombinedSelectorMatcher.CHILD : CombinedSelectorMatcher.DESCENDANT;
+            return combine(descendantSelector.getAncestorSelector(), combinator, descendantSelector.getSimpleSelector());
+         }
+         case Selector.SAC_DIRECT_ADJACENT_SELECTOR: {
+            SiblingSelector siblingSelector = (SiblingSelector) selector;
+            char combinator = selector instanceof GeneralAdjacentSelectorImpl
+               ? CombinedSelectorMatcher.GENERAL_ADJACENT : CombinedSelectorMatcher.DIRECT_ADJACENT;
+            return combine(siblingSelector.getSelector(), combinator, siblingSelector.getSiblingSelector());
+         }
+         default:
+            return null;
+      }
+   }
+
+   private static SelectorMatcher combine(Selector leftSelector, char combinator, Selector rightSelector) {
+      SelectorMatcher left = compileSelector(leftSelector);
+      CompoundSelectorMatcher right = compileCompoundSelector(rightSelector);
+      if (left == null || right == null) {
+         return null;
+      }
+      return new CombinedSelectorMatcher(left, combinator, right);
+   }
+
+   private static CompoundSelectorMatcher compileCompoundSelector(Selector selector) {
+      CompoundSelectorMatcher compound = new CompoundSelectorMatcher();
+      if (addSelector(compound, selector)) {
+         return compound;
+      } else {
+         return null;
+      }
+   }
+
+   private static boolean addSelector(CompoundSelectorMatcher compound, Selector selector) {
+      switch (selector.getSelectorType()) {
+         case Selector.SAC_ELEMENT_NODE_SELECTOR: {
+            String localName = ((ElementSelector) selector).getLocalName();
+            if (localName != null && !localName.equals("*")) {
+               compound.setTagName(localName);
+            }
+            return true;
+         }
+         case Selector.SAC_CONDITIONAL_SELECTOR: {
+            ConditionalSelector conditionalSelector = (ConditionalSelector) selector;
+            return addSelector(compound, conditionalSelector.getSimpleSelector())
+               && addCondition(compound, conditionalSelector.getCondition());
+         }
+         default:
+            return false;
+      }
+   }
+
+   private static boolean addCondition(CompoundSelectorMatcher compound, Condition condition) {
+      switch (condition.getConditionType()) {
+         case Condition.SAC_AND_CONDITION: {
+            CombinatorCondition andCondition = (CombinatorCondition) condition;
+            return addCondition(compound, andCondition.getFirstCondition())
+               && addCondition(compound, andCondition.getSecondCondition());
+         }
+         case Condition.SAC_ID_CONDITION:
+            compound.setId(((AttributeCondition) condition).getValue());
+            return true;
+         case Condition.SAC_CLASS_CONDITION:
+            compound.addClass(((AttributeCondition) condition).getValue());
+            return true;
+         case Condition.SAC_ATTRIBUTE_CONDITION: {
+            AttributeCondition attrCondition = (AttributeCondition) condition;
+            char operator;
+            if (condition instanceof PrefixAttributeConditionImpl) {
+               operator = CompoundSelectorMatcher.PREFIX;
+            } else if (condition instanceof SuffixAttributeConditionImpl) {
+               operator = CompoundSelectorMatcher.SUFFIX;
+            } else if (condition instanceof SubstringAttributeConditionImpl) {
+               operator = CompoundSelectorMatcher.SUBSTRING;
+            } else if (attrCondition.getValue() != null) {
+               operator = CompoundSelectorMatcher.EQUALS;
+            } else {
+               operator = CompoundSelectorMatcher.EXISTS;
+            }
+            compound.addAttribute(attrCondition.getLocalName(), operator, attrCondition.getValue());
+            return true;
+         }
+         case Condition.SAC_ONE_OF_ATTRIBUTE_CONDITION: {
+            AttributeCondition attrCondition = (AttributeCondition) condition;
+            compound.addAttribute(attrCondition.getLocalName(), CompoundSelectorMatcher.INCLUDES, attrCondition.getValue());
+            return true;
+         }
+         case Condition.SAC_BEGIN_HYPHEN_ATTRIBUTE_CONDITION: {
+            AttributeCondition attrCondition = (AttributeCondition) condition;
+            compound.addAttribute(attrCondition.getLocalName(), CompoundSelectorMatcher.DASH_MATCH, attrCondition.getValue());
+            return true;
+         }
+         case Condition.SAC_PSEUDO_CLASS_CONDITION:
+            return compound.addPseudoClass(((AttributeCondition) condition).getValue());
+         default:
+            return false;
+      }
    }
 }
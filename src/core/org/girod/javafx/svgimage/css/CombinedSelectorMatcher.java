@@ -0,0 +1,121 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage.css;
+
+import java.util.List;
+import org.girod.javafx.svgimage.xml.parsers.xmltree.XMLNode;
+
+/**
+ * A selector which combines a selector with the compound selector on its right, such as <code>g &gt; rect</code>.
+ * The compound selector is checked first, so that the ancestors or siblings are only visited for the elements which
+ * could match.
+ *
+ * @since 1.10
+ */
+final class CombinedSelectorMatcher extends SelectorMatcher {
+   /**
+    * The descendant combinator.
+    */
+   static final char DESCENDANT = ' ';
+   /**
+    * The child combinator.
+    */
+   static final char CHILD = '>';
+   /**
+    * The next-sibling combinator.
+    */
+   static final char DIRECT_ADJACENT = '+';
+   /**
+    * The subsequent-sibling combinator.
+    */
+   static final char GENERAL_ADJACENT = '~';
+   private final SelectorMatcher left;
+   private final char combinator;
+   private final CompoundSelectorMatcher right;
+
+   CombinedSelectorMatcher(SelectorMatcher left, char combinator, CompoundSelectorMatcher right) {
+      this.left = left;
+      this.combinator = combinator;
+      this.right = right;
+   }
+
+   @Override
+   public CompoundSelectorMatcher getSubject() {
+      return right;
+   }
+
+   @Override
+   public int getSpecificity() {
+      return left.getSpecificity() + right.getSpecificity();
+   }
+
+   @Override
+   public boolean matches(XMLNode xmlNode) {
+      if (!right.matches(xmlNode)) {
+         return false;
+      }
+      switch (combinator) {
+         case CHILD: {
+            XMLNode parent = xmlNode.getParent();
+            return parent != null && left.matches(parent);
+         }
+         case DESCENDANT: {
+            XMLNode parent = xmlNode.getParent();
+            while (parent != null) {
+               if (left.matches(parent)) {
+                  return true;
+               }
+               parent = parent.getParent();
+            }
+            return false;
+         }
+         default: {
+            XMLNode parent = xmlNode.getParent();
+            if (parent == null) {
+               return false;
+            }
+            List<XMLNode> siblings = parent.getChildren();
+            int index = siblings.indexOf(xmlNode);
+            if (combinator == DIRECT_ADJACENT) {
+               return index > 0 && left.matches(siblings.get(index - 1));
+            }
+            for (int i = index - 1; i >= 0; i--) {
+               if (left.matches(siblings.get(i))) {
+                  return true;
+               }
+            }
+            return false;
+         }
+      }
+   }
+}
@@ -0,0 +1,280 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage.css;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringTokenizer;
+import org.girod.javafx.svgimage.xml.parsers.SVGTags;
+import org.girod.javafx.svgimage.xml.parsers.xmltree.XMLNode;
+
+/**
+ * A compound selector, which is a sequence of conditions on a single element, such as <code>rect.shape#first[x]</code>.
+ *
+ * @since 1.10
+ */
+public final class CompoundSelectorMatcher extends SelectorMatcher implements SVGTags {
+   /**
+    * The attribute exists.
+    */
+   static final char EXISTS = 0;
+   /**
+    * The attribute is equal to the value.
+    */
+   static final char EQUALS = '=';
+   /**
+    * The attribute is a whitespace-separated list containing the value.
+    */
+   static final char INCLUDES = '~';
+   /**
+    * The attribute is equal to the value or begins with the value followed by a hyphen.
+    */
+   static final char DASH_MATCH = '|';
+   /**
+    * The attribute begins with the value.
+    */
+   static final char PREFIX = '^';
+   /**
+    * The attribute ends with the value.
+    */
+   static final char SUFFIX = '$';
+   /**
+    * The attribute contains the value.
+    */
+   static final char SUBSTRING = '*';
+   private static final short FIRST_CHILD = 0;
+   private static final short LAST_CHILD = 1;
+   private static final short ONLY_CHILD = 2;
+   private String tagName = null;
+   private String id = null;
+   private final List<String> classes = new ArrayList<>();
+   private final List<AttributeCondition> attributes = new ArrayList<>();
+   private final List<Short> pseudoClasses = new ArrayList<>();
+
+   CompoundSelectorMatcher() {
+   }
+
+   void setTagName(String tagName) {
+      this.tagName = tagName;
+   }
+
+   void setId(String id) {
+      this.id = id;
+   }
+
+   void addClass(String styleClass) {
+      classes.add(styleClass);
+   }
+
+   void addAttribute(String name, char operator, String value) {
+      attributes.add(new AttributeCondition(name, operator, value));
+   }
+
+   /**
+    * Add a pseudo-class condition.
+    *
+    * @param pseudoClass the pseudo-class name
+    * @return false if the pseudo-class is not supported
+    */
+   boolean addPseudoClass(String pseudoClass) {
+      switch (pseudoClass) {
+         case "first-child":
+            pseudoClasses.add(FIRST_CHILD);
+            return true;
+         case "last-child":
+            pseudoClasses.add(LAST_CHILD);
+            return true;
+         case "only-child":
+            pseudoClasses.add(ONLY_CHILD);
+            return true;
+         default:
+            return false;
+      }
+   }
+
+   /**
+    * Return the element name of the selector.
+    *
+    * @return the element name, or null for the universal selector
+    */
+   public String getTagName() {
+      return tagName;
+   }
+
+   /**
+    * Return the id of the selector.
+    *
+    * @return the id, or null if the selector has no id condition
+    */
+   public String getId() {
+      return id;
+   }
+
+   /**
+    * Return the classes of the selector.
+    *
+    * @return the classes
+    */
+   public List<String> getClasses() {
+      return classes;
+   }
+
+   /**
+    * Return true if the selector only consists of an element name or a single class.
+    *
+    * @return true if the selector only consists of an element name or a single class
+    */
+   public boolean isSimple() {
+      if (id != null || !attributes.isEmpty() || !pseudoClasses.isEmpty()) {
+         return false;
+      } else if (tagName == null) {
+         return classes.size() == 1;
+      } else {
+         return classes.isEmpty();
+      }
+   }
+
+   @Override
+   public CompoundSelectorMatcher getSubject() {
+      return this;
+   }
+
+   @Override
+   public int getSpecificity() {
+      int specificity = 0;
+      if (id != null) {
+         specificity += ID_WEIGHT;
+      }
+      specificity += (classes.size() + attributes.size() + pseudoClasses.size()) * CLASS_WEIGHT;
+      if (tagName != null) {
+         specificity += TAG_WEIGHT;
+      }
+      return specificity;
+   }
+
+   @Override
+   public boolean matches(XMLNode xmlNode) {
+      if (tagName != null && !tagName.equals(xmlNode.getName())) {
+         return false;
+      }
+      if (id != null && !id.equals(xmlNode.getAttributeValue(ID))) {
+         return false;
+      }
+      if (!classes.isEmpty()) {
+         String styleClasses = xmlNode.getAttributeValue(CLASS);
+         if (styleClasses == null) {
+            return false;
+         }
+         for (int i = 0; i < classes.size(); i++) {
+            if (!containsToken(styleClasses, classes.get(i))) {
+               return false;
+            }
+         }
+      }
+      for (int i = 0; i < attributes.size(); i++) {
+         if (!attributes.get(i).matches(xmlNode)) {
+            return false;
+         }
+      }
+      for (int i = 0; i < pseudoClasses.size(); i++) {
+         if (!matchesPseudoClass(xmlNode, pseudoClasses.get(i))) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   private static boolean matchesPseudoClass(XMLNode xmlNode, short pseudoClass) {
+      XMLNode parent = xmlNode.getParent();
+      if (parent == null) {
+         return false;
+      }
+      List<XMLNode> siblings = parent.getChildren();
+      switch (pseudoClass) {
+         case FIRST_CHILD:
+            return siblings.get(0) == xmlNode;
+         case LAST_CHILD:
+            return siblings.get(siblings.size() - 1) == xmlNode;
+         default:
+            return siblings.size() == 1;
+      }
+   }
+
+   private static boolean containsToken(String list, String token) {
+      StringTokenizer tok = new StringTokenizer(list, " \t\n\r\f");
+      while (tok.hasMoreTokens()) {
+         if (tok.nextToken().equals(token)) {
+            return true;
+         }
+      }
+      return false;
+   }
+
+   /**
+    * A condition on the value of an attribute.
+    */
+   private static class AttributeCondition {
+      private final String name;
+      private final char operator;
+      private final String value;
+
+      private AttributeCondition(String name, char operator, String value) {
+         this.name = name;
+         this.operator = operator;
+         this.value = value;
+      }
+
+      private boolean matches(XMLNode xmlNode) {
+         String attrValue = xmlNode.getAttributeValue(name);
+         if (attrValue == null) {
+            return false;
+         }
+         switch (operator) {
+            case EXISTS:
+               return true;
+            case EQUALS:
+               return attrValue.equals(value);
+            case INCLUDES:
+               return containsToken(attrValue, value);
+            case DASH_MATCH:
+               return attrValue.equals(value) || attrValue.startsWith(value + "-");
+            case PREFIX:
+               return !value.isEmpty() && attrValue.startsWith(value);
+            case SUFFIX:
+               return !value.isEmpty() && attrValue.endsWith(value);
+            default:
+               return !value.isEmpty() && attrValue.contains(value);
+         }
+      }
+   }
+}
@@ -0,0 +1,80 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage.css;
+
+import org.girod.javafx.svgimage.xml.parsers.xmltree.XMLNode;
+
+/**
+ * A compiled CSS selector, matched against the elements of the XML tree.
+ *
+ * @since 1.10
+ */
+public abstract class SelectorMatcher {
+   /**
+    * The specificity weight of an id.
+    */
+   static final int ID_WEIGHT = 1 << 16;
+   /**
+    * The specificity weight of a class, an attribute condition or a pseudo-class.
+    */
+   static final int CLASS_WEIGHT = 1 << 8;
+   /**
+    * The specificity weight of an element name.
+    */
+   static final int TAG_WEIGHT = 1;
+
+   SelectorMatcher() {
+   }
+
+   /**
+    * Return true if the selector matches an element.
+    *
+    * @param xmlNode the element
+    * @return true if the selector matches the element
+    */
+   public abstract boolean matches(XMLNode xmlNode);
+
+   /**
+    * Return the specificity of the selector. Selectors with a higher specificity take precedence.
+    *
+    * @return the specificity
+    */
+   public abstract int getSpecificity();
+
+   /**
+    * Return the rightmost compound selector, which must match the element itself.
+    *
+    * @return the rightmost compound selector
+    */
+   public abstract CompoundSelectorMatcher getSubject();
+}
@@ -0,0 +1,133 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage.css;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.girod.javafx.svgimage.Viewport;
+import org.girod.javafx.svgimage.xml.builders.SVGStyleBuilder;
+import org.girod.javafx.svgimage.xml.specs.Styles;
+
+/**
+ * A parsed style sheet, with its compiled selectors and the declarations of its rules. The declarations are kept as
+ * text because their conversion depends on the viewport of each document. A style sheet is immutable, so it can be
+ * shared by several loadings in any thread.
+ *
+ * @since 1.10
+ */
+public final class StyleSheet {
+   private final List<Rule> rules;
+
+   StyleSheet(List<Rule> rules) {
+      this.rules = Collections.unmodifiableList(rules);
+   }
+
+   /**
+    * Return the rules of the style sheet.
+    *
+    * @return the rules
+    */
+   public List<Rule> getRules() {
+      return rules;
+   }
+
+   /**
+    * Add the rules of the style sheet to a styles collection.
+    *
+    * @param styles the styles collection
+    * @param viewport the viewport used to convert the property values
+    */
+   public void addRules(Styles styles, Viewport viewport) {
+      Iterator<Rule> it = rules.iterator();
+      while (it.hasNext()) {
+         Rule rule = it.next();
+         Styles.Rule styleRule = new Styles.Rule(rule.selectorText);
+         Iterator<Map.Entry<String, String>> it2 = rule.declarations.entrySet().iterator();
+         while (it2.hasNext()) {
+            Map.Entry<String, String> entry = it2.next();
+            SVGStyleBuilder.addStyleProperty(styleRule, entry.getKey(), entry.getValue(), viewport);
+         }
+         if (!styleRule.getProperties().isEmpty()) {
+            for (int i = 0; i < rule.selectors.size(); i++) {
+               styles.addRule(rule.selectors.get(i), styleRule);
+            }
+         }
+      }
+   }
+
+   /**
+    * A rule of a style sheet.
+    */
+   public static final class Rule {
+      private final String selectorText;
+      private final List<SelectorMatcher> selectors;
+      private final Map<String, String> declarations;
+
+      Rule(String selectorText, List<SelectorMatcher> selectors, LinkedHashMap<String, String> declarations) {
+         this.selectorText = selectorText;
+         this.selectors = Collections.unmodifiableList(new ArrayList<>(selectors));
+         this.declarations = Collections.unmodifiableMap(declarations);
+      }
+
+      /**
+       * Return the text of the selectors of the rule.
+       *
+       * @return the text of the selectors
+       */
+      public String getSelectorText() {
+         return selectorText;
+      }
+
+      /**
+       * Return the compiled selectors of the rule.
+       *
+       * @return the selectors
+       */
+      public List<SelectorMatcher> getSelectors() {
+         return selectors;
+      }
+
+      /**
+       * Return the declarations of the rule, in their declaration order.
+       *
+       * @return the declarations, with the property names as keys
+       */
+      public Map<String, String> getDeclarations() {
+         return declarations;
+      }
+   }
+}
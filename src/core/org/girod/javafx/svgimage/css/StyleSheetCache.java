@@ -0,0 +1,258 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage.css;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.girod.javafx.svgimage.xml.builders.SVGStyleBuilder;
+
+/**
+ * A cache of the external style sheets of the SVG documents, shared by all the loadings in all the threads.
+ *
+ * The cache memoizes the existence and the last modification time of each style sheet file, checking them again
+ * at most once during each check interval. The parsed {@link StyleSheet} is only created when it is requested, and
+ * is created again when the last modification time of the file has changed. As a style sheet is immutable, the same
+ * instance is returned to all the callers.
+ *
+ * The cache keeps at most {@link #getMaximumSize()} style sheets. When this size is exceeded, the style sheet which has not been
+ * used for the longest time is removed from the cache.
+ *
+ * @since 1.10
+ */
+public final class StyleSheetCache {
+   /**
+    * The default interval between two checks of the same file, in milliseconds.
+    */
+   public static final long DEFAULT_CHECK_INTERVAL = 1000L;
+   /**
+    * The default maximum number of style sheets in the cache.
+    */
+   public static final int DEFAULT_MAXIMUM_SIZE = 64;
+   private static final StyleSheetCache cache = new StyleSheetCache();
+   private volatile int maximumSize = DEFAULT_MAXIMUM_SIZE;
+   // in access order, so that the first entry is the least recently used one
+   private final Map<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+         return size() > maximumSize;
+      }
+   };
+   private volatile long checkInterval = DEFAULT_CHECK_INTERVAL;
+   private final AtomicInteger parseCount = new AtomicInteger();
+
+   private StyleSheetCache() {
+   }
+
+   /**
+    * Return the unique instance.
+    *
+    * @return the unique instance
+    */
+   public static StyleSheetCache getInstance() {
+      return cache;
+   }
+
+   /**
+    * Set the interval between two checks of the existence and last modification time of the same file. A value of
+    * 0 checks the file each time it is used.
+    *
+    * @param checkInterval the interval in milliseconds
+    */
+   public void setCheckInterval(long checkInterval) {
+      this.checkInterval = checkInterval;
+   }
+
+   /**
+    * Return the interval between two checks of the existence and last modification time of the same file.
+    *
+    * @return the interval in milliseconds
+    */
+   public long getCheckInterval() {
+      return checkInterval;
+   }
+
+   /**
+    * Set the maximum number of style sheets in the cache. The least recently used style sheets are removed from the cache if
+    * it contains more style sheets than this size.
+    *
+    * @param maximumSize the maximum number of style sheets
+    */
+   public void setMaximumSize(int maximumSize) {
+      synchronized (entries) {
+         this.maximumSize = maximumSize;
+         Iterator<String> it = entries.keySet().iterator();
+         while (entries.size() > maximumSize && it.hasNext()) {
+            it.next();
+            it.remove();
+         }
+      }
+   }
+
+   /**
+    * Return the maximum number of style sheets in the cache.
+    *
+    * @return the maximum number of style sheets
+    */
+   public int getMaximumSize() {
+      return maximumSize;
+   }
+
+   /**
+    * Return true if a style sheet file exists.
+    *
+    * @param url the style sheet URL
+    * @return true if the file exists
+    */
+   public boolean exists(URL url) {
+      return getEntry(url).exists;
+   }
+
+   /**
+    * Return the parsed style sheet of an URL. The style sheet is only parsed the first time it is requested, and
+    * each time the file has been modified.
+    *
+    * @param url the style sheet URL
+    * @return the style sheet, or null if the file does not exist, could not be parsed, or if the CSS parser library is
+    * not available
+    */
+   public StyleSheet getStyleSheet(URL url) {
+      if (!SVGStyleBuilder.isCSSParserAvailable()) {
+         return null;
+      }
+      Entry entry = getEntry(url);
+      if (!entry.exists) {
+         return null;
+      }
+      synchronized (entry) {
+         if (!entry.parsed) {
+            entry.styleSheet = parse(url);
+            entry.parsed = true;
+         }
+         return entry.styleSheet;
+      }
+   }
+
+   private StyleSheet parse(URL url) {
+      try (InputStream stream = url.openStream(); Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+         parseCount.incrementAndGet();
+         return CSSConverter.parseStyleSheet(reader);
+      } catch (IOException e) {
+         return null;
+      }
+   }
+
+   private Entry getEntry(URL url) {
+      String key = url.toExternalForm();
+      long now = System.currentTimeMillis();
+      Entry entry;
+      synchronized (entries) {
+         entry = entries.get(key);
+      }
+      if (entry != null && now - entry.checkTime < checkInterval) {
+         return entry;
+      }
+      File file = new File(url.getFile());
+      boolean exists = file.exists() && file.isFile();
+      long lastModified = exists ? file.lastModified() : 0L;
+      if (entry != null && entry.exists == exists && entry.lastModified == lastModified) {
+         entry.checkTime = now;
+         return entry;
+      }
+      // only one entry is kept if several threads check the same file, so that the file is only parsed once
+      Entry newEntry = new Entry(exists, lastModified, now);
+      synchronized (entries) {
+         Entry current = entries.get(key);
+         if (current == null || current == entry) {
+            entries.put(key, newEntry);
+            return newEntry;
+         } else {
+            return current;
+         }
+      }
+   }
+
+   /**
+    * Return the number of style sheets in the cache.
+    *
+    * @return the number of style sheets
+    */
+   public int size() {
+      synchronized (entries) {
+         return entries.size();
+      }
+   }
+
+   /**
+    * Return the number of times a style sheet has been parsed since the creation of the cache.
+    *
+    * @return the number of parsings
+    */
+   public int getParseCount() {
+      return parseCount.get();
+   }
+
+   /**
+    * Remove all the style sheets from the cache.
+    */
+   public void clear() {
+      synchronized (entries) {
+         entries.clear();
+      }
+   }
+
+   /**
+    * The state of a style sheet file.
+    */
+   private static class Entry {
+      private final boolean exists;
+      private final long lastModified;
+      private volatile long checkTime;
+      private StyleSheet styleSheet = null;
+      private boolean parsed = false;
+
+      private Entry(boolean exists, long lastModified, long checkTime) {
+         this.exists = exists;
+         this.lastModified = lastModified;
+         this.checkTime = checkTime;
+      }
+   }
+}
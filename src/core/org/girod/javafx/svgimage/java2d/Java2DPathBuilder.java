@@ -0,0 +1,256 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage.java2d;
+
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Path2D;
+import java.util.StringTokenizer;
+import org.girod.javafx.svgimage.Viewport;
+import org.girod.javafx.svgimage.xml.parsers.SVGPathParser;
+
+/**
+ * Converts the content of a SVG path to a Java2D path. The content is first resolved by the {@link SVGPathParser}, which takes care of
+ * the units and the viewport.
+ *
+ * @since 1.10
+ */
+class Java2DPathBuilder {
+   private Java2DPathBuilder() {
+   }
+
+   /**
+    * Create the Java2D path for a SVG path content.
+    *
+    * @param content the path content
+    * @param viewport the viewport
+    * @param windingRule the winding rule
+    * @return the path
+    */
+   static Path2D createPath(String content, Viewport viewport, int windingRule) {
+      Path2D.Double path = new Path2D.Double(windingRule);
+      SVGPathParser parser = new SVGPathParser();
+      parser.parse(content, viewport);
+      StringTokenizer tok = new StringTokenizer(parser.getContent(), " ");
+      double currentX = 0;
+      double currentY = 0;
+      double startX = 0;
+      double startY = 0;
+      // the last control point, used by the smooth curves
+      double ctrlX = 0;
+      double ctrlY = 0;
+      char previous = ' ';
+      boolean hasCurrentPoint = false;
+      while (tok.hasMoreTokens()) {
+         String command = tok.nextToken();
+         char c = command.charAt(0);
+         boolean isRelative = Character.isLowerCase(c);
+         double offsetX = isRelative ? currentX : 0;
+         double offsetY = isRelative ? currentY : 0;
+         char upper = Character.toUpperCase(c);
+         if (!hasCurrentPoint && upper != 'M') {
+            path.moveTo(currentX, currentY);
+            hasCurrentPoint = true;
+         }
+         switch (upper) {
+            case 'M': {
+               currentX = offsetX + nextDouble(tok);
+               currentY = offsetY + nextDouble(tok);
+               path.moveTo(currentX, currentY);
+               startX = currentX;
+               startY = currentY;
+               hasCurrentPoint = true;
+               break;
+            }
+            case 'L': {
+               currentX = offsetX + nextDouble(tok);
+               currentY = offsetY + nextDouble(tok);
+               path.lineTo(currentX, currentY);
+               break;
+            }
+            case 'H': {
+               currentX = offsetX + nextDouble(tok);
+               path.lineTo(currentX, currentY);
+               break;
+            }
+            case 'V': {
+               currentY = offsetY + nextDouble(tok);
+               path.lineTo(currentX, currentY);
+               break;
+            }
+            case 'C': {
+               double x1 = offsetX + nextDouble(tok);
+               double y1 = offsetY + nextDouble(tok);
+               ctrlX = offsetX + nextDouble(tok);
+               ctrlY = offsetY + nextDouble(tok);
+               currentX = offsetX + nextDouble(tok);
+               currentY = offsetY + nextDouble(tok);
+               path.curveTo(x1, y1, ctrlX, ctrlY, currentX, currentY);
+               break;
+            }
+            case 'S': {
+               double x1 = currentX;
+               double y1 = currentY;
+               if (previous == 'C' || previous == 'S') {
+                  x1 = 2 * currentX - ctrlX;
+                  y1 = 2 * currentY - ctrlY;
+               }
+               ctrlX = offsetX + nextDouble(tok);
+               ctrlY = offsetY + nextDouble(tok);
+               currentX = offsetX + nextDouble(tok);
+               currentY = offsetY + nextDouble(tok);
+               path.curveTo(x1, y1, ctrlX, ctrlY, currentX, currentY);
+               break;
+            }
+            case 'Q': {
+               ctrlX = offsetX + nextDouble(tok);
+               ctrlY = offsetY + nextDouble(tok);
+               currentX = offsetX + nextDouble(tok);
+               currentY = offsetY + nextDouble(tok);
+               path.quadTo(ctrlX, ctrlY, currentX, currentY);
+               break;
+            }
+            case 'T': {
+               if (previous == 'Q' || previous == 'T') {
+                  ctrlX = 2 * currentX - ctrlX;
+                  ctrlY = 2 * currentY - ctrlY;
+               } else {
+                  ctrlX = currentX;
+                  ctrlY = currentY;
+               }
+               currentX = offsetX + nextDouble(tok);
+               currentY = offsetY + nextDouble(tok);
+               path.quadTo(ctrlX, ctrlY, currentX, currentY);
+               break;
+            }
+            case 'A': {
+               double rx = nextDouble(tok);
+               double ry = nextDouble(tok);
+               double angle = nextDouble(tok);
+               boolean largeArc = nextDouble(tok) != 0;
+               boolean sweep = nextDouble(tok) != 0;
+               double x = offsetX + nextDouble(tok);
+               double y = offsetY + nextDouble(tok);
+               arcTo(path, currentX, currentY, rx, ry, angle, largeArc, sweep, x, y);
+               currentX = x;
+               currentY = y;
+               break;
+            }
+            case 'Z': {
+               path.closePath();
+               currentX = startX;
+               currentY = startY;
+               break;
+            }
+            default:
+               return path;
+         }
+         previous = upper;
+      }
+      return path;
+   }
+
+   private static double nextDouble(StringTokenizer tok) {
+      return Double.parseDouble(tok.nextToken());
+   }
+
+   /**
+    * Append an elliptical arc to a path. See the "Elliptical arc implementation notes" in the SVG specification
+    * (<a href="https://www.w3.org/TR/SVG11/implnote.html#ArcImplementationNotes">implnote.html#ArcImplementationNotes</a>).
+    */
+   private static void arcTo(Path2D path, double x0, double y0, double rx, double ry, double angle,
+      boolean largeArc, boolean sweep, double x, double y) {
+      if (x0 == x && y0 == y) {
+         return;
+      }
+      rx = Math.abs(rx);
+      ry = Math.abs(ry);
+      if (rx == 0 || ry == 0) {
+         path.lineTo(x, y);
+         return;
+      }
+      double angleRad = Math.toRadians(angle % 360d);
+      double cos = Math.cos(angleRad);
+      double sin = Math.sin(angleRad);
+      double dx2 = (x0 - x) / 2d;
+      double dy2 = (y0 - y) / 2d;
+      double x1 = cos * dx2 + sin * dy2;
+      double y1 = -sin * dx2 + cos * dy2;
+      double rxSq = rx * rx;
+      double rySq = ry * ry;
+      double x1Sq = x1 * x1;
+      double y1Sq = y1 * y1;
+      // correct out of range radii
+      double radiiCheck = x1Sq / rxSq + y1Sq / rySq;
+      if (radiiCheck > 1) {
+         double factor = Math.sqrt(radiiCheck);
+         rx = factor * rx;
+         ry = factor * ry;
+         rxSq = rx * rx;
+         rySq = ry * ry;
+      }
+      double sign = (largeArc == sweep) ? -1 : 1;
+      double sq = ((rxSq * rySq) - (rxSq * y1Sq) - (rySq * x1Sq)) / ((rxSq * y1Sq) + (rySq * x1Sq));
+      sq = (sq < 0) ? 0 : sq;
+      double coef = sign * Math.sqrt(sq);
+      double cx1 = coef * ((rx * y1) / ry);
+      double cy1 = coef * -((ry * x1) / rx);
+      double cx = (x0 + x) / 2d + (cos * cx1 - sin * cy1);
+      double cy = (y0 + y) / 2d + (sin * cx1 + cos * cy1);
+
+      double ux = (x1 - cx1) / rx;
+      double uy = (y1 - cy1) / ry;
+      double vx = (-x1 - cx1) / rx;
+      double vy = (-y1 - cy1) / ry;
+      double n = Math.sqrt(ux * ux + uy * uy);
+      double p = ux;
+      sign = (uy < 0) ? -1d : 1d;
+      double angleStart = Math.toDegrees(sign * Math.acos(p / n));
+      n = Math.sqrt((ux * ux + uy * uy) * (vx * vx + vy * vy));
+      p = ux * vx + uy * vy;
+      sign = (ux * vy - uy * vx < 0) ? -1d : 1d;
+      double angleExtent = Math.toDegrees(sign * Math.acos(Math.max(-1d, Math.min(1d, p / n))));
+      if (!sweep && angleExtent > 0) {
+         angleExtent -= 360d;
+      } else if (sweep && angleExtent < 0) {
+         angleExtent += 360d;
+      }
+      angleExtent %= 360d;
+      angleStart %= 360d;
+
+      // Arc2D angles are measured counter-clockwise with the y axis pointing up
+      Arc2D.Double arc = new Arc2D.Double(cx - rx, cy - ry, rx * 2d, ry * 2d, -angleStart, -angleExtent, Arc2D.OPEN);
+      AffineTransform transform = AffineTransform.getRotateInstance(angleRad, cx, cy);
+      path.append(transform.createTransformedShape(arc), true);
+   }
+}
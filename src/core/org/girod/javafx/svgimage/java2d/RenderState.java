@@ -0,0 +1,209 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage.java2d;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import org.girod.javafx.svgimage.xml.parsers.ParserUtils;
+import org.girod.javafx.svgimage.xml.parsers.SVGTags;
+import org.girod.javafx.svgimage.xml.parsers.xmltree.XMLNode;
+
+/**
+ * The presentation properties which apply to an element during a Java2D rendering. A state is immutable, a new state
+ * is created for each element from the state of its parent, so that the XML tree is never modified during the rendering.
+ *
+ * @since 1.10
+ */
+class RenderState implements SVGTags {
+   /**
+    * The color property, used by the "currentColor" value.
+    */
+   static final String COLOR = "color";
+   /**
+    * The display property.
+    */
+   static final String DISPLAY = "display";
+   private static final Set<String> INHERITED;
+   private static final Set<String> NOT_INHERITED;
+   private final Map<String, String> properties;
+
+   static {
+      Set<String> set = new HashSet<>();
+      set.add(COLOR);
+      set.add(CLIP_RULE);
+      set.add(FILL);
+      set.add(STROKE);
+      set.add(STOP_COLOR);
+      set.add(FILL_OPACITY);
+      set.add(STROKE_OPACITY);
+      set.add(FILL_RULE);
+      set.add(FONT_FAMILY);
+      set.add(FONT_SIZE);
+      set.add(FONT_WEIGHT);
+      set.add(FONT_STYLE);
+      set.add(STROKE_DASHARRAY);
+      set.add(STROKE_DASHOFFSET);
+      set.add(STROKE_LINECAP);
+      set.add(STROKE_LINEJOIN);
+      set.add(STROKE_MITERLIMIT);
+      set.add(STROKE_WIDTH);
+      set.add(TEXT_ANCHOR);
+      set.add(VISIBILITY);
+      INHERITED = Collections.unmodifiableSet(set);
+      set = new HashSet<>();
+      set.add(OPACITY);
+      set.add(DISPLAY);
+      set.add(STOP_OPACITY);
+      NOT_INHERITED = Collections.unmodifiableSet(set);
+   }
+
+   private RenderState(Map<String, String> properties) {
+      this.properties = properties;
+   }
+
+   /**
+    * Return the initial state.
+    *
+    * @return the initial state
+    */
+   static RenderState initial() {
+      return new RenderState(Collections.emptyMap());
+   }
+
+   /**
+    * Create the state of an element. The inherited properties of this state are overriden by the presentation attributes
+    * of the element, which are themselves overriden by its "style" attribute.
+    *
+    * @param node the element
+    * @return the state of the element
+    */
+   RenderState derive(XMLNode node) {
+      Map<String, String> map = new HashMap<>();
+      Iterator<Map.Entry<String, String>> it = properties.entrySet().iterator();
+      while (it.hasNext()) {
+         Map.Entry<String, String> entry = it.next();
+         if (INHERITED.contains(entry.getKey())) {
+            map.put(entry.getKey(), entry.getValue());
+         }
+      }
+      it = node.getAttributes().entrySet().iterator();
+      while (it.hasNext()) {
+         Map.Entry<String, String> entry = it.next();
+         setProperty(map, entry.getKey(), entry.getValue());
+      }
+      it = ParserUtils.getStyles(node).entrySet().iterator();
+      while (it.hasNext()) {
+         Map.Entry<String, String> entry = it.next();
+         setProperty(map, entry.getKey().trim(), entry.getValue().trim());
+      }
+      return new RenderState(map);
+   }
+
+   private void setProperty(Map<String, String> map, String key, String value) {
+      if (INHERITED.contains(key) || NOT_INHERITED.contains(key)) {
+         if (value.equals(INHERIT)) {
+            String parentValue = properties.get(key);
+            if (parentValue == null) {
+               map.remove(key);
+            } else {
+               map.put(key, parentValue);
+            }
+         } else {
+            map.put(key, value);
+         }
+      }
+   }
+
+   /**
+    * Return the value of a property.
+    *
+    * @param key the property name
+    * @return the value, or null if the property is not defined
+    */
+   String get(String key) {
+      return properties.get(key);
+   }
+
+   /**
+    * Return the value of a property.
+    *
+    * @param key the property name
+    * @param defaultValue the default value
+    * @return the value, or the default value if the property is not defined
+    */
+   String get(String key, String defaultValue) {
+      String value = properties.get(key);
+      return value == null ? defaultValue : value;
+   }
+
+   /**
+    * Return the value of an opacity property.
+    *
+    * @param key the property name
+    * @return the opacity, 1 if the property is not defined
+    */
+   double getOpacity(String key) {
+      String value = properties.get(key);
+      if (value == null) {
+         return 1d;
+      }
+      double opacity = ParserUtils.parseOpacity(value);
+      if (opacity < 0) {
+         return 1d;
+      }
+      return Math.min(opacity, 1d);
+   }
+
+   /**
+    * Return true if the element is not displayed.
+    *
+    * @return true if the element is not displayed
+    */
+   boolean isDisplayNone() {
+      return NONE.equals(properties.get(DISPLAY));
+   }
+
+   /**
+    * Return true if the element is visible.
+    *
+    * @return true if the element is visible
+    */
+   boolean isVisible() {
+      String value = properties.get(VISIBILITY);
+      return value == null || ParserUtils.parseVisibility(value);
+   }
+}
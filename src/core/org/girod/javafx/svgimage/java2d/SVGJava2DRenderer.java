@@ -0,0 +1,989 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage.java2d;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.LinearGradientPaint;
+import java.awt.MultipleGradientPaint;
+import java.awt.Paint;
+import java.awt.RadialGradientPaint;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.StringTokenizer;
+import javafx.scene.transform.Transform;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import org.girod.javafx.svgimage.GlobalConfig;
+import org.girod.javafx.svgimage.Viewbox;
+import org.girod.javafx.svgimage.Viewport;
+import org.girod.javafx.svgimage.xml.parsers.LengthParser;
+import org.girod.javafx.svgimage.xml.parsers.ParserUtils;
+import org.girod.javafx.svgimage.xml.parsers.SVGTags;
+import org.girod.javafx.svgimage.xml.parsers.TransformUtils;
+import org.girod.javafx.svgimage.xml.parsers.xmltree.ElementNode;
+import org.girod.javafx.svgimage.xml.parsers.xmltree.XMLNode;
+import org.girod.javafx.svgimage.xml.parsers.xmltree.XMLRoot;
+import org.girod.javafx.svgimage.xml.parsers.xmltree.XMLTextNode;
+import org.girod.javafx.svgimage.xml.parsers.xmltree.XMLTreeHandler;
+import org.xml.sax.SAXException;
+
+/**
+ * Renders a SVG document directly on a Java2D {@link Graphics2D}, without creating any JavaFX Node. The XML tree
+ * produced by the {@link XMLTreeHandler} is walked and the geometry, paints, strokes and transforms are expressed as
+ * Java2D calls, reusing the parsers of the library for the lengths, colors, paths and transforms.
+ *
+ * <h2>Threading</h2>
+ * The renderer does not need the JavaFX platform to be started, and can be used from any thread. A renderer never modifies
+ * its XML tree, so the same instance can be used to render the document concurrently on several threads.
+ *
+ * <h2>Supported subset</h2>
+ * The renderer supports:
+ * <ul>
+ * <li>The <code>svg</code> (including nested elements), <code>g</code>, <code>a</code>, <code>switch</code> and
+ * <code>use</code> elements</li>
+ * <li>The <code>rect</code>, <code>circle</code>, <code>ellipse</code>, <code>line</code>, <code>polyline</code>,
+ * <code>polygon</code> and <code>path</code> elements</li>
+ * <li>The <code>text</code> and <code>tspan</code> elements</li>
+ * <li>Solid colors, linear gradients and radial gradients</li>
+ * <li>The stroke, opacity, visibility, display and transform properties, as attributes or in the <code>style</code> attribute</li>
+ * </ul>
+ * CSS stylesheets and classes, clipping, masks, filters, markers, images and animations are not supported. The opacity of
+ * a group is applied to each of its children rather than to the group as a whole.
+ *
+ * @since 1.10
+ */
+public class SVGJava2DRenderer implements SVGTags {
+   /**
+    * The default width if the document has neither a width nor a viewBox.
+    */
+   private static final double DEFAULT_WIDTH = 300d;
+   /**
+    * The default height if the document has neither a height nor a viewBox.
+    */
+   private static final double DEFAULT_HEIGHT = 150d;
+   /**
+    * The maximum depth of <code>use</code> elements, to protect against circular references.
+    */
+   private static final int MAX_USE_DEPTH = 16;
+   private static final String A = "a";
+   private static final String SWITCH = "switch";
+   private static final String CURRENT_COLOR = "currentColor";
+   private final XMLRoot root;
+   private final Viewport viewport;
+   private final Map<String, XMLNode> elementsByID;
+   private boolean antialiasing = true;
+
+   /**
+    * Create a renderer for an already parsed XML tree. The tree must not be modified after the creation of the renderer.
+    *
+    * @param root the root of the XML tree
+    * @param dpi the dpi
+    */
+   public SVGJava2DRenderer(XMLRoot root, double dpi) {
+      this.root = root;
+      this.viewport = ParserUtils.parseViewport(dpi, root, false);
+      Map<String, XMLNode> map = new HashMap<>();
+      collectElements(root, map);
+      this.elementsByID = Collections.unmodifiableMap(map);
+   }
+
+   /**
+    * Create a renderer for an already parsed XML tree, using a dpi of 96. The tree must not be modified after the
+    * creation of the renderer.
+    *
+    * @param root the root of the XML tree
+    */
+   public SVGJava2DRenderer(XMLRoot root) {
+      this(root, 96d);
+   }
+
+   /**
+    * Load a SVG document.
+    *
+    * @param url the URL of the document
+    * @return the renderer, or null if the document could not be parsed
+    */
+   public static SVGJava2DRenderer load(URL url) {
+      XMLRoot xmlRoot = parse(url, null);
+      return xmlRoot != null ? new SVGJava2DRenderer(xmlRoot) : null;
+   }
+
+   /**
+    * Load a SVG document.
+    *
+    * @param file the file of the document
+    * @return the renderer, or null if the document could not be parsed
+    */
+   public static SVGJava2DRenderer load(File file) {
+      try {
+         return load(file.toURI().toURL());
+      } catch (MalformedURLException ex) {
+         GlobalConfig.getInstance().handleParsingException(ex);
+         return null;
+      }
+   }
+
+   /**
+    * Load a SVG document from its content.
+    *
+    * @param content the content of the document
+    * @return the renderer, or null if the document could not be parsed
+    */
+   public static SVGJava2DRenderer load(String content) {
+      XMLRoot xmlRoot = parse(null, content);
+      return xmlRoot != null ? new SVGJava2DRenderer(xmlRoot) : null;
+   }
+
+   private static XMLRoot parse(URL url, String content) {
+      SAXParserFactory saxfactory = SAXParserFactory.newInstance();
+      try {
+         saxfactory.setFeature("http://xml.org/sax/features/resolve-dtd-uris", false);
+         saxfactory.setFeature("http://apache.org/xml/features/nonvalidating/load-dtd-grammar", false);
+         saxfactory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+         SAXParser parser = saxfactory.newSAXParser();
+         XMLTreeHandler handler = new XMLTreeHandler(url);
+         if (url != null) {
+            try (InputStream stream = url.openStream()) {
+               parser.parse(stream, handler);
+            }
+         } else {
+            InputStream stream = new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+            parser.parse(stream, handler);
+         }
+         XMLRoot xmlRoot = handler.getRoot();
+         if (xmlRoot == null || !xmlRoot.getName().equals(SVG)) {
+            GlobalConfig.getInstance().handleParsingError("The root element is not a svg element");
+            return null;
+         }
+         return xmlRoot;
+      } catch (ParserConfigurationException | SAXException | IOException ex) {
+         GlobalConfig.getInstance().handleParsingException(ex);
+         return null;
+      }
+   }
+
+   private static void collectElements(XMLNode node, Map<String, XMLNode> map) {
+      if (node.hasAttribute(ID)) {
+         map.put(node.getAttributeValue(ID), node);
+      }
+      Iterator<XMLNode> it = node.getChildren().iterator();
+      while (it.hasNext()) {
+         collectElements(it.next(), map);
+      }
+   }
+
+   /**
+    * Set if the rendering uses antialiasing. The default is true. This must be set before the renderer is shared between threads.
+    *
+    * @param antialiasing true if the rendering uses antialiasing
+    */
+   public void setAntialiasing(boolean antialiasing) {
+      this.antialiasing = antialiasing;
+   }
+
+   /**
+    * Return true if the rendering uses antialiasing.
+    *
+    * @return true if the rendering uses antialiasing
+    */
+   public boolean isAntialiasing() {
+      return antialiasing;
+   }
+
+   /**
+    * Return the root of the XML tree.
+    *
+    * @return the root
+    */
+   public XMLRoot getRoot() {
+      return root;
+   }
+
+   /**
+    * Return the viewport of the document.
+    *
+    * @return the viewport
+    */
+   public Viewport getViewport() {
+      return viewport;
+   }
+
+   /**
+    * Return the width of the document, before any scaling.
+    *
+    * @return the width
+    */
+   public double getWidth() {
+      double width = viewport.getBestWidth();
+      return width > 0 ? width : DEFAULT_WIDTH;
+   }
+
+   /**
+    * Return the height of the document, before any scaling.
+    *
+    * @return the height
+    */
+   public double getHeight() {
+      double height = viewport.getBestHeight();
+      return height > 0 ? height : DEFAULT_HEIGHT;
+   }
+
+   /**
+    * Render the document on a Graphics2D. The state of the Graphics2D is not modified.
+    *
+    * @param g2d the Graphics2D
+    */
+   public void render(Graphics2D g2d) {
+      render(g2d, 1d);
+   }
+
+   /**
+    * Render the document on a Graphics2D. The state of the Graphics2D is not modified.
+    *
+    * @param g2d the Graphics2D
+    * @param scale the scale
+    */
+   public void render(Graphics2D g2d, double scale) {
+      Graphics2D g = (Graphics2D) g2d.create();
+      try {
+         if (antialiasing) {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+         }
+         g.scale(scale, scale);
+         RenderState state = RenderState.initial().derive(root);
+         if (state.isDisplayNone()) {
+            return;
+         }
+         applyOpacity(g, state.getOpacity(OPACITY));
+         applyViewbox(g, viewport);
+         renderChildren(g, root, state, 0);
+      } finally {
+         g.dispose();
+      }
+   }
+
+   /**
+    * Render the document in an image.
+    *
+    * @param scale the scale
+    * @return the image
+    */
+   public BufferedImage toBufferedImage(double scale) {
+      int width = Math.max(1, (int) Math.ceil(getWidth() * scale));
+      int height = Math.max(1, (int) Math.ceil(getHeight() * scale));
+      BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+      Graphics2D g2d = image.createGraphics();
+      try {
+         render(g2d, scale);
+      } finally {
+         g2d.dispose();
+      }
+      return image;
+   }
+
+   /**
+    * Render the document in an image of a specified width. The height of the image keeps the aspect ratio of the document.
+    *
+    * @param width the width of the image
+    * @return the image
+    */
+   public BufferedImage toBufferedImageForWidth(double width) {
+      return toBufferedImage(width / getWidth());
+   }
+
+   private void applyViewbox(Graphics2D g, Viewbox viewbox) {
+      double viewboxWidth = viewbox.getViewboxWidth();
+      double viewboxHeight = viewbox.getViewboxHeight();
+      if (viewboxWidth <= 0 || viewboxHeight <= 0) {
+         return;
+      }
+      if (viewbox.hasWidthAndHeight()) {
+         double scaleX = viewbox.getWidth() / viewboxWidth;
+         double scaleY = viewbox.isPreservingAspectRatio() ? scaleX : viewbox.getHeight() / viewboxHeight;
+         g.scale(scaleX, scaleY);
+      }
+      g.translate(-viewbox.getViewboxX(), -viewbox.getViewboxY());
+   }
+
+   private void applyOpacity(Graphics2D g, double opacity) {
+      if (opacity >= 1d) {
+         return;
+      }
+      float alpha = (float) Math.max(0d, opacity);
+      Composite composite = g.getComposite();
+      if (composite instanceof AlphaComposite) {
+         AlphaComposite alphaComposite = (AlphaComposite) composite;
+         g.setComposite(alphaComposite.derive(alphaComposite.getAlpha() * alpha));
+      } else {
+         g.setComposite(AlphaComposite.SrcOver.derive(alpha));
+      }
+   }
+
+   private AffineTransform getTransform(XMLNode node) {
+      if (!node.hasAttribute(TRANSFORM)) {
+         return null;
+      }
+      List<Transform> transforms = TransformUtils.extractTransforms(node.getAttributeValue(TRANSFORM), viewport);
+      if (transforms.isEmpty()) {
+         return null;
+      }
+      AffineTransform affineTransform = new AffineTransform();
+      Iterator<Transform> it = transforms.iterator();
+      while (it.hasNext()) {
+         affineTransform.concatenate(toAffineTransform(it.next()));
+      }
+      return affineTransform;
+   }
+
+   private static AffineTransform toAffineTransform(Transform transform) {
+      return new AffineTransform(transform.getMxx(), transform.getMyx(), transform.getMxy(), transform.getMyy(),
+         transform.getTx(), transform.getTy());
+   }
+
+   private void renderChildren(Graphics2D g, XMLNode node, RenderState state, int useDepth) {
+      Iterator<XMLNode> it = node.getChildren().iterator();
+      while (it.hasNext()) {
+         renderNode(g, it.next(), state, useDepth);
+      }
+   }
+
+   private void renderNode(Graphics2D g2d, XMLNode node, RenderState parentState, int useDepth) {
+      String name = node.getName();
+      switch (name) {
+         case SVG:
+         case G:
+         case A:
+         case SWITCH:
+         case USE:
+         case TEXT:
+         case RECT:
+         case CIRCLE:
+         case ELLIPSE:
+         case LINE:
+         case POLYLINE:
+         case POLYGON:
+         case PATH:
+            break;
+         default:
+            return;
+      }
+      RenderState state = parentState.derive(node);
+      if (state.isDisplayNone()) {
+         return;
+      }
+      Graphics2D g = (Graphics2D) g2d.create();
+      try {
+         AffineTransform transform = getTransform(node);
+         if (transform != null) {
+            g.transform(transform);
+         }
+         applyOpacity(g, state.getOpacity(OPACITY));
+         switch (name) {
+            case SVG:
+               renderNestedSVG(g, node, state, useDepth);
+               break;
+            case G:
+            case A:
+            case SWITCH:
+               renderChildren(g, node, state, useDepth);
+               break;
+            case USE:
+               renderUse(g, node, state, useDepth);
+               break;
+            case TEXT:
+               renderText(g, node, state);
+               break;
+            default:
+               Shape shape = createShape(node, state);
+               if (shape != null) {
+                  paintShape(g, shape, state, !name.equals(LINE));
+               }
+               break;
+         }
+      } finally {
+         g.dispose();
+      }
+   }
+
+   private void renderNestedSVG(Graphics2D g, XMLNode node, RenderState state, int useDepth) {
+      Viewport nestedViewport = ParserUtils.parseViewport(viewport.getDPI(), node, true);
+      g.translate(nestedViewport.getX(), nestedViewport.getY());
+      applyViewbox(g, nestedViewport);
+      renderChildren(g, node, state, useDepth);
+   }
+
+   private void renderUse(Graphics2D g, XMLNode node, RenderState state, int useDepth) {
+      if (useDepth >= MAX_USE_DEPTH) {
+         return;
+      }
+      String href = node.hasAttribute(HREF) ? node.getAttributeValue(HREF) : node.getAttributeValue(XLINK_HREF);
+      if (href == null) {
+         return;
+      }
+      XMLNode target = elementsByID.get(ParserUtils.getURL(href));
+      if (target == null) {
+         return;
+      }
+      double x = node.getPositionValue(X, true, null, viewport, 0);
+      double y = node.getPositionValue(Y, false, null, viewport, 0);
+      g.translate(x, y);
+      if (target.getName().equals(SYMBOL)) {
+         RenderState symbolState = state.derive(target);
+         if (node.hasAttribute(WIDTH) && node.hasAttribute(HEIGHT) && target.hasAttribute(VIEWBOX)) {
+            Viewbox viewbox = ParserUtils.parseViewbox(node, viewport);
+            Viewport symbolViewport = ParserUtils.parseViewport(viewport.getDPI(), target, true);
+            if (viewbox != null) {
+               viewbox.setViewbox(symbolViewport.getViewboxX(), symbolViewport.getViewboxY(),
+                  symbolViewport.getViewboxWidth(), symbolViewport.getViewboxHeight());
+               viewbox.setPreserveAspectRatio(symbolViewport.isPreservingAspectRatio());
+               applyViewbox(g, viewbox);
+            }
+         }
+         renderChildren(g, target, symbolState, useDepth + 1);
+      } else {
+         renderNode(g, target, state, useDepth + 1);
+      }
+   }
+
+   private Shape createShape(XMLNode node, RenderState state) {
+      switch (node.getName()) {
+         case RECT: {
+            double x = node.getPositionValue(X, true, null, viewport, 0);
+            double y = node.getPositionValue(Y, false, null, viewport, 0);
+            double width = node.getLengthValue(WIDTH, true, null, viewport, 0);
+            double height = node.getLengthValue(HEIGHT, false, null, viewport, 0);
+            if (width <= 0 || height <= 0) {
+               return null;
+            }
+            double rx = node.getLengthValue(RX, true, null, viewport, -1);
+            double ry = node.getLengthValue(RY, false, null, viewport, -1);
+            if (rx < 0) {
+               rx = ry;
+            } else if (ry < 0) {
+               ry = rx;
+            }
+            if (rx > 0 && ry > 0) {
+               rx = Math.min(rx, width / 2d);
+               ry = Math.min(ry, height / 2d);
+               return new RoundRectangle2D.Double(x, y, width, height, rx * 2d, ry * 2d);
+            } else {
+               return new Rectangle2D.Double(x, y, width, height);
+            }
+         }
+         case CIRCLE: {
+            double cx = node.getPositionValue(CX, true, null, viewport, 0);
+            double cy = node.getPositionValue(CY, false, null, viewport, 0);
+            double r = node.getLengthValue(R, true, null, viewport, 0);
+            if (r <= 0) {
+               return null;
+            }
+            return new Ellipse2D.Double(cx - r, cy - r, r * 2d, r * 2d);
+         }
+         case ELLIPSE: {
+            double cx = node.getPositionValue(CX, true, null, viewport, 0);
+            double cy = node.getPositionValue(CY, false, null, viewport, 0);
+            double rx = node.getLengthValue(RX, true, null, viewport, 0);
+            double ry = node.getLengthValue(RY, false, null, viewport, 0);
+            if (rx <= 0 || ry <= 0) {
+               return null;
+            }
+            return new Ellipse2D.Double(cx - rx, cy - ry, rx * 2d, ry * 2d);
+         }
+         case LINE: {
+            double x1 = node.getPositionValue(X1, true, null, viewport, 0);
+            double y1 = node.getPositionValue(Y1, false, null, viewport, 0);
+            double x2 = node.getPositionValue(X2, true, null, viewport, 0);
+            double y2 = node.getPositionValue(Y2, false, null, viewport, 0);
+            return new Line2D.Double(x1, y1, x2, y2);
+         }
+         case POLYLINE:
+         case POLYGON:
+            return createPolygon(node, state, node.getName().equals(POLYGON));
+         case PATH: {
+            if (!node.hasAttribute(D)) {
+               return null;
+            }
+            try {
+               return Java2DPathBuilder.createPath(node.getAttributeValue(D), viewport, getWindingRule(state));
+            } catch (RuntimeException ex) {
+               GlobalConfig.getInstance().handleParsingException(ex);
+               return null;
+            }
+         }
+         default:
+            return null;
+      }
+   }
+
+   private Shape createPolygon(XMLNode node, RenderState state, boolean isClosed) {
+      if (!node.hasAttribute(POINTS)) {
+         return null;
+      }
+      Path2D.Double path = new Path2D.Double(getWindingRule(state));
+      StringTokenizer tok = new StringTokenizer(node.getAttributeValue(POINTS), " ,\t\n\r");
+      boolean isFirst = true;
+      while (tok.countTokens() >= 2) {
+         double x = LengthParser.parseLength(tok.nextToken(), true, viewport);
+         double y = LengthParser.parseLength(tok.nextToken(), false, viewport);
+         if (isFirst) {
+            path.moveTo(x, y);
+            isFirst = false;
+         } else {
+            path.lineTo(x, y);
+         }
+      }
+      if (isFirst) {
+         return null;
+      }
+      if (isClosed) {
+         path.closePath();
+      }
+      return path;
+   }
+
+   private static int getWindingRule(RenderState state) {
+      return EVEN_ODD.equals(state.get(FILL_RULE)) ? Path2D.WIND_EVEN_ODD : Path2D.WIND_NON_ZERO;
+   }
+
+   private void paintShape(Graphics2D g, Shape shape, RenderState state, boolean canFill) {
+      if (!state.isVisible()) {
+         return;
+      }
+      if (canFill) {
+         Paint fill = getPaint(state, state.get(FILL, "black"), state.getOpacity(FILL_OPACITY), shape);
+         if (fill != null) {
+            g.setPaint(fill);
+            g.fill(shape);
+         }
+      }
+      Paint stroke = getPaint(state, state.get(STROKE), state.getOpacity(STROKE_OPACITY), shape);
+      if (stroke != null) {
+         BasicStroke basicStroke = createStroke(state);
+         if (basicStroke != null) {
+            g.setPaint(stroke);
+            g.setStroke(basicStroke);
+            g.draw(shape);
+         }
+      }
+   }
+
+   private BasicStroke createStroke(RenderState state) {
+      float width = (float) LengthParser.parseLineWidth(state.get(STROKE_WIDTH, "1"), viewport);
+      if (width <= 0) {
+         return null;
+      }
+      int cap = BasicStroke.CAP_BUTT;
+      String capValue = state.get(STROKE_LINECAP, BUTT);
+      if (capValue.equals(ROUND)) {
+         cap = BasicStroke.CAP_ROUND;
+      } else if (capValue.equals(SQUARE)) {
+         cap = BasicStroke.CAP_SQUARE;
+      }
+      int join = BasicStroke.JOIN_MITER;
+      String joinValue = state.get(STROKE_LINEJOIN, MITER);
+      if (joinValue.equals(ROUND)) {
+         join = BasicStroke.JOIN_ROUND;
+      } else if (joinValue.equals(BEVEL)) {
+         join = BasicStroke.JOIN_BEVEL;
+      }
+      float miterLimit = 4f;
+      if (state.get(STROKE_MITERLIMIT) != null) {
+         miterLimit = (float) Math.max(1d, ParserUtils.parseDoubleProtected(state.get(STROKE_MITERLIMIT)));
+      }
+      float[] dashes = getDashArray(state);
+      float dashOffset = 0;
+      if (dashes != null && state.get(STROKE_DASHOFFSET) != null) {
+         dashOffset = (float) LengthParser.parseLength(state.get(STROKE_DASHOFFSET), true, viewport);
+      }
+      return new BasicStroke(width, cap, join, miterLimit, dashes, dashOffset);
+   }
+
+   private float[] getDashArray(RenderState state) {
+      List<Double> list = ParserUtils.parseDashArray(state.get(STROKE_DASHARRAY), viewport);
+      if (list == null || list.isEmpty()) {
+         return null;
+      }
+      int count = list.size() % 2 == 0 ? list.size() : list.size() * 2;
+      float[] dashes = new float[count];
+      double sum = 0;
+      for (int i = 0; i < count; i++) {
+         double dash = list.get(i % list.size());
+         if (dash < 0) {
+            return null;
+         }
+         dashes[i] = (float) dash;
+         sum += dash;
+      }
+      return sum > 0 ? dashes : null;
+   }
+
+   private Paint getPaint(RenderState state, String value, double opacity, Shape shape) {
+      if (value == null || value.equals(NONE)) {
+         return null;
+      }
+      if (value.startsWith("url(")) {
+         XMLNode paintNode = elementsByID.get(ParserUtils.getURL(value));
+         if (paintNode == null) {
+            return null;
+         }
+         switch (paintNode.getName()) {
+            case LINEAR_GRADIENT:
+            case RADIAL_GRADIENT:
+               return createGradient(paintNode, shape.getBounds2D(), opacity);
+            default:
+               return null;
+         }
+      }
+      return getColor(state, value, opacity);
+   }
+
+   private static Color getColor(RenderState state, String value, double opacity) {
+      if (value.equals(CURRENT_COLOR)) {
+         value = state.get(RenderState.COLOR, "black");
+      }
+      javafx.scene.paint.Color color = ParserUtils.getColor(value);
+      if (color == null) {
+         return null;
+      }
+      float alpha = (float) Math.max(0d, Math.min(1d, color.getOpacity() * opacity));
+      return new Color((float) color.getRed(), (float) color.getGreen(), (float) color.getBlue(), alpha);
+   }
+
+   /**
+    * Return the value of a gradient attribute, following the gradients referenced by the href attribute if necessary.
+    */
+   private String getGradientAttribute(XMLNode gradientNode, String attrName) {
+      XMLNode node = gradientNode;
+      for (int i = 0; i < MAX_USE_DEPTH && node != null; i++) {
+         if (node.hasAttribute(attrName)) {
+            return node.getAttributeValue(attrName);
+         }
+         node = getReferencedGradient(node);
+      }
+      return null;
+   }
+
+   private List<XMLNode> getGradientStops(XMLNode gradientNode) {
+      XMLNode node = gradientNode;
+      for (int i = 0; i < MAX_USE_DEPTH && node != null; i++) {
+         List<XMLNode> stops = new ArrayList<>();
+         Iterator<XMLNode> it = node.getChildren().iterator();
+         while (it.hasNext()) {
+            XMLNode child = it.next();
+            if (child.getName().equals(STOP)) {
+               stops.add(child);
+            }
+         }
+         if (!stops.isEmpty()) {
+            return stops;
+         }
+         node = getReferencedGradient(node);
+      }
+      return Collections.emptyList();
+   }
+
+   private XMLNode getReferencedGradient(XMLNode node) {
+      String href = node.hasAttribute(HREF) ? node.getAttributeValue(HREF) : node.getAttributeValue(XLINK_HREF);
+      if (href == null) {
+         return null;
+      }
+      XMLNode referenced = elementsByID.get(ParserUtils.getURL(href));
+      if (referenced != null && (referenced.getName().equals(LINEAR_GRADIENT) || referenced.getName().equals(RADIAL_GRADIENT))) {
+         return referenced;
+      }
+      return null;
+   }
+
+   private Paint createGradient(XMLNode gradientNode, Rectangle2D bounds, double opacity) {
+      List<XMLNode> stops = getGradientStops(gradientNode);
+      if (stops.isEmpty()) {
+         return null;
+      }
+      float[] fractions = new float[stops.size()];
+      Color[] colors = new Color[stops.size()];
+      int count = 0;
+      float previous = 0f;
+      Iterator<XMLNode> it = stops.iterator();
+      while (it.hasNext()) {
+         XMLNode stop = it.next();
+         RenderState stopState = RenderState.initial().derive(stop);
+         float fraction = (float) Math.max(0d, Math.min(1d, parseGradientFraction(stop.getAttributeValue(OFFSET))));
+         if (count > 0 && fraction <= previous) {
+            // the fractions of a Java2D gradient must be strictly increasing
+            fraction = Math.nextUp(previous);
+            if (fraction > 1f) {
+               break;
+            }
+         }
+         Color color = getColor(stopState, stopState.get(STOP_COLOR, "black"), stopState.getOpacity(STOP_OPACITY) * opacity);
+         fractions[count] = fraction;
+         colors[count] = color != null ? color : new Color(0, 0, 0, 0);
+         previous = fraction;
+         count++;
+      }
+      if (count == 1) {
+         return colors[0];
+      }
+      if (count < fractions.length) {
+         float[] _fractions = new float[count];
+         Color[] _colors = new Color[count];
+         System.arraycopy(fractions, 0, _fractions, 0, count);
+         System.arraycopy(colors, 0, _colors, 0, count);
+         fractions = _fractions;
+         colors = _colors;
+      }
+      boolean isBoundingBox = !USERSPACE_ON_USE.equals(getGradientAttribute(gradientNode, GRADIENT_UNITS));
+      AffineTransform transform = new AffineTransform();
+      if (isBoundingBox) {
+         if (bounds.getWidth() <= 0 || bounds.getHeight() <= 0) {
+            return null;
+         }
+         transform.translate(bounds.getX(), bounds.getY());
+         transform.scale(bounds.getWidth(), bounds.getHeight());
+      }
+      String gradientTransform = getGradientAttribute(gradientNode, GRADIENT_TRANSFORM);
+      if (gradientTransform != null) {
+         Iterator<Transform> it2 = TransformUtils.extractTransforms(gradientTransform, viewport).iterator();
+         while (it2.hasNext()) {
+            transform.concatenate(toAffineTransform(it2.next()));
+         }
+      }
+      MultipleGradientPaint.CycleMethod cycleMethod = MultipleGradientPaint.CycleMethod.NO_CYCLE;
+      String spreadMethod = getGradientAttribute(gradientNode, SPREAD_METHOD);
+      if (SPREAD_REFLECT.equals(spreadMethod)) {
+         cycleMethod = MultipleGradientPaint.CycleMethod.REFLECT;
+      } else if (SPREAD_REPEAT.equals(spreadMethod)) {
+         cycleMethod = MultipleGradientPaint.CycleMethod.REPEAT;
+      }
+      if (gradientNode.getName().equals(LINEAR_GRADIENT)) {
+         double x1 = getGradientCoordinate(gradientNode, X1, "0%", true, isBoundingBox);
+         double y1 = getGradientCoordinate(gradientNode, Y1, "0%", false, isBoundingBox);
+         double x2 = getGradientCoordinate(gradientNode, X2, "100%", true, isBoundingBox);
+         double y2 = getGradientCoordinate(gradientNode, Y2, "0%", false, isBoundingBox);
+         if (x1 == x2 && y1 == y2) {
+            return colors[colors.length - 1];
+         }
+         return new LinearGradientPaint(new Point2D.Double(x1, y1), new Point2D.Double(x2, y2), fractions, colors, cycleMethod,
+            MultipleGradientPaint.ColorSpaceType.SRGB, transform);
+      } else {
+         double cx = getGradientCoordinate(gradientNode, CX, "50%", true, isBoundingBox);
+         double cy = getGradientCoordinate(gradientNode, CY, "50%", false, isBoundingBox);
+         double r = getGradientCoordinate(gradientNode, R, "50%", true, isBoundingBox);
+         String fxValue = getGradientAttribute(gradientNode, FX);
+         String fyValue = getGradientAttribute(gradientNode, FY);
+         double fx = fxValue != null ? getGradientCoordinate(gradientNode, FX, fxValue, true, isBoundingBox) : cx;
+         double fy = fyValue != null ? getGradientCoordinate(gradientNode, FY, fyValue, false, isBoundingBox) : cy;
+         if (r <= 0) {
+            return colors[colors.length - 1];
+         }
+         return new RadialGradientPaint(new Point2D.Double(cx, cy), (float) r, new Point2D.Double(fx, fy), fractions, colors, cycleMethod,
+            MultipleGradientPaint.ColorSpaceType.SRGB, transform);
+      }
+   }
+
+   private double getGradientCoordinate(XMLNode gradientNode, String attrName, String defaultValue, boolean isWidth, boolean isBoundingBox) {
+      String value = getGradientAttribute(gradientNode, attrName);
+      if (value == null) {
+         value = defaultValue;
+      }
+      value = value.trim();
+      if (isBoundingBox) {
+         return parseGradientFraction(value);
+      } else if (value.endsWith("%")) {
+         double percent = ParserUtils.parseDoubleProtected(value.substring(0, value.length() - 1)) / 100d;
+         return percent * (isWidth ? getWidth() : getHeight());
+      } else {
+         return LengthParser.parseLength(value, isWidth, viewport);
+      }
+   }
+
+   private static double parseGradientFraction(String value) {
+      if (value == null) {
+         return 0;
+      }
+      value = value.trim();
+      if (value.endsWith("%")) {
+         return ParserUtils.parseDoubleProtected(value.substring(0, value.length() - 1)) / 100d;
+      } else {
+         return ParserUtils.parseDoubleProtected(value);
+      }
+   }
+
+   private void renderText(Graphics2D g, XMLNode node, RenderState state) {
+      List<TextRun> runs = new ArrayList<>();
+      double x = node.getPositionValue(X, true, null, viewport, 0);
+      double y = node.getPositionValue(Y, false, null, viewport, 0);
+      Point2D.Double pen = new Point2D.Double(x, y);
+      List<ElementNode> children = node.getAllChildren();
+      if (children.isEmpty() && node.hasCDATA()) {
+         addTextRun(g, runs, node.getCDATA(), state, pen);
+      } else {
+         Iterator<ElementNode> it = children.iterator();
+         while (it.hasNext()) {
+            ElementNode child = it.next();
+            if (child instanceof XMLTextNode) {
+               addTextRun(g, runs, ((XMLTextNode) child).getText(), state, pen);
+            } else if (child instanceof XMLNode && ((XMLNode) child).getName().equals(TSPAN)) {
+               XMLNode tspan = (XMLNode) child;
+               RenderState tspanState = state.derive(tspan);
+               if (tspanState.isDisplayNone() || !tspan.hasCDATA()) {
+                  continue;
+               }
+               if (tspan.hasAttribute(X)) {
+                  pen.x = tspan.getPositionValue(X, true, null, viewport, 0);
+               }
+               if (tspan.hasAttribute(Y)) {
+                  pen.y = tspan.getPositionValue(Y, false, null, viewport, 0);
+               }
+               pen.x += tspan.getLengthValue(DX, true, null, viewport, 0);
+               pen.y += tspan.getLengthValue(DY, false, null, viewport, 0);
+               addTextRun(g, runs, tspan.getCDATA(), tspanState, pen);
+            }
+         }
+      }
+      if (runs.isEmpty()) {
+         return;
+      }
+      double shift = 0;
+      String anchor = state.get(TEXT_ANCHOR, START);
+      if (anchor.equals(MIDDLE)) {
+         shift = -(pen.x - x) / 2d;
+      } else if (anchor.equals(END)) {
+         shift = -(pen.x - x);
+      }
+      if (shift != 0) {
+         g.translate(shift, 0);
+      }
+      Iterator<TextRun> it = runs.iterator();
+      while (it.hasNext()) {
+         TextRun run = it.next();
+         paintShape(g, run.outline, run.state, true);
+      }
+   }
+
+   private void addTextRun(Graphics2D g, List<TextRun> runs, String text, RenderState state, Point2D.Double pen) {
+      if (text == null) {
+         return;
+      }
+      text = text.replace('\n', ' ').replace('\r', ' ').replace('\t', ' ');
+      if (!runs.isEmpty()) {
+         text = " " + text;
+      }
+      Font font = createFont(state);
+      GlyphVector glyphs = font.createGlyphVector(g.getFontRenderContext(), text);
+      Shape outline = glyphs.getOutline((float) pen.x, (float) pen.y);
+      runs.add(new TextRun(outline, state));
+      pen.x += glyphs.getLogicalBounds().getWidth();
+   }
+
+   private Font createFont(RenderState state) {
+      String family = Font.SANS_SERIF;
+      String familyValue = state.get(FONT_FAMILY);
+      if (familyValue != null) {
+         StringTokenizer tok = new StringTokenizer(familyValue, ",");
+         String first = tok.hasMoreTokens() ? tok.nextToken().trim().replace("'", "").replace("\"", "") : "";
+         switch (first) {
+            case "serif":
+               family = Font.SERIF;
+               break;
+            case "monospace":
+               family = Font.MONOSPACED;
+               break;
+            case "":
+            case "sans-serif":
+               break;
+            default:
+               family = first;
+               break;
+         }
+      }
+      double size = 12d;
+      String sizeValue = state.get(FONT_SIZE);
+      if (sizeValue != null) {
+         size = ParserUtils.parseFontSize(viewport.getDPI(), sizeValue);
+      }
+      int style = Font.PLAIN;
+      String weight = state.get(FONT_WEIGHT, NORMAL);
+      if (weight.equals(BOLD) || weight.equals(BOLDER) || (weight.matches("\\d+") && Integer.parseInt(weight) >= 600)) {
+         style |= Font.BOLD;
+      }
+      String posture = state.get(FONT_STYLE, NORMAL);
+      if (posture.equals(ITALIC) || posture.equals(OBLIQUE)) {
+         style |= Font.ITALIC;
+      }
+      return new Font(family, style, 1).deriveFont((float) size);
+   }
+
+   /**
+    * A run of text with its outline.
+    */
+   private static class TextRun {
+      private final Shape outline;
+      private final RenderState state;
+
+      private TextRun(Shape outline, RenderState state) {
+         this.outline = outline;
+         this.state = state;
+      }
+   }
+}
@@ -70,6 +70,7 @@ import org.girod.javafx.svgimage.xml.parsers.TransformUtils;
 import org.girod.javafx.svgimage.xml.parsers.xmltree.XMLNode;
 import org.girod.javafx.svgimage.Viewport;
 import org.girod.javafx.svgimage.xml.parsers.SVGPathParser;
+import org.girod.javafx.svgimage.xml.specs.AnimationTrack;
 
 /**
  * The animation builder.
@@ -101,9 +102,24 @@ public class AnimationBuilder implements SVGTags {
     * @return the corresponding transitions
     */
    public static List<Animation> buildAnimations(XMLNode xmlNode, Node node, List<XMLNode> xmlAnims, Viewport viewport) {
+      return buildAnimations(xmlNode, node, xmlAnims, viewport, null);
+   }
+
+   /**
+    * Build the animations of an element. If the tracks list is not null, the "animate" and "animateTransform" animations are added
+    * to the list as {@link AnimationTrack}s rather than created as JavaFX animations, and only the other animations are returned.
+    *
+    * @param xmlNode the node
+    * @param node the node
+    * @param xmlAnims the animations specifications
+    * @param viewport the viewport
+    * @param tracks the tracks (can be null)
+    * @return the corresponding transitions
+    */
+   public static List<Animation> buildAnimations(XMLNode xmlNode, Node node, List<XMLNode> xmlAnims, Viewport viewport, List<AnimationTrack> tracks) {
       ParallelTransition parallel = null;
       List<Animation> transitionsList = new ArrayList<>();
-      if (xmlAnims.size() > 1) {
+      if (xmlAnims.size() > 1 && tracks == null) {
          parallel = new ParallelTransition(node);
          transitionsList.add(parallel);
       }
@@ -113,7 +129,7 @@ public class AnimationBuilder implements SVGTags {
          String name = xmlAnim.getName();
          switch (name) {
             case ANIMATE:
-               Animation animate = buildAnimate(xmlNode, xmlAnim, node, parallel, viewport);
+               Animation animate = buildAnimate(xmlNode, xmlAnim, node, parallel, viewport, tracks);
                if (animate != null) {
                   transitionsList.add(animate);
                }
@@ -125,7 +141,7 @@ public class AnimationBuilder implements SVGTags {
                }
                break;
             case ANIMATE_TRANSFORM:
-               Animation transition = buildAnimateTransform(xmlNode, xmlAnim, node, parallel, viewport);
+               Animation transition = buildAnimateTransform(xmlNode, xmlAnim, node, parallel, viewport, tracks);
                if (transition != null) {
                   transitionsList.add(transition);
                }
@@ -160,7 +176,24 @@ public class AnimationBuilder implements SVGTags {
       }
    }
 
-   private static Animation buildAnimate(XMLNode xmlNode, XMLNode xmlAnim, Node node, ParallelTransition parallel, Viewport viewport) {
+   private static int getCycleCount(XMLNode xmlAnim) {
+      if (xmlAnim.hasAttribute(REPEAT_COUNT)) {
+         String repeatValue = xmlAnim.getAttributeValue(REPEAT_COUNT);
+         if (repeatValue.equals(INDEFINITE)) {
+            return Animation.INDEFINITE;
+         } else {
+            return ParserUtils.parseIntProtected(repeatValue);
+         }
+      } else {
+         return 1;
+      }
+   }
+
+   private static double[] getColorComponents(Color color) {
+      return new double[] { color.getRed(), color.getGreen(), color.getBlue(), color.getOpacity() };
+   }
+
+   private static Animation buildAnimate(XMLNode xmlNode, XMLNode xmlAnim, Node node, ParallelTransition parallel, Viewport viewport, List<AnimationTrack> tracks) {
       if (!xmlAnim.hasAttribute(ATTRIBUTE_NAME)) {
          return null;
       }
@@ -405,6 +438,30 @@ public class AnimationBuilder implements SVGTags {
          if (xmlAnim.hasAttribute(DUR)) {
             duration = parseDuration(xmlAnim.getAttributeValue(DUR));
          }
+         if (tracks != null) {
+            // the same timing as the Timeline and Transitions below, with the key value at the begin time for the Timelines
+            AnimationTrack track;
+            int cycleCount = getCycleCount(xmlAnim);
+            if (animateType == ANIMATE_VISIBILITY) {
+               double[] from = new double[] { getFromVisibilityArgument(xmlAnim) ? 1 : 0 };
+               double[] to = new double[] { getToVisibilityArgument(xmlAnim) ? 1 : 0 };
+               track = new AnimationTrack(AnimationTrack.DISCRETE, node, value, from, to, 0, beginDur.toMillis(), duration.toMillis(), cycleCount, Interpolator.LINEAR);
+            } else if (animateType == ANIMATE_STROKE || animateType == ANIMATE_FILL) {
+               Color fromColor = getFromColorArgument(xmlAnim);
+               Color toColor = getToColorArgument(xmlAnim);
+               if (fromColor == null || toColor == null) {
+                  return null;
+               }
+               track = new AnimationTrack(AnimationTrack.COLOR, node, value, getColorComponents(fromColor), getColorComponents(toColor), 0, 0,
+                  duration.toMillis(), cycleCount, Interpolator.EASE_BOTH);
+            } else {
+               double[] from = new double[] { fromArgs.get(0) };
+               double[] to = new double[] { toArgs.get(0) };
+               track = new AnimationTrack(AnimationTrack.NUMBER, node, value, from, to, 0, beginDur.toMillis(), duration.toMillis(), cycleCount, Interpolator.LINEAR);
+            }
+            tracks.add(track);
+            return null;
+         }
          if (animateType == ANIMATE_VISIBILITY) {
             boolean fromVisible = getFromVisibilityArgument(xmlAnim);
             boolean toVisible = getToVisibilityArgument(xmlAnim);
@@ -512,7 +569,8 @@ public class AnimationBuilder implements SVGTags {
       return transition;
    }
 
-   private static Transition buildAnimateTransform(XMLNode xmlNode, XMLNode xmlAnim, Node node, ParallelTransition parallel, Viewport viewport) {
+   private static Transition buildAnimateTransform(XMLNode xmlNode, XMLNode xmlAnim, Node node, ParallelTransition parallel, Viewport viewport,
+      List<AnimationTrack> tracks) {
       List<Double> fromArgs = getFromArguments(xmlAnim, viewport);
       List<Double> toArgs = getToArguments(xmlAnim, viewport);
       if (fromArgs == null || toArgs == null) {
@@ -539,6 +597,13 @@ public class AnimationBuilder implements SVGTags {
       if (xmlAnim.hasAttribute(DUR)) {
          duration = parseDuration(xmlAnim.getAttributeValue(DUR));
       }
+      if (tracks != null) {
+         AnimationTrack track = buildTransformTrack(type, xmlAnim, node, fromArgs, toArgs, duration);
+         if (track != null) {
+            tracks.add(track);
+         }
+         return null;
+      }
       Transition transition = null;
       switch (type) {
          case TYPE_ROTATE:
@@ -634,6 +699,56 @@ public class AnimationBuilder implements SVGTags {
       }
    }
 
+   /**
+    * Build the track of an "animateTransform" element, with the values of the RotateTransition, TranslateTransition or
+    * ScaleTransition which would be created for the element. The values which are not specified are NaN.
+    */
+   private static AnimationTrack buildTransformTrack(short type, XMLNode xmlAnim, Node node, List<Double> fromArgs, List<Double> toArgs, Duration duration) {
+      double[] from;
+      double[] to;
+      short trackType;
+      switch (type) {
+         case TYPE_ROTATE:
+            trackType = AnimationTrack.ROTATE;
+            from = new double[] { fromArgs.size() == 1 || fromArgs.size() == 3 ? fromArgs.get(0) : Double.NaN };
+            to = new double[] { toArgs.size() >= 1 ? toArgs.get(0) : Double.NaN };
+            break;
+         case TYPE_TRANSLATE:
+            trackType = AnimationTrack.TRANSLATE;
+            from = new double[] { Double.NaN, Double.NaN };
+            to = new double[] { Double.NaN, Double.NaN };
+            if (fromArgs.size() == 2 || fromArgs.size() == 1) {
+               from[0] = fromArgs.get(0);
+               from[1] = fromArgs.size() == 2 ? fromArgs.get(1) : Double.NaN;
+            }
+            if (toArgs.size() == 2 || toArgs.size() == 1) {
+               to[0] = toArgs.get(0);
+               to[1] = toArgs.size() == 2 ? toArgs.get(1) : Double.NaN;
+            }
+            break;
+         case TYPE_SCALE:
+            trackType = AnimationTrack.SCALE;
+            from = new double[] { Double.NaN, Double.NaN };
+            to = new double[] { Double.NaN, Double.NaN };
+            if (fromArgs.size() == 1 || fromArgs.size() == 2) {
+               from[0] = fromArgs.get(0);
+               from[1] = fromArgs.get(fromArgs.size() - 1);
+            }
+            if (toArgs.size() == 1 || toArgs.size() == 2) {
+               to[0] = toArgs.get(0);
+               to[1] = toArgs.get(toArgs.size() - 1);
+            }
+            break;
+         default:
+            return null;
+      }
+      double delay = 0;
+      if (xmlAnim.hasAttribute(BEGIN)) {
+         delay = parseDuration(xmlAnim.getAttributeValue(BEGIN)).toMillis();
+      }
+      return new AnimationTrack(trackType, node, from, to, delay, duration.toMillis(), getCycleCount(xmlAnim), Interpolator.EASE_BOTH);
+   }
+
    private static Color getFromColorArgument(XMLNode xmlAnim) {
       if (xmlAnim.hasAttribute(FROM)) {
          String content = xmlAnim.getAttributeValue(FROM);
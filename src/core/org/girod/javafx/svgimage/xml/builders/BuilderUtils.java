@@ -49,6 +49,7 @@ import javafx.scene.shape.Polyline;
 import javafx.scene.shape.QuadCurveTo;
 import javafx.scene.text.Font;
 import javafx.scene.text.Text;
+import org.girod.javafx.svgimage.LoaderContext;
 
 /**
  * Utilities for builders.
@@ -108,6 +109,22 @@ public class BuilderUtils {
       return width;
    }
 
+   /**
+    *
+    * Computes the width of a text or a TextHBox, and count the measurement of a text in the context.
+    *
+    * @param context the context (may be null)
+    * @param node the text or TextHBox
+    * @return the width
+    * @since 1.10
+    */
+   public static double getTextWidth(LoaderContext context, Node node) {
+      if (context != null && node instanceof Text) {
+         context.countTextMeasurement();
+      }
+      return getTextWidth(node);
+   }
+
    /**
     *
     * Computes the Font of a text or a TextHBox.
@@ -86,7 +86,7 @@ import org.girod.javafx.svgimage.xml.parsers.xmltree.ElementNode;
 /**
  * The shape builder.
  *
- * @version 1.9
+ * @version 1.10
  */
 public class SVGShapeBuilder implements SVGTags {
    private static final Pattern NUMBER = Pattern.compile("\\d+");
@@ -485,7 +485,7 @@ public class SVGShapeBuilder implements SVGTags {
             case TEXT:
                node = SVGTextBuilder.buildText(namedNode, null, viewbox, viewport);
                if (node == null) {
-                  spanGroup = SVGTextBuilder.buildTSpanGroup(namedNode, null, viewbox, viewport, minTextSize);
+                  spanGroup = SVGTextBuilder.buildTSpanGroup(context, null, namedNode, null, viewbox, viewport, minTextSize);
                }
                break;
          }
@@ -523,7 +523,7 @@ public class SVGShapeBuilder implements SVGTags {
                }
                // https://vanseodesign.com/web-design/svg-text-tspan-element/
                if (!ParserUtils.hasXPosition(tspan.elementNode) && previous != null) {
-                  double width = BuilderUtils.getTextWidth(previous.node);
+                  double width = BuilderUtils.getTextWidth(context, previous.node);
                   tspanText.setLayoutX(width + BuilderUtils.getTextX(previous.node));
                }
                previous = tspan;
@@ -581,7 +581,7 @@ public class SVGShapeBuilder implements SVGTags {
             case TEXT:
                node = SVGTextBuilder.buildText(childNode, null, viewbox, viewport);
                if (node == null) {
-                  spanGroup = SVGTextBuilder.buildTSpanGroup(childNode, null, viewbox, viewport, minTextSize);
+                  spanGroup = SVGTextBuilder.buildTSpanGroup(context, null, childNode, null, viewbox, viewport, minTextSize);
                }
                break;
             case G:
@@ -614,7 +614,7 @@ public class SVGShapeBuilder implements SVGTags {
                }
                // https://vanseodesign.com/web-design/svg-text-tspan-element/
                if (!ParserUtils.hasXPosition(tspan.elementNode) && previous != null) {
-                  double width = BuilderUtils.getTextWidth(previous.node);
+                  double width = BuilderUtils.getTextWidth(context, previous.node);
                   tspanText.setLayoutX(width + BuilderUtils.getTextX(previous.node));
                }
                previous = tspan;
@@ -66,31 +66,153 @@ import org.girod.javafx.svgimage.xml.parsers.SVGTags;
 import org.girod.javafx.svgimage.xml.specs.Styles;
 import org.girod.javafx.svgimage.xml.parsers.TransformUtils;
 import org.girod.javafx.svgimage.Viewport;
+import org.girod.javafx.svgimage.css.CSSConverter;
 import org.girod.javafx.svgimage.xml.parsers.NativeInheritance;
 import org.girod.javafx.svgimage.xml.parsers.xmltree.ElementNode;
 
 /**
  * This class parse a style declaration.
  *
- * @version 1.9
+ * @version 1.10
  */
 public class SVGStyleBuilder implements SVGTags {
    private static final Pattern STYLES = Pattern.compile("[^{]*\\s*\\{[a-zA-Z0-9_\\-+\\.\\s,:\\#;]+\\}\\s*");
    private static final Pattern RULE_CONTENT = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_\\-]*\\s*:\\s*[a-zA-Z0-9_\\-+,\\.\\#\\.]*");
+   private static final boolean CSS_PARSER_AVAILABLE = checkCSSParser();
+   private static final String FX_PREFIX = "-fx-";
 
    private SVGStyleBuilder() {
    }
 
-   private static void addProperty(List<Styles.Rule> styleRules, String key, short type, Object value) {
-      Iterator<Styles.Rule> it = styleRules.iterator();
-      while (it.hasNext()) {
-         Styles.Rule rule = it.next();
-         rule.addProperty(key, type, value);
+   private static boolean checkCSSParser() {
+      try {
+         Class.forName("com.steadystate.css.parser.CSSOMParser", false, SVGStyleBuilder.class.getClassLoader());
+         return true;
+      } catch (ClassNotFoundException | LinkageError e) {
+         return false;
+      }
+   }
+
+   /**
+    * Return true if the CSS parser library is available.
+    *
+    * @return true if the CSS parser library is available
+    * @since 1.10
+    */
+   public static boolean isCSSParserAvailable() {
+      return CSS_PARSER_AVAILABLE;
+   }
+
+   /**
+    * Return the name of the SVG property corresponding to a JavaFX CSS property, such as "stroke-width" for "-fx-stroke-width".
+    *
+    * @param fxName the JavaFX CSS property name
+    * @return the SVG property name
+    */
+   private static String getSVGPropertyName(String fxName) {
+      String name = fxName.substring(FX_PREFIX.length());
+      if (name.equals("stroke-dash-array")) {
+         return STROKE_DASHARRAY;
+      } else {
+         return name;
+      }
+   }
+
+   /**
+    * Convert a style property and add it to a rule. Properties which are not supported are ignored. The JavaFX CSS properties
+    * which have an SVG equivalent, such as "-fx-fill", are converted to this SVG property.
+    *
+    * @param rule the rule
+    * @param key the property name
+    * @param value the property value
+    * @param viewport the viewport
+    * @since 1.10
+    */
+   public static void addStyleProperty(Styles.Rule rule, String key, String value, Viewport viewport) {
+      if (key.startsWith(FX_PREFIX)) {
+         key = getSVGPropertyName(key);
+      }
+      switch (key) {
+         case FILL: {
+            Color col = ParserUtils.getColor(value);
+            rule.addProperty(key, Styles.FILL, col);
+            break;
+         }
+         case STROKE: {
+            Color col = ParserUtils.getColor(value);
+            rule.addProperty(key, Styles.STROKE, col);
+            break;
+         }
+         case STROKE_WIDTH: {
+            double width = ParserUtils.parseLineWidth(value, viewport);
+            rule.addProperty(key, Styles.STROKE_WIDTH, width);
+            break;
+         }
+         case STROKE_DASHARRAY: {
+            List<Double> list = ParserUtils.parseDashArray(value, viewport);
+            if (list != null) {
+               rule.addProperty(key, Styles.STROKE_DASHARRAY, list);
+            }
+            break;
+         }
+         case FONT_FAMILY: {
+            String fontFamily = value.replace("'", "").replace("\"", "");
+            rule.addProperty(key, Styles.FONT_FAMILY, fontFamily);
+            break;
+         }
+         case FONT_WEIGHT: {
+            FontWeight fontWeight = SVGShapeBuilder.getFontWeight(value);
+            rule.addProperty(key, Styles.FONT_WEIGHT, fontWeight);
+            break;
+         }
+         case FONT_STYLE: {
+            ExtendedFontPosture fontPosture = SVGShapeBuilder.getExtendedFontPosture(value);
+            rule.addProperty(key, Styles.FONT_STYLE, fontPosture);
+            break;
+         }
+         case FONT_SIZE: {
+            double size = ParserUtils.parseFontSize(viewport.getDPI(), value);
+            rule.addProperty(key, Styles.FONT_SIZE, size);
+            break;
+         }
+         case TEXT_DECORATION: {
+            rule.addProperty(key, Styles.TEXT_DECORATION, value);
+            break;
+         }
+         case OPACITY: {
+            double opacity = ParserUtils.parseOpacity(value);
+            if (opacity >= 0) {
+               rule.addProperty(key, Styles.OPACITY, opacity);
+            }
+            break;
+         }
+         case FILL_OPACITY: {
+            double opacity = ParserUtils.parseOpacity(value);
+            if (opacity >= 0) {
+               rule.addProperty(key, Styles.FILL_OPACITY, opacity);
+            }
+            break;
+         }
+         case STROKE_OPACITY: {
+            double opacity = ParserUtils.parseOpacity(value);
+            if (opacity >= 0) {
+               rule.addProperty(key, Styles.STROKE_OPACITY, opacity);
+            }
+            break;
+         }                     
+         case TRANSFORM: {
+            List<Transform> transformList = TransformUtils.extractTransforms(value, viewport);
+            if (!transformList.isEmpty()) {
+               rule.addProperty(key, Styles.TRANSFORM, transformList);
+            }
+            break;
+         }
       }
    }
 
    /**
-    * Parse a CSS-like style content and populate the styles collection.
+    * Parse a CSS-like style content and populate the styles collection. If the CSS parser library is available, the
+    * content is parsed with the {@link CSSConverter}, else only the class and element name selectors are supported.
     *
     * @param styles the styles collection
     * @param content the style content
@@ -98,6 +220,9 @@ public class SVGStyleBuilder implements SVGTags {
     * @return the updated styles collection
     */
    public static Styles parseStyle(Styles styles, String content, Viewport viewport) {
+      if (CSS_PARSER_AVAILABLE && CSSConverter.parseStyle(styles, content, viewport)) {
+         return styles;
+      }
       Matcher m = STYLES.matcher(content);
       while (m.find()) {
          String theRule = m.group();
@@ -152,81 +277,9 @@ public class SVGStyleBuilder implements SVGTags {
             int index = theProperty.indexOf(':');
             String key = theProperty.substring(0, index).trim();
             String value = theProperty.substring(index + 1, theProperty.length()).trim();
-            switch (key) {
-               case FILL: {
-                  Color col = ParserUtils.getColor(value);
-                  addProperty(styleRules, key, Styles.FILL, col);
-                  break;
-               }
-               case STROKE: {
-                  Color col = ParserUtils.getColor(value);
-                  addProperty(styleRules, key, Styles.STROKE, col);
-                  break;
-               }
-               case STROKE_WIDTH: {
-                  double width = ParserUtils.parseLineWidth(value, viewport);
-                  addProperty(styleRules, key, Styles.STROKE_WIDTH, width);
-                  break;
-               }
-               case STROKE_DASHARRAY: {
-                  List<Double> list = ParserUtils.parseDashArray(value, viewport);
-                  if (list != null) {
-                     addProperty(styleRules, key, Styles.STROKE_DASHARRAY, list);
-                  }
-                  break;
-               }
-               case FONT_FAMILY: {
-                  String fontFamily = value.replace("'", "");
-                  addProperty(styleRules, key, Styles.FONT_FAMILY, fontFamily);
-                  break;
-               }
-               case FONT_WEIGHT: {
-                  FontWeight fontWeight = SVGShapeBuilder.getFontWeight(value);
-                  addProperty(styleRules, key, Styles.FONT_WEIGHT, fontWeight);
-                  break;
-               }
-               case FONT_STYLE: {
-                  ExtendedFontPosture fontPosture = SVGShapeBuilder.getExtendedFontPosture(value);
-                  addProperty(styleRules, key, Styles.FONT_STYLE, fontPosture);
-                  break;
-               }
-               case FONT_SIZE: {
-                  double size = ParserUtils.parseFontSize(viewport.getDPI(), value);
-                  addProperty(styleRules, key, Styles.FONT_SIZE, size);
-                  break;
-               }
-               case TEXT_DECORATION: {
-                  addProperty(styleRules, key, Styles.TEXT_DECORATION, value);
-                  break;
-               }
-               case OPACITY: {
-                  double opacity = ParserUtils.parseOpacity(value);
-                  if (opacity >= 0) {
-                     addProperty(styleRules, key, Styles.OPACITY, opacity);
-                  }
-                  break;
-               }
-               case FILL_OPACITY: {
-                  double opacity = ParserUtils.parseOpacity(value);
-                  if (opacity >= 0) {
-                     addProperty(styleRules, key, Styles.FILL_OPACITY, opacity);
-                  }
-                  break;
-               }
-               case STROKE_OPACITY: {
-                  double opacity = ParserUtils.parseOpacity(value);
-                  if (opacity >= 0) {
-                     addProperty(styleRules, key, Styles.STROKE_OPACITY, opacity);
-                  }
-                  break;
-               }                     
-               case TRANSFORM: {
-                  List<Transform> transformList = TransformUtils.extractTransforms(value, viewport);
-                  if (!transformList.isEmpty()) {
-                     addProperty(styleRules, key, Styles.TRANSFORM, transformList);
-                  }
-                  break;
-               }
+            Iterator<Styles.Rule> it2 = styleRules.iterator();
+            while (it2.hasNext()) {
+               addStyleProperty(it2.next(), key, value, viewport);
             }
          }
       }
@@ -380,9 +433,16 @@ public class SVGStyleBuilder implements SVGTags {
          }
       }
 
-      if (xmlNode.hasAttribute(CLASS)) {
+      // the style classes are not added to baked Nodes, so that they are not matched by the JavaFX CSS engine
+      boolean bakeStyles = context.params != null && context.params.bakeStyles;
+      if (context.svgStyle != null && context.svgStyle.hasSelectorRules()) {
+         if (xmlNode.hasAttribute(CLASS) && !bakeStyles) {
+            addStyleClasses(node, xmlNode.getAttributeValue(CLASS));
+         }
+         applyMatchingRules(xmlNode, node, context.svgStyle);
+      } else if (xmlNode.hasAttribute(CLASS)) {
          String styleClasses = xmlNode.getAttributeValue(CLASS);
-         setStyleClass(node, styleClasses, context.svgStyle);
+         setStyleClass(node, styleClasses, context.svgStyle, bakeStyles);
       } else {
          setDefaultStyleClass(xmlNode, node, context.svgStyle);
       }
@@ -645,11 +705,36 @@ public class SVGStyleBuilder implements SVGTags {
       }
    }
 
-   private static void setStyleClass(Node node, String styleClasses, Styles svgStyle) {
+   private static void addStyleClasses(Node node, String styleClasses) {
+      StringTokenizer tok = new StringTokenizer(styleClasses, " ");
+      while (tok.hasMoreTokens()) {
+         node.getStyleClass().add(tok.nextToken());
+      }
+   }
+
+   private static void applyMatchingRules(XMLNode xmlNode, Node node, Styles svgStyle) {
+      List<Styles.Rule> rules = svgStyle.getMatchingRules(xmlNode);
+      if (rules.size() == 1) {
+         rules.get(0).apply(node);
+      } else if (!rules.isEmpty()) {
+         // the properties of the rules are merged so that each property is only applied once, with the value of
+         // the rule which takes precedence
+         Styles.Rule mergedRule = new Styles.Rule(null);
+         Iterator<Styles.Rule> it = rules.iterator();
+         while (it.hasNext()) {
+            mergedRule.getProperties().putAll(it.next().getProperties());
+         }
+         mergedRule.apply(node);
+      }
+   }
+
+   private static void setStyleClass(Node node, String styleClasses, Styles svgStyle, boolean bakeStyles) {
       StringTokenizer tok = new StringTokenizer(styleClasses, " ");
       while (tok.hasMoreTokens()) {
          String styleClass = tok.nextToken();
-         node.getStyleClass().add(styleClass);
+         if (!bakeStyles) {
+            node.getStyleClass().add(styleClass);
+         }
          if (svgStyle != null && svgStyle.hasRule(styleClass)) {
             Styles.Rule rule = svgStyle.getRule(styleClass);
             rule.apply(node);
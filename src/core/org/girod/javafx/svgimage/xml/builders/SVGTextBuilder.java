@@ -45,6 +45,7 @@ import javafx.scene.text.FontPosture;
 import javafx.scene.text.FontSmoothingType;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
+import org.girod.javafx.svgimage.LoaderContext;
 import org.girod.javafx.svgimage.Viewbox;
 import org.girod.javafx.svgimage.Viewport;
 import static org.girod.javafx.svgimage.xml.builders.SVGShapeBuilder.getFontPosture;
@@ -71,7 +72,7 @@ import org.girod.javafx.svgimage.xml.specs.SpanGroup;
 /**
  * The text builder.
  *
- * @version 1.9
+ * @version 1.10
  */
 public class SVGTextBuilder {
    private SVGTextBuilder() {
@@ -103,6 +104,23 @@ public class SVGTextBuilder {
     * @return the Text
     */
    public static SpanGroup buildTSpanGroup(Text theText, XMLNode xmlNode, Bounds bounds, Viewbox viewbox, Viewport viewport, double minTextSize) {
+      return buildTSpanGroup(null, theText, xmlNode, bounds, viewbox, viewport, minTextSize);
+   }
+
+   /**
+    * Build a "text" element with tspan children.
+    *
+    * @param context the context, used to count the text measurements (may be null)
+    * @param theText the initial text (may be null)
+    * @param xmlNode the node
+    * @param bounds an optional bounds for an object to specify the coordinates of the object relative to it
+    * @param viewbox the viewbox of the element (may be null)
+    * @param viewport the viewport
+    * @param minTextSize the minimum text size
+    * @return the Text
+    * @since 1.10
+    */
+   public static SpanGroup buildTSpanGroup(LoaderContext context, Text theText, XMLNode xmlNode, Bounds bounds, Viewbox viewbox, Viewport viewport, double minTextSize) {
       Group group = new Group();
       double x = xmlNode.getLengthValue(X, true, bounds, viewport, 0);
       double y = xmlNode.getLengthValue(Y, false, bounds, viewport, 0);
@@ -130,14 +148,14 @@ public class SVGTextBuilder {
          if (theNode instanceof XMLTextNode && !isFirst) {
             XMLTextNode textNode = (XMLTextNode) theNode;
             elementNode = textNode;
-            tspans = buildTspan(group, previous, theText.getFont(), xmlNode, textNode, bounds, viewbox, viewport, minTextSize, offset);
+            tspans = buildTspan(context, group, previous, theText.getFont(), xmlNode, textNode, bounds, viewbox, viewport, minTextSize, offset);
          } else if (theNode instanceof XMLNode) {
             XMLNode childNode = (XMLNode) theNode;
             elementNode = childNode;
             String name = childNode.getName();
             switch (name) {
                case TSPAN: {
-                  tspans = buildTspan(spanGroup, group, previous, childNode, bounds, viewbox, viewport, minTextSize, offset);
+                  tspans = buildTspan(context, spanGroup, group, previous, childNode, bounds, viewbox, viewport, minTextSize, offset);
                   if (tspans.isEmpty()) {
                      tspans = null;
                   } else {
@@ -322,6 +340,27 @@ public class SVGTextBuilder {
     * @return the Text
     */
    public static List<Node> buildTspan(Group group, Node previous, Font font, XMLNode parentNode, XMLTextNode textNode, Bounds bounds, Viewbox viewbox, Viewport viewport, double minTextSize, OffsetX offset) {
+      return buildTspan(null, group, previous, font, parentNode, textNode, bounds, viewbox, viewport, minTextSize, offset);
+   }
+
+   /**
+    * Build a "tspan" element.
+    *
+    * @param context the context, used to count the text measurements (may be null)
+    * @param group the parent group
+    * @param previous the previous node
+    * @param font the parent node font
+    * @param parentNode the parent text node
+    * @param textNode the parent node
+    * @param bounds an optional bounds for an object to specify the coordinates of the object relative to it
+    * @param viewbox the viewbox of the element (may be null)
+    * @param viewport the viewport
+    * @param minTextSize the minimum font size to create complete texts
+    * @param offset the offset
+    * @return the Text
+    * @since 1.10
+    */
+   public static List<Node> buildTspan(LoaderContext context, Group group, Node previous, Font font, XMLNode parentNode, XMLTextNode textNode, Bounds bounds, Viewbox viewbox, Viewport viewport, double minTextSize, OffsetX offset) {
       List<Node> tspans = new ArrayList<>();
       String cdata = textNode.getText();
       cdata = BuilderUtils.removeNewLines(cdata);
@@ -332,7 +371,7 @@ public class SVGTextBuilder {
          if (previous != null) {
             x = 0;
             if (!offset.isFirst) {
-               double offsetX = BuilderUtils.getTextWidth(previous);
+               double offsetX = BuilderUtils.getTextWidth(context, previous);
                offsetX = offset.offset(offsetX);
                x += offsetX;
             }
@@ -387,6 +426,26 @@ public class SVGTextBuilder {
     * @return the Text
     */
    public static List<Node> buildTspan(SpanGroup spanGroup, Group group, Node previous, XMLNode xmlNode, Bounds bounds, Viewbox viewbox, Viewport viewport, double minTextSize, OffsetX offset) {
+      return buildTspan(null, spanGroup, group, previous, xmlNode, bounds, viewbox, viewport, minTextSize, offset);
+   }
+
+   /**
+    * Build a "tspan" element.
+    *
+    * @param context the context, used to count the text measurements (may be null)
+    * @param spanGroup the span group
+    * @param group the parent group
+    * @param previous the previous node
+    * @param xmlNode the node
+    * @param bounds an optional bounds for an object to specify the coordinates of the object relative to it
+    * @param viewbox the viewbox of the element (may be null)
+    * @param viewport the viewport
+    * @param minTextSize the minimum font size to create complete texts
+    * @param offset the offset
+    * @return the Text
+    * @since 1.10
+    */
+   public static List<Node> buildTspan(LoaderContext context, SpanGroup spanGroup, Group group, Node previous, XMLNode xmlNode, Bounds bounds, Viewbox viewbox, Viewport viewport, double minTextSize, OffsetX offset) {
       List<Node> tspans = new ArrayList<>();
       boolean hasFamily = xmlNode.hasAttribute(FONT_FAMILY);
       boolean hasSize = xmlNode.hasAttribute(FONT_SIZE);
@@ -424,12 +483,12 @@ public class SVGTextBuilder {
             if (previous == null) {
                x = _x - group.getLayoutX();
             } else {
-               x = _x + BuilderUtils.getTextX(previous) + BuilderUtils.getTextWidth(previous);
+               x = _x + BuilderUtils.getTextX(previous) + BuilderUtils.getTextWidth(context, previous);
             }
          } else if (previous != null) {
             x = 0;
             if (!offset.isFirst) {
-               double offsetX = BuilderUtils.getTextWidth(previous);
+               double offsetX = BuilderUtils.getTextWidth(context, previous);
                offsetX = offset.offset(offsetX);
                x += offsetX;
             }
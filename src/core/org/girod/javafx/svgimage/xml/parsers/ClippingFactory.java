@@ -39,6 +39,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import javafx.geometry.Bounds;
 import javafx.scene.Node;
 import javafx.scene.shape.FillRule;
@@ -53,6 +54,7 @@ import org.girod.javafx.svgimage.xml.builders.SVGTextBuilder;
  */
 public class ClippingFactory implements SVGTags {
    private final Map<String, XMLNode> clipSpecs = new HashMap<>();
+   private final AtomicInteger unionsCount = new AtomicInteger();
 
    /**
     * Create a factory for clipping paths.
@@ -60,6 +62,15 @@ public class ClippingFactory implements SVGTags {
    public ClippingFactory() {
    }
 
+   /**
+    * Return the number of shape unions performed to create the clipping paths.
+    *
+    * @return the number of shape unions
+    */
+   public int getUnionsCount() {
+      return unionsCount.get();
+   }
+
    /**
     * Register a clip specification by id.
     *
@@ -141,6 +152,7 @@ public class ClippingFactory implements SVGTags {
                theShape = shape;
             } else {
                theShape = Shape.union(theShape, shape);
+               unionsCount.incrementAndGet();
             }
             if (xmlNode.hasAttribute(TRANSFORM)) {
                TransformUtils.setTransforms(theShape, xmlNode, viewport);
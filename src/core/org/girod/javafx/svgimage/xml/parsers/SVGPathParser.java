@@ -34,6 +34,7 @@ package org.girod.javafx.svgimage.xml.parsers;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -56,7 +57,7 @@ import javafx.scene.shape.SVGPath;
 /**
  * A JavaFX Path that parses and renders SVG path data. Supports M, L, H, V, C, Q, S, T, A, Z commands (absolute and relative).
  *
- * @version 1.8
+ * @version 1.10
  */
 public class SVGPathParser {
    /**
@@ -149,6 +150,8 @@ public class SVGPathParser {
            Pattern.CASE_INSENSITIVE);
    private static final Pattern NUMBER_PATTERN = Pattern.compile("[-+]?[0-9]*\\.?[0-9]+([eE][-+]?[0-9]+)?([a-zA-Z%]+)?",
            Pattern.CASE_INSENSITIVE);
+   // a number with an optional unit, or a command, used to count the commands without parsing the parameters
+   private static final Pattern TOKEN_PATTERN = Pattern.compile("([-+]?[0-9]*\\.?[0-9]+([eE][-+]?[0-9]+)?(em|ex|px|in|cm|mm|pt|pc|%)?)|([MLHVCSQTAZmlhvcsqtaz])");
 
    private final List<Point2D> markerList = new ArrayList<>();
    private List<PathCommand> commandList = new ArrayList<>();
@@ -211,6 +214,90 @@ public class SVGPathParser {
       return content;
    }
 
+   /**
+    * Return the number of commands of the parsed path.
+    *
+    * @return the number of commands
+    */
+   public int getCommandCount() {
+      return commandList.size();
+   }
+
+   /**
+    * Return the number of commands of a path. The count of the parser which built the path is used if there is one, else the content of
+    * the path is counted with {@link #countCommands(String)}.
+    *
+    * @param path the path
+    * @return the number of commands
+    * @since 1.10
+    */
+   public static int getCommandCount(SVGPath path) {
+      Object parser = path.getProperties().get("PathParser");
+      if (parser instanceof SVGPathParser) {
+         return ((SVGPathParser) parser).getCommandCount();
+      } else {
+         return countCommands(path.getContent());
+      }
+   }
+
+   /**
+    * Count the number of commands in a path content without parsing it. Implicit repeats of a command are counted as separate commands,
+    * the same way as the parser does, for example <code>M0 0 10 10 20 20</code> counts as three commands.
+    *
+    * @param content the path content
+    * @return the number of commands
+    * @since 1.10
+    */
+   public static int countCommands(String content) {
+      if (content == null) {
+         return 0;
+      }
+      int count = 0;
+      int paramCount = 0;
+      int numbers = 0;
+      boolean hasCommand = false;
+      Matcher matcher = TOKEN_PATTERN.matcher(content);
+      while (matcher.find()) {
+         String command = matcher.group(4);
+         if (command == null) {
+            numbers++;
+         } else {
+            if (hasCommand) {
+               count += countCommands(paramCount, numbers);
+            }
+            hasCommand = true;
+            paramCount = CommandType.fromSymbol(command.charAt(0)).getParamCount();
+            numbers = 0;
+         }
+      }
+      if (hasCommand) {
+         count += countCommands(paramCount, numbers);
+      }
+      return count;
+   }
+
+   private static int countCommands(int paramCount, int numbers) {
+      if (paramCount == 0 || numbers <= paramCount) {
+         return 1;
+      } else {
+         return numbers / paramCount;
+      }
+   }
+
+   /**
+    * Return the total number of parameters of the commands of the parsed path.
+    *
+    * @return the number of parameters
+    */
+   public int getParameterCount() {
+      int count = 0;
+      Iterator<PathCommand> it = commandList.iterator();
+      while (it.hasNext()) {
+         count += it.next().getParameters().length;
+      }
+      return count;
+   }
+
    /**
     * Return the list of markers.
     *
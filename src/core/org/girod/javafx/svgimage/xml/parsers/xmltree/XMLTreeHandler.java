@@ -38,6 +38,7 @@ import java.util.List;
 import java.util.Stack;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import org.girod.javafx.svgimage.css.StyleSheetCache;
 import org.girod.javafx.svgimage.xml.parsers.ParserUtils;
 import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
@@ -108,7 +109,7 @@ public class XMLTreeHandler extends DefaultHandler2 {
          if (m.matches()) {
             String href = m.group("href");
             URL cssURL = FileUtils.getChildURL(parentURL, href);
-            if (FileUtils.exists(cssURL)) {
+            if (cssURL != null && StyleSheetCache.getInstance().exists(cssURL)) {
                stylesheets.add(cssURL);
             }
          }
@@ -156,10 +157,33 @@ public class XMLTreeHandler extends DefaultHandler2 {
             }
             buf = null;
          }
-         node = node.getParent();
+         XMLNode parent = node.getParent();
+         if (parent != null && parent == root) {
+            topLevelElementEnded(node);
+         }
+         node = parent;
       }
    }
 
+   /**
+    * Called when the root element has been parsed, before any of its children. Does nothing by default.
+    *
+    * @param root the root node
+    * @since 1.10
+    */
+   protected void rootStarted(XMLRoot root) {
+   }
+
+   /**
+    * Called when a child element of the root element has been completely parsed, including all its children. The node will not be
+    * modified by the parser after this call. Does nothing by default.
+    *
+    * @param node the node
+    * @since 1.10
+    */
+   protected void topLevelElementEnded(XMLNode node) {
+   }
+
    @Override
    public void characters(char[] characters, int start, int length) {
       if (buf != null) {
@@ -234,5 +258,8 @@ public class XMLTreeHandler extends DefaultHandler2 {
       }
       nodes.push(childNode);
       node = childNode;
+      if (childNode == root) {
+         rootStarted(root);
+      }
    }
 }
@@ -0,0 +1,276 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage.xml.specs;
+
+import javafx.animation.Animation;
+import javafx.animation.Interpolator;
+import javafx.beans.value.WritableValue;
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+
+/**
+ * An animation of a Node property evaluated from precomputed key values, without a JavaFX Animation. The tracks of all the
+ * animated images are evaluated in the same loop by the {@link org.girod.javafx.svgimage.AnimationClock}.
+ *
+ * The time of a track follows the JavaFX animation which would have been created for the same SMIL animation: the track waits for its
+ * delay, then repeats its cycles. The value is interpolated between the key time and the end of each cycle, and keeps the last value
+ * when the track is finished.
+ *
+ * @since 1.10
+ */
+public class AnimationTrack {
+   /**
+    * The type for a numeric property.
+    */
+   public static final short NUMBER = 0;
+   /**
+    * The type for a numeric property which only takes the from value and the to value.
+    */
+   public static final short DISCRETE = 1;
+   /**
+    * The type for a color property.
+    */
+   public static final short COLOR = 2;
+   /**
+    * The type for the rotation of the Node.
+    */
+   public static final short ROTATE = 3;
+   /**
+    * The type for the translation of the Node.
+    */
+   public static final short TRANSLATE = 4;
+   /**
+    * The type for the scale of the Node.
+    */
+   public static final short SCALE = 5;
+   private final short type;
+   private final Node node;
+   private final WritableValue<Object> value;
+   private final double[] from;
+   private final double[] to;
+   private final double[] startFrom;
+   private final double[] startTo;
+   private final double[] current;
+   private final double delay;
+   private final double keyTime;
+   private final double duration;
+   private final int cycleCount;
+   private final Interpolator interpolator;
+   private boolean started = false;
+
+   /**
+    * Create a track for a property. The from and to values have one element for the numeric properties, and four elements (red,
+    * green, blue and opacity) for the colors.
+    *
+    * @param type the type ({@link #NUMBER}, {@link #DISCRETE} or {@link #COLOR})
+    * @param node the Node
+    * @param value the property
+    * @param from the from values
+    * @param to the to values
+    * @param delay the delay in milliseconds before the first cycle
+    * @param keyTime the time in milliseconds in each cycle where the interpolation begins
+    * @param duration the duration of a cycle in milliseconds
+    * @param cycleCount the number of cycles, or {@link Animation#INDEFINITE}
+    * @param interpolator the interpolator
+    */
+   @SuppressWarnings("unchecked")
+   public AnimationTrack(short type, Node node, WritableValue<?> value, double[] from, double[] to, double delay, double keyTime, double duration,
+      int cycleCount, Interpolator interpolator) {
+      this.type = type;
+      this.node = node;
+      this.value = (WritableValue<Object>) value;
+      this.from = from;
+      this.to = to;
+      this.startFrom = from.clone();
+      this.startTo = to.clone();
+      this.current = new double[from.length];
+      this.delay = delay;
+      this.keyTime = keyTime;
+      this.duration = duration;
+      this.cycleCount = cycleCount;
+      this.interpolator = interpolator;
+   }
+
+   /**
+    * Create a track for the transform of a Node. The from and to values have one element for the rotations, and two elements for
+    * the translations and scales. A NaN value is replaced by the value of the Node when the track starts.
+    *
+    * @param type the type ({@link #ROTATE}, {@link #TRANSLATE} or {@link #SCALE})
+    * @param node the Node
+    * @param from the from values
+    * @param to the to values
+    * @param delay the delay in milliseconds before the first cycle
+    * @param duration the duration of a cycle in milliseconds
+    * @param cycleCount the number of cycles, or {@link Animation#INDEFINITE}
+    * @param interpolator the interpolator
+    */
+   public AnimationTrack(short type, Node node, double[] from, double[] to, double delay, double duration, int cycleCount, Interpolator interpolator) {
+      this(type, node, null, from, to, delay, 0, duration, cycleCount, interpolator);
+   }
+
+   /**
+    * Return the type of the track.
+    *
+    * @return the type
+    */
+   public short getType() {
+      return type;
+   }
+
+   /**
+    * Return the animated Node.
+    *
+    * @return the Node
+    */
+   public Node getNode() {
+      return node;
+   }
+
+   /**
+    * Return the total duration of the track in milliseconds, including its delay.
+    *
+    * @return the total duration, or Double.POSITIVE_INFINITY if the track is repeated indefinitely
+    */
+   public double getTotalDuration() {
+      if (cycleCount == Animation.INDEFINITE) {
+         return Double.POSITIVE_INFINITY;
+      }
+      return delay + duration * Math.max(cycleCount, 1);
+   }
+
+   /**
+    * Reset the track, so that the values of the Node which are not specified are read again when the track starts.
+    */
+   public void reset() {
+      started = false;
+   }
+
+   /**
+    * Apply the value of the track at a time.
+    *
+    * @param time the time in milliseconds since the track has been played
+    * @return true if the track has not finished at this time
+    */
+   public boolean apply(double time) {
+      double cycleTime = time - delay;
+      if (cycleTime < 0) {
+         return true;
+      }
+      if (!started) {
+         start();
+      }
+      boolean running = true;
+      if (duration <= 0) {
+         cycleTime = 0;
+         running = false;
+      } else if (cycleCount != Animation.INDEFINITE && cycleTime >= duration * Math.max(cycleCount, 1)) {
+         cycleTime = duration;
+         running = false;
+      } else {
+         cycleTime = cycleTime % duration;
+      }
+      double fraction;
+      if (duration <= 0) {
+         fraction = 1;
+      } else if (cycleTime <= keyTime) {
+         fraction = 0;
+      } else {
+         fraction = (cycleTime - keyTime) / (duration - keyTime);
+      }
+      if (!running) {
+         fraction = 1;
+      }
+      fraction = interpolator.interpolate(0d, 1d, fraction);
+      for (int i = 0; i < current.length; i++) {
+         current[i] = startFrom[i] + (startTo[i] - startFrom[i]) * fraction;
+      }
+      switch (type) {
+         case NUMBER:
+            value.setValue(current[0]);
+            break;
+         case DISCRETE:
+            value.setValue(fraction < 1 ? from[0] : to[0]);
+            break;
+         case COLOR:
+            value.setValue(Color.color(clamp(current[0]), clamp(current[1]), clamp(current[2]), clamp(current[3])));
+            break;
+         case ROTATE:
+            node.setRotate(current[0]);
+            break;
+         case TRANSLATE:
+            node.setTranslateX(current[0]);
+            node.setTranslateY(current[1]);
+            break;
+         case SCALE:
+            node.setScaleX(current[0]);
+            node.setScaleY(current[1]);
+            break;
+      }
+      return running;
+   }
+
+   private static double clamp(double value) {
+      return value < 0 ? 0 : (value > 1 ? 1 : value);
+   }
+
+   /**
+    * Replace the values which are not specified by the values of the Node.
+    */
+   private void start() {
+      started = true;
+      System.arraycopy(from, 0, startFrom, 0, from.length);
+      System.arraycopy(to, 0, startTo, 0, to.length);
+      switch (type) {
+         case ROTATE:
+            replaceNaN(0, node.getRotate());
+            break;
+         case TRANSLATE:
+            replaceNaN(0, node.getTranslateX());
+            replaceNaN(1, node.getTranslateY());
+            break;
+         case SCALE:
+            replaceNaN(0, node.getScaleX());
+            replaceNaN(1, node.getScaleY());
+            break;
+      }
+   }
+
+   private void replaceNaN(int index, double nodeValue) {
+      if (Double.isNaN(startFrom[index])) {
+         startFrom[index] = nodeValue;
+      }
+      if (Double.isNaN(startTo[index])) {
+         startTo[index] = nodeValue;
+      }
+   }
+}
@@ -34,10 +34,14 @@ package org.girod.javafx.svgimage.xml.specs;
 
 import org.girod.javafx.svgimage.xml.builders.SVGShapeBuilder;
 import org.girod.javafx.svgimage.xml.parsers.ParserUtils;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.StringTokenizer;
 import javafx.collections.ObservableList;
 import javafx.scene.Node;
 import javafx.scene.paint.Color;
@@ -47,11 +51,19 @@ import javafx.scene.text.FontPosture;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
 import javafx.scene.transform.Transform;
+import org.girod.javafx.svgimage.css.CompoundSelectorMatcher;
+import org.girod.javafx.svgimage.css.SelectorMatcher;
+import org.girod.javafx.svgimage.xml.parsers.SVGTags;
+import org.girod.javafx.svgimage.xml.parsers.xmltree.XMLNode;
 
 /**
  * Represents a "style" node in the SVG content.
  *
- * @version 1.9
+ * The rules added with a {@link SelectorMatcher} are indexed by the id, the first class or the element name of
+ * their rightmost compound selector, so that an element is only matched against the rules which could apply to it,
+ * whatever the total number of rules.
+ *
+ * @version 1.10
  */
 public class Styles {
    /**
@@ -106,7 +118,22 @@ public class Styles {
     * Style property type for transform.
     */
    public static final short TRANSFORM = 12;
+   private static final Comparator<SelectorRule> CASCADE_ORDER = new Comparator<SelectorRule>() {
+      @Override
+      public int compare(SelectorRule rule1, SelectorRule rule2) {
+         if (rule1.specificity != rule2.specificity) {
+            return rule1.specificity < rule2.specificity ? -1 : 1;
+         } else {
+            return Integer.compare(rule1.order, rule2.order);
+         }
+      }
+   };
    private final Map<String, Rule> rules = new HashMap<>();
+   private final Map<String, List<SelectorRule>> idRules = new HashMap<>();
+   private final Map<String, List<SelectorRule>> classRules = new HashMap<>();
+   private final Map<String, List<SelectorRule>> tagRules = new HashMap<>();
+   private final List<SelectorRule> universalRules = new ArrayList<>();
+   private int selectorRulesCount = 0;
 
    /**
     * Create an empty styles collection.
@@ -143,6 +170,136 @@ public class Styles {
       return rules.get(styleClass);
    }
 
+   /**
+    * Add a style rule for a selector. The properties of the rule must have been set before calling this method.
+    * If the selector only consists of an element name or a single class, the properties are also available from
+    * {@link #getRule(String)}.
+    *
+    * @param selector the selector
+    * @param rule the rule
+    * @since 1.10
+    */
+   public void addRule(SelectorMatcher selector, Rule rule) {
+      SelectorRule selectorRule = new SelectorRule(selector, rule, selectorRulesCount);
+      selectorRulesCount++;
+      CompoundSelectorMatcher subject = selector.getSubject();
+      if (subject.getId() != null) {
+         addSelectorRule(idRules, subject.getId(), selectorRule);
+      } else if (!subject.getClasses().isEmpty()) {
+         addSelectorRule(classRules, subject.getClasses().get(0), selectorRule);
+      } else if (subject.getTagName() != null) {
+         addSelectorRule(tagRules, subject.getTagName(), selectorRule);
+      } else {
+         universalRules.add(selectorRule);
+      }
+      if (subject == selector && subject.isSimple()) {
+         String styleClass = subject.getTagName() != null ? subject.getTagName() : subject.getClasses().get(0);
+         Rule simpleRule = rules.get(styleClass);
+         if (simpleRule == null) {
+            simpleRule = new Rule(styleClass);
+            rules.put(styleClass, simpleRule);
+         }
+         simpleRule.properties.putAll(rule.properties);
+      }
+   }
+
+   private static void addSelectorRule(Map<String, List<SelectorRule>> map, String key, SelectorRule selectorRule) {
+      List<SelectorRule> list = map.get(key);
+      if (list == null) {
+         list = new ArrayList<>();
+         map.put(key, list);
+      }
+      list.add(selectorRule);
+   }
+
+   /**
+    * Return true if rules have been added for selectors.
+    *
+    * @return true if rules have been added for selectors
+    * @since 1.10
+    */
+   public boolean hasSelectorRules() {
+      return selectorRulesCount != 0;
+   }
+
+   /**
+    * Return the number of rules added for selectors.
+    *
+    * @return the number of rules added for selectors
+    * @since 1.10
+    */
+   public int getSelectorRulesCount() {
+      return selectorRulesCount;
+   }
+
+   /**
+    * Return the rules whose selector matches an element, by increasing specificity, and in the order of their
+    * declaration for the same specificity.
+    *
+    * @param xmlNode the element
+    * @return the matching rules
+    * @since 1.10
+    */
+   public List<Rule> getMatchingRules(XMLNode xmlNode) {
+      List<SelectorRule> matching = new ArrayList<>();
+      String id = xmlNode.getAttributeValue(SVGTags.ID);
+      if (id != null) {
+         addMatchingRules(idRules.get(id), xmlNode, matching);
+      }
+      String styleClasses = xmlNode.getAttributeValue(SVGTags.CLASS);
+      if (styleClasses != null) {
+         List<String> visited = new ArrayList<>();
+         StringTokenizer tok = new StringTokenizer(styleClasses, " \t\n\r\f");
+         while (tok.hasMoreTokens()) {
+            String styleClass = tok.nextToken();
+            if (!visited.contains(styleClass)) {
+               visited.add(styleClass);
+               addMatchingRules(classRules.get(styleClass), xmlNode, matching);
+            }
+         }
+      }
+      addMatchingRules(tagRules.get(xmlNode.getName()), xmlNode, matching);
+      addMatchingRules(universalRules, xmlNode, matching);
+      if (matching.isEmpty()) {
+         return Collections.emptyList();
+      }
+      Collections.sort(matching, CASCADE_ORDER);
+      List<Rule> matchingRules = new ArrayList<>(matching.size());
+      Iterator<SelectorRule> it = matching.iterator();
+      while (it.hasNext()) {
+         matchingRules.add(it.next().rule);
+      }
+      return matchingRules;
+   }
+
+   private static void addMatchingRules(List<SelectorRule> candidates, XMLNode xmlNode, List<SelectorRule> matching) {
+      if (candidates != null) {
+         for (int i = 0; i < candidates.size(); i++) {
+            SelectorRule selectorRule = candidates.get(i);
+            if (selectorRule.selector.matches(xmlNode)) {
+               matching.add(selectorRule);
+            }
+         }
+      }
+   }
+
+   /**
+    * A rule indexed with its selector.
+    */
+   private static class SelectorRule {
+      private final SelectorMatcher selector;
+      private final Rule rule;
+      private final int specificity;
+      private final int order;
+
+      private SelectorRule(SelectorMatcher selector, Rule rule, int order) {
+         this.selector = selector;
+         this.rule = rule;
+         this.specificity = selector.getSpecificity();
+         this.order = order;
+      }
+   }
+
    /**
     * A style rule with property definitions.
     */
@@ -275,8 +432,14 @@ public class Styles {
                   }
                   break;                  
                case TRANSFORM:
-                  Transform transform = (Transform) value;
-                  node.getTransforms().add(transform);
+                  if (value instanceof List) {
+                     Iterator<?> it2 = ((List<?>) value).iterator();
+                     while (it2.hasNext()) {
+                        node.getTransforms().add((Transform) it2.next());
+                     }
+                  } else {
+                     node.getTransforms().add((Transform) value);
+                  }
                   break;
             }
             if (hasFontProperties && node instanceof Text) {
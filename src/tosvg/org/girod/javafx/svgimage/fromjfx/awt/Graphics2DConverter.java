@@ -36,6 +36,7 @@ import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.geom.Rectangle2D;
 import javafx.scene.Node;
+import org.girod.javafx.svgimage.FlightRecorderEvents;
 import org.girod.javafx.svgimage.fromjfx.AbstractJFXConverter;
 import org.girod.javafx.svgimage.fromjfx.awt.converters.AwtConverterDelegate;
 import org.girod.javafx.svgimage.fromjfx.awt.converters.ConverterListener;
@@ -149,11 +150,15 @@ public class Graphics2DConverter extends AbstractJFXConverter<AwtConverterDelega
       if (delegate.getGraphics2D() == null) {
          throw new JFXConverterException("Graphics2D is null");
       }
+      FlightRecorderEvents.Event event = FlightRecorderEvents.GRAPHICS2D_CONVERSION.begin();
       delegate.reset();
       ConverterParameters params = delegate.getParameters();
       fillBackground(root, params);
       applyTranslate(root, params);
       delegate.convert(root);
+      if (event != null) {
+         event.commit(FlightRecorderEvents.getSource(root), FlightRecorderEvents.countNodes(root));
+      }
    }
 
    private void applyTranslate(Node root, ConverterParameters params) {
@@ -205,10 +210,14 @@ public class Graphics2DConverter extends AbstractJFXConverter<AwtConverterDelega
       if (delegate.getGraphics2D() == null) {
          throw new JFXConverterException("Graphics2D is null");
       }
+      FlightRecorderEvents.Event event = FlightRecorderEvents.GRAPHICS2D_CONVERSION.begin();
       delegate.reset();
       fillBackground(root, params);
       applyTranslate(root, params);
 
       delegate.convert(root, params);
+      if (event != null) {
+         event.commit(FlightRecorderEvents.getSource(root), FlightRecorderEvents.countNodes(root));
+      }
    }
 }
@@ -0,0 +1,173 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage.fromjfx.awt;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import org.girod.javafx.svgimage.fromjfx.ConverterParameters;
+import org.girod.javafx.svgimage.fromjfx.JFXConverterException;
+import org.girod.javafx.svgimage.fromjfx.utils.Utilities;
+
+/**
+ * The SVGRasterizer class allows to render a JavaFX Node hierarchy, such as a loaded {@link org.girod.javafx.svgimage.SVGImage}, directly
+ * in a {@link BufferedImage} using Java2D, without using a JavaFX snapshot.
+ *
+ * Contrary to {@link org.girod.javafx.svgimage.SVGImage#toImage()}, the rasterization does not need to be performed on the JavaFX Application
+ * Thread. It can be called from any thread, so several documents can be rasterized in parallel by several worker threads. Note that:
+ * <ul>
+ * <li>The Node hierarchy must not be attached to a showing Scene</li>
+ * <li>The same Node hierarchy must not be rasterized or modified by several threads at the same time</li>
+ * </ul>
+ *
+ * The SVGRasterizer has no state other than its parameters, so a single instance can be shared by several threads.
+ *
+ * @since 1.10
+ */
+public class SVGRasterizer {
+   private final ConverterParameters params;
+   private boolean antialiasing = true;
+
+   /**
+    * Constructor.
+    */
+   public SVGRasterizer() {
+      this.params = new ConverterParameters();
+   }
+
+   /**
+    * Constructor. Only the {@link ConverterParameters#background}, {@link ConverterParameters#isSupportingDisabled}, and
+    * {@link ConverterParameters#grayScalePercent} parameters are taken into account.
+    *
+    * @param params the converter parameters
+    */
+   public SVGRasterizer(ConverterParameters params) {
+      this.params = params;
+   }
+
+   /**
+    * Set if the rendering must be antialiased. The default is true.
+    *
+    * @param antialiasing true if the rendering must be antialiased
+    */
+   public void setAntialiasing(boolean antialiasing) {
+      this.antialiasing = antialiasing;
+   }
+
+   /**
+    * Return true if the rendering is antialiased.
+    *
+    * @return true if the rendering is antialiased
+    */
+   public boolean isAntialiasing() {
+      return antialiasing;
+   }
+
+   /**
+    * Render a Node hierarchy in a BufferedImage, without applying a scale.
+    *
+    * @param root the root Node
+    * @return the BufferedImage
+    * @throws JFXConverterException if the rendering fails
+    */
+   public BufferedImage rasterize(Node root) throws JFXConverterException {
+      return rasterize(root, 1d);
+   }
+
+   /**
+    * Render a Node hierarchy in a BufferedImage, specifying the resulting width and preserving the image ratio.
+    *
+    * @param root the root Node
+    * @param width the resulting width
+    * @return the BufferedImage
+    * @throws JFXConverterException if the rendering fails
+    */
+   public BufferedImage rasterizeToWidth(Node root, double width) throws JFXConverterException {
+      Bounds bounds = root.getBoundsInLocal();
+      return rasterize(root, width / bounds.getWidth());
+   }
+
+   /**
+    * Render a Node hierarchy in a BufferedImage. The transforms of the root Node are not taken into account.
+    *
+    * @param root the root Node
+    * @param scale the scale
+    * @return the BufferedImage
+    * @throws JFXConverterException if the rendering fails
+    */
+   public BufferedImage rasterize(Node root, double scale) throws JFXConverterException {
+      Bounds bounds = root.getBoundsInLocal();
+      int width = (int) Math.ceil(bounds.getWidth() * scale);
+      int height = (int) Math.ceil(bounds.getHeight() * scale);
+      if (width <= 0 || height <= 0) {
+         throw new JFXConverterException("Empty Node bounds");
+      }
+      BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+      Graphics2D g2d = image.createGraphics();
+      try {
+         if (params.background != null) {
+            Color background = Utilities.getAWTColor(params.background);
+            if (background != null) {
+               g2d.setColor(background);
+               g2d.fillRect(0, 0, width, height);
+            }
+         }
+         if (antialiasing) {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2d.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+         }
+         g2d.scale(scale, scale);
+         g2d.translate(-bounds.getMinX(), -bounds.getMinY());
+         // a new converter is created for each rendering because the converter delegate is stateful
+         Graphics2DConverter converter = new Graphics2DConverter(g2d, createConverterParameters());
+         converter.convert(root);
+      } finally {
+         g2d.dispose();
+      }
+      return image;
+   }
+
+   private ConverterParameters createConverterParameters() {
+      ConverterParameters converterParams = new ConverterParameters();
+      // the background and the root translation are already handled by the rasterizer
+      converterParams.allowTransformForRoot = false;
+      converterParams.background = null;
+      converterParams.isSupportingDisabled = params.isSupportingDisabled;
+      converterParams.grayScalePercent = params.grayScalePercent;
+      return converterParams;
+   }
+}
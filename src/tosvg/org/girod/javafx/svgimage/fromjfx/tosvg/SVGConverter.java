@@ -32,6 +32,7 @@ the project website at the project page on https://github.com/hervegirod/fxsvgim
  */
 package org.girod.javafx.svgimage.fromjfx.tosvg;
 
+import org.girod.javafx.svgimage.FlightRecorderEvents;
 import org.girod.javafx.svgimage.fromjfx.ConverterParameters;
 import java.io.File;
 import java.io.IOException;
@@ -183,6 +184,7 @@ public class SVGConverter extends AbstractJFXConverter<SVGConverterDelegate> {
       if (params == null) {
          params = defaultParams;
       }
+      FlightRecorderEvents.Event event = FlightRecorderEvents.SVG_CONVERSION.begin();
       XMLRoot xmlRoot = new XMLRoot("svg");
       addRootAttributes(root, xmlRoot, params);
       delegate.convertRoot(root, xmlRoot, params);
@@ -192,6 +194,9 @@ public class SVGConverter extends AbstractJFXConverter<SVGConverterDelegate> {
       } catch (IOException e) {
          throw new JFXConverterException(e);
       }
+      if (event != null) {
+         event.commit(FlightRecorderEvents.getSource(root), FlightRecorderEvents.countNodes(root));
+      }
    }
 
    /**
@@ -218,6 +223,7 @@ public class SVGConverter extends AbstractJFXConverter<SVGConverterDelegate> {
       if (params == null) {
          params = defaultParams;
       }
+      FlightRecorderEvents.Event event = FlightRecorderEvents.SVG_CONVERSION.begin();
       XMLRoot xmlRoot = new XMLRoot("svg");
       addRootAttributes(root, xmlRoot, params);
       delegate.convertRoot(root, xmlRoot, params);
@@ -227,5 +233,8 @@ public class SVGConverter extends AbstractJFXConverter<SVGConverterDelegate> {
       } catch (IOException ex) {
          throw new JFXConverterException(ex);
       }
+      if (event != null) {
+         event.commit(FlightRecorderEvents.getSource(root), FlightRecorderEvents.countNodes(root));
+      }
    }
 }
@@ -0,0 +1,170 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.util.concurrent.Callable;
+import javafx.scene.shape.Rectangle;
+import org.girod.javafx.svgimage.xml.specs.AnimationTrack;
+import org.girod.javafx.tosvg.JFXInvoker;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the animations played by the shared {@link AnimationClock}.
+ *
+ * @since 1.10
+ */
+public class AnimationClockTest {
+   private static final String CONTENT = "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"200\" height=\"200\">"
+      + "<rect id=\"moving\" x=\"0\" y=\"0\" width=\"10\" height=\"10\" fill=\"red\">"
+      + "<animate attributeName=\"x\" from=\"0\" to=\"100\" dur=\"1s\" fill=\"freeze\"/>"
+      + "</rect>"
+      + "<rect id=\"rotating\" x=\"50\" y=\"50\" width=\"10\" height=\"10\" fill=\"blue\">"
+      + "<animateTransform attributeName=\"transform\" type=\"rotate\" from=\"0\" to=\"90\" dur=\"2s\" fill=\"freeze\"/>"
+      + "</rect>"
+      + "</svg>";
+
+   public AnimationClockTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   private static SVGImage loadWithClock() {
+      LoaderParameters params = new LoaderParameters();
+      params.sharedAnimationClock = true;
+      SVGImage image = SVGLoader.load(CONTENT, params);
+      assertNotNull("SVGImage should not be null", image);
+      return image;
+   }
+
+   /**
+    * Test that the animations are not played by the clock by default.
+    */
+   @Test
+   public void testDefault() {
+      System.out.println("AnimationClockTest : testDefault");
+      SVGImage image = SVGLoader.load(CONTENT);
+      assertNotNull("SVGImage should not be null", image);
+      assertNull("Player should be null", image.getAnimationPlayer());
+   }
+
+   /**
+    * Test of the tracks created for the animations.
+    */
+   @Test
+   public void testTracks() {
+      System.out.println("AnimationClockTest : testTracks");
+      SVGImage image = loadWithClock();
+      AnimationClock.Player player = image.getAnimationPlayer();
+      assertNotNull("Player should not be null", player);
+      AnimationTrack[] tracks = player.getTracks();
+      assertEquals("Tracks count", 2, tracks.length);
+      assertEquals("First track type", AnimationTrack.NUMBER, tracks[0].getType());
+      assertEquals("Second track type", AnimationTrack.ROTATE, tracks[1].getType());
+      assertEquals("First track duration", 1000d, tracks[0].getTotalDuration(), 0.001d);
+      assertEquals("Second track duration", 2000d, tracks[1].getTotalDuration(), 0.001d);
+   }
+
+   /**
+    * Test of the values of the Nodes at a given time.
+    */
+   @Test
+   public void testJumpTo() throws Exception {
+      System.out.println("AnimationClockTest : testJumpTo");
+      final SVGImage image = loadWithClock();
+      final AnimationClock.Player player = image.getAnimationPlayer();
+      JFXInvoker.getInstance().callBlocking(new Callable<Void>() {
+         @Override
+         public Void call() throws Exception {
+            player.jumpTo(500);
+            return null;
+         }
+      });
+      Rectangle moving = (Rectangle) image.getChildren().get(0);
+      assertEquals("x at 500 ms", 50d, moving.getX(), 0.001d);
+      Rectangle rotating = (Rectangle) image.getChildren().get(1);
+      assertTrue("Angle at 500 ms", rotating.getRotate() > 0d && rotating.getRotate() < 45d);
+      JFXInvoker.getInstance().callBlocking(new Callable<Void>() {
+         @Override
+         public Void call() throws Exception {
+            player.jumpTo(5000);
+            return null;
+         }
+      });
+      assertEquals("Frozen x", 100d, moving.getX(), 0.001d);
+      assertEquals("Frozen angle", 90d, rotating.getRotate(), 0.001d);
+   }
+
+   /**
+    * Test that the clock only runs while images are playing.
+    */
+   @Test
+   public void testPlayAndStop() throws Exception {
+      System.out.println("AnimationClockTest : testPlayAndStop");
+      final SVGImage image = loadWithClock();
+      final AnimationClock clock = AnimationClock.getInstance();
+      assertTrue("Clock should run", JFXInvoker.getInstance().callBlocking(new Callable<Boolean>() {
+         @Override
+         public Boolean call() throws Exception {
+            image.playAnimations();
+            return clock.isRunning() && clock.getPlayingImagesCount() == 1 && clock.getPlayingTracksCount() == 2;
+         }
+      }));
+      assertFalse("Clock should be stopped", JFXInvoker.getInstance().callBlocking(new Callable<Boolean>() {
+         @Override
+         public Boolean call() throws Exception {
+            image.stopAnimations();
+            return clock.isRunning();
+         }
+      }));
+      assertEquals("Playing images", 0, clock.getPlayingImagesCount());
+   }
+}
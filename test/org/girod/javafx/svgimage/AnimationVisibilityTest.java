@@ -0,0 +1,342 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.util.concurrent.Callable;
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+import javafx.scene.shape.Rectangle;
+import javafx.stage.Stage;
+import org.girod.javafx.tosvg.JFXInvoker;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the pausing of the animations of hidden images.
+ *
+ * @since 1.10
+ */
+public class AnimationVisibilityTest {
+   private static final String CONTENT = "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"100\" height=\"100\">"
+      + "<rect x=\"0\" y=\"0\" width=\"100\" height=\"100\" fill=\"red\">"
+      + "<animate attributeName=\"x\" from=\"0\" to=\"100\" dur=\"10s\" repeatCount=\"indefinite\"/>"
+      + "</rect>"
+      + "</svg>";
+
+   public AnimationVisibilityTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   private static <T> T inJFX(Callable<T> callable) throws Exception {
+      JFXInvoker invoker = JFXInvoker.getInstance();
+      T result = invoker.callBlocking(callable);
+      // wait for the visibility checks which have been scheduled by the callable
+      invoker.invokeBlocking(new Runnable() {
+         @Override
+         public void run() {
+         }
+      });
+      return result;
+   }
+
+   private static SVGImage load(boolean pauseHidden) {
+      LoaderParameters params = new LoaderParameters();
+      params.pauseHiddenAnimations = pauseHidden;
+      SVGImage image = SVGLoader.load(CONTENT, params);
+      assertNotNull("SVGImage should not be null", image);
+      return image;
+   }
+
+   /**
+    * Test that the animations of an image only run while the image is showing.
+    */
+   @Test
+   public void testShowing() throws Exception {
+      System.out.println("AnimationVisibilityTest : testShowing");
+      final SVGImage image = load(true);
+      assertTrue("Animations should be paused while hidden", image.isPauseHiddenAnimations());
+      final Pane pane = new Pane();
+      inJFX(new Callable<Void>() {
+         @Override
+         public Void call() throws Exception {
+            assertTrue("Animations should be playing", image.isPlayingAnimations());
+            assertFalse("Animations should not run without a Scene", image.isRunningAnimations());
+            pane.getChildren().add(image);
+            // the Stage is not hidden by the test, because the platform exits when its last Window is hidden
+            Stage stage = new Stage();
+            stage.setScene(new Scene(pane, 200, 200));
+            stage.show();
+            return null;
+         }
+      });
+      try {
+         assertTrue("Animations should run", inJFX(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+               return image.isRunningAnimations();
+            }
+         }));
+         inJFX(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+               pane.setVisible(false);
+               return null;
+            }
+         });
+         assertFalse("Animations should not run in an invisible parent", inJFX(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+               return image.isRunningAnimations();
+            }
+         }));
+         inJFX(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+               pane.setVisible(true);
+               return null;
+            }
+         });
+         assertTrue("Animations should run again", inJFX(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+               return image.isRunningAnimations();
+            }
+         }));
+         inJFX(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+               pane.getChildren().remove(image);
+               new Scene(new Pane(image));
+               return null;
+            }
+         });
+         assertFalse("Animations should not run in a Scene without Window", inJFX(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+               return image.isRunningAnimations();
+            }
+         }));
+      } finally {
+         inJFX(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+               image.stopAnimations();
+               return null;
+            }
+         });
+      }
+   }
+
+   /**
+    * Test that the animations of an image outside the clip of its parent are paused.
+    */
+   @Test
+   public void testClip() throws Exception {
+      System.out.println("AnimationVisibilityTest : testClip");
+      final SVGImage image = load(true);
+      final Pane pane = new Pane();
+      inJFX(new Callable<Void>() {
+         @Override
+         public Void call() throws Exception {
+            pane.setClip(new Rectangle(0, 0, 150, 150));
+            pane.getChildren().add(image);
+            // the Stage is not hidden by the test, because the platform exits when its last Window is hidden
+            Stage stage = new Stage();
+            stage.setScene(new Scene(pane, 400, 400));
+            stage.show();
+            return null;
+         }
+      });
+      try {
+         assertTrue("Animations should run", inJFX(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+               return image.isRunningAnimations();
+            }
+         }));
+         inJFX(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+               image.setTranslateX(200);
+               return null;
+            }
+         });
+         assertFalse("Animations should not run outside the clip", inJFX(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+               return image.isRunningAnimations();
+            }
+         }));
+         inJFX(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+               image.setTranslateX(100);
+               return null;
+            }
+         });
+         assertTrue("Animations should run when partly in the clip", inJFX(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+               return image.isRunningAnimations();
+            }
+         }));
+      } finally {
+         inJFX(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+               image.stopAnimations();
+               return null;
+            }
+         });
+      }
+   }
+
+   /**
+    * Test of the maximum number of images playing their animations at the same time.
+    */
+   @Test
+   public void testMaximumAnimatedImages() throws Exception {
+      System.out.println("AnimationVisibilityTest : testMaximumAnimatedImages");
+      GlobalConfig.getInstance().setMaximumAnimatedImages(1);
+      try {
+         final SVGImage image1 = load(false);
+         final SVGImage image2 = load(false);
+         assertTrue("First image should run", inJFX(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+               return image1.isRunningAnimations();
+            }
+         }));
+         assertTrue("Second image should be playing", image2.isPlayingAnimations());
+         assertFalse("Second image should wait", image2.isRunningAnimations());
+         inJFX(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+               image1.stopAnimations();
+               return null;
+            }
+         });
+         assertTrue("Second image should run", inJFX(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+               return image2.isRunningAnimations();
+            }
+         }));
+         inJFX(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+               image2.stopAnimations();
+               return null;
+            }
+         });
+      } finally {
+         GlobalConfig.getInstance().setMaximumAnimatedImages(0);
+      }
+   }
+
+   /**
+    * Test that an image removed from its Scene releases its place in the images which are allowed to play their animations.
+    */
+   @Test
+   public void testMaximumAnimatedImagesRemoved() throws Exception {
+      System.out.println("AnimationVisibilityTest : testMaximumAnimatedImagesRemoved");
+      GlobalConfig.getInstance().setMaximumAnimatedImages(1);
+      try {
+         final SVGImage image1 = load(false);
+         final SVGImage image2 = load(false);
+         final Pane pane = new Pane();
+         inJFX(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+               pane.getChildren().add(image1);
+               // the Stage is not hidden by the test, because the platform exits when its last Window is hidden
+               Stage stage = new Stage();
+               stage.setScene(new Scene(pane, 200, 200));
+               stage.show();
+               return null;
+            }
+         });
+         assertTrue("First image should run", inJFX(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+               return image1.isRunningAnimations();
+            }
+         }));
+         assertFalse("Second image should wait", image2.isRunningAnimations());
+         inJFX(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+               pane.getChildren().remove(image1);
+               return null;
+            }
+         });
+         assertTrue("Second image should run", inJFX(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+               return image2.isRunningAnimations();
+            }
+         }));
+         assertTrue("First image should still be playing", image1.isPlayingAnimations());
+         assertFalse("First image should not run", image1.isRunningAnimations());
+         inJFX(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+               image1.stopAnimations();
+               image2.stopAnimations();
+               return null;
+            }
+         });
+      } finally {
+         GlobalConfig.getInstance().setMaximumAnimatedImages(0);
+      }
+   }
+}
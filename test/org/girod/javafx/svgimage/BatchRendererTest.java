@@ -0,0 +1,169 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import javax.imageio.ImageIO;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the batch renderer.
+ *
+ * @since 1.10
+ */
+public class BatchRendererTest {
+   @Rule
+   public TemporaryFolder folder = new TemporaryFolder();
+
+   public BatchRendererTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   private File createInputs() throws IOException {
+      File dir = folder.newFolder("svg");
+      File subDir = new File(dir, "sub");
+      subDir.mkdirs();
+      copy("circle.svg", dir);
+      copy("rect.svg", dir);
+      copy("rect200.svg", subDir);
+      return dir;
+   }
+
+   private void copy(String name, File dir) throws IOException {
+      try (InputStream stream = this.getClass().getResourceAsStream(name)) {
+         Files.copy(stream, new File(dir, name).toPath(), StandardCopyOption.REPLACE_EXISTING);
+      }
+   }
+
+   /**
+    * Test of rendering a directory at several sizes.
+    */
+   @Test
+   public void testRenderDirectory() throws Exception {
+      System.out.println("BatchRendererTest : testRenderDirectory");
+      File input = createInputs();
+      File output = folder.newFolder("png");
+      BatchRenderer renderer = new BatchRenderer();
+      renderer.addInput(input);
+      renderer.setOutputDirectory(output);
+      renderer.setWidths(32, 64);
+      renderer.setThreads(2);
+      renderer.setBatchSize(2);
+      renderer.setLog(null);
+      assertEquals("Inputs", 3, renderer.getInputCount());
+
+      BatchRenderer.Report report = renderer.render();
+      assertEquals("Rendered", 3, report.getRenderedCount());
+      assertEquals("Skipped", 0, report.getSkippedCount());
+      assertTrue("Failures", report.getFailures().isEmpty());
+      assertTrue("Output bytes", report.getOutputBytes() > 0);
+
+      File file = new File(output, "circle-32.png");
+      assertTrue("circle-32.png must exist", file.exists());
+      BufferedImage image = ImageIO.read(file);
+      assertEquals("Image width", 32, image.getWidth(), 1);
+      file = new File(output, "sub/rect200-64.png");
+      assertTrue("sub/rect200-64.png must exist", file.exists());
+      image = ImageIO.read(file);
+      assertEquals("Image width", 64, image.getWidth(), 1);
+   }
+
+   /**
+    * Test of a glob input with the resume option.
+    */
+   @Test
+   public void testResume() throws Exception {
+      System.out.println("BatchRendererTest : testResume");
+      File input = createInputs();
+      BatchRenderer renderer = new BatchRenderer();
+      renderer.addInput(input.getPath() + "/rect*.svg");
+      renderer.setResume(true);
+      renderer.setLog(null);
+      assertEquals("Inputs", 1, renderer.getInputCount());
+
+      BatchRenderer.Report report = renderer.render();
+      assertEquals("Rendered", 1, report.getRenderedCount());
+      assertTrue("rect.png must exist", new File(input, "rect.png").exists());
+
+      report = renderer.render();
+      assertEquals("Rendered", 0, report.getRenderedCount());
+      assertEquals("Skipped", 1, report.getSkippedCount());
+   }
+
+   /**
+    * Test of the report of a file which can not be parsed.
+    */
+   @Test
+   public void testFailure() throws Exception {
+      System.out.println("BatchRendererTest : testFailure");
+      File input = createInputs();
+      File invalid = new File(input, "invalid.svg");
+      Files.write(invalid.toPath(), "<svg".getBytes("UTF-8"));
+      BatchRenderer renderer = new BatchRenderer();
+      renderer.addInput(input);
+      renderer.setOutputDirectory(folder.newFolder("png"));
+      renderer.setLog(null);
+
+      BatchRenderer.Report report = renderer.render();
+      assertEquals("Rendered", 3, report.getRenderedCount());
+      assertEquals("Failures", 1, report.getFailures().size());
+      assertTrue("Failed file", report.getFailures().containsKey(invalid));
+   }
+}
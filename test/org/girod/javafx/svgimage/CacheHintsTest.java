@@ -0,0 +1,249 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import javafx.scene.CacheHint;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import org.girod.javafx.tosvg.JFXInvoker;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the cache hints of the subtrees of an image.
+ *
+ * @since 1.10
+ */
+public class CacheHintsTest {
+
+   public CacheHintsTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   private static void appendRects(StringBuilder buf, int count) {
+      for (int i = 0; i < count; i++) {
+         buf.append("<rect x=\"").append(i % 40).append("\" y=\"").append(i / 40).append("\" width=\"1\" height=\"1\" fill=\"green\"/>");
+      }
+   }
+
+   /**
+    * Create a document with an expensive group, a cheap group, an expensive group with an animation, and an expensive group with a
+    * blur.
+    */
+   private static SVGImage loadGroups(boolean cacheHints) {
+      StringBuilder buf = new StringBuilder();
+      buf.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"100\" height=\"100\">");
+      buf.append("<defs><filter id=\"blur\"><feGaussianBlur stdDeviation=\"2\"/></filter></defs>");
+      buf.append("<g id=\"heavy\">");
+      appendRects(buf, 1200);
+      buf.append("</g>");
+      buf.append("<g id=\"light\">");
+      appendRects(buf, 5);
+      buf.append("</g>");
+      buf.append("<g id=\"animated\">");
+      buf.append("<rect x=\"0\" y=\"0\" width=\"10\" height=\"10\"><animate attributeName=\"x\" from=\"0\" to=\"50\" dur=\"1s\"/></rect>");
+      buf.append("<g id=\"static\">");
+      appendRects(buf, 1200);
+      buf.append("</g>");
+      buf.append("</g>");
+      buf.append("<g id=\"blurred\" filter=\"url(#blur)\">");
+      appendRects(buf, 600);
+      buf.append("</g>");
+      buf.append("</svg>");
+      LoaderParameters params = new LoaderParameters();
+      params.cacheHints = cacheHints;
+      params.autoStartAnimations = false;
+      SVGImage image = SVGLoader.load(buf.toString(), params);
+      assertNotNull("SVGImage should not be null", image);
+      return image;
+   }
+
+   /**
+    * Test the choice of the cached subtrees.
+    */
+   @Test
+   public void testCacheHints() throws Exception {
+      System.out.println("CacheHintsTest : testCacheHints");
+      final SVGImage image = loadGroups(true);
+      CacheHints cacheHints = image.getCacheHints();
+      assertNotNull("CacheHints", cacheHints);
+      assertEquals("Choices", 5, cacheHints.getChoices().size());
+
+      List<CacheHints.Choice> choices = cacheHints.getChoices();
+      Node heavy = choices.get(0).getNode();
+      Node light = choices.get(1).getNode();
+      Node animated = choices.get(2).getNode();
+      Node staticGroup = choices.get(3).getNode();
+      Node blurred = choices.get(4).getNode();
+      assertSame("Static group in the animated group", animated, staticGroup.getParent());
+      assertTrue("Heavy group cached", heavy.isCache());
+      assertEquals("Heavy group cache hint", CacheHint.QUALITY, heavy.getCacheHint());
+      assertFalse("Light group not cached", light.isCache());
+      assertFalse("Animated group not cached", animated.isCache());
+      assertTrue("Static group in the animated group cached", staticGroup.isCache());
+
+      List<Node> cached = cacheHints.getCachedNodes();
+      assertTrue("Cached nodes", cached.contains(heavy));
+      assertTrue("Cached nodes", cached.contains(staticGroup));
+      if (blurred.getEffect() != null) {
+         assertTrue("Blurred group cached", blurred.isCache());
+         assertEquals("Blurred group cache hint", CacheHint.SPEED, blurred.getCacheHint());
+         assertEquals("Cached nodes", 3, cached.size());
+      } else {
+         assertEquals("Cached nodes", 2, cached.size());
+      }
+      assertTrue("Heavy cost", choices.get(0).getCost() >= 1200);
+      assertTrue("Light cost", choices.get(1).getCost() < cacheHints.getThreshold());
+   }
+
+   /**
+    * Test that the cache hints are evaluated again when the image is rescaled.
+    */
+   @Test
+   public void testRescale() throws Exception {
+      System.out.println("CacheHintsTest : testRescale");
+      final SVGImage image = loadGroups(true);
+      final Node heavy = image.getCacheHints().getChoices().get(0).getNode();
+      assertTrue("Heavy group cached", heavy.isCache());
+      boolean cached = JFXInvoker.getInstance().callBlocking(new Callable<Boolean>() {
+         @Override
+         public Boolean call() throws Exception {
+            image.setScaleX(200);
+            image.setScaleY(200);
+            return heavy.isCache();
+         }
+      });
+      assertFalse("Heavy group too large to be cached", cached);
+      assertEquals("Scale", 200, image.getCacheHints().getScale(), 0.001);
+      cached = JFXInvoker.getInstance().callBlocking(new Callable<Boolean>() {
+         @Override
+         public Boolean call() throws Exception {
+            image.setScaleX(1);
+            image.setScaleY(1);
+            return heavy.isCache();
+         }
+      });
+      assertTrue("Heavy group cached", cached);
+   }
+
+   /**
+    * Test that the cache hints are evaluated again when a parent of the image is rescaled.
+    */
+   @Test
+   public void testParentRescale() throws Exception {
+      System.out.println("CacheHintsTest : testParentRescale");
+      final SVGImage image = loadGroups(true);
+      final Node heavy = image.getCacheHints().getChoices().get(0).getNode();
+      final Group parent = JFXInvoker.getInstance().callBlocking(new Callable<Group>() {
+         @Override
+         public Group call() throws Exception {
+            return new Group(image);
+         }
+      });
+      assertTrue("Heavy group cached", heavy.isCache());
+      boolean cached = JFXInvoker.getInstance().callBlocking(new Callable<Boolean>() {
+         @Override
+         public Boolean call() throws Exception {
+            parent.setScaleX(200);
+            parent.setScaleY(200);
+            return heavy.isCache();
+         }
+      });
+      assertFalse("Heavy group too large to be cached", cached);
+      assertEquals("Scale", 200, image.getCacheHints().getScale(), 0.001);
+      cached = JFXInvoker.getInstance().callBlocking(new Callable<Boolean>() {
+         @Override
+         public Boolean call() throws Exception {
+            parent.setScaleX(1);
+            parent.setScaleY(1);
+            return heavy.isCache();
+         }
+      });
+      assertTrue("Heavy group cached", cached);
+   }
+
+   /**
+    * Test that the implicit repeats of the path commands are counted in the cost of a subtree.
+    */
+   @Test
+   public void testPathCost() throws Exception {
+      System.out.println("CacheHintsTest : testPathCost");
+      StringBuilder buf = new StringBuilder();
+      buf.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"100\" height=\"100\">");
+      buf.append("<g id=\"path\"><path d=\"M0 0");
+      for (int i = 0; i < 1200; i++) {
+         buf.append(" ").append(i % 100).append(" ").append(i / 12);
+      }
+      buf.append("\" stroke=\"black\" fill=\"none\"/></g>");
+      buf.append("</svg>");
+      LoaderParameters params = new LoaderParameters();
+      params.cacheHints = true;
+      SVGImage image = SVGLoader.load(buf.toString(), params);
+      assertNotNull("SVGImage should not be null", image);
+      CacheHints.Choice choice = image.getCacheHints().getChoices().get(0);
+      assertTrue("Path cost", choice.getCost() > 1200);
+      assertTrue("Path group cached", choice.getNode().isCache());
+   }
+
+   /**
+    * Test that no cache hints are set by default.
+    */
+   @Test
+   public void testNoCacheHints() throws Exception {
+      System.out.println("CacheHintsTest : testNoCacheHints");
+      SVGImage image = loadGroups(false);
+      assertNull("CacheHints", image.getCacheHints());
+      assertFalse("Heavy group not cached", image.getChildren().get(0).isCache());
+   }
+}
@@ -0,0 +1,159 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the JDK Flight Recorder events. The JFR API is only accessed by reflection, so that the tests can be
+ * compiled with a Java 8 JDK, and they are skipped if JFR is not available.
+ *
+ * @since 1.10
+ */
+public class FlightRecorderEventsTest {
+
+   public FlightRecorderEventsTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   /**
+    * Test that the events are disabled without recording.
+    */
+   @Test
+   public void testDisabled() {
+      System.out.println("FlightRecorderEventsTest : testDisabled");
+      assertFalse("Event should be disabled", FlightRecorderEvents.LOAD.isEnabled());
+      assertNull("Event should not begin", FlightRecorderEvents.LOAD.begin());
+   }
+
+   /**
+    * Test of the load and snapshot events in a recording.
+    */
+   @Test
+   public void testRecording() throws Exception {
+      System.out.println("FlightRecorderEventsTest : testRecording");
+      Assume.assumeTrue(FlightRecorderEvents.isAvailable());
+      Class<?> recordingClass = Class.forName("jdk.jfr.Recording");
+      Object recording = recordingClass.getConstructor().newInstance();
+      recordingClass.getMethod("enable", String.class).invoke(recording, "org.girod.javafx.svgimage.Load");
+      recordingClass.getMethod("enable", String.class).invoke(recording, "org.girod.javafx.svgimage.Snapshot");
+      recordingClass.getMethod("start").invoke(recording);
+      URL url = this.getClass().getResource("circle.svg");
+      SVGImage image;
+      try {
+         image = SVGLoader.load(url);
+         assertNotNull("SVGImage should not be null", image);
+         image.toImage();
+      } finally {
+         recordingClass.getMethod("stop").invoke(recording);
+      }
+      File file = File.createTempFile("fxsvgimage", ".jfr");
+      try {
+         recordingClass.getMethod("dump", Path.class).invoke(recording, file.toPath());
+         recordingClass.getMethod("close").invoke(recording);
+         List<Object[]> events = readEvents(file.toPath());
+         Object[] load = find(events, "org.girod.javafx.svgimage.Load");
+         assertNotNull("Load event", load);
+         assertEquals("Load source", url.toExternalForm(), load[1]);
+         assertEquals("Load elements", 11, load[2]);
+         Object[] snapshot = find(events, "org.girod.javafx.svgimage.Snapshot");
+         assertNotNull("Snapshot event", snapshot);
+         assertEquals("Snapshot source", url.toExternalForm(), snapshot[1]);
+         assertEquals("Snapshot nodes", FlightRecorderEvents.countNodes(image), snapshot[2]);
+      } finally {
+         file.delete();
+      }
+   }
+
+   private Object[] find(List<Object[]> events, String name) {
+      Iterator<Object[]> it = events.iterator();
+      while (it.hasNext()) {
+         Object[] event = it.next();
+         if (name.equals(event[0])) {
+            return event;
+         }
+      }
+      return null;
+   }
+
+   /**
+    * Return the name, source and element count of the events of a recording.
+    */
+   private List<Object[]> readEvents(Path path) throws Exception {
+      Class<?> recordingFileClass = Class.forName("jdk.jfr.consumer.RecordingFile");
+      List<?> recordedEvents = (List<?>) recordingFileClass.getMethod("readAllEvents", Path.class).invoke(null, path);
+      Class<?> recordedEventClass = Class.forName("jdk.jfr.consumer.RecordedEvent");
+      Method getEventType = recordedEventClass.getMethod("getEventType");
+      Method getName = Class.forName("jdk.jfr.EventType").getMethod("getName");
+      Method getString = recordedEventClass.getMethod("getString", String.class);
+      Method getInt = recordedEventClass.getMethod("getInt", String.class);
+      List<Object[]> events = new ArrayList<>();
+      Iterator<?> it = recordedEvents.iterator();
+      while (it.hasNext()) {
+         Object event = it.next();
+         String name = (String) getName.invoke(getEventType.invoke(event));
+         if (name.startsWith("org.girod.javafx.svgimage")) {
+            events.add(new Object[]{name, getString.invoke(event, "source"), getInt.invoke(event, "elementCount")});
+         }
+      }
+      return events;
+   }
+}
@@ -0,0 +1,128 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.util.Map;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the footprint of an image.
+ *
+ * @since 1.10
+ */
+public class FootprintTest {
+   private static final String CONTENT = "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"100\" height=\"100\">"
+      + "<defs>"
+      + "<linearGradient id=\"grad\"><stop offset=\"0%\" stop-color=\"red\"/><stop offset=\"100%\" stop-color=\"blue\"/></linearGradient>"
+      + "<filter id=\"blur\"><feGaussianBlur stdDeviation=\"2\"/></filter>"
+      + "</defs>"
+      + "<path d=\"M 10 10 L 90 10 L 50 90 Z\" fill=\"url(#grad)\"/>"
+      + "<path d=\"M 0 0 h 10 v 10 c 1 1 2 2 3 3\" stroke=\"black\" fill=\"none\"/>"
+      + "<rect x=\"10\" y=\"10\" width=\"20\" height=\"20\" filter=\"url(#blur)\"/>"
+      + "<polygon points=\"0,0 10,0 10,10\"/>"
+      + "</svg>";
+
+   public FootprintTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   /**
+    * Test of the footprint of an image.
+    */
+   @Test
+   public void testFootprint() {
+      System.out.println("FootprintTest : testFootprint");
+      SVGImage result = SVGLoader.load(CONTENT);
+      assertNotNull("SVGImage should not be null", result);
+      Footprint footprint = result.getFootprint();
+      assertNotNull("Footprint should not be null", footprint);
+
+      Map<String, Integer> counts = footprint.getNodeCounts();
+      assertEquals("SVGPath nodes", 2, footprint.getNodeCount("SVGPath"));
+      assertEquals("Rectangle nodes", 1, footprint.getNodeCount("Rectangle"));
+      assertEquals("Polygon nodes", 1, footprint.getNodeCount("Polygon"));
+      int total = 0;
+      for (int count : counts.values()) {
+         total += count;
+      }
+      assertEquals("Node count", total, footprint.getNodeCount());
+
+      assertTrue("Nodes size", footprint.getSize(Footprint.Category.NODES) > 0);
+      assertTrue("Path data size", footprint.getSize(Footprint.Category.PATH_DATA) > 0);
+      assertTrue("Effects size", footprint.getSize(Footprint.Category.EFFECTS) > 0);
+      assertTrue("Properties size", footprint.getSize(Footprint.Category.PROPERTIES) > 0);
+      assertEquals("Images size", 0, footprint.getSize(Footprint.Category.IMAGES));
+      long sum = 0;
+      for (Footprint.Category category : Footprint.Category.values()) {
+         sum += footprint.getSize(category);
+      }
+      assertEquals("Total size", sum, footprint.getTotalSize());
+   }
+
+   /**
+    * Test that the footprint grows with the content.
+    */
+   @Test
+   public void testFootprintGrows() {
+      System.out.println("FootprintTest : testFootprintGrows");
+      SVGImage small = SVGLoader.load("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"100\" height=\"100\">"
+         + "<path d=\"M 10 10 L 90 10 Z\"/></svg>");
+      SVGImage large = SVGLoader.load("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"100\" height=\"100\">"
+         + "<path d=\"M 10 10 L 90 10 L 90 90 L 10 90 L 20 20 L 80 20 L 80 80 L 20 80 Z\"/></svg>");
+      Footprint smallFootprint = small.getFootprint();
+      Footprint largeFootprint = large.getFootprint();
+      assertEquals("Same number of nodes", smallFootprint.getNodeCount(), largeFootprint.getNodeCount());
+      assertTrue("Path data grows", largeFootprint.getSize(Footprint.Category.PATH_DATA) > smallFootprint.getSize(Footprint.Category.PATH_DATA));
+      assertTrue("Properties grow", largeFootprint.getSize(Footprint.Category.PROPERTIES) > smallFootprint.getSize(Footprint.Category.PROPERTIES));
+   }
+}
@@ -0,0 +1,186 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the load statistics.
+ *
+ * @since 1.10
+ */
+public class LoadStatisticsTest {
+   private static final String CONTENT = "<svg xmlns=\"http://www.w3.org/2000/svg\" xmlns:xlink=\"http://www.w3.org/1999/xlink\" width=\"100\" height=\"100\">"
+      + "<defs>"
+      + "<linearGradient id=\"grad\"><stop offset=\"0%\" stop-color=\"red\"/><stop offset=\"100%\" stop-color=\"blue\"/></linearGradient>"
+      + "<clipPath id=\"clip\"><rect x=\"0\" y=\"0\" width=\"50\" height=\"50\"/><circle cx=\"50\" cy=\"50\" r=\"20\"/></clipPath>"
+      + "<rect id=\"square\" width=\"10\" height=\"10\"/>"
+      + "</defs>"
+      + "<path d=\"M 10 10 L 90 10 L 50 90 Z\" fill=\"url(#grad)\" clip-path=\"url(#clip)\"/>"
+      + "<path d=\"M 0 0 h 10 v 10 c 1 1 2 2 3 3\" stroke=\"black\"/>"
+      + "<use xlink:href=\"#square\" x=\"20\" y=\"20\"/>"
+      + "<use xlink:href=\"#square\" x=\"40\" y=\"40\"/>"
+      + "</svg>";
+
+   public LoadStatisticsTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+      GlobalConfig.getInstance().setLoadStatisticsListener(null);
+   }
+
+   /**
+    * Test that the statistics are not collected by default.
+    */
+   @Test
+   public void testNoStatistics() {
+      System.out.println("LoadStatisticsTest : testNoStatistics");
+      SVGImage result = SVGLoader.load(CONTENT);
+      assertNotNull("SVGImage should not be null", result);
+      assertNull("Statistics should not be collected", result.getLoadStatistics());
+   }
+
+   /**
+    * Test of the statistics collected for a content.
+    */
+   @Test
+   public void testStatistics() {
+      System.out.println("LoadStatisticsTest : testStatistics");
+      LoaderParameters params = new LoaderParameters();
+      params.collectStatistics = true;
+      SVGImage result = SVGLoader.load(CONTENT, params);
+      assertNotNull("SVGImage should not be null", result);
+      LoadStatistics statistics = result.getLoadStatistics();
+      assertNotNull("Statistics should be collected", statistics);
+
+      assertEquals("svg elements", 1, statistics.getElementCount("svg"));
+      assertEquals("path elements", 2, statistics.getElementCount("path"));
+      assertEquals("rect elements", 2, statistics.getElementCount("rect"));
+      assertEquals("use elements", 2, statistics.getElementCount("use"));
+      assertEquals("Paths", 2, statistics.getCount(LoadStatistics.Counter.PATHS));
+      assertEquals("Path segments", 8, statistics.getCount(LoadStatistics.Counter.PATH_SEGMENTS));
+      assertEquals("Use expansions", 2, statistics.getCount(LoadStatistics.Counter.USE_EXPANSIONS));
+      assertEquals("Clip unions", 1, statistics.getCount(LoadStatistics.Counter.CLIP_UNIONS));
+      assertEquals("Images", 0, statistics.getCount(LoadStatistics.Counter.IMAGES));
+
+      assertTrue("Parse time", statistics.getNanos(LoadStatistics.Phase.PARSE) > 0);
+      assertTrue("Build time", statistics.getNanos(LoadStatistics.Phase.BUILD) > 0);
+      assertTrue("Gradients time", statistics.getNanos(LoadStatistics.Phase.GRADIENTS) > 0);
+      assertTrue("Gradients are included in the build", statistics.getNanos(LoadStatistics.Phase.GRADIENTS) <= statistics.getNanos(LoadStatistics.Phase.BUILD));
+      long total = statistics.getNanos(LoadStatistics.Phase.PARSE) + statistics.getNanos(LoadStatistics.Phase.STYLES)
+         + statistics.getNanos(LoadStatistics.Phase.CLIPPING) + statistics.getNanos(LoadStatistics.Phase.BUILD);
+      assertEquals("Total time", total, statistics.getTotalNanos());
+   }
+
+   /**
+    * Test of the count of the path segments, with implicit repeats of the commands and lengths with units.
+    */
+   @Test
+   public void testPathSegments() {
+      System.out.println("LoadStatisticsTest : testPathSegments");
+      assertEquals("Implicit lines", 3, LoadStatistics.countPathSegments("M0 0 10 10 20 20"));
+      assertEquals("Implicit relative lines", 2, LoadStatistics.countPathSegments("l1 1 2 2"));
+      assertEquals("Units", 3, LoadStatistics.countPathSegments("M 1em 2em L 3em 4ex Z"));
+      assertEquals("Exponents", 2, LoadStatistics.countPathSegments("M1e2 2E-1 3e1,4"));
+
+      String content = "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"100\" height=\"100\">"
+         + "<path d=\"M0 0 10 10 20 20 Z\"/>"
+         + "<path d=\"M0 0 l1 1 2 2\"/>"
+         + "</svg>";
+      LoaderParameters params = new LoaderParameters();
+      params.collectStatistics = true;
+      SVGImage result = SVGLoader.load(content, params);
+      assertNotNull("SVGImage should not be null", result);
+      assertEquals("Path segments", 7, result.getLoadStatistics().getCount(LoadStatistics.Counter.PATH_SEGMENTS));
+   }
+
+   /**
+    * Test that the text measurements are only counted for the loading of each image.
+    */
+   @Test
+   public void testTextMeasurements() {
+      System.out.println("LoadStatisticsTest : testTextMeasurements");
+      String content = "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"200\" height=\"100\">"
+         + "<text x=\"10\" y=\"20\"><tspan>Hello</tspan><tspan>World</tspan><tspan>Again</tspan></text>"
+         + "</svg>";
+      LoaderParameters params = new LoaderParameters();
+      params.collectStatistics = true;
+      SVGImage result = SVGLoader.load(content, params);
+      assertNotNull("SVGImage should not be null", result);
+      long count = result.getLoadStatistics().getCount(LoadStatistics.Counter.TEXT_MEASUREMENTS);
+      assertTrue("Text measurements", count > 0);
+
+      SVGImage result2 = SVGLoader.load(content, params);
+      assertNotNull("SVGImage should not be null", result2);
+      assertEquals("Text measurements", count, result2.getLoadStatistics().getCount(LoadStatistics.Counter.TEXT_MEASUREMENTS));
+   }
+
+   /**
+    * Test of the statistics listener.
+    */
+   @Test
+   public void testListener() {
+      System.out.println("LoadStatisticsTest : testListener");
+      final List<LoadStatistics> list = new ArrayList<>();
+      GlobalConfig.getInstance().setLoadStatisticsListener(new LoadStatisticsListener() {
+         @Override
+         public void loaded(SVGImage image, LoadStatistics statistics) {
+            list.add(statistics);
+         }
+      });
+      SVGImage result = SVGLoader.load(CONTENT);
+      assertNotNull("SVGImage should not be null", result);
+      assertEquals("Listener calls", 1, list.size());
+      assertSame("Statistics", result.getLoadStatistics(), list.get(0));
+   }
+}
@@ -0,0 +1,211 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.util.Iterator;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.shape.Shape;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the parallel build of the subtrees of an image.
+ *
+ * @since 1.10
+ */
+public class ParallelBuildTest {
+   private static final int LAYERS = 6;
+   private static final int SHAPES = 300;
+
+   public ParallelBuildTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   /**
+    * Create a document with several large layers. The third layer uses an element of the first layer, and a text and a nested svg
+    * are between the layers.
+    */
+   private static String createContent() {
+      StringBuilder buf = new StringBuilder();
+      buf.append("<svg xmlns=\"http://www.w3.org/2000/svg\" xmlns:xlink=\"http://www.w3.org/1999/xlink\" width=\"1000\" height=\"1000\">");
+      buf.append("<defs><linearGradient id=\"grad\"><stop offset=\"0\" stop-color=\"red\"/><stop offset=\"1\" stop-color=\"blue\"/></linearGradient></defs>");
+      for (int layer = 0; layer < LAYERS; layer++) {
+         buf.append("<g id=\"layer").append(layer).append("\" transform=\"translate(").append(layer).append(", 0)\">");
+         for (int i = 0; i < SHAPES; i++) {
+            String fill = i % 3 == 0 ? "url(#grad)" : (i % 3 == 1 ? "green" : "#123456");
+            if (i % 2 == 0) {
+               buf.append("<rect id=\"r").append(layer).append('-').append(i).append("\" x=\"").append(i).append("\" y=\"").append(layer * 10)
+                  .append("\" width=\"5\" height=\"5\" fill=\"").append(fill).append("\"/>");
+            } else {
+               buf.append("<g><path d=\"M").append(i).append(",0 L").append(i + 10).append(",10 Z\" fill=\"").append(fill).append("\"/></g>");
+            }
+         }
+         if (layer == 2) {
+            buf.append("<use xlink:href=\"#r0-0\" x=\"50\" y=\"50\"/>");
+         }
+         buf.append("</g>");
+         if (layer == 1) {
+            buf.append("<text x=\"10\" y=\"10\">Layer</text>");
+         } else if (layer == 3) {
+            buf.append("<svg x=\"10\" y=\"10\" width=\"100\" height=\"100\"><circle cx=\"5\" cy=\"5\" r=\"5\"/></svg>");
+         }
+      }
+      buf.append("</svg>");
+      return buf.toString();
+   }
+
+   private static void describe(Node node, StringBuilder buf) {
+      buf.append(node.getClass().getSimpleName());
+      if (node.getId() != null) {
+         buf.append('#').append(node.getId());
+      }
+      buf.append(node.getTransforms());
+      if (node instanceof Shape) {
+         buf.append(' ').append(((Shape) node).getFill());
+      }
+      if (node instanceof Rectangle) {
+         Rectangle rect = (Rectangle) node;
+         buf.append(' ').append(rect.getX()).append(',').append(rect.getY());
+      }
+      if (node instanceof Parent) {
+         buf.append('[');
+         Iterator<Node> it = ((Parent) node).getChildrenUnmodifiable().iterator();
+         while (it.hasNext()) {
+            describe(it.next(), buf);
+            buf.append(';');
+         }
+         buf.append(']');
+      }
+   }
+
+   /**
+    * Test that the image built in parallel is the same as the image built sequentially.
+    */
+   @Test
+   public void testParallelBuild() {
+      System.out.println("ParallelBuildTest : testParallelBuild");
+      String content = createContent();
+      SVGImage sequential = SVGLoader.load(content);
+      assertNotNull("SVGImage should not be null", sequential);
+      LoaderParameters params = new LoaderParameters();
+      params.parallelBuild = true;
+      params.collectStatistics = true;
+      SVGImage parallel = SVGLoader.load(content, params);
+      assertNotNull("SVGImage should not be null", parallel);
+      StringBuilder expected = new StringBuilder();
+      describe(sequential, expected);
+      StringBuilder result = new StringBuilder();
+      describe(parallel, result);
+      assertEquals("Parallel image", expected.toString(), result.toString());
+      // the third layer refers to an element of the first layer, so it is built sequentially
+      assertEquals("Parallel subtrees", LAYERS - 1, parallel.getLoadStatistics().getCount(LoadStatistics.Counter.PARALLEL_SUBTREES));
+   }
+
+   /**
+    * Test that the small subtrees are not built in parallel.
+    */
+   @Test
+   public void testThreshold() {
+      System.out.println("ParallelBuildTest : testThreshold");
+      LoaderParameters params = new LoaderParameters();
+      params.parallelBuild = true;
+      params.parallelBuildThreshold = SHAPES * 10;
+      params.collectStatistics = true;
+      SVGImage image = SVGLoader.load(createContent(), params);
+      assertNotNull("SVGImage should not be null", image);
+      assertEquals("Parallel subtrees", 0, image.getLoadStatistics().getCount(LoadStatistics.Counter.PARALLEL_SUBTREES));
+   }
+
+   /**
+    * Test that the subtrees built in parallel are in the spatial index and are candidates for the cache hints.
+    */
+   @Test
+   public void testParallelBuildWithIndexAndCacheHints() {
+      System.out.println("ParallelBuildTest : testParallelBuildWithIndexAndCacheHints");
+      StringBuilder buf = new StringBuilder();
+      buf.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"1000\" height=\"1000\">");
+      for (int layer = 0; layer < 2; layer++) {
+         buf.append("<g id=\"layer").append(layer).append("\">");
+         for (int i = 0; i < SHAPES; i++) {
+            buf.append("<rect x=\"").append(i).append("\" y=\"0\" width=\"1\" height=\"1\" fill=\"green\"/>");
+         }
+         buf.append("</g>");
+      }
+      buf.append("</svg>");
+      String content = buf.toString();
+      LoaderParameters params = new LoaderParameters();
+      params.spatialIndex = true;
+      params.cacheHints = true;
+      params.cacheHintsThreshold = 100;
+      SVGImage sequential = SVGLoader.load(content, params);
+      assertNotNull("SVGImage should not be null", sequential);
+      params.parallelBuild = true;
+      params.collectStatistics = true;
+      SVGImage parallel = SVGLoader.load(content, params);
+      assertNotNull("SVGImage should not be null", parallel);
+      assertEquals("Parallel subtrees", 2, parallel.getLoadStatistics().getCount(LoadStatistics.Counter.PARALLEL_SUBTREES));
+
+      SpatialIndex.Entry entry = sequential.pickTopmost(0.5, 0.5);
+      assertNotNull("Sequential entry", entry);
+      assertEquals("Sequential entry id", "layer1", entry.getId());
+      entry = parallel.pickTopmost(0.5, 0.5);
+      assertNotNull("Parallel entry", entry);
+      assertEquals("Parallel entry id", "layer1", entry.getId());
+
+      assertEquals("Sequential choices", 2, sequential.getCacheHints().getChoices().size());
+      assertEquals("Parallel choices", 2, parallel.getCacheHints().getChoices().size());
+      assertEquals("Sequential cached nodes", 2, sequential.getCacheHints().getCachedNodes().size());
+      assertEquals("Parallel cached nodes", 2, parallel.getCacheHints().getCachedNodes().size());
+   }
+}
@@ -0,0 +1,186 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+import javax.imageio.ImageIO;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the pixels exporter.
+ *
+ * @since 1.10
+ */
+public class PixelExporterTest {
+
+   public PixelExporterTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   private Image createImage() {
+      URL url = this.getClass().getResource("circle.svg");
+      SVGImage result = SVGLoader.load(url);
+      return result.toImage(64);
+   }
+
+   /**
+    * Test of the PNG export.
+    *
+    * @throws Exception
+    */
+   @Test
+   public void testWritePNG() throws Exception {
+      System.out.println("PixelExporterTest : testWritePNG");
+      Image image = createImage();
+      PixelExporter exporter = new PixelExporter();
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      exporter.writePNG(image, out);
+      BufferedImage awtImage = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+      assertNotNull("Image must be readable", awtImage);
+      assertEquals("Width", (int) image.getWidth(), awtImage.getWidth());
+      assertEquals("Height", (int) image.getHeight(), awtImage.getHeight());
+      PixelReader reader = image.getPixelReader();
+      for (int y = 0; y < awtImage.getHeight(); y += 7) {
+         for (int x = 0; x < awtImage.getWidth(); x += 7) {
+            assertEquals("Pixel at " + x + "," + y, reader.getArgb(x, y), awtImage.getRGB(x, y));
+         }
+      }
+   }
+
+   /**
+    * Test of the JPEG export.
+    *
+    * @throws Exception
+    */
+   @Test
+   public void testWriteJPEG() throws Exception {
+      System.out.println("PixelExporterTest : testWriteJPEG");
+      Image image = createImage();
+      PixelExporter exporter = new PixelExporter();
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      assertTrue("Image must be written", exporter.write(image, "jpg", out));
+      BufferedImage awtImage = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+      assertNotNull("Image must be readable", awtImage);
+      assertEquals("Width", (int) image.getWidth(), awtImage.getWidth());
+      assertEquals("Height", (int) image.getHeight(), awtImage.getHeight());
+   }
+
+   /**
+    * Test of the reading of the pixels in the direct buffer.
+    *
+    * @throws Exception
+    */
+   @Test
+   public void testReadPixels() throws Exception {
+      System.out.println("PixelExporterTest : testReadPixels");
+      Image image = createImage();
+      int width = (int) image.getWidth();
+      PixelExporter exporter = new PixelExporter();
+      IntBuffer buffer = exporter.readPixels(image);
+      assertTrue("Buffer must be direct", buffer.isDirect());
+      assertEquals("Limit", width * (int) image.getHeight(), buffer.limit());
+      // the snapshot has an opaque background, so premultiplied and non premultiplied values are the same
+      PixelReader reader = image.getPixelReader();
+      assertEquals("Pixel", reader.getArgb(32, 32), buffer.get(32 * width + 32));
+      IntBuffer buffer2 = exporter.readPixels(image);
+      assertSame("Buffer must be reused", buffer, buffer2);
+
+      ByteBuffer bytes = ByteBuffer.allocate(PixelExporter.getByteSize(image));
+      exporter.readPixels(image, bytes);
+      assertEquals("Position", 0, bytes.position());
+      int index = (32 * width + 32) * 4;
+      int argb = reader.getArgb(32, 32);
+      assertEquals("Blue", (byte) argb, bytes.get(index));
+      assertEquals("Alpha", (byte) (argb >>> 24), bytes.get(index + 3));
+   }
+
+   /**
+    * Test that the size of an image which can not be stored in one buffer is rejected.
+    */
+   @Test
+   public void testByteSizeOverflow() {
+      System.out.println("PixelExporterTest : testByteSizeOverflow");
+      assertEquals("Byte size", 40000, PixelExporter.getByteSize(100, 100));
+      short handling = GlobalConfig.getInstance().getExceptionsHandling();
+      GlobalConfig.getInstance().setExceptionsHandling(ExceptionsHandling.SKIP_EXCEPTION);
+      try {
+         assertEquals("Byte size", -1, PixelExporter.getByteSize(30000, 30000));
+      } finally {
+         GlobalConfig.getInstance().setExceptionsHandling(handling);
+      }
+   }
+
+   /**
+    * Test of the snapshot in a stream.
+    *
+    * @throws Exception
+    */
+   @Test
+   public void testSnapshotInStream() throws Exception {
+      System.out.println("PixelExporterTest : testSnapshotInStream");
+      URL url = this.getClass().getResource("circle.svg");
+      SVGImage result = SVGLoader.load(url);
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      assertTrue("Snapshot must be written", result.snapshot("png", out));
+      BufferedImage awtImage = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+      assertNotNull("Image must be readable", awtImage);
+      assertTrue("Width", awtImage.getWidth() > 0);
+   }
+}
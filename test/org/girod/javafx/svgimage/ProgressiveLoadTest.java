@@ -0,0 +1,235 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.LinearGradient;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.shape.Shape;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the progressive loading of an image.
+ *
+ * @since 1.10
+ */
+public class ProgressiveLoadTest {
+   public ProgressiveLoadTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   private static File createFile(String content) throws IOException {
+      File file = File.createTempFile("progressive", ".svg");
+      file.deleteOnExit();
+      Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+      return file;
+   }
+
+   private static void describe(Node node, StringBuilder buf) {
+      buf.append(node.getClass().getSimpleName());
+      buf.append(node.getTransforms());
+      if (node instanceof Shape) {
+         buf.append(' ').append(((Shape) node).getFill());
+      }
+      if (node instanceof Parent) {
+         buf.append('[');
+         Iterator<Node> it = ((Parent) node).getChildrenUnmodifiable().iterator();
+         while (it.hasNext()) {
+            describe(it.next(), buf);
+            buf.append(';');
+         }
+         buf.append(']');
+      }
+   }
+
+   /**
+    * Records the notifications of a progressive loading.
+    */
+   private static class Listener implements ProgressiveLoadListener {
+      private final CountDownLatch latch = new CountDownLatch(1);
+      private final List<Long> bytes = new ArrayList<>();
+      private long totalBytes = 0;
+      private boolean loaded = false;
+      private Throwable error = null;
+
+      @Override
+      public void progress(SVGImage image, long bytesRead, long totalBytes) {
+         bytes.add(bytesRead);
+         this.totalBytes = totalBytes;
+      }
+
+      @Override
+      public void loaded(SVGImage image) {
+         loaded = true;
+         latch.countDown();
+      }
+
+      @Override
+      public void failed(SVGImage image, Throwable error) {
+         this.error = error;
+         latch.countDown();
+      }
+
+      private void await() throws InterruptedException {
+         assertTrue("The loading should end", latch.await(30, TimeUnit.SECONDS));
+      }
+   }
+
+   /**
+    * Test that an image loaded progressively is the same as the image loaded in one pass, and the progress of the loading.
+    */
+   @Test
+   public void testProgressiveLoad() throws Exception {
+      System.out.println("ProgressiveLoadTest : testProgressiveLoad");
+      StringBuilder buf = new StringBuilder();
+      buf.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"1000\" height=\"1000\">");
+      buf.append("<defs><linearGradient id=\"grad\"><stop offset=\"0\" stop-color=\"red\"/><stop offset=\"1\" stop-color=\"blue\"/></linearGradient></defs>");
+      for (int layer = 0; layer < 20; layer++) {
+         buf.append("<g transform=\"translate(").append(layer).append(", 0)\">");
+         for (int i = 0; i < 500; i++) {
+            String fill = i % 2 == 0 ? "url(#grad)" : "green";
+            buf.append("<rect x=\"").append(i).append("\" y=\"").append(layer * 10).append("\" width=\"5\" height=\"5\" fill=\"").append(fill).append("\"/>");
+         }
+         buf.append("</g>");
+      }
+      buf.append("</svg>");
+      File file = createFile(buf.toString());
+      SVGImage sequential = SVGLoader.load(file);
+      assertNotNull("SVGImage should not be null", sequential);
+
+      Listener listener = new Listener();
+      SVGImage image = SVGLoader.loadProgressively(file, new LoaderParameters(), listener);
+      assertNotNull("SVGImage should not be null", image);
+      listener.await();
+      assertNull("No error", listener.error);
+      assertTrue("Image loaded", listener.loaded);
+      assertFalse("Progress notified", listener.bytes.isEmpty());
+      for (int i = 1; i < listener.bytes.size(); i++) {
+         assertTrue("Progress must increase", listener.bytes.get(i) >= listener.bytes.get(i - 1));
+      }
+      assertEquals("Total bytes", file.length(), listener.totalBytes);
+      assertEquals("Bytes read", file.length(), (long) listener.bytes.get(listener.bytes.size() - 1));
+
+      StringBuilder expected = new StringBuilder();
+      describe(sequential, expected);
+      StringBuilder actual = new StringBuilder();
+      describe(image, actual);
+      assertEquals("Images", expected.toString(), actual.toString());
+   }
+
+   /**
+    * Test the elements which reference definitions declared after them, and the styles declared after the elements.
+    */
+   @Test
+   public void testDeferredReferences() throws Exception {
+      System.out.println("ProgressiveLoadTest : testDeferredReferences");
+      String content = "<svg xmlns=\"http://www.w3.org/2000/svg\" xmlns:xlink=\"http://www.w3.org/1999/xlink\" width=\"100\" height=\"100\">"
+         + "<rect x=\"0\" y=\"0\" width=\"10\" height=\"10\" fill=\"url(#grad)\"/>"
+         + "<rect class=\"late\" x=\"10\" y=\"0\" width=\"10\" height=\"10\"/>"
+         + "<use xlink:href=\"#target\" x=\"50\"/>"
+         + "<defs><linearGradient id=\"grad\"><stop offset=\"0\" stop-color=\"red\"/><stop offset=\"1\" stop-color=\"blue\"/></linearGradient></defs>"
+         + "<rect id=\"target\" x=\"20\" y=\"0\" width=\"10\" height=\"10\" fill=\"green\"/>"
+         + "<style>.late { fill: red; }</style>"
+         + "</svg>";
+      File file = createFile(content);
+      Listener listener = new Listener();
+      SVGImage image = SVGLoader.loadProgressively(file, new LoaderParameters(), listener);
+      listener.await();
+      assertNull("No error", listener.error);
+
+      List<Node> children = image.getChildren();
+      assertEquals("Children", 4, children.size());
+      Node node = children.get(0);
+      assertTrue("Node must be a Rectangle", node instanceof Rectangle);
+      assertTrue("Gradient declared later", ((Rectangle) node).getFill() instanceof LinearGradient);
+      node = children.get(1);
+      assertTrue("Node must be a Rectangle", node instanceof Rectangle);
+      assertEquals("Style declared later", Color.RED, ((Rectangle) node).getFill());
+      node = children.get(2);
+      assertTrue("Used element declared later", node instanceof Rectangle);
+      assertEquals("Used element", Color.GREEN, ((Rectangle) node).getFill());
+      node = children.get(3);
+      assertTrue("Node must be a Rectangle", node instanceof Rectangle);
+      assertEquals("Target", Color.GREEN, ((Rectangle) node).getFill());
+   }
+
+   /**
+    * Test that the elements parsed before an error are kept.
+    */
+   @Test
+   public void testFailure() throws Exception {
+      System.out.println("ProgressiveLoadTest : testFailure");
+      String content = "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"100\" height=\"100\">"
+         + "<rect x=\"0\" y=\"0\" width=\"10\" height=\"10\" fill=\"green\"/>"
+         + "<rect x=\"10\" y=\"0\" width=\"10\" height=\"10\"></circle>"
+         + "</svg>";
+      File file = createFile(content);
+      Listener listener = new Listener();
+      SVGImage image = SVGLoader.loadProgressively(file, new LoaderParameters(), listener);
+      listener.await();
+      assertFalse("Image not loaded", listener.loaded);
+      assertNotNull("Error", listener.error);
+      assertEquals("Children", 1, image.getChildren().size());
+   }
+}
@@ -0,0 +1,125 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.net.URL;
+import javafx.scene.image.Image;
+import javafx.scene.shape.Rectangle;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the rasterized images cache.
+ *
+ * @since 1.10
+ */
+public class RasterCacheTest {
+
+   public RasterCacheTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   /**
+    * Test of the hits and misses of the cache.
+    */
+   @Test
+   public void testHitsAndMisses() {
+      System.out.println("RasterCacheTest : testHitsAndMisses");
+      URL url = this.getClass().getResource("circle.svg");
+      SVGImage result = SVGLoader.load(url);
+      RasterCache cache = new RasterCache();
+      result.setRasterCache(cache);
+      Image img = result.toImage(32);
+      assertNotNull("Image must exist", img);
+      Image img2 = result.toImage(32);
+      assertSame("Image must be cached", img, img2);
+      result.toImage(64);
+      assertEquals("Hits", 1, cache.getHits());
+      assertEquals("Misses", 2, cache.getMisses());
+      assertEquals("Size", 2, cache.size());
+   }
+
+   /**
+    * Test of the invalidation of the cache when the children of the image change.
+    */
+   @Test
+   public void testInvalidation() {
+      System.out.println("RasterCacheTest : testInvalidation");
+      URL url = this.getClass().getResource("circle.svg");
+      SVGImage result = SVGLoader.load(url);
+      RasterCache cache = new RasterCache();
+      result.setRasterCache(cache);
+      result.toImage(32);
+      assertEquals("Size", 1, cache.size());
+      result.getChildren().add(new Rectangle(10, 10));
+      assertEquals("Size", 0, cache.size());
+      assertEquals("Used bytes", 0, cache.getUsedBytes());
+   }
+
+   /**
+    * Test of the eviction of the images when the budget is exceeded.
+    */
+   @Test
+   public void testEviction() {
+      System.out.println("RasterCacheTest : testEviction");
+      URL url = this.getClass().getResource("circle.svg");
+      SVGImage result = SVGLoader.load(url);
+      // only one image of 32x32 can fit in the cache
+      RasterCache cache = new RasterCache(32 * 32 * 4 + 100);
+      result.setRasterCache(cache);
+      result.toImage(32);
+      result.toImage(31);
+      assertEquals("Size", 1, cache.size());
+      assertEquals("Evictions", 1, cache.getEvictions());
+      assertTrue("Budget must be respected", cache.getUsedBytes() <= cache.getBudget());
+   }
+}
@@ -0,0 +1,202 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.util.concurrent.Callable;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.util.Duration;
+import org.girod.javafx.tosvg.JFXInvoker;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the raster proxy of an image.
+ *
+ * @since 1.10
+ */
+public class RasterProxyTest {
+
+   public RasterProxyTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   /**
+    * Create a 100x100 image with two green rectangles separated by a transparent gap.
+    */
+   private static SVGImage loadImage() {
+      String content = "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"100\" height=\"100\">"
+         + "<rect x=\"0\" y=\"0\" width=\"40\" height=\"100\" fill=\"#00ff00\"/>"
+         + "<rect x=\"60\" y=\"0\" width=\"40\" height=\"100\" fill=\"#00ff00\"/>"
+         + "</svg>";
+      SVGImage image = SVGLoader.load(content);
+      assertNotNull("SVGImage should not be null", image);
+      return image;
+   }
+
+   /**
+    * Test the levels used for the scales.
+    */
+   @Test
+   public void testLevels() throws Exception {
+      System.out.println("RasterProxyTest : testLevels");
+      final SVGImage image = loadImage();
+      RasterProxy proxy = JFXInvoker.getInstance().callBlocking(new Callable<RasterProxy>() {
+         @Override
+         public RasterProxy call() throws Exception {
+            return new RasterProxy(image);
+         }
+      });
+      assertEquals("Level for 1", 0, proxy.getLevel(1));
+      assertEquals("Level for 1.5", 1, proxy.getLevel(1.5));
+      assertEquals("Level for 2", 1, proxy.getLevel(2));
+      assertEquals("Level for 0.5", -1, proxy.getLevel(0.5));
+      assertEquals("Level for 0.3", -1, proxy.getLevel(0.3));
+      // limited by the maximum size of the levels
+      assertEquals("Level for 100", 5, proxy.getLevel(100));
+      // limited by the minimum size of the levels
+      assertEquals("Level for 0.001", -2, proxy.getLevel(0.001));
+      assertEquals("Scale of level -1", 0.5, RasterProxy.getLevelScale(-1), 0.0001);
+   }
+
+   /**
+    * Test that the proxy is shown while the image is zoomed, and that the image is shown again after the settle delay.
+    */
+   @Test
+   public void testInteraction() throws Exception {
+      System.out.println("RasterProxyTest : testInteraction");
+      final SVGImage image = loadImage();
+      final RasterProxy proxy = JFXInvoker.getInstance().callBlocking(new Callable<RasterProxy>() {
+         @Override
+         public RasterProxy call() throws Exception {
+            RasterProxy proxy = new RasterProxy(image);
+            proxy.setSettleDelay(Duration.millis(100));
+            image.setScaleX(2);
+            image.setScaleY(2);
+            return proxy;
+         }
+      });
+      boolean shown = JFXInvoker.getInstance().callBlocking(new Callable<Boolean>() {
+         @Override
+         public Boolean call() throws Exception {
+            return proxy.isProxyShown();
+         }
+      });
+      assertTrue("Proxy shown", shown);
+      assertFalse("Image hidden", image.isVisible());
+      assertEquals("Rendered levels", 1, proxy.getRenderCount());
+      Image level = proxy.getLevelImage(1);
+      assertNotNull("Level 1", level);
+      assertEquals("Level 1 width", 200, level.getWidth(), 0.0001);
+      assertEquals("Level 1 height", 200, level.getHeight(), 0.0001);
+      assertEquals("Green part", Color.web("#00ff00"), level.getPixelReader().getColor(40, 100));
+      assertEquals("Transparent part", 0, level.getPixelReader().getColor(100, 100).getOpacity(), 0.01);
+
+      Thread.sleep(500);
+      shown = JFXInvoker.getInstance().callBlocking(new Callable<Boolean>() {
+         @Override
+         public Boolean call() throws Exception {
+            return proxy.isProxyShown();
+         }
+      });
+      assertFalse("Proxy not shown after the settle delay", shown);
+      assertTrue("Image shown after the settle delay", image.isVisible());
+      // the levels around the new scale are rendered after the settle delay
+      int count = JFXInvoker.getInstance().callBlocking(new Callable<Integer>() {
+         @Override
+         public Integer call() throws Exception {
+            return proxy.getLevelsCount();
+         }
+      });
+      assertEquals("Levels", 3, count);
+      assertTrue("Level 0", proxy.hasLevel(0));
+      assertTrue("Level 2", proxy.hasLevel(2));
+      assertEquals("Level 2 width", 400, proxy.getLevelImage(2).getWidth(), 0.0001);
+   }
+
+   /**
+    * Test that the levels are removed when the content of the image changes.
+    */
+   @Test
+   public void testInvalidate() throws Exception {
+      System.out.println("RasterProxyTest : testInvalidate");
+      final SVGImage image = loadImage();
+      final RasterProxy proxy = JFXInvoker.getInstance().callBlocking(new Callable<RasterProxy>() {
+         @Override
+         public RasterProxy call() throws Exception {
+            RasterProxy proxy = new RasterProxy(image);
+            proxy.interact();
+            return proxy;
+         }
+      });
+      assertEquals("Levels", 1, proxy.getLevelsCount());
+      assertTrue("Proxy shown", proxy.isProxyShown());
+      JFXInvoker.getInstance().callBlocking(new Callable<Void>() {
+         @Override
+         public Void call() throws Exception {
+            image.getChildren().add(new Rectangle(10, 10));
+            return null;
+         }
+      });
+      assertEquals("Levels", 0, proxy.getLevelsCount());
+      assertFalse("Proxy not shown", proxy.isProxyShown());
+      assertTrue("Image shown", image.isVisible());
+      JFXInvoker.getInstance().callBlocking(new Callable<Void>() {
+         @Override
+         public Void call() throws Exception {
+            proxy.dispose();
+            return null;
+         }
+      });
+   }
+}
@@ -0,0 +1,182 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+import javafx.scene.paint.Color;
+import javafx.util.Duration;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the rendering of the frames of the animations of an image.
+ *
+ * @since 1.10
+ */
+public class RenderFramesTest {
+   private static final String CONTENT = "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"200\" height=\"20\">"
+      + "<rect x=\"0\" y=\"0\" width=\"200\" height=\"20\" fill=\"white\"/>"
+      + "<rect x=\"0\" y=\"0\" width=\"10\" height=\"20\" fill=\"red\">"
+      + "<animate attributeName=\"x\" from=\"0\" to=\"100\" dur=\"1s\" fill=\"freeze\"/>"
+      + "</rect>"
+      + "</svg>";
+   @Rule
+   public TemporaryFolder folder = new TemporaryFolder();
+
+   public RenderFramesTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   private static SVGImage load(boolean sharedClock) {
+      LoaderParameters params = new LoaderParameters();
+      params.autoStartAnimations = false;
+      params.sharedAnimationClock = sharedClock;
+      SVGImage image = SVGLoader.load(CONTENT, params);
+      assertNotNull("SVGImage should not be null", image);
+      return image;
+   }
+
+   /**
+    * Return the position of the left side of the red rectangle in a frame.
+    */
+   private static int getRectangleX(Image image) {
+      PixelReader reader = image.getPixelReader();
+      for (int x = 0; x < (int) image.getWidth(); x++) {
+         Color color = reader.getColor(x, 10);
+         if (color.getRed() > 0.9 && color.getGreen() < 0.1) {
+            return x;
+         }
+      }
+      return -1;
+   }
+
+   private void checkFrames(SVGImage image) {
+      final Map<Integer, Integer> positions = new ConcurrentHashMap<>();
+      boolean rendered = image.renderFrames(Duration.ZERO, Duration.seconds(1), 10, new FrameSink() {
+         @Override
+         public void frame(int index, Duration time, Image frame) throws IOException {
+            assertEquals("Frame time", index * 100d, time.toMillis(), 0.001d);
+            positions.put(index, getRectangleX(frame));
+         }
+      });
+      assertTrue("Frames should be rendered", rendered);
+      assertEquals("Frames count", 10, positions.size());
+      assertEquals("First frame", 0, positions.get(0), 1);
+      assertEquals("Middle frame", 50, positions.get(5), 1);
+      assertEquals("Last frame", 90, positions.get(9), 1);
+   }
+
+   /**
+    * Test of the rendering of the frames of JavaFX animations.
+    */
+   @Test
+   public void testRenderFrames() {
+      System.out.println("RenderFramesTest : testRenderFrames");
+      SVGImage image = load(false);
+      checkFrames(image);
+      assertFalse("Animations should not be played", image.isPlayingAnimations());
+   }
+
+   /**
+    * Test of the rendering of the frames of animations played by the shared clock.
+    */
+   @Test
+   public void testRenderFramesSharedClock() {
+      System.out.println("RenderFramesTest : testRenderFramesSharedClock");
+      SVGImage image = load(true);
+      checkFrames(image);
+   }
+
+   /**
+    * Test of the writing of the frames in files.
+    */
+   @Test
+   public void testFileFrameSink() throws IOException {
+      System.out.println("RenderFramesTest : testFileFrameSink");
+      SVGImage image = load(false);
+      File dir = new File(folder.getRoot(), "frames");
+      FileFrameSink sink = new FileFrameSink(dir, "anim");
+      assertTrue("Frames should be rendered", image.renderFrames(Duration.millis(500), Duration.millis(1500), 4, sink));
+      assertEquals("Files count", 4, dir.listFiles().length);
+      assertEquals("File name", "anim-00003.png", sink.getFile(3).getName());
+      assertTrue("Last file should exist", sink.getFile(3).length() > 0);
+   }
+
+   /**
+    * Test that an exception in the sink stops the rendering.
+    */
+   @Test
+   public void testSinkException() {
+      System.out.println("RenderFramesTest : testSinkException");
+      SVGImage image = load(false);
+      short handling = GlobalConfig.getInstance().getExceptionsHandling();
+      GlobalConfig.getInstance().setExceptionsHandling(ExceptionsHandling.SKIP_EXCEPTION);
+      try {
+         boolean rendered = image.renderFrames(Duration.ZERO, Duration.seconds(10), 30, new FrameSink() {
+            @Override
+            public void frame(int index, Duration time, Image frame) throws IOException {
+               throw new IOException("Could not write the frame " + index);
+            }
+         });
+         assertFalse("Rendering should fail", rendered);
+      } finally {
+         GlobalConfig.getInstance().setExceptionsHandling(handling);
+      }
+   }
+}
@@ -41,6 +41,7 @@ import static org.junit.Assert.*;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.util.List;
 import javafx.scene.image.Image;
 
 /**
@@ -94,4 +95,21 @@ public class SVGImageTest {
       assertTrue("File must exist", isValid);
       file.delete();
    }
+
+   /**
+    * Test of generating several images in one pass.
+    */
+   @Test
+   public void testToImages() {
+      System.out.println("SVGImageTest : testToImages");
+      URL url = this.getClass().getResource("circle.svg");
+      SVGImage result = SVGLoader.load(url);
+      double scaleX = result.getScaleX();
+      List<Image> images = result.toImages(16, 32, 64);
+      assertEquals("Must have 3 images", 3, images.size());
+      assertEquals("Width", 16, images.get(0).getWidth(), 1d);
+      assertEquals("Width", 32, images.get(1).getWidth(), 1d);
+      assertEquals("Width", 64, images.get(2).getWidth(), 1d);
+      assertEquals("Scale must not be modified", scaleX, result.getScaleX(), 0.0001d);
+   }
 }
@@ -0,0 +1,197 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.util.concurrent.Callable;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Text;
+import javafx.scene.transform.Transform;
+import org.girod.javafx.tosvg.JFXInvoker;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the incremental updates of an image.
+ *
+ * @since 1.10
+ */
+public class SVGImageUpdateTest {
+   private static final String CONTENT = "<svg xmlns=\"http://www.w3.org/2000/svg\" xmlns:xlink=\"http://www.w3.org/1999/xlink\" width=\"100\" height=\"100\">"
+      + "<rect id=\"first\" x=\"0\" y=\"0\" width=\"10\" height=\"10\" fill=\"red\"/>"
+      + "<g id=\"group\" fill=\"blue\">"
+      + "<circle id=\"inherits\" cx=\"20\" cy=\"20\" r=\"5\"/>"
+      + "<circle id=\"overrides\" cx=\"40\" cy=\"40\" r=\"5\" fill=\"green\"/>"
+      + "</g>"
+      + "<rect id=\"last\" x=\"50\" y=\"50\" width=\"10\" height=\"10\" fill=\"red\"/>"
+      + "<use id=\"copy\" xlink:href=\"#last\" x=\"20\" y=\"0\"/>"
+      + "</svg>";
+
+   public SVGImageUpdateTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   private static SVGImage loadUpdatable() {
+      LoaderParameters params = new LoaderParameters();
+      params.updatable = true;
+      SVGImage image = SVGLoader.load(CONTENT, params);
+      assertNotNull("SVGImage should not be null", image);
+      assertTrue("SVGImage should be updatable", image.isUpdatable());
+      return image;
+   }
+
+   /**
+    * Test that an image is not updatable by default.
+    */
+   @Test
+   public void testNotUpdatable() {
+      System.out.println("SVGImageUpdateTest : testNotUpdatable");
+      SVGImage image = SVGLoader.load(CONTENT);
+      assertFalse("SVGImage should not be updatable", image.isUpdatable());
+      assertFalse("Update should fail", image.update("first", "fill", "blue"));
+   }
+
+   /**
+    * Test of the update of the fill of a shape.
+    */
+   @Test
+   public void testUpdateFill() {
+      System.out.println("SVGImageUpdateTest : testUpdateFill");
+      SVGImage image = loadUpdatable();
+      int count = image.getChildren().size();
+      Node group = image.getChildren().get(1);
+      assertTrue("Update should succeed", image.update("first", "fill", "blue"));
+      assertEquals("Children count", count, image.getChildren().size());
+      Node first = image.getChildren().get(0);
+      assertTrue("First child should be a Rectangle", first instanceof Rectangle);
+      assertEquals("Fill", Color.BLUE, ((Rectangle) first).getFill());
+      assertSame("Other elements should not be rebuilt", group, image.getChildren().get(1));
+      assertFalse("Unknown id", image.update("unknown", "fill", "blue"));
+   }
+
+   /**
+    * Test of the update of an inherited attribute.
+    */
+   @Test
+   public void testUpdateInherited() {
+      System.out.println("SVGImageUpdateTest : testUpdateInherited");
+      SVGImage image = loadUpdatable();
+      Node first = image.getChildren().get(0);
+      assertTrue("Update should succeed", image.update("group", "fill", "yellow"));
+      assertSame("Other elements should not be rebuilt", first, image.getChildren().get(0));
+      Group group = (Group) image.getChildren().get(1);
+      assertEquals("Group children", 2, group.getChildren().size());
+      assertEquals("Inherited fill", Color.YELLOW, ((Circle) group.getChildren().get(0)).getFill());
+      assertEquals("Overriden fill", Color.GREEN, ((Circle) group.getChildren().get(1)).getFill());
+   }
+
+   /**
+    * Test of the update of a transform.
+    */
+   @Test
+   public void testUpdateTransform() throws Exception {
+      System.out.println("SVGImageUpdateTest : testUpdateTransform");
+      final SVGImage image = loadUpdatable();
+      Node first = image.getChildren().get(0);
+      assertTrue("Update should succeed", image.update("first", "transform", "translate(5, 10)"));
+      assertSame("The shape should not be rebuilt", first, image.getChildren().get(0));
+      assertEquals("Transforms", 1, first.getTransforms().size());
+      Transform transform = first.getTransforms().get(0);
+      assertEquals("Translate x", 5d, transform.getTx(), 0.001d);
+      assertEquals("Translate y", 10d, transform.getTy(), 0.001d);
+      assertTrue("Update should succeed", JFXInvoker.getInstance().callBlocking(new Callable<Boolean>() {
+         @Override
+         public Boolean call() throws Exception {
+            return image.update("first", "transform", null);
+         }
+      }));
+      assertEquals("Transforms", 0, first.getTransforms().size());
+   }
+
+   /**
+    * Test that the use elements which refer to an updated element are rebuilt.
+    */
+   @Test
+   public void testUpdateUse() {
+      System.out.println("SVGImageUpdateTest : testUpdateUse");
+      SVGImage image = loadUpdatable();
+      int count = image.getChildren().size();
+      assertTrue("Update should succeed", image.update("last", "fill", "black"));
+      assertEquals("Children count", count, image.getChildren().size());
+      Node last = image.getChildren().get(2);
+      assertEquals("Fill", Color.BLACK, ((Rectangle) last).getFill());
+      Node copy = image.getChildren().get(3);
+      assertTrue("The use should be a Rectangle", copy instanceof Rectangle);
+      assertEquals("Fill of the use", Color.BLACK, ((Rectangle) copy).getFill());
+   }
+
+   /**
+    * Test of the update of a text.
+    */
+   @Test
+   public void testUpdateText() {
+      System.out.println("SVGImageUpdateTest : testUpdateText");
+      LoaderParameters params = new LoaderParameters();
+      params.updatable = true;
+      SVGImage image = SVGLoader.load("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"100\" height=\"100\">"
+         + "<text id=\"label\" x=\"10\" y=\"20\" font-size=\"12\">before</text></svg>", params);
+      assertNotNull("SVGImage should not be null", image);
+      assertTrue("Update should succeed", image.updateText("label", "after"));
+      assertEquals("Children count", 1, image.getChildren().size());
+      Node node = image.getChildren().get(0);
+      assertTrue("The text should be a Text", node instanceof Text);
+      assertEquals("Text", "after", ((Text) node).getText());
+   }
+}
@@ -0,0 +1,267 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Rectangle;
+import org.girod.javafx.svgimage.xml.parsers.SVGLibraryException;
+import org.girod.javafx.svgimage.xml.parsers.xmltree.XMLTreeHandler;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the watcher of an image file, and the patches of an image.
+ *
+ * @since 1.10
+ */
+public class SVGWatcherTest {
+   private static final String HEADER = "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"100\" height=\"100\">";
+   private static final String CONTENT = HEADER
+      + "<rect id=\"first\" x=\"0\" y=\"0\" width=\"10\" height=\"10\" fill=\"red\"/>"
+      + "<g id=\"group\" fill=\"blue\">"
+      + "<circle cx=\"20\" cy=\"20\" r=\"5\"/>"
+      + "<circle cx=\"40\" cy=\"40\" r=\"5\"/>"
+      + "</g>"
+      + "<rect id=\"last\" x=\"50\" y=\"50\" width=\"10\" height=\"10\" fill=\"red\"/>"
+      + "</svg>";
+   private File file = null;
+   private SVGWatcher watcher = null;
+
+   public SVGWatcherTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+      if (watcher != null) {
+         watcher.close();
+      }
+      if (file != null) {
+         file.delete();
+      }
+   }
+
+   private static SVGImage loadUpdatable(String content) {
+      LoaderParameters params = new LoaderParameters();
+      params.updatable = true;
+      SVGImage image = SVGLoader.load(content, params);
+      assertNotNull("SVGImage should not be null", image);
+      return image;
+   }
+
+   private static boolean reload(final SVGImage image, String content) throws Exception {
+      final SVGLoader loader = SVGLoader.createLoader(content, image.getSVGContent().params);
+      final XMLTreeHandler handler = loader.parseTree();
+      FutureTask<Boolean> future = new FutureTask<>(new Callable<Boolean>() {
+         @Override
+         public Boolean call() throws Exception {
+            return image.reload(loader, handler);
+         }
+      });
+      Platform.runLater(future);
+      return future.get();
+   }
+
+   private static void write(File file, String content) throws IOException {
+      Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+   }
+
+   /**
+    * Test that only a modified element is built again.
+    */
+   @Test
+   public void testPatchModified() throws Exception {
+      System.out.println("SVGWatcherTest : testPatchModified");
+      SVGImage image = loadUpdatable(CONTENT);
+      Node first = image.getChildren().get(0);
+      Node group = image.getChildren().get(1);
+      Node circle = ((Group) group).getChildren().get(1);
+      assertTrue("Image should be patched", reload(image, CONTENT.replace("fill=\"red\"/><g", "fill=\"green\"/><g")
+         .replace("cx=\"40\"", "cx=\"45\"")));
+      assertEquals("Children count", 3, image.getChildren().size());
+      Node newFirst = image.getChildren().get(0);
+      assertNotSame("Modified element", first, newFirst);
+      assertEquals("Fill", Color.GREEN, ((Rectangle) newFirst).getFill());
+      assertSame("Unchanged group", group, image.getChildren().get(1));
+      Node newCircle = ((Group) group).getChildren().get(1);
+      assertNotSame("Modified circle", circle, newCircle);
+      assertEquals("Circle x", 45d, ((Circle) newCircle).getCenterX(), 0.001d);
+   }
+
+   /**
+    * Test of the patch of added, removed and moved elements.
+    */
+   @Test
+   public void testPatchStructure() throws Exception {
+      System.out.println("SVGWatcherTest : testPatchStructure");
+      SVGImage image = loadUpdatable(CONTENT);
+      Node first = image.getChildren().get(0);
+      Node last = image.getChildren().get(2);
+      String content = HEADER
+         + "<rect id=\"last\" x=\"50\" y=\"50\" width=\"10\" height=\"10\" fill=\"red\"/>"
+         + "<circle id=\"added\" cx=\"80\" cy=\"80\" r=\"5\"/>"
+         + "<rect id=\"first\" x=\"0\" y=\"0\" width=\"10\" height=\"10\" fill=\"red\"/>"
+         + "</svg>";
+      assertTrue("Image should be patched", reload(image, content));
+      assertEquals("Children count", 3, image.getChildren().size());
+      assertSame("Moved element", last, image.getChildren().get(0));
+      assertTrue("Added element", image.getChildren().get(1) instanceof Circle);
+      assertSame("Moved element", first, image.getChildren().get(2));
+   }
+
+   /**
+    * Test that the image is built again if the definitions have changed.
+    */
+   @Test
+   public void testRebuildDefinitions() throws Exception {
+      System.out.println("SVGWatcherTest : testRebuildDefinitions");
+      SVGImage image = loadUpdatable(CONTENT);
+      Node first = image.getChildren().get(0);
+      String content = CONTENT.replace(HEADER, HEADER + "<style>rect { stroke: black; }</style>");
+      assertFalse("Image should be built again", reload(image, content));
+      assertEquals("Children count", 3, image.getChildren().size());
+      assertNotSame("Rebuilt element", first, image.getChildren().get(0));
+      assertTrue("Image should still be updatable", image.isUpdatable());
+   }
+
+   /**
+    * Test that the animations which were playing are played again after the image has been built again.
+    */
+   @Test
+   public void testRebuildAnimations() throws Exception {
+      System.out.println("SVGWatcherTest : testRebuildAnimations");
+      String animated = CONTENT.replace("fill=\"red\"/><g", "fill=\"red\">"
+         + "<animate attributeName=\"x\" from=\"0\" to=\"50\" dur=\"10s\" repeatCount=\"indefinite\"/></rect><g");
+      final SVGImage image = loadUpdatable(animated);
+      FutureTask<Void> future = new FutureTask<>(new Callable<Void>() {
+         @Override
+         public Void call() throws Exception {
+            image.playAnimations();
+            return null;
+         }
+      });
+      Platform.runLater(future);
+      future.get();
+      assertTrue("Animations should be playing", image.isPlayingAnimations());
+      String content = animated.replace(HEADER, HEADER + "<style>rect { stroke: black; }</style>");
+      assertFalse("Image should be built again", reload(image, content));
+      assertTrue("Animations should still be playing", image.isPlayingAnimations());
+   }
+
+   /**
+    * Test that an image which has not been loaded from a file can not be watched.
+    */
+   @Test(expected = SVGLibraryException.class)
+   public void testWatchContent() throws Exception {
+      System.out.println("SVGWatcherTest : testWatchContent");
+      SVGImage image = SVGLoader.load(CONTENT);
+      short handling = GlobalConfig.getInstance().getExceptionsHandling();
+      GlobalConfig.getInstance().setExceptionsHandling(ExceptionsHandling.RETROW_EXCEPTION);
+      try {
+         image.watch();
+      } finally {
+         GlobalConfig.getInstance().setExceptionsHandling(handling);
+      }
+   }
+
+   /**
+    * Test that an image which has not been loaded from a file is not watched with the default exceptions handling.
+    */
+   @Test
+   public void testWatchContentDefault() throws Exception {
+      System.out.println("SVGWatcherTest : testWatchContentDefault");
+      SVGImage image = SVGLoader.load(CONTENT);
+      assertNull("Watcher should be null", image.watch());
+   }
+
+   /**
+    * Test that a burst of changes of the file causes only one reload.
+    */
+   @Test
+   public void testWatch() throws Exception {
+      System.out.println("SVGWatcherTest : testWatch");
+      file = File.createTempFile("watched", ".svg");
+      write(file, CONTENT);
+      LoaderParameters params = new LoaderParameters();
+      params.updatable = true;
+      SVGImage image = SVGLoader.load(file.toURI().toURL(), params);
+      assertNotNull("SVGImage should not be null", image);
+      Node group = image.getChildren().get(1);
+      watcher = image.watch();
+      watcher.setDelay(500);
+      final CountDownLatch latch = new CountDownLatch(1);
+      watcher.setListener(new SVGWatchListener() {
+         @Override
+         public void reloaded(SVGImage image, boolean patched) {
+            latch.countDown();
+         }
+      });
+      for (int i = 1; i <= 5; i++) {
+         write(file, CONTENT.replace("width=\"10\" height=\"10\" fill=\"red\"/><g", "width=\"" + (10 + i) + "\" height=\"10\" fill=\"red\"/><g"));
+         Thread.sleep(20);
+      }
+      assertTrue("The image should be reloaded", latch.await(20, TimeUnit.SECONDS));
+      Thread.sleep(1000);
+      assertEquals("Reloads count", 1, watcher.getReloadsCount());
+      Node first = image.getChildren().get(0);
+      assertEquals("Width", 15d, ((Rectangle) first).getWidth(), 0.001d);
+      assertSame("Unchanged group", group, image.getChildren().get(1));
+   }
+}
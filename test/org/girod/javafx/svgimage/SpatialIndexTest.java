@@ -0,0 +1,271 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import javafx.geometry.BoundingBox;
+import javafx.scene.Node;
+import javafx.scene.shape.Rectangle;
+import org.girod.javafx.tosvg.JFXInvoker;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the spatial index of an image.
+ *
+ * @since 1.10
+ */
+public class SpatialIndexTest {
+   private static final int ROOMS = 30;
+
+   public SpatialIndexTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   /**
+    * Create a document with a grid of rooms, each room being a group with an id. Each room is 10 pixels wide, with 20 pixels between
+    * two rooms.
+    */
+   private static SVGImage loadRooms() {
+      StringBuilder buf = new StringBuilder();
+      buf.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(ROOMS * 20).append("\" height=\"").append(ROOMS * 20).append("\">");
+      for (int i = 0; i < ROOMS; i++) {
+         for (int j = 0; j < ROOMS; j++) {
+            buf.append("<g id=\"room-").append(i).append('-').append(j).append("\">");
+            buf.append("<rect x=\"").append(i * 20).append("\" y=\"").append(j * 20).append("\" width=\"10\" height=\"10\" fill=\"green\"/>");
+            buf.append("</g>");
+         }
+      }
+      buf.append("</svg>");
+      LoaderParameters params = new LoaderParameters();
+      params.spatialIndex = true;
+      SVGImage image = SVGLoader.load(buf.toString(), params);
+      assertNotNull("SVGImage should not be null", image);
+      return image;
+   }
+
+   private static List<String> getIds(List<SpatialIndex.Entry> entries) {
+      List<String> ids = new ArrayList<>();
+      Iterator<SpatialIndex.Entry> it = entries.iterator();
+      while (it.hasNext()) {
+         ids.add(it.next().getId());
+      }
+      Collections.sort(ids);
+      return ids;
+   }
+
+   /**
+    * Return the ids of the rooms which intersect a region, by iterating on all the rooms.
+    */
+   private static List<String> getExpectedIds(double minX, double minY, double maxX, double maxY) {
+      List<String> ids = new ArrayList<>();
+      for (int i = 0; i < ROOMS; i++) {
+         for (int j = 0; j < ROOMS; j++) {
+            if (i * 20 <= maxX && i * 20 + 10 >= minX && j * 20 <= maxY && j * 20 + 10 >= minY) {
+               ids.add("room-" + i + "-" + j);
+            }
+         }
+      }
+      Collections.sort(ids);
+      return ids;
+   }
+
+   /**
+    * Test the query of the Nodes in a region.
+    */
+   @Test
+   public void testQueryRegion() throws Exception {
+      System.out.println("SpatialIndexTest : testQueryRegion");
+      final SVGImage image = loadRooms();
+      assertNotNull("Spatial index", image.getSpatialIndex());
+      JFXInvoker.getInstance().callBlocking(new Callable<Void>() {
+         @Override
+         public Void call() throws Exception {
+            assertEquals("Entries", ROOMS * ROOMS, image.getSpatialIndex().size());
+            List<SpatialIndex.Entry> entries = image.queryRegion(new BoundingBox(0, 0, 25, 25));
+            assertEquals("Rooms", getExpectedIds(0, 0, 25, 25), getIds(entries));
+            assertEquals("Rooms", 4, entries.size());
+            assertEquals("Bounds", new BoundingBox(0, 0, 10, 10), entries.get(0).getBounds());
+            for (int k = 0; k < 50; k++) {
+               double x = (k * 37) % (ROOMS * 20);
+               double y = (k * 53) % (ROOMS * 20);
+               double size = 5 + (k * 11) % 120;
+               entries = image.queryRegion(new BoundingBox(x, y, size, size));
+               assertEquals("Rooms", getExpectedIds(x, y, x + size, y + size), getIds(entries));
+            }
+            assertTrue("No room", image.queryRegion(new BoundingBox(-100, -100, 50, 50)).isEmpty());
+            return null;
+         }
+      });
+   }
+
+   /**
+    * Test the topmost Node under a point.
+    */
+   @Test
+   public void testPickTopmost() throws Exception {
+      System.out.println("SpatialIndexTest : testPickTopmost");
+      String content = "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"100\" height=\"100\">"
+         + "<rect id=\"bottom\" x=\"0\" y=\"0\" width=\"100\" height=\"100\" fill=\"green\"/>"
+         + "<g id=\"top\"><circle cx=\"50\" cy=\"50\" r=\"10\" fill=\"red\"/></g>"
+         + "<rect x=\"80\" y=\"80\" width=\"10\" height=\"10\" fill=\"blue\"/>"
+         + "</svg>";
+      LoaderParameters params = new LoaderParameters();
+      params.spatialIndex = true;
+      final SVGImage image = SVGLoader.load(content, params);
+      JFXInvoker.getInstance().callBlocking(new Callable<Void>() {
+         @Override
+         public Void call() throws Exception {
+            assertEquals("Top", "top", image.pickTopmost(50, 50).getId());
+            assertEquals("Bottom", "bottom", image.pickTopmost(5, 5).getId());
+            // inside the bounds of the circle, but outside the circle
+            assertEquals("Bottom", "bottom", image.pickTopmost(41, 41).getId());
+            SpatialIndex.Entry entry = image.pickTopmost(85, 85);
+            assertNotNull("Entry", entry);
+            assertNull("No id", entry.getId());
+            assertNull("Outside", image.pickTopmost(200, 200));
+            Node circle = image.pickTopmost(50, 50).getNode();
+            circle.setVisible(false);
+            assertEquals("Invisible", "bottom", image.pickTopmost(50, 50).getId());
+            return null;
+         }
+      });
+   }
+
+   /**
+    * Test that the index is updated when Nodes are moved.
+    */
+   @Test
+   public void testMovedNodes() throws Exception {
+      System.out.println("SpatialIndexTest : testMovedNodes");
+      final SVGImage image = loadRooms();
+      JFXInvoker.getInstance().callBlocking(new Callable<Void>() {
+         @Override
+         public Void call() throws Exception {
+            List<SpatialIndex.Entry> entries = image.queryRegion(new BoundingBox(0, 0, 5, 5));
+            assertEquals("Rooms", 1, entries.size());
+            // move the group of the first room
+            Node room = entries.get(0).getNode().getParent();
+            room.setTranslateX(1000);
+            assertTrue("Moved room", image.queryRegion(new BoundingBox(0, 0, 5, 5)).isEmpty());
+            entries = image.queryRegion(new BoundingBox(1000, 0, 5, 5));
+            assertEquals("Moved room", 1, entries.size());
+            assertEquals("Moved room", "room-0-0", entries.get(0).getId());
+
+            // move enough rooms for the tree to be loaded again
+            List<Node> children = image.getChildren();
+            for (int i = 0; i < 200; i++) {
+               children.get(i).setTranslateY(2000);
+            }
+            entries = image.queryRegion(new BoundingBox(-1, 1999, 2000, 2000));
+            assertEquals("Moved rooms", 200, entries.size());
+            entries = image.queryRegion(new BoundingBox(0, 0, ROOMS * 20, ROOMS * 20));
+            assertEquals("Rooms", ROOMS * ROOMS - 200, entries.size());
+
+            // a shape whose geometry changes
+            Rectangle rect = (Rectangle) image.queryRegion(new BoundingBox(300, 300, 1, 1)).get(0).getNode();
+            rect.setWidth(200);
+            entries = image.queryRegion(new BoundingBox(450, 300, 1, 1));
+            assertTrue("Resized room", getIds(entries).contains("room-15-15"));
+            return null;
+         }
+      });
+   }
+
+   /**
+    * Test that the Nodes removed by the updates of the image are not in the index.
+    */
+   @Test
+   public void testUpdatedNodes() throws Exception {
+      System.out.println("SpatialIndexTest : testUpdatedNodes");
+      String content = "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"100\" height=\"100\">"
+         + "<rect id=\"first\" x=\"0\" y=\"0\" width=\"50\" height=\"50\" fill=\"green\"/>"
+         + "<rect id=\"second\" x=\"50\" y=\"50\" width=\"50\" height=\"50\" fill=\"blue\"/>"
+         + "</svg>";
+      LoaderParameters params = new LoaderParameters();
+      params.spatialIndex = true;
+      params.updatable = true;
+      final SVGImage image = SVGLoader.load(content, params);
+      assertNotNull("SVGImage should not be null", image);
+      JFXInvoker.getInstance().callBlocking(new Callable<Void>() {
+         @Override
+         public Void call() throws Exception {
+            assertEquals("First", "first", image.pickTopmost(10, 10).getId());
+            int count = image.getSpatialIndex().getIdsCount();
+            for (int i = 0; i < 3; i++) {
+               assertTrue("Update should succeed", image.update("first", "fill", i % 2 == 0 ? "red" : "green"));
+               SpatialIndex.Entry entry = image.pickTopmost(10, 10);
+               assertEquals("First", "first", entry.getId());
+               assertSame("Node in the image", image, entry.getNode().getParent());
+               assertEquals("Ids", count, image.getSpatialIndex().getIdsCount());
+            }
+            return null;
+         }
+      });
+   }
+
+   /**
+    * Test an image without spatial index.
+    */
+   @Test
+   public void testNoIndex() throws Exception {
+      System.out.println("SpatialIndexTest : testNoIndex");
+      SVGImage image = SVGLoader.load("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"100\" height=\"100\"><rect x=\"0\" y=\"0\" width=\"100\" height=\"100\"/></svg>");
+      assertNull("No spatial index", image.getSpatialIndex());
+      assertTrue("No entries", image.queryRegion(new BoundingBox(0, 0, 10, 10)).isEmpty());
+      assertNull("No entry", image.pickTopmost(5, 5));
+   }
+}
@@ -0,0 +1,152 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.URL;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+import javafx.scene.transform.Transform;
+import javax.imageio.ImageIO;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the tiled snapshots.
+ *
+ * @since 1.10
+ */
+public class TiledSnapshotTest {
+   // the antialiasing of the edges of the shapes can differ slightly between a tile and a single snapshot
+   private static final int TOLERANCE = 32;
+
+   public TiledSnapshotTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   /**
+    * Test of the generation of a BufferedImage with several tiles.
+    */
+   @Test
+   public void testToBufferedImage() {
+      System.out.println("TiledSnapshotTest : testToBufferedImage");
+      URL url = this.getClass().getResource("circle.svg");
+      SVGImage result = SVGLoader.load(url);
+      TiledSnapshot snapshot = result.createTiledSnapshot();
+      snapshot.setTileSize(64);
+      BufferedImage img = snapshot.toBufferedImage(3);
+      assertNotNull("Image must exist", img);
+      assertEquals("Width", snapshot.getWidth(3), img.getWidth());
+      assertEquals("Height", snapshot.getHeight(3), img.getHeight());
+   }
+
+   /**
+    * Test that the stitched tiles are the same as a single snapshot of the image at the same scale.
+    */
+   @Test
+   public void testCompareWithSnapshot() {
+      System.out.println("TiledSnapshotTest : testCompareWithSnapshot");
+      URL url = this.getClass().getResource("circle.svg");
+      SVGImage result = SVGLoader.load(url);
+      TiledSnapshot snapshot = result.createTiledSnapshot();
+      snapshot.setTileSize(64);
+      BufferedImage img = snapshot.toBufferedImage(3);
+      assertNotNull("Image must exist", img);
+
+      SnapshotParameters params = new SnapshotParameters();
+      params.setTransform(Transform.scale(3, 3));
+      Image expected = result.toImage(params);
+      assertNotNull("Snapshot must exist", expected);
+      assertEquals("Width", (int) expected.getWidth(), img.getWidth(), 1);
+      assertEquals("Height", (int) expected.getHeight(), img.getHeight(), 1);
+      PixelReader reader = expected.getPixelReader();
+      int width = Math.min((int) expected.getWidth(), img.getWidth());
+      int height = Math.min((int) expected.getHeight(), img.getHeight());
+      for (int y = 0; y < height; y++) {
+         for (int x = 0; x < width; x++) {
+            int expectedRGB = reader.getArgb(x, y);
+            int rgb = img.getRGB(x, y);
+            for (int shift = 0; shift < 32; shift += 8) {
+               int delta = Math.abs(((expectedRGB >> shift) & 0xff) - ((rgb >> shift) & 0xff));
+               assertTrue("Pixel at " + x + ", " + y, delta <= TOLERANCE);
+            }
+         }
+      }
+   }
+
+   /**
+    * Test of the streaming of the image in the PNG format.
+    */
+   @Test
+   public void testWritePNG() throws Exception {
+      System.out.println("TiledSnapshotTest : testWritePNG");
+      URL url = this.getClass().getResource("circle.svg");
+      SVGImage result = SVGLoader.load(url);
+      TiledSnapshot snapshot = result.createTiledSnapshot();
+      snapshot.setTileSize(50);
+      BufferedImage expected = snapshot.toBufferedImage(2);
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      snapshot.writePNG(2, out);
+      BufferedImage img = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+      assertNotNull("Image must exist", img);
+      assertEquals("Width", expected.getWidth(), img.getWidth());
+      assertEquals("Height", expected.getHeight(), img.getHeight());
+      for (int y = 0; y < img.getHeight(); y++) {
+         for (int x = 0; x < img.getWidth(); x++) {
+            assertEquals("Pixel at " + x + ", " + y, expected.getRGB(x, y), img.getRGB(x, y));
+         }
+      }
+   }
+}
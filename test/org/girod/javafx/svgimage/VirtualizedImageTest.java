@@ -0,0 +1,272 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.ScrollPane;
+import javafx.stage.Stage;
+import org.girod.javafx.tosvg.JFXInvoker;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the virtualized images.
+ *
+ * @since 1.10
+ */
+public class VirtualizedImageTest {
+   private static final int LAYERS = 10;
+   private static final int SHAPES = 50;
+
+   public VirtualizedImageTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   /**
+    * Wait for the layout of the Scene and for the checks of the visible subtrees.
+    */
+   private static void waitForChecks() throws Exception {
+      for (int i = 0; i < 3; i++) {
+         Thread.sleep(100);
+         JFXInvoker.getInstance().callBlocking(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+               return null;
+            }
+         });
+      }
+   }
+
+   /**
+    * Create a document with layers side by side, each layer being 1000 pixels wide.
+    */
+   private static String createContent() {
+      StringBuilder buf = new StringBuilder();
+      buf.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(LAYERS * 1000).append("\" height=\"100\">");
+      for (int layer = 0; layer < LAYERS; layer++) {
+         buf.append("<g id=\"layer").append(layer).append("\">");
+         for (int i = 0; i < SHAPES; i++) {
+            buf.append("<rect id=\"rect").append(layer).append("_").append(i).append("\" x=\"").append(layer * 1000 + i * 19).append("\" y=\"").append(i).append("\" width=\"10\" height=\"10\" fill=\"green\"/>");
+         }
+         buf.append("</g>");
+      }
+      buf.append("</svg>");
+      return buf.toString();
+   }
+
+   private static SVGImage load(int budget) {
+      LoaderParameters params = new LoaderParameters();
+      params.virtualized = true;
+      params.virtualizedNodesBudget = budget;
+      return load(params);
+   }
+
+   private static SVGImage load(LoaderParameters params) {
+      SVGImage image = SVGLoader.load(createContent(), params);
+      assertNotNull("SVGImage should not be null", image);
+      return image;
+   }
+
+   /**
+    * Test that the placeholders of a virtualized image have the bounds of the subtrees.
+    */
+   @Test
+   public void testPlaceholders() throws Exception {
+      System.out.println("VirtualizedImageTest : testPlaceholders");
+      SVGImage expected = SVGLoader.load(createContent());
+      final SVGImage image = load(0);
+      assertTrue("Image should be virtualized", image.isVirtualized());
+      assertFalse("Image should not be virtualized", expected.isVirtualized());
+      List<Node> children = image.getChildren();
+      assertEquals("Children", LAYERS, children.size());
+      assertEquals("Bounds", expected.getBoundsInLocal(), image.getBoundsInLocal());
+      for (int i = 0; i < LAYERS; i++) {
+         Node node = children.get(i);
+         assertTrue("Node must be a LazySubtree", node instanceof LazySubtree);
+         LazySubtree subtree = (LazySubtree) node;
+         assertFalse("Subtree should not be built", subtree.isBuilt());
+         assertEquals("Subtree bounds", expected.getChildren().get(i).getBoundsInParent(), subtree.getBoundsInParent());
+      }
+
+      JFXInvoker.getInstance().callBlocking(new Callable<Void>() {
+         @Override
+         public Void call() throws Exception {
+            image.buildSubtrees();
+            return null;
+         }
+      });
+      assertEquals("Built subtrees", LAYERS, image.getVirtualizer().getBuiltSubtreesCount());
+      assertEquals("Built nodes", LAYERS * (SHAPES + 1), image.getVirtualizer().getBuiltNodesCount());
+      for (int i = 0; i < LAYERS; i++) {
+         LazySubtree subtree = (LazySubtree) children.get(i);
+         assertTrue("Subtree should be built", subtree.isBuilt());
+         // the placeholder and the group of the layer
+         assertEquals("Subtree children", 2, subtree.getChildren().size());
+         Bounds bounds = subtree.getChildren().get(1).getBoundsInParent();
+         assertEquals("Subtree bounds", expected.getChildren().get(i).getBoundsInParent(), bounds);
+      }
+   }
+
+   /**
+    * Test that only the visible subtrees are built in a ScrollPane, and that the subtrees are released when the budget is exceeded.
+    */
+   @Test
+   public void testScrollPane() throws Exception {
+      System.out.println("VirtualizedImageTest : testScrollPane");
+      final SVGImage image = load(SHAPES + 10);
+      final SVGImage unbudgeted = load(0);
+      final ScrollPane pane = new ScrollPane(image);
+      final ScrollPane pane2 = new ScrollPane(unbudgeted);
+      JFXInvoker.getInstance().callBlocking(new Callable<Void>() {
+         @Override
+         public Void call() throws Exception {
+            // the Stages are not hidden by the test, because the platform exits when its last Window is hidden
+            Stage stage = new Stage();
+            stage.setScene(new Scene(pane, 200, 200));
+            stage.show();
+            Stage stage2 = new Stage();
+            stage2.setScene(new Scene(pane2, 200, 200));
+            stage2.show();
+            return null;
+         }
+      });
+      waitForChecks();
+      List<Node> children = image.getChildren();
+      assertTrue("First subtree should be built", ((LazySubtree) children.get(0)).isBuilt());
+      for (int i = 1; i < LAYERS; i++) {
+         assertFalse("Subtree should not be built", ((LazySubtree) children.get(i)).isBuilt());
+      }
+      assertEquals("Built subtrees", 1, unbudgeted.getVirtualizer().getBuiltSubtreesCount());
+
+      JFXInvoker.getInstance().callBlocking(new Callable<Void>() {
+         @Override
+         public Void call() throws Exception {
+            pane.setHvalue(pane.getHmax());
+            pane2.setHvalue(pane2.getHmax());
+            return null;
+         }
+      });
+      waitForChecks();
+      assertFalse("First subtree should be released", ((LazySubtree) children.get(0)).isBuilt());
+      assertTrue("Last subtree should be built", ((LazySubtree) children.get(LAYERS - 1)).isBuilt());
+      assertEquals("Built subtrees", 1, image.getVirtualizer().getBuiltSubtreesCount());
+      assertEquals("Built nodes", SHAPES + 1, image.getVirtualizer().getBuiltNodesCount());
+      assertEquals("Built subtrees", 2, unbudgeted.getVirtualizer().getBuiltSubtreesCount());
+   }
+
+   /**
+    * Test that the Nodes of the subtrees which are built and released are not kept for the spatial index and the cache hints.
+    */
+   @Test
+   public void testReleasedNodes() throws Exception {
+      System.out.println("VirtualizedImageTest : testReleasedNodes");
+      LoaderParameters params = new LoaderParameters();
+      params.virtualized = true;
+      params.virtualizedNodesBudget = SHAPES + 10;
+      params.spatialIndex = true;
+      params.cacheHints = true;
+      final SVGImage image = load(params);
+      final ScrollPane pane = new ScrollPane(image);
+      JFXInvoker.getInstance().callBlocking(new Callable<Void>() {
+         @Override
+         public Void call() throws Exception {
+            Stage stage = new Stage();
+            stage.setScene(new Scene(pane, 200, 200));
+            stage.show();
+            return null;
+         }
+      });
+      waitForChecks();
+      SVGLoader loader = image.getVirtualizer().getLoader();
+      int count = loader.getRecordedNodesCount();
+      assertEquals("Recorded nodes", 0, count);
+      List<Node> children = image.getChildren();
+      for (int i = 0; i < 3; i++) {
+         final double hvalue = i % 2 == 0 ? pane.getHmax() : pane.getHmin();
+         JFXInvoker.getInstance().callBlocking(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+               pane.setHvalue(hvalue);
+               return null;
+            }
+         });
+         waitForChecks();
+         assertFalse("Subtree should be released", ((LazySubtree) children.get(i % 2 == 0 ? 0 : LAYERS - 1)).isBuilt());
+         assertEquals("Recorded nodes", count, loader.getRecordedNodesCount());
+      }
+   }
+
+   /**
+    * Test that the rasterized images of a virtualized image are invalidated when its subtrees are built.
+    */
+   @Test
+   public void testRasterCache() throws Exception {
+      System.out.println("VirtualizedImageTest : testRasterCache");
+      final SVGImage image = load(0);
+      RasterCache cache = new RasterCache();
+      image.setRasterCache(cache);
+      image.toImage(200);
+      assertEquals("Cached images", 1, cache.size());
+      JFXInvoker.getInstance().callBlocking(new Callable<Void>() {
+         @Override
+         public Void call() throws Exception {
+            image.buildSubtrees();
+            return null;
+         }
+      });
+      assertEquals("Cached images after the subtrees are built", 0, cache.size());
+   }
+}
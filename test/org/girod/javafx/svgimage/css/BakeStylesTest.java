@@ -0,0 +1,160 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage.css;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.shape.Shape;
+import org.girod.javafx.svgimage.LoaderParameters;
+import org.girod.javafx.svgimage.SVGImage;
+import org.girod.javafx.svgimage.SVGLoader;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the LoaderParameters.bakeStyles parameter.
+ *
+ * @since 1.10
+ */
+public class BakeStylesTest {
+
+   public BakeStylesTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   private static void getShapes(Node node, List<Shape> shapes) {
+      if (node instanceof Shape) {
+         shapes.add((Shape) node);
+      } else if (node instanceof Group) {
+         Iterator<Node> it = ((Group) node).getChildren().iterator();
+         while (it.hasNext()) {
+            getShapes(it.next(), shapes);
+         }
+      }
+   }
+
+   private static int countStyleClasses(List<Shape> shapes) {
+      int count = 0;
+      Iterator<Shape> it = shapes.iterator();
+      while (it.hasNext()) {
+         count += it.next().getStyleClass().size();
+      }
+      return count;
+   }
+
+   /**
+    * Test an external style sheet with JavaFX CSS properties.
+    */
+   @Test
+   public void testExternalStyleSheet() {
+      System.out.println("BakeStylesTest : testExternalStyleSheet");
+      URL url = this.getClass().getResource("styleSVGFile.svg");
+      SVGImage image = SVGLoader.load(url);
+      assertNotNull("SVGImage should not be null", image);
+      assertEquals("JavaFX stylesheets", 1, image.getStylesheets().size());
+      List<Shape> shapes = new ArrayList<>();
+      getShapes(image, shapes);
+      assertTrue("Style classes", countStyleClasses(shapes) > 0);
+
+      LoaderParameters params = new LoaderParameters();
+      params.bakeStyles = true;
+      image = SVGLoader.load(url, params);
+      assertNotNull("SVGImage should not be null", image);
+      assertTrue("JavaFX stylesheets", image.getStylesheets().isEmpty());
+      assertEquals("SVG stylesheets", 1, image.getSVGStylesheets().size());
+      shapes.clear();
+      getShapes(image, shapes);
+      assertEquals("Style classes", 0, countStyleClasses(shapes));
+
+      Rectangle symbolBox = (Rectangle) shapes.get(0);
+      assertEquals("symbolBox stroke", Color.BLACK, symbolBox.getStroke());
+      assertEquals("symbolBox stroke width", 0.32, symbolBox.getStrokeWidth(), 0.001);
+      Rectangle svgBox = (Rectangle) shapes.get(1);
+      assertEquals("svgBox stroke", Color.BLUE, svgBox.getStroke());
+      Circle circle = (Circle) shapes.get(4);
+      assertEquals("Circle fill", Color.BLACK, circle.getFill());
+      Circle pivotPoint = (Circle) shapes.get(5);
+      assertEquals("pivotPoint stroke", Color.RED, pivotPoint.getStroke());
+   }
+
+   /**
+    * Test a "style" element.
+    */
+   @Test
+   public void testStyleElement() {
+      System.out.println("BakeStylesTest : testStyleElement");
+      String content = "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"100\" height=\"100\">"
+         + "<style>.dot { fill: green; } g .dot { stroke: blue; }</style>"
+         + "<circle cx=\"10\" cy=\"10\" r=\"5\" class=\"dot\"/>"
+         + "<g><circle cx=\"30\" cy=\"30\" r=\"5\" class=\"dot other\"/></g>"
+         + "</svg>";
+      LoaderParameters params = new LoaderParameters();
+      params.bakeStyles = true;
+      SVGImage image = SVGLoader.load(content, params);
+      assertNotNull("SVGImage should not be null", image);
+      List<Shape> shapes = new ArrayList<>();
+      getShapes(image, shapes);
+      assertEquals("Shapes count", 2, shapes.size());
+      assertEquals("Style classes", 0, countStyleClasses(shapes));
+      assertEquals("First circle fill", Color.GREEN, shapes.get(0).getFill());
+      assertNull("First circle stroke", shapes.get(0).getStroke());
+      assertEquals("Second circle fill", Color.GREEN, shapes.get(1).getFill());
+      assertEquals("Second circle stroke", Color.BLUE, shapes.get(1).getStroke());
+   }
+}
@@ -0,0 +1,242 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage.css;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import org.girod.javafx.svgimage.SVGImage;
+import org.girod.javafx.svgimage.SVGLoader;
+import org.girod.javafx.svgimage.Viewport;
+import org.girod.javafx.svgimage.xml.builders.SVGStyleBuilder;
+import org.girod.javafx.svgimage.xml.parsers.xmltree.XMLNode;
+import org.girod.javafx.svgimage.xml.specs.Styles;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the CSSConverter class.
+ *
+ * @since 1.10
+ */
+public class CSSConverterTest {
+
+   public CSSConverterTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   private static XMLNode createNode(XMLNode parent, String name, String... attributes) {
+      XMLNode node = parent == null ? new XMLNode(name) : new XMLNode(parent, name);
+      for (int i = 0; i < attributes.length; i += 2) {
+         node.addAttribute(attributes[i], attributes[i + 1]);
+      }
+      if (parent != null) {
+         parent.addChild(node);
+      }
+      return node;
+   }
+
+   private static Styles parseStyle(String content) {
+      Styles styles = new Styles();
+      SVGStyleBuilder.parseStyle(styles, content, new Viewport(100, 100));
+      return styles;
+   }
+
+   private static List<String> getSelectors(Styles styles, XMLNode node) {
+      List<String> selectors = new ArrayList<>();
+      Iterator<Styles.Rule> it = styles.getMatchingRules(node).iterator();
+      while (it.hasNext()) {
+         selectors.add(it.next().getStyleClass());
+      }
+      return selectors;
+   }
+
+   /**
+    * Test the selectors supported by the converter.
+    */
+   @Test
+   public void testSelectors() {
+      System.out.println("CSSConverterTest : testSelectors");
+      Styles styles = parseStyle("g rect { fill: red; } "
+         + "svg > rect { fill: blue; } "
+         + "#first { stroke: green; } "
+         + "rect[width=\"10\"] { stroke-width: 2; } "
+         + "rect[height] { stroke-width: 3; } "
+         + "circle + rect { fill: yellow; } "
+         + "circle ~ .shape { opacity: 0.5; } "
+         + "rect:first-child { stroke: black; } "
+         + "rect::before { fill: white; } "
+         + "rect:hover { fill: white; }");
+      assertEquals("Rules count", 8, styles.getSelectorRulesCount());
+
+      XMLNode svg = createNode(null, "svg");
+      XMLNode g = createNode(svg, "g");
+      XMLNode rect1 = createNode(g, "rect", "id", "first", "width", "10");
+      XMLNode circle = createNode(g, "circle");
+      XMLNode rect2 = createNode(g, "rect", "class", "shape", "height", "20");
+      XMLNode rect3 = createNode(svg, "rect");
+
+      List<String> selectors = getSelectors(styles, rect1);
+      assertEquals("Rules of the first rect", 4, selectors.size());
+      assertTrue("Descendant", selectors.contains("g rect"));
+      assertTrue("Id", selectors.contains("#first"));
+      assertTrue("Attribute value", selectors.contains("rect[width=\"10\"]"));
+      assertTrue("First child", selectors.contains("rect:first-child"));
+
+      selectors = getSelectors(styles, rect2);
+      assertEquals("Rules of the second rect", 4, selectors.size());
+      assertTrue("Descendant", selectors.contains("g rect"));
+      assertTrue("Attribute", selectors.contains("rect[height]"));
+      assertTrue("Direct adjacent", selectors.contains("circle + rect"));
+      assertTrue("General adjacent", selectors.contains("circle ~ .shape"));
+
+      selectors = getSelectors(styles, rect3);
+      assertEquals("Rules of the third rect", 1, selectors.size());
+      assertEquals("Child", "svg > rect", selectors.get(0));
+
+      assertTrue("No rules for the circle", styles.getMatchingRules(circle).isEmpty());
+   }
+
+   /**
+    * Test that the rules are ordered by specificity, then by declaration order.
+    */
+   @Test
+   public void testSpecificity() {
+      System.out.println("CSSConverterTest : testSpecificity");
+      Styles styles = parseStyle("#a { fill: red; } "
+         + "rect.b { fill: blue; } "
+         + "rect { fill: green; } "
+         + ".b { fill: yellow; } "
+         + "g rect { fill: black; }");
+      XMLNode svg = createNode(null, "svg");
+      XMLNode g = createNode(svg, "g");
+      XMLNode rect = createNode(g, "rect", "id", "a", "class", "b");
+      List<String> selectors = getSelectors(styles, rect);
+      assertEquals("Rules count", 5, selectors.size());
+      assertEquals("Rule 0", "rect", selectors.get(0));
+      assertEquals("Rule 1", "g rect", selectors.get(1));
+      assertEquals("Rule 2", ".b", selectors.get(2));
+      assertEquals("Rule 3", "rect.b", selectors.get(3));
+      assertEquals("Rule 4", "#a", selectors.get(4));
+
+      assertTrue("Simple tag rule", styles.hasRule("rect"));
+      assertTrue("Simple class rule", styles.hasRule("b"));
+      assertFalse("Compound rule", styles.hasRule("rect.b"));
+   }
+
+   /**
+    * Test that an element is only matched against the rules of its id, classes and name.
+    */
+   @Test
+   public void testManyRules() {
+      System.out.println("CSSConverterTest : testManyRules");
+      StringBuilder buf = new StringBuilder();
+      for (int i = 0; i < 2000; i++) {
+         buf.append("g .c").append(i).append(" { fill: red; } ");
+         buf.append("#id").append(i).append(" { stroke: red; } ");
+      }
+      Styles styles = parseStyle(buf.toString());
+      assertEquals("Rules count", 4000, styles.getSelectorRulesCount());
+
+      XMLNode svg = createNode(null, "svg");
+      XMLNode g = createNode(svg, "g", "class", "c1999");
+      XMLNode rect = createNode(g, "rect", "id", "id5");
+      List<String> selectors = getSelectors(styles, rect);
+      assertEquals("Rules count", 1, selectors.size());
+      assertEquals("Rule", "#id5", selectors.get(0));
+
+      XMLNode rect2 = createNode(g, "rect", "class", "c1999");
+      selectors = getSelectors(styles, rect2);
+      assertEquals("Rules count", 1, selectors.size());
+      assertEquals("Rule", "g .c1999", selectors.get(0));
+   }
+
+   /**
+    * Test the styles of a loaded document.
+    */
+   @Test
+   public void testLoad() {
+      System.out.println("CSSConverterTest : testLoad");
+      String content = "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"100\" height=\"100\">"
+         + "<style>g > circle.dot { fill: green; stroke: blue; } #big { fill: red; }</style>"
+         + "<circle cx=\"10\" cy=\"10\" r=\"5\" class=\"dot\"/>"
+         + "<g><circle cx=\"30\" cy=\"30\" r=\"5\" class=\"dot\"/><circle id=\"big\" cx=\"50\" cy=\"50\" r=\"20\" class=\"dot\"/></g>"
+         + "</svg>";
+      SVGImage image = SVGLoader.load(content);
+      assertNotNull("SVGImage should not be null", image);
+      List<Circle> circles = new ArrayList<>();
+      getCircles(image, circles);
+      assertEquals("Circles count", 3, circles.size());
+      assertEquals("First circle fill", Color.BLACK, circles.get(0).getFill());
+      assertNull("First circle stroke", circles.get(0).getStroke());
+      assertTrue("Style class", circles.get(0).getStyleClass().contains("dot"));
+      assertEquals("Second circle fill", Color.GREEN, circles.get(1).getFill());
+      assertEquals("Second circle stroke", Color.BLUE, circles.get(1).getStroke());
+      assertEquals("Third circle fill", Color.RED, circles.get(2).getFill());
+      assertEquals("Third circle stroke", Color.BLUE, circles.get(2).getStroke());
+   }
+
+   private static void getCircles(Node node, List<Circle> circles) {
+      if (node instanceof Circle) {
+         circles.add((Circle) node);
+      } else if (node instanceof Group) {
+         Iterator<Node> it = ((Group) node).getChildren().iterator();
+         while (it.hasNext()) {
+            getCircles(it.next(), circles);
+         }
+      }
+   }
+}
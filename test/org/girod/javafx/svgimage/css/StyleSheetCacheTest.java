@@ -0,0 +1,229 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage.css;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.girod.javafx.svgimage.Viewport;
+import org.girod.javafx.svgimage.xml.parsers.xmltree.XMLNode;
+import org.girod.javafx.svgimage.xml.specs.Styles;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the StyleSheetCache class.
+ *
+ * @since 1.10
+ */
+public class StyleSheetCacheTest {
+   private File file = null;
+
+   public StyleSheetCacheTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+      StyleSheetCache.getInstance().setCheckInterval(StyleSheetCache.DEFAULT_CHECK_INTERVAL);
+      StyleSheetCache.getInstance().setMaximumSize(StyleSheetCache.DEFAULT_MAXIMUM_SIZE);
+      if (file != null) {
+         file.delete();
+      }
+   }
+
+   private static void write(File file, String content) throws IOException {
+      try (OutputStream stream = new FileOutputStream(file)) {
+         stream.write(content.getBytes(StandardCharsets.UTF_8));
+      }
+   }
+
+   /**
+    * Test that a style sheet is only parsed once, and parsed again when it is modified.
+    */
+   @Test
+   public void testStyleSheet() throws Exception {
+      System.out.println("StyleSheetCacheTest : testStyleSheet");
+      StyleSheetCache cache = StyleSheetCache.getInstance();
+      file = File.createTempFile("style", ".css");
+      write(file, ".a { fill: red; } g > .b { stroke: blue; }");
+      URL url = file.toURI().toURL();
+      int parseCount = cache.getParseCount();
+
+      StyleSheet styleSheet = cache.getStyleSheet(url);
+      assertNotNull("StyleSheet", styleSheet);
+      assertEquals("Rules count", 2, styleSheet.getRules().size());
+      assertEquals("Declaration", "red", styleSheet.getRules().get(0).getDeclarations().get("fill"));
+      assertSame("Shared StyleSheet", styleSheet, cache.getStyleSheet(url));
+      assertEquals("Parse count", parseCount + 1, cache.getParseCount());
+
+      Styles styles = new Styles();
+      styleSheet.addRules(styles, new Viewport(100, 100));
+      XMLNode svg = new XMLNode("svg");
+      XMLNode g = new XMLNode(svg, "g");
+      svg.addChild(g);
+      XMLNode rect = new XMLNode(g, "rect");
+      rect.addAttribute("class", "a b");
+      g.addChild(rect);
+      assertEquals("Matching rules", 2, styles.getMatchingRules(rect).size());
+
+      write(file, ".a { fill: green; }");
+      file.setLastModified(file.lastModified() + 10000L);
+      assertSame("StyleSheet before the check interval", styleSheet, cache.getStyleSheet(url));
+      cache.setCheckInterval(0);
+      StyleSheet styleSheet2 = cache.getStyleSheet(url);
+      assertNotSame("Modified StyleSheet", styleSheet, styleSheet2);
+      assertEquals("Rules count", 1, styleSheet2.getRules().size());
+      assertEquals("Declaration", "green", styleSheet2.getRules().get(0).getDeclarations().get("fill"));
+      assertEquals("Parse count", parseCount + 2, cache.getParseCount());
+   }
+
+   /**
+    * Test the existence checks.
+    */
+   @Test
+   public void testExists() throws Exception {
+      System.out.println("StyleSheetCacheTest : testExists");
+      StyleSheetCache cache = StyleSheetCache.getInstance();
+      file = File.createTempFile("style", ".css");
+      file.delete();
+      URL url = file.toURI().toURL();
+      assertFalse("Missing file", cache.exists(url));
+      assertNull("Missing StyleSheet", cache.getStyleSheet(url));
+
+      write(file, ".a { fill: red; }");
+      assertFalse("Existence memoized during the check interval", cache.exists(url));
+      cache.setCheckInterval(0);
+      assertTrue("Existing file", cache.exists(url));
+      assertNotNull("StyleSheet", cache.getStyleSheet(url));
+   }
+
+   /**
+    * Test that the least recently used style sheets are removed from the cache.
+    */
+   @Test
+   public void testMaximumSize() throws Exception {
+      System.out.println("StyleSheetCacheTest : testMaximumSize");
+      StyleSheetCache cache = StyleSheetCache.getInstance();
+      cache.clear();
+      cache.setMaximumSize(2);
+      List<File> files = new ArrayList<>();
+      try {
+         List<URL> urls = new ArrayList<>();
+         for (int i = 0; i < 3; i++) {
+            File styleFile = File.createTempFile("style", ".css");
+            files.add(styleFile);
+            write(styleFile, ".a" + i + " { fill: red; }");
+            urls.add(styleFile.toURI().toURL());
+         }
+         StyleSheet first = cache.getStyleSheet(urls.get(0));
+         StyleSheet second = cache.getStyleSheet(urls.get(1));
+         assertSame("Used StyleSheet", first, cache.getStyleSheet(urls.get(0)));
+         cache.getStyleSheet(urls.get(2));
+         assertEquals("Cache size", 2, cache.size());
+         assertSame("Recently used StyleSheet", first, cache.getStyleSheet(urls.get(0)));
+         assertNotSame("Removed StyleSheet", second, cache.getStyleSheet(urls.get(1)));
+         assertEquals("Cache size", 2, cache.size());
+
+         cache.setMaximumSize(1);
+         assertEquals("Cache size", 1, cache.size());
+      } finally {
+         for (File styleFile : files) {
+            styleFile.delete();
+         }
+      }
+   }
+
+   /**
+    * Test that a style sheet requested by several threads is only parsed once.
+    */
+   @Test
+   public void testConcurrentAccess() throws Exception {
+      System.out.println("StyleSheetCacheTest : testConcurrentAccess");
+      final StyleSheetCache cache = StyleSheetCache.getInstance();
+      file = File.createTempFile("style", ".css");
+      StringBuilder buf = new StringBuilder();
+      for (int i = 0; i < 1000; i++) {
+         buf.append(".c").append(i).append(" { fill: red; stroke-width: 2; }\n");
+      }
+      write(file, buf.toString());
+      final URL url = file.toURI().toURL();
+      int parseCount = cache.getParseCount();
+
+      ExecutorService executor = Executors.newFixedThreadPool(8);
+      try {
+         List<Future<StyleSheet>> futures = new ArrayList<>();
+         for (int i = 0; i < 32; i++) {
+            futures.add(executor.submit(new Callable<StyleSheet>() {
+               @Override
+               public StyleSheet call() throws Exception {
+                  return cache.getStyleSheet(url);
+               }
+            }));
+         }
+         StyleSheet styleSheet = futures.get(0).get();
+         assertNotNull("StyleSheet", styleSheet);
+         assertEquals("Rules count", 1000, styleSheet.getRules().size());
+         for (int i = 1; i < futures.size(); i++) {
+            assertSame("Shared StyleSheet", styleSheet, futures.get(i).get());
+         }
+      } finally {
+         executor.shutdown();
+      }
+      assertEquals("Parse count", parseCount + 1, cache.getParseCount());
+   }
+}
@@ -0,0 +1,160 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage.fromjfx.awt;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.girod.javafx.svgimage.LoaderParameters;
+import org.girod.javafx.svgimage.SVGImage;
+import org.girod.javafx.svgimage.SVGLoader;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the SVGRasterizer.
+ *
+ * @since 1.10
+ */
+public class SVGRasterizerTest {
+   private static final String CONTENT = "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"200\" height=\"100\">"
+      + "<rect x=\"0\" y=\"0\" width=\"100\" height=\"100\" style=\"fill:lime\"/>"
+      + "<g transform=\"translate(100, 0)\" fill=\"blue\"><circle cx=\"50\" cy=\"50\" r=\"50\"/></g>"
+      + "</svg>";
+   private static final int THREADS = 4;
+
+   public SVGRasterizerTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   private static SVGImage load() {
+      LoaderParameters params = new LoaderParameters();
+      params.autoStartAnimations = false;
+      SVGImage image = SVGLoader.load(CONTENT, params);
+      assertNotNull("SVGImage should not be null", image);
+      return image;
+   }
+
+   /**
+    * Test of the rasterization of an image.
+    */
+   @Test
+   public void testRasterize() throws Exception {
+      System.out.println("SVGRasterizerTest : testRasterize");
+      SVGRasterizer rasterizer = new SVGRasterizer();
+      BufferedImage image = rasterizer.rasterize(load());
+      assertEquals("Image width", 200, image.getWidth());
+      assertEquals("Image height", 100, image.getHeight());
+      assertEquals("Rectangle color", 0xff00ff00, image.getRGB(10, 10));
+      // the circle, translated by its parent group and inheriting its fill
+      assertEquals("Circle color", 0xff0000ff, image.getRGB(150, 50));
+      // outside of the circle
+      assertEquals("Background", 0, image.getRGB(199, 1));
+   }
+
+   /**
+    * Test of the rasterization with a width.
+    */
+   @Test
+   public void testRasterizeToWidth() throws Exception {
+      System.out.println("SVGRasterizerTest : testRasterizeToWidth");
+      SVGRasterizer rasterizer = new SVGRasterizer();
+      BufferedImage image = rasterizer.rasterizeToWidth(load(), 100);
+      assertEquals("Image width", 100, image.getWidth());
+      assertEquals("Image height", 50, image.getHeight());
+      assertEquals("Rectangle color", 0xff00ff00, image.getRGB(10, 10));
+      assertEquals("Circle color", 0xff0000ff, image.getRGB(75, 25));
+   }
+
+   /**
+    * Test of the rasterization of images in several threads with the same rasterizer. Each thread rasterizes its own image, because the
+    * same Node hierarchy must not be rasterized by several threads at the same time.
+    */
+   @Test
+   public void testConcurrentRasterize() throws Exception {
+      System.out.println("SVGRasterizerTest : testConcurrentRasterize");
+      final SVGRasterizer rasterizer = new SVGRasterizer();
+      BufferedImage expected = rasterizer.rasterize(load(), 2);
+      int[] expectedPixels = expected.getRGB(0, 0, expected.getWidth(), expected.getHeight(), null, 0, expected.getWidth());
+      ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+      try {
+         List<Future<List<BufferedImage>>> futures = new ArrayList<>();
+         for (int i = 0; i < THREADS; i++) {
+            final SVGImage svgImage = load();
+            futures.add(executor.submit(new Callable<List<BufferedImage>>() {
+               @Override
+               public List<BufferedImage> call() throws Exception {
+                  List<BufferedImage> images = new ArrayList<>();
+                  for (int j = 0; j < 4; j++) {
+                     images.add(rasterizer.rasterize(svgImage, 2));
+                  }
+                  return images;
+               }
+            }));
+         }
+         for (Future<List<BufferedImage>> future : futures) {
+            for (BufferedImage image : future.get()) {
+               assertEquals("Image width", 400, image.getWidth());
+               assertEquals("Image height", 200, image.getHeight());
+               int[] pixels = image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+               assertArrayEquals("Images must be identical", expectedPixels, pixels);
+            }
+         }
+      } finally {
+         executor.shutdown();
+      }
+   }
+}
@@ -0,0 +1,158 @@
+/*
+Copyright (c) 2026 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/fxsvgimage
+ */
+package org.girod.javafx.svgimage.java2d;
+
+import java.awt.image.BufferedImage;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the Java2D renderer.
+ *
+ * @since 1.10
+ */
+public class SVGJava2DRendererTest {
+   private static final String CONTENT = "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"100\" height=\"50\" viewBox=\"0 0 200 100\">"
+      + "<defs><linearGradient id=\"grad\"><stop offset=\"0\" stop-color=\"red\"/><stop offset=\"1\" stop-color=\"blue\"/></linearGradient></defs>"
+      + "<rect x=\"0\" y=\"0\" width=\"100\" height=\"100\" style=\"fill:lime\"/>"
+      + "<g transform=\"translate(100, 0)\" fill=\"blue\"><circle cx=\"50\" cy=\"50\" r=\"40\"/></g>"
+      + "<path d=\"M 10 90 L 90 90\" stroke=\"url(#grad)\" stroke-width=\"4\"/>"
+      + "</svg>";
+
+   public SVGJava2DRendererTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   /**
+    * Test of the rendering of a document content.
+    */
+   @Test
+   public void testRender() {
+      System.out.println("SVGJava2DRendererTest : testRender");
+      SVGJava2DRenderer renderer = SVGJava2DRenderer.load(CONTENT);
+      assertNotNull("Renderer must exist", renderer);
+      assertEquals("Width", 100d, renderer.getWidth(), 0.001d);
+      assertEquals("Height", 50d, renderer.getHeight(), 0.001d);
+      BufferedImage image = renderer.toBufferedImage(1);
+      assertEquals("Image width", 100, image.getWidth());
+      assertEquals("Image height", 50, image.getHeight());
+      // the rectangle, scaled by the viewBox
+      assertEquals("Rectangle color", 0xff00ff00, image.getRGB(10, 10));
+      // the circle, translated by its parent group and inheriting its fill
+      assertEquals("Circle color", 0xff0000ff, image.getRGB(75, 25));
+      // outside of the circle
+      assertEquals("Background", 0, image.getRGB(99, 1));
+   }
+
+   /**
+    * Test of the rendering with a scale.
+    */
+   @Test
+   public void testRenderScaled() {
+      System.out.println("SVGJava2DRendererTest : testRenderScaled");
+      SVGJava2DRenderer renderer = SVGJava2DRenderer.load(CONTENT);
+      BufferedImage image = renderer.toBufferedImageForWidth(200);
+      assertEquals("Image width", 200, image.getWidth());
+      assertEquals("Image height", 100, image.getHeight());
+      assertEquals("Circle color", 0xff0000ff, image.getRGB(150, 50));
+   }
+
+   /**
+    * Test of the rendering of a file.
+    */
+   @Test
+   public void testRenderFile() {
+      System.out.println("SVGJava2DRendererTest : testRenderFile");
+      URL url = this.getClass().getResource("/org/girod/javafx/svgimage/circle.svg");
+      SVGJava2DRenderer renderer = SVGJava2DRenderer.load(url);
+      assertNotNull("Renderer must exist", renderer);
+      BufferedImage image = renderer.toBufferedImageForWidth(200);
+      // the center of the yellow circle
+      double scale = 200d / 744.09448819d;
+      int x = (int) (86.428566d * scale);
+      int y = (int) (84.505058d * scale);
+      assertEquals("Circle color", 0xffffff00, image.getRGB(x, y));
+   }
+
+   /**
+    * Test of the rendering of the same renderer from several threads.
+    *
+    * @throws Exception
+    */
+   @Test
+   public void testConcurrentRendering() throws Exception {
+      System.out.println("SVGJava2DRendererTest : testConcurrentRendering");
+      SVGJava2DRenderer renderer = SVGJava2DRenderer.load(CONTENT);
+      BufferedImage expected = renderer.toBufferedImage(2);
+      ExecutorService executor = Executors.newFixedThreadPool(4);
+      try {
+         List<Future<BufferedImage>> futures = new ArrayList<>();
+         for (int i = 0; i < 16; i++) {
+            futures.add(executor.submit(() -> renderer.toBufferedImage(2)));
+         }
+         int[] expectedPixels = expected.getRGB(0, 0, expected.getWidth(), expected.getHeight(), null, 0, expected.getWidth());
+         for (Future<BufferedImage> future : futures) {
+            BufferedImage image = future.get();
+            int[] pixels = image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+            assertArrayEquals("Images must be identical", expectedPixels, pixels);
+         }
+      } finally {
+         executor.shutdown();
+      }
+   }
+}
@@ -32,6 +32,7 @@ the project website at the project page on https://github.com/hervegirod/fxsvgim
  */
 package org.girod.javafx.tosvg;
 
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
 import javafx.application.Platform;
@@ -40,7 +41,7 @@ import javafx.embed.swing.JFXPanel;
 /**
  * The JFXInvoker class allows some code to be executed synchronously on the JavaFX event thread.
  *
- * @version  1.7.2
+ * @version  1.10
  */
 public class JFXInvoker {
    private static JFXInvoker invoker = null;
@@ -89,4 +90,38 @@ public class JFXInvoker {
          }
       }
    }
+
+   /**
+    * Allows some code to be executed synchronously on the FX thread, and return its result. Note that this code can also be safely
+    * executed in the FX thread.
+    *
+    * @param <T> the type of the result
+    * @param callable the Callable
+    * @return the result of the callable, or null if the wait has been interrupted
+    * @throws Exception if the callable thrown an exception
+    * @since 1.10
+    */
+   public <T> T callBlocking(Callable<T> callable) throws Exception {
+      if (Platform.isFxApplicationThread()) {
+         return callable.call();
+      } else {
+         FutureTask<T> future = new FutureTask<>(callable);
+         Platform.runLater(future);
+         try {
+            return future.get();
+         } catch (InterruptedException ex) {
+            // we don't show any exception here, because the user is just canceling the action
+            return null;
+         } catch (ExecutionException ex) {
+            // here we try to get the ExecutionException cause, which should be the exception which originates the problem
+            Throwable th = ex.getCause();
+            if (th instanceof Error) {
+               throw (Error) th;
+            } else if (th instanceof Exception) {
+               throw (Exception) th;
+            }
+            throw ex;
+         }
+      }
+   }
 }